@@ -20,6 +20,7 @@
 
 package com.coveros.selenified.application;
 
+import com.coveros.selenified.utilities.Patterns;
 import com.coveros.selenified.utilities.Reporter;
 
 import static com.coveros.selenified.utilities.Constants.DOES_NOT_MATCH_PATTERN;
@@ -88,7 +89,7 @@ public class Assert extends Check {
     @Override
     public void titleMatches(String expectedTitlePattern) {
         String title = checkTitleMatches(expectedTitlePattern, 0, 0);
-        assertTrue("Title Mismatch: title of '" + title + DOES_NOT_MATCH_PATTERN + expectedTitlePattern + "'", title.matches(expectedTitlePattern));
+        assertTrue("Title Mismatch: title of '" + title + DOES_NOT_MATCH_PATTERN + expectedTitlePattern + "'", Patterns.matches(title, expectedTitlePattern));
     }
 
     /**
@@ -161,7 +162,7 @@ public class Assert extends Check {
     @Override
     public void alertMatches(String expectedAlertPattern) {
         String alert = checkAlertMatches(expectedAlertPattern, 0, 0);
-        assertTrue("Alert Text Mismatch: alert text of '" + alert + DOES_NOT_MATCH_PATTERN + expectedAlertPattern + "'", alert.matches(expectedAlertPattern));
+        assertTrue("Alert Text Mismatch: alert text of '" + alert + DOES_NOT_MATCH_PATTERN + expectedAlertPattern + "'", Patterns.matches(alert, expectedAlertPattern));
     }
 
     /**
@@ -206,7 +207,7 @@ public class Assert extends Check {
     @Override
     public void confirmationMatches(String expectedConfirmationPattern) {
         String confirmation = checkConfirmationMatches(expectedConfirmationPattern, 0, 0);
-        assertTrue("Confirmation Text Mismatch: confirmation text of '" + confirmation + DOES_NOT_MATCH_PATTERN + expectedConfirmationPattern + "'", confirmation.matches(expectedConfirmationPattern));
+        assertTrue("Confirmation Text Mismatch: confirmation text of '" + confirmation + DOES_NOT_MATCH_PATTERN + expectedConfirmationPattern + "'", Patterns.matches(confirmation, expectedConfirmationPattern));
     }
 
     /**
@@ -251,7 +252,7 @@ public class Assert extends Check {
     @Override
     public void promptMatches(String expectedPromptPattern) {
         String prompt = checkPromptMatches(expectedPromptPattern, 0, 0);
-        assertTrue("Prompt Text Mismatch: prompt text of '" + prompt + DOES_NOT_MATCH_PATTERN + expectedPromptPattern + "'", prompt.matches(expectedPromptPattern));
+        assertTrue("Prompt Text Mismatch: prompt text of '" + prompt + DOES_NOT_MATCH_PATTERN + expectedPromptPattern + "'", Patterns.matches(prompt, expectedPromptPattern));
     }
 
     ///////////////////////////////////////////////////////
@@ -306,6 +307,6 @@ public class Assert extends Check {
     @Override
     public void cookieMatches(String cookieName, String expectedCookiePattern) {
         String cookie = checkCookieMatches(cookieName, expectedCookiePattern, 0, 0);
-        assertTrue("Cookie Value Mismatch: cookie value of '" + cookie + DOES_NOT_MATCH_PATTERN + expectedCookiePattern + "'", cookie.matches(expectedCookiePattern));
+        assertTrue("Cookie Value Mismatch: cookie value of '" + cookie + DOES_NOT_MATCH_PATTERN + expectedCookiePattern + "'", Patterns.matches(cookie, expectedCookiePattern));
     }
 }
\ No newline at end of file
@@ -20,6 +20,7 @@
 
 package com.coveros.selenified.application;
 
+import com.coveros.selenified.utilities.Patterns;
 import com.coveros.selenified.utilities.Reporter;
 
 import static com.coveros.selenified.utilities.Constants.*;
@@ -135,7 +136,7 @@ abstract class Check {
      */
     String checkTitleMatches(String expectedTitlePattern, double waitFor, double timeTook) {
         String actualTitle = this.app.get().title();
-        if (!actualTitle.matches(expectedTitlePattern)) {
+        if (!Patterns.matches(actualTitle, expectedTitlePattern)) {
             this.reporter.fail("to be on page with the title matching pattern <b>" + expectedTitlePattern + ENDB, waitFor, PAGE_TITLE + actualTitle + ENDB, timeTook);
         } else {
             this.reporter.pass("to be on page with the title matching pattern <b>" + expectedTitlePattern + ENDB, waitFor, PAGE_TITLE + actualTitle + ENDB, timeTook);
@@ -341,7 +342,7 @@ abstract class Check {
             this.reporter.fail(alertMatchingPattern + expectedAlertPattern + ON_PAGE, waitFor, NO_ALERT, timeTook);
             return "";
         }
-        if (!alert.matches(expectedAlertPattern)) {
+        if (!Patterns.matches(alert, expectedAlertPattern)) {
             this.reporter.fail(alertMatchingPattern + expectedAlertPattern + ON_PAGE, waitFor, ALERT_TEXT + alert + B_PRESENT, timeTook);
         } else {
             this.reporter.pass(alertMatchingPattern + expectedAlertPattern + ON_PAGE, waitFor, ALERT_TEXT + alert + B_PRESENT, timeTook);
@@ -478,7 +479,7 @@ abstract class Check {
             this.reporter.fail(confirmationMatchingPattern + expectedConfirmationPattern + ON_PAGE, waitFor, NO_CONFIRMATION, timeTook);
             return "";
         }
-        if (!confirmation.matches(expectedConfirmationPattern)) {
+        if (!Patterns.matches(confirmation, expectedConfirmationPattern)) {
             this.reporter.fail(confirmationMatchingPattern + expectedConfirmationPattern + ON_PAGE, waitFor, CONFIRMATION_TEXT + confirmation + B_PRESENT, timeTook);
         } else {
             this.reporter.pass(confirmationMatchingPattern + expectedConfirmationPattern + ON_PAGE, waitFor, CONFIRMATION_TEXT + confirmation + B_PRESENT, timeTook);
@@ -615,7 +616,7 @@ abstract class Check {
             this.reporter.fail(promptTextMatching + expectedPromptPattern + ON_PAGE, waitFor, NO_PROMPT, timeTook);
             return "";
         }
-        if (!prompt.matches(expectedPromptPattern)) {
+        if (!Patterns.matches(prompt, expectedPromptPattern)) {
             this.reporter.fail(promptTextMatching + expectedPromptPattern + ON_PAGE, waitFor, PROMPT_TEXT + prompt + B_PRESENT, timeTook);
         } else {
             this.reporter.pass(promptTextMatching + expectedPromptPattern + ON_PAGE, waitFor, PROMPT_TEXT + prompt + B_PRESENT, timeTook);
@@ -766,7 +767,7 @@ abstract class Check {
                     waitFor, COOKIE + cookieName + NOT_STORED, timeTook);
             return "";
         }
-        if (!cookieValue.matches(expectedCookiePattern)) {
+        if (!Patterns.matches(cookieValue, expectedCookiePattern)) {
             this.reporter.fail(COOKIE_WITH_NAME + cookieName + valueMatchingPattern + expectedCookiePattern + STORED,
                     waitFor, COOKIE + cookieName + "</b> is stored for the page, but the value of the cookie is " + cookieValue, timeTook);
         } else {
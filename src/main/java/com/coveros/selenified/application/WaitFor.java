@@ -20,12 +20,15 @@
 
 package com.coveros.selenified.application;
 
+import com.coveros.selenified.utilities.Patterns;
+import com.coveros.selenified.utilities.PollHistory;
+import com.coveros.selenified.utilities.Poller;
+import com.coveros.selenified.utilities.PollingStrategy;
 import com.coveros.selenified.utilities.Property;
 import com.coveros.selenified.utilities.Reporter;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 /**
  * WaitFor performs dynamic waits on the app in general, until a particular
@@ -46,6 +49,15 @@ public class WaitFor extends Check {
     // the default poll for elements
     private long defaultPoll = Property.getDefaultPoll();
 
+    // the longest poll for elements
+    private final long maxPoll = Property.getMaxPoll();
+
+    // how to space out polling for elements
+    private PollingStrategy pollingStrategy = Property.getPollingStrategy();
+
+    // how long conditions have previously taken to be met for the app
+    private final PollHistory pollHistory = new PollHistory();
+
     /**
      * The default constructor passing in the app and output file
      *
@@ -77,6 +89,17 @@ public class WaitFor extends Check {
         defaultPoll = milliseconds;
     }
 
+    /**
+     * Changes how polls are spaced out while waiting, from the default
+     * strategy to some custom one.
+     *
+     * @param strategy - how should WaitFor space out checking for the condition
+     *                 to be met
+     */
+    public void changePollingStrategy(PollingStrategy strategy) {
+        pollingStrategy = strategy;
+    }
+
     // ///////////////////////////////////////
     // waiting functionality
     // ///////////////////////////////////////
@@ -338,8 +361,7 @@ public class WaitFor extends Check {
     public void urlEquals(double seconds, String expectedURL) {
         double end = System.currentTimeMillis() + (seconds * 1000);
         try {
-            WebDriverWait wait = new WebDriverWait(app.getDriver(), (long) seconds, defaultPoll);
-            wait.until(ExpectedConditions.urlToBe(expectedURL));
+            Poller.until(app.getDriver(), seconds, defaultPoll, maxPoll, pollingStrategy, pollHistory, ExpectedConditions.urlToBe(expectedURL));
             double timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
             checkUrlEquals(expectedURL, seconds, timeTook);
         } catch (TimeoutException e) {
@@ -358,8 +380,7 @@ public class WaitFor extends Check {
     public void titleEquals(double seconds, String expectedTitle) {
         double end = System.currentTimeMillis() + (seconds * 1000);
         try {
-            WebDriverWait wait = new WebDriverWait(app.getDriver(), (long) seconds, defaultPoll);
-            wait.until(ExpectedConditions.titleIs(expectedTitle));
+            Poller.until(app.getDriver(), seconds, defaultPoll, maxPoll, pollingStrategy, pollHistory, ExpectedConditions.titleIs(expectedTitle));
             double timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
             checkTitleEquals(expectedTitle, seconds, timeTook);
         } catch (TimeoutException e) {
@@ -378,8 +399,7 @@ public class WaitFor extends Check {
     public void titleMatches(double seconds, String expectedTitle) {
         double end = System.currentTimeMillis() + (seconds * 1000);
         try {
-            WebDriverWait wait = new WebDriverWait(app.getDriver(), (long) seconds, defaultPoll);
-            wait.until((ExpectedCondition<Boolean>) d -> app.get().title().matches(expectedTitle));
+            Poller.until(app.getDriver(), seconds, defaultPoll, maxPoll, pollingStrategy, pollHistory, (ExpectedCondition<Boolean>) d -> Patterns.matches(app.get().title(), expectedTitle));
             double timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
             checkTitleMatches(expectedTitle, seconds, timeTook);
         } catch (TimeoutException e) {
@@ -398,8 +418,7 @@ public class WaitFor extends Check {
         // wait for up to XX seconds for the error message
         double end = System.currentTimeMillis() + (seconds * 1000);
         try {
-            WebDriverWait wait = new WebDriverWait(app.getDriver(), (long) seconds, defaultPoll);
-            wait.until(ExpectedConditions.alertIsPresent());
+            Poller.until(app.getDriver(), seconds, defaultPoll, maxPoll, pollingStrategy, pollHistory, ExpectedConditions.alertIsPresent());
             return Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
         } catch (TimeoutException e) {
             return seconds;
@@ -417,8 +436,7 @@ public class WaitFor extends Check {
     private double popupEquals(double seconds, String expectedPopupText) {
         double end = System.currentTimeMillis() + (seconds * 1000);
         try {
-            WebDriverWait wait = new WebDriverWait(app.getDriver(), (long) seconds, defaultPoll);
-            wait.until((ExpectedCondition<Boolean>) d -> app.get().alert().equals(expectedPopupText));
+            Poller.until(app.getDriver(), seconds, defaultPoll, maxPoll, pollingStrategy, pollHistory, (ExpectedCondition<Boolean>) d -> app.get().alert().equals(expectedPopupText));
             return Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
         } catch (TimeoutException e) {
             return seconds;
@@ -436,8 +454,7 @@ public class WaitFor extends Check {
     private double popupMatches(double seconds, String expectedPopupPattern) {
         double end = System.currentTimeMillis() + (seconds * 1000);
         try {
-            WebDriverWait wait = new WebDriverWait(app.getDriver(), (long) seconds, defaultPoll);
-            wait.until((ExpectedCondition<Boolean>) d -> app.get().alert().matches(expectedPopupPattern));
+            Poller.until(app.getDriver(), seconds, defaultPoll, maxPoll, pollingStrategy, pollHistory, (ExpectedCondition<Boolean>) d -> Patterns.matches(app.get().alert(), expectedPopupPattern));
             return Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
         } catch (TimeoutException e) {
             return seconds;
@@ -454,8 +471,7 @@ public class WaitFor extends Check {
     private double noPopup(double seconds) {
         double end = System.currentTimeMillis() + (seconds * 1000);
         try {
-            WebDriverWait wait = new WebDriverWait(app.getDriver(), (long) seconds, defaultPoll);
-            wait.until(ExpectedConditions.not(ExpectedConditions.alertIsPresent()));
+            Poller.until(app.getDriver(), seconds, defaultPoll, maxPoll, pollingStrategy, pollHistory, ExpectedConditions.not(ExpectedConditions.alertIsPresent()));
             return Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
         } catch (TimeoutException e) {
             return seconds;
@@ -635,8 +651,7 @@ public class WaitFor extends Check {
     public void textPresent(double seconds, String expectedText) {
         double end = System.currentTimeMillis() + (seconds * 1000);
         try {
-            WebDriverWait wait = new WebDriverWait(app.getDriver(), (long) seconds, defaultPoll);
-            wait.until((ExpectedCondition<Boolean>) d -> app.is().textPresent(expectedText));
+            Poller.until(app.getDriver(), seconds, defaultPoll, maxPoll, pollingStrategy, pollHistory, (ExpectedCondition<Boolean>) d -> app.is().textPresent(expectedText));
             double timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
             checkTextPresent(expectedText, seconds, timeTook);
         } catch (TimeoutException e) {
@@ -655,8 +670,7 @@ public class WaitFor extends Check {
     public void textNotPresent(double seconds, String expectedText) {
         double end = System.currentTimeMillis() + (seconds * 1000);
         try {
-            WebDriverWait wait = new WebDriverWait(app.getDriver(), (long) seconds, defaultPoll);
-            wait.until((ExpectedCondition<Boolean>) d -> !app.is().textPresent(expectedText));
+            Poller.until(app.getDriver(), seconds, defaultPoll, maxPoll, pollingStrategy, pollHistory, (ExpectedCondition<Boolean>) d -> !app.is().textPresent(expectedText));
             double timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
             checkTextNotPresent(expectedText, seconds, timeTook);
         } catch (TimeoutException e) {
@@ -675,8 +689,7 @@ public class WaitFor extends Check {
     public void cookieExists(double seconds, String expectedCookieName) {
         double end = System.currentTimeMillis() + (seconds * 1000);
         try {
-            WebDriverWait wait = new WebDriverWait(app.getDriver(), (long) seconds, defaultPoll);
-            wait.until((ExpectedCondition<Boolean>) d -> !app.is().cookiePresent(expectedCookieName));
+            Poller.until(app.getDriver(), seconds, defaultPoll, maxPoll, pollingStrategy, pollHistory, (ExpectedCondition<Boolean>) d -> !app.is().cookiePresent(expectedCookieName));
             double timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
             checkCookieExists(expectedCookieName, seconds, timeTook);
         } catch (TimeoutException e) {
@@ -695,8 +708,7 @@ public class WaitFor extends Check {
     public void cookieNotExists(double seconds, String unexpectedCookieName) {
         double end = System.currentTimeMillis() + (seconds * 1000);
         try {
-            WebDriverWait wait = new WebDriverWait(app.getDriver(), (long) seconds, defaultPoll);
-            wait.until((ExpectedCondition<Boolean>) d -> app.is().cookiePresent(unexpectedCookieName));
+            Poller.until(app.getDriver(), seconds, defaultPoll, maxPoll, pollingStrategy, pollHistory, (ExpectedCondition<Boolean>) d -> app.is().cookiePresent(unexpectedCookieName));
             double timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
             checkCookieNotExists(unexpectedCookieName, seconds, timeTook);
         } catch (TimeoutException e) {
@@ -716,11 +728,9 @@ public class WaitFor extends Check {
     public void cookieEquals(double seconds, String cookieName, String expectedCookieValue) {
         double end = System.currentTimeMillis() + (seconds * 1000);
         try {
-            WebDriverWait wait = new WebDriverWait(app.getDriver(), (long) seconds, defaultPoll);
-            wait.until((ExpectedCondition<Boolean>) d -> app.is().cookiePresent(cookieName));
+            Poller.until(app.getDriver(), seconds, defaultPoll, maxPoll, pollingStrategy, pollHistory, (ExpectedCondition<Boolean>) d -> app.is().cookiePresent(cookieName));
             double timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
-            wait = new WebDriverWait(app.getDriver(), (long) (seconds - timeTook), defaultPoll);
-            wait.until((ExpectedCondition<Boolean>) d -> app.get().cookieValue(cookieName).equals(expectedCookieValue));
+            Poller.until(app.getDriver(), seconds - timeTook, defaultPoll, maxPoll, pollingStrategy, pollHistory, (ExpectedCondition<Boolean>) d -> app.get().cookieValue(cookieName).equals(expectedCookieValue));
             timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
             checkCookieEquals(cookieName, expectedCookieValue, seconds, timeTook);
         } catch (TimeoutException e) {
@@ -740,11 +750,9 @@ public class WaitFor extends Check {
     public void cookieMatches(double seconds, String cookieName, String expectedCookiePattern) {
         double end = System.currentTimeMillis() + (seconds * 1000);
         try {
-            WebDriverWait wait = new WebDriverWait(app.getDriver(), (long) seconds, defaultPoll);
-            wait.until((ExpectedCondition<Boolean>) d -> app.is().cookiePresent(cookieName));
+            Poller.until(app.getDriver(), seconds, defaultPoll, maxPoll, pollingStrategy, pollHistory, (ExpectedCondition<Boolean>) d -> app.is().cookiePresent(cookieName));
             double timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
-            wait = new WebDriverWait(app.getDriver(), (long) (seconds - timeTook), defaultPoll);
-            wait.until((ExpectedCondition<Boolean>) d -> app.get().cookieValue(cookieName).matches(expectedCookiePattern));
+            Poller.until(app.getDriver(), seconds - timeTook, defaultPoll, maxPoll, pollingStrategy, pollHistory, (ExpectedCondition<Boolean>) d -> Patterns.matches(app.get().cookieValue(cookieName), expectedCookiePattern));
             timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
             checkCookieMatches(cookieName, expectedCookiePattern, seconds, timeTook);
         } catch (TimeoutException e) {
@@ -23,6 +23,7 @@ package com.coveros.selenified.element;
 import com.coveros.selenified.Locator;
 import com.coveros.selenified.application.App;
 import com.coveros.selenified.element.check.*;
+import com.coveros.selenified.element.check.WaitForState.Precondition;
 import com.coveros.selenified.utilities.Reporter;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Action;
@@ -47,7 +48,7 @@ import java.util.List;
  *
  * @author Max Saperstone
  * @version 3.3.1
- * @lastupdate 8/08/2019
+ * @lastupdate 10/19/2026
  */
 public class Element {
 
@@ -490,40 +491,13 @@ public class Element {
     //////////////////////////////////////////////////////
 
     /**
-     * Determines Selenium's 'By' object using Webdriver
+     * Determines Selenium's 'By' object using Webdriver. The object is shared
+     * with every other element using the same locator type and selector
      *
      * @return By: the Selenium object
      */
     public By defineByElement() {
-        // consider adding strengthening
-        By byElement = null;
-        switch (type) { // determine which locator type we are interested in
-            case XPATH:
-                byElement = By.xpath(locator);
-                break;
-            case ID:
-                byElement = By.id(locator);
-                break;
-            case NAME:
-                byElement = By.name(locator);
-                break;
-            case CLASSNAME:
-                byElement = By.className(locator);
-                break;
-            case CSS:
-                byElement = By.cssSelector(locator);
-                break;
-            case LINKTEXT:
-                byElement = By.linkText(locator);
-                break;
-            case PARTIALLINKTEXT:
-                byElement = By.partialLinkText(locator);
-                break;
-            case TAGNAME:
-                byElement = By.tagName(locator);
-                break;
-        }
-        return byElement;
+        return LocatorCache.get(type, locator);
     }
 
     /**
@@ -556,11 +530,147 @@ public class Element {
      */
     public List<WebElement> getWebElements() {
         if (parent != null) {
+            By chain = defineByElementChain();
+            if (chain != null) {
+                // the chain already covers the parents, so when it finds nothing, neither would walking them
+                return driver.findElements(chain);
+            }
             return parent.getWebElement().findElements(defineByElement());
         }
         return driver.findElements(defineByElement());
     }
 
+    /**
+     * Determines a single Selenium 'By' object which locates the element
+     * through all of its parents, so the whole chain can be found with one
+     * call, instead of one call per parent. This is only possible when each
+     * element in the chain is located by xpath, id, name or class name, and
+     * each xpath can be safely nested. If the element has no parent, or the
+     * chain can't be combined, null is returned
+     *
+     * @return By: the Selenium object, or null if there is no chain, or it
+     * can't be combined
+     */
+    public By defineByElementChain() {
+        if (parent == null) {
+            return null;
+        }
+        String xpath = getChainXPath();
+        if (xpath == null) {
+            return null;
+        }
+        return LocatorCache.get(Locator.XPATH, xpath);
+    }
+
+    /**
+     * Builds the xpath locating all elements matching this element's locator
+     * within the matched parents, before this element's match is applied. For
+     * the top most element of a chain, this is just its own locator as an
+     * xpath
+     *
+     * @return String: the combined xpath, or null if it can't be combined
+     */
+    private String getChainXPath() {
+        if (parent == null) {
+            switch (type) {
+                case XPATH:
+                    return locator == null || locator.isEmpty() ? null : locator;
+                case ID:
+                case NAME:
+                case CLASSNAME:
+                    return getAttributeXPath("//");
+                default:
+                    return null;
+            }
+        }
+        String parentXPath = parent.getChainXPath();
+        if (parentXPath == null) {
+            return null;
+        }
+        String matchedParent = "(" + parentXPath + ")[" + (parent.getMatch() + 1) + "]";
+        if (type == Locator.XPATH) {
+            // absolute paths, groupings and unions can't be appended to another path
+            if (locator == null || locator.isEmpty() || locator.startsWith("/") || locator.startsWith("(") ||
+                    locator.contains("|")) {
+                return null;
+            }
+            return matchedParent + "/" + locator;
+        }
+        String descendant = getAttributeXPath("/descendant::");
+        if (descendant == null) {
+            return null;
+        }
+        return matchedParent + descendant;
+    }
+
+    /**
+     * Builds the xpath step matching this element's id, name or class name
+     *
+     * @param axis - how the step is to be joined to what comes before it
+     * @return String: the xpath step, or null if the locator can't be written as xpath
+     */
+    private String getAttributeXPath(String axis) {
+        if (locator == null) {
+            return null;
+        }
+        switch (type) {
+            case ID:
+                return getAttributeXPath(axis, "@id", locator);
+            case NAME:
+                return getAttributeXPath(axis, "@name", locator);
+            case CLASSNAME:
+                if (locator.trim().isEmpty() || locator.matches(".*\\s.*")) {
+                    return null;
+                }
+                return getAttributeXPath(axis, "concat(' ',normalize-space(@class),' ')", " " + locator + " ");
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Builds the xpath step matching an attribute to a value. Class names are
+     * matched with 'contains', as an element can have more than one of them
+     *
+     * @param axis      - how the step is to be joined to what comes before it
+     * @param attribute - the attribute, or expression, to compare
+     * @param value     - the value to compare it to
+     * @return String: the xpath step
+     */
+    private String getAttributeXPath(String axis, String attribute, String value) {
+        String literal = xpathLiteral(value);
+        if (type == Locator.CLASSNAME) {
+            return axis + "*[contains(" + attribute + "," + literal + ")]";
+        }
+        return axis + "*[" + attribute + "=" + literal + "]";
+    }
+
+    /**
+     * Quotes a value so that it can be used within an xpath. As xpath 1.0 has
+     * no escape characters, values with both single and double quotes are
+     * joined together with 'concat'
+     *
+     * @param value - the value to quote
+     * @return String: the xpath literal
+     */
+    private static String xpathLiteral(String value) {
+        if (!value.contains("'")) {
+            return "'" + value + "'";
+        }
+        if (!value.contains("\"")) {
+            return "\"" + value + "\"";
+        }
+        StringBuilder literal = new StringBuilder("concat(");
+        String[] parts = value.split("'", -1);
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                literal.append(",\"'\",");
+            }
+            literal.append("'").append(parts[i]).append("'");
+        }
+        return literal.append(")").toString();
+    }
+
     /**
      * Searches for a child element within the element, and creates and returns
      * this new child element
@@ -577,69 +687,61 @@ public class Element {
     //////////////////////////////////
 
     /**
-     * Determines if the element is present. If it isn't, it'll wait up to the
-     * default time (5 seconds) for the element to be present
+     * Reports that the element isn't in the state required for the action.
+     * If the state was met, nothing is reported
      *
+     * @param unmet    - the first required state the element isn't in, null if all are met
      * @param action   - what action is occurring
      * @param expected - what is the expected result
      * @param extra    - what actually is occurring
-     * @return Boolean: is the element present?
+     * @return Boolean: was a required state not met?
      */
-    private boolean isNotPresent(String action, String expected, String extra) {
-        // wait for element to be present
-        if (!is.present()) {
-            waitForState.present();
+    private boolean isNotMet(Precondition unmet, String action, String expected, String extra) {
+        if (unmet == null) {
+            return false;
         }
-        if (!is.present()) {
-            reporter.fail(action, expected, extra + prettyOutput() + NOT_PRESENT);
-            // indicates element not present
-            return true;
+        String reason;
+        switch (unmet) {
+            case PRESENT:
+                reason = NOT_PRESENT;
+                break;
+            case DISPLAYED:
+                reason = NOT_DISPLAYED;
+                break;
+            default:
+                reason = NOT_ENABLED;
+                break;
         }
-        return false;
+        reporter.fail(action, expected, extra + prettyOutput() + reason);
+        return true;
     }
 
     /**
-     * Determines if the element is displayed. If it isn't, it'll wait up to the
-     * default time (5 seconds) for the element to be displayed
+     * Determines if the element is present. If it isn't, it'll wait up to the
+     * default time (5 seconds) for the element to be present
      *
      * @param action   - what action is occurring
      * @param expected - what is the expected result
      * @param extra    - what actually is occurring
-     * @return Boolean: is the element displayed?
+     * @return Boolean: is the element not present?
      */
-    private boolean isNotDisplayed(String action, String expected, String extra) {
-        // wait for element to be displayed
-        if (!is.displayed()) {
-            waitForState.displayed();
-        }
-        if (!is.displayed()) {
-            reporter.fail(action, expected, extra + prettyOutput() + NOT_DISPLAYED);
-            // indicates element not displayed
-            return true;
-        }
-        return false;
+    private boolean isNotPresent(String action, String expected, String extra) {
+        return isNotMet(waitForState.preconditions(Precondition.PRESENT), action, expected, extra);
     }
 
     /**
-     * Determines if the element is displayed. If it isn't, it'll wait up to the
-     * default time (5 seconds) for the element to be displayed
+     * Determines if the element is present and displayed. If it isn't, it'll
+     * wait up to the default time (5 seconds), in total, for the element to
+     * be both
      *
      * @param action   - what action is occurring
      * @param expected - what is the expected result
      * @param extra    - what actually is occurring
-     * @return Boolean: is the element enabled?
+     * @return Boolean: is the element not present or not displayed?
      */
-    private boolean isNotEnabled(String action, String expected, String extra) {
-        // wait for element to be displayed
-        if (!is.enabled()) {
-            waitForState.enabled();
-        }
-        if (!is.enabled()) {
-            reporter.fail(action, expected, extra + prettyOutput() + NOT_ENABLED);
-            // indicates element not enabled
-            return true;
-        }
-        return false;
+    private boolean isNotPresentDisplayed(String action, String expected, String extra) {
+        return isNotMet(waitForState.preconditions(Precondition.PRESENT, Precondition.DISPLAYED), action, expected,
+                extra);
     }
 
     /**
@@ -687,16 +789,8 @@ public class Element {
      * @return Boolean: is the element present, displayed, and enabled?
      */
     private boolean isNotPresentDisplayedEnabled(String action, String expected, String extra) {
-        // wait for element to be present
-        if (isNotPresent(action, expected, extra)) {
-            return true;
-        }
-        // wait for element to be displayed
-        if (isNotDisplayed(action, expected, extra)) {
-            return true;
-        }
-        // wait for element to be enabled
-        return isNotEnabled(action, expected, extra);
+        return isNotMet(waitForState.preconditions(Precondition.PRESENT, Precondition.DISPLAYED,
+                Precondition.ENABLED), action, expected, extra);
     }
 
     /**
@@ -708,12 +802,8 @@ public class Element {
      * @return Boolean: is the element present, enabled, and an input?
      */
     private boolean isNotPresentEnabledInput(String action, String expected) {
-        // wait for element to be present
-        if (isNotPresent(action, expected, Element.CANT_TYPE)) {
-            return true;
-        }
-        // wait for element to be enabled
-        return isNotEnabled(action, expected, Element.CANT_TYPE) || isNotInput(action, expected, Element.CANT_TYPE);
+        return isNotMet(waitForState.preconditions(Precondition.PRESENT, Precondition.ENABLED), action, expected,
+                Element.CANT_TYPE) || isNotInput(action, expected, Element.CANT_TYPE);
     }
 
     /**
@@ -727,16 +817,7 @@ public class Element {
      * input?
      */
     private boolean isNotPresentDisplayedEnabledInput(String action, String expected, String extra) {
-        // wait for element to be present
-        if (isNotPresent(action, expected, extra)) {
-            return true;
-        }
-        // wait for element to be displayed
-        if (isNotDisplayed(action, expected, extra)) {
-            return true;
-        }
-        // wait for element to be enabled
-        return isNotEnabled(action, expected, extra) || isNotInput(action, expected, extra);
+        return isNotPresentDisplayedEnabled(action, expected, extra) || isNotInput(action, expected, extra);
     }
 
     /**
@@ -749,16 +830,7 @@ public class Element {
      * input?
      */
     private boolean isNotPresentDisplayedEnabledSelect(String action, String expected) {
-        // wait for element to be present
-        if (isNotPresent(action, expected, Element.CANT_SELECT)) {
-            return true;
-        }
-        // wait for element to be displayed
-        if (isNotDisplayed(action, expected, Element.CANT_SELECT)) {
-            return true;
-        }
-        // wait for element to be enabled
-        return isNotEnabled(action, expected, Element.CANT_SELECT) || !isSelect(action, expected);
+        return isNotPresentDisplayedEnabled(action, expected, Element.CANT_SELECT) || !isSelect(action, expected);
     }
 
     // ///////////////////////////////////
@@ -821,12 +893,8 @@ public class Element {
         String action = "Hovering over " + prettyOutput();
         String expected = prettyOutputStart() + " is present, and displayed to be hovered over";
         try {
-            // wait for element to be present
-            if (isNotPresent(action, expected, cantHover)) {
-                return;
-            }
-            // wait for element to be displayed
-            if (isNotDisplayed(action, expected, cantHover)) {
+            // wait for element to be present and displayed
+            if (isNotPresentDisplayed(action, expected, cantHover)) {
                 return;
             }
             Actions selAction = new Actions(driver);
@@ -1226,12 +1294,8 @@ public class Element {
         String action = "Focusing on frame " + prettyOutput();
         String expected = "Frame " + prettyOutput() + " is present, displayed, and focused";
         try {
-            // wait for element to be present
-            if (isNotPresent(action, expected, cantSelect)) {
-                return;
-            }
-            // wait for element to be displayed
-            if (isNotDisplayed(action, expected, cantSelect)) {
+            // wait for element to be present and displayed
+            if (isNotPresentDisplayed(action, expected, cantSelect)) {
                 return;
             }
             // select the actual frame
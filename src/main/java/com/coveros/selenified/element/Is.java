@@ -32,7 +32,7 @@ import org.testng.log4testng.Logger;
  *
  * @author Max Saperstone
  * @version 3.3.1
- * @lastupdate 3/7/2019
+ * @lastupdate 10/19/2026
  */
 public class Is {
 
@@ -129,15 +129,27 @@ public class Is {
     public boolean enabled() {
         boolean isEnabled = false;
         try {
-            // adding additional check for disabled attribute, due to issues with safari
-            isEnabled = (element.getWebElement().isEnabled() && !element.get().allAttributes().containsKey("disabled"));
-        } catch (NullPointerException | NoSuchElementException e) {
+            isEnabled = isEnabled(element.getWebElement());
+        } catch (NullPointerException | NoSuchElementException | StaleElementReferenceException e) {
             // Null pointer means the element was deleted, and there has no attributes. No such element means the same thing
             log.info(e);
         }
         return isEnabled;
     }
 
+    /**
+     * Determines whether an already found element is enabled or not. This is
+     * the one check used both when waiting for an element to be enabled, and
+     * when verifying that it is.
+     *
+     * @param webElement - the found element to check
+     * @return Boolean: whether the element is enabled or not
+     */
+    public static boolean isEnabled(WebElement webElement) {
+        // adding additional check for disabled attribute, due to issues with safari
+        return webElement.isEnabled() && webElement.getAttribute("disabled") == null;
+    }
+
     /**
      * Determines whether the element is editable or not. To be editable, it must
      * be an input, and enabled
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2019 Coveros, Inc.
+ *
+ * This file is part of Selenified.
+ *
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.coveros.selenified.element;
+
+import com.coveros.selenified.Locator;
+import org.openqa.selenium.By;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LocatorCache holds on to the Selenium 'By' objects built for each locator
+ * type and selector. Elements are resolved over and over again while actions,
+ * checks and waits are performed on them, and page objects commonly share the
+ * same selectors, so rather than building a new 'By' on every resolution, one
+ * is built once and reused by the whole JVM. Each locator type keeps at most
+ * MAX_SELECTORS entries, dropping the least recently used selector once full.
+ *
+ * @author Max Saperstone
+ * @version 3.3.1
+ * @lastupdate 10/19/2026
+ */
+final class LocatorCache {
+
+    private static final int MAX_SELECTORS = 500;
+    private static final Map<Locator, Map<String, By>> CACHE = new EnumMap<>(Locator.class);
+
+    static {
+        for (Locator type : Locator.values()) {
+            CACHE.put(type, Collections.synchronizedMap(new LinkedHashMap<String, By>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, By> eldest) {
+                    return size() > MAX_SELECTORS;
+                }
+            }));
+        }
+    }
+
+    private LocatorCache() {
+    }
+
+    /**
+     * Retrieves the Selenium 'By' object for the provided locator type and
+     * selector, building and storing it if it hasn't been seen before
+     *
+     * @param type    - the locator type e.g. Locator.id, Locator.xpath
+     * @param locator - the locator string e.g. login, //input[@id='login']
+     * @return By: the Selenium object
+     */
+    static By get(Locator type, String locator) {
+        Map<String, By> selectors = CACHE.get(type);
+        By byElement = selectors.get(locator);
+        if (byElement == null) {
+            byElement = build(type, locator);
+            selectors.put(locator, byElement);
+        }
+        return byElement;
+    }
+
+    /**
+     * Builds the Selenium 'By' object for the provided locator type and selector
+     *
+     * @param type    - the locator type e.g. Locator.id, Locator.xpath
+     * @param locator - the locator string e.g. login, //input[@id='login']
+     * @return By: the Selenium object
+     */
+    private static By build(Locator type, String locator) {
+        // consider adding strengthening
+        By byElement = null;
+        switch (type) { // determine which locator type we are interested in
+            case XPATH:
+                byElement = By.xpath(locator);
+                break;
+            case ID:
+                byElement = By.id(locator);
+                break;
+            case NAME:
+                byElement = By.name(locator);
+                break;
+            case CLASSNAME:
+                byElement = By.className(locator);
+                break;
+            case CSS:
+                byElement = By.cssSelector(locator);
+                break;
+            case LINKTEXT:
+                byElement = By.linkText(locator);
+                break;
+            case PARTIALLINKTEXT:
+                byElement = By.partialLinkText(locator);
+                break;
+            case TAGNAME:
+                byElement = By.tagName(locator);
+                break;
+        }
+        return byElement;
+    }
+}
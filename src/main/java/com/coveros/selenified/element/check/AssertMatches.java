@@ -21,6 +21,7 @@
 package com.coveros.selenified.element.check;
 
 import com.coveros.selenified.element.Element;
+import com.coveros.selenified.utilities.Patterns;
 import com.coveros.selenified.utilities.Reporter;
 
 import static com.coveros.selenified.utilities.Constants.*;
@@ -68,7 +69,7 @@ public class AssertMatches extends Matches {
     public void text(String expectedPattern) {
         String text = checkText(expectedPattern, 0, 0);
         assertNotNull(NO_ELEMENT_FOUND, text);
-        assertTrue("Text Mismatch: text of '" + text + DOES_NOT_MATCH_PATTERN + expectedPattern + "'", text.matches(expectedPattern));
+        assertTrue("Text Mismatch: text of '" + text + DOES_NOT_MATCH_PATTERN + expectedPattern + "'", Patterns.matches(text, expectedPattern));
     }
 
     /**
@@ -87,7 +88,7 @@ public class AssertMatches extends Matches {
     public void text(int row, int col, String pattern) {
         String text = checkText(row, col, pattern, 0, 0);
         assertNotNull(NO_ELEMENT_FOUND, text);
-        assertTrue("Text Mismatch: text of '" + text + DOES_NOT_MATCH_PATTERN + pattern + "'", text.matches(pattern));
+        assertTrue("Text Mismatch: text of '" + text + DOES_NOT_MATCH_PATTERN + pattern + "'", Patterns.matches(text, pattern));
     }
 
     /**
@@ -106,7 +107,7 @@ public class AssertMatches extends Matches {
             reason = "Element not input";
         }
         assertNotNull(reason, value);
-        assertTrue("Value Mismatch: value of '" + value + DOES_NOT_MATCH_PATTERN + expectedPattern + "'", value.matches(expectedPattern));
+        assertTrue("Value Mismatch: value of '" + value + DOES_NOT_MATCH_PATTERN + expectedPattern + "'", Patterns.matches(value, expectedPattern));
     }
 
     /**
@@ -126,7 +127,7 @@ public class AssertMatches extends Matches {
         }
         assertNotNull(reason, selectedOption);
         assertTrue("Selected Option Mismatch: option of '" + selectedOption + DOES_NOT_MATCH_PATTERN + expectedPattern + "'",
-                selectedOption.matches(expectedPattern));
+                Patterns.matches(selectedOption, expectedPattern));
     }
 
     /**
@@ -146,6 +147,6 @@ public class AssertMatches extends Matches {
         }
         assertNotNull(reason, selectedValue);
         assertTrue("Selected Value Mismatch: value of '" + selectedValue + DOES_NOT_MATCH_PATTERN + expectedPattern + "'",
-                selectedValue.matches(expectedPattern));
+                Patterns.matches(selectedValue, expectedPattern));
     }
 }
\ No newline at end of file
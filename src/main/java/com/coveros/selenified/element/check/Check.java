@@ -21,11 +21,14 @@
 package com.coveros.selenified.element.check;
 
 import com.coveros.selenified.element.Element;
+import com.coveros.selenified.utilities.PollHistory;
+import com.coveros.selenified.utilities.Poller;
+import com.coveros.selenified.utilities.PollingStrategy;
 import com.coveros.selenified.utilities.Property;
 import com.coveros.selenified.utilities.Reporter;
 import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 import static com.coveros.selenified.utilities.Constants.*;
 
@@ -55,6 +58,18 @@ abstract class Check {
     // the default poll for elements
     long defaultPoll = Property.getDefaultPoll();
 
+    // the longest poll for elements
+    final long maxPoll = Property.getMaxPoll();
+
+    // how to space out polling for elements
+    PollingStrategy pollingStrategy = Property.getPollingStrategy();
+
+    // how long conditions have previously taken to be met for the element
+    final PollHistory pollHistory = new PollHistory();
+
+    // whether to wait for changes in the browser instead of polling
+    boolean eventWaits = Property.useEventWaits();
+
     /**
      * Changes the default wait time from 5.0 seconds to some custom number.
      *
@@ -75,6 +90,28 @@ abstract class Check {
         defaultPoll = milliseconds;
     }
 
+    /**
+     * Changes how polls are spaced out while waiting, from the default
+     * strategy to some custom one.
+     *
+     * @param strategy - how should WaitFor space out checking for the condition
+     *                 to be met
+     */
+    public void changePollingStrategy(PollingStrategy strategy) {
+        pollingStrategy = strategy;
+    }
+
+    /**
+     * Changes whether waits listen for changes in the browser, instead of
+     * polling for the condition to be met. Browsers which can't listen for
+     * changes, such as HtmlUnit, will always poll.
+     *
+     * @param useEvents - should WaitFor listen for changes in the browser
+     */
+    public void changeEventWaits(boolean useEvents) {
+        eventWaits = useEvents;
+    }
+
     ///////////////////////////////////////////////////////
     // assertions about the element in general
     ///////////////////////////////////////////////////////
@@ -211,11 +248,28 @@ abstract class Check {
     double elementPresent(double seconds) {
         double end = System.currentTimeMillis() + (seconds * 1000);
         try {
-            WebDriverWait wait = new WebDriverWait(this.element.getDriver(), (long) seconds, Property.getDefaultPoll());
-            wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(this.element.defineByElement()));
+            waitUntil(seconds, ExpectedConditions.presenceOfAllElementsLocatedBy(this.element.defineByElement()));
             return Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
         } catch (TimeoutException e) {
             return seconds;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Waits for the provided condition to be met. If event waits are enabled,
+     * and the browser supports them, the condition will be checked each time
+     * the page changes, otherwise it will be polled for. If the condition
+     * isn't met within the provided time, a TimeoutException is thrown.
+     * Polls are spaced out using the polling strategy.
+     *
+     * @param seconds   - how many seconds to wait for
+     * @param condition - the condition to be met
+     */
+    void waitUntil(double seconds, ExpectedCondition<?> condition) {
+        if (eventWaits && EventWait.isSupported(this.element.getDriver())) {
+            EventWait.until(this.element.getDriver(), seconds, defaultPoll, maxPoll, pollingStrategy, pollHistory, condition);
+        } else {
+            Poller.until(this.element.getDriver(), seconds, defaultPoll, maxPoll, pollingStrategy, pollHistory, condition);
+        }
+    }
+}
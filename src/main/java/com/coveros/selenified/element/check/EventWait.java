@@ -0,0 +1,176 @@
+/*
+ * Copyright 2019 Coveros, Inc.
+ *
+ * This file is part of Selenified.
+ *
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.coveros.selenified.element.check;
+
+import com.coveros.selenified.utilities.PollHistory;
+import com.coveros.selenified.utilities.Poller;
+import com.coveros.selenified.utilities.PollingStrategy;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.testng.log4testng.Logger;
+
+/**
+ * EventWait waits for a condition to be met by listening for changes in the
+ * browser, instead of continually polling for it. A small script is injected
+ * into the page which uses a MutationObserver, along with transition,
+ * animation and input events, to determine when the page changes, and only
+ * returns once it has (or once a short quiet period has passed). The
+ * condition is then checked again, meaning the browser is only queried when
+ * something might actually have changed. Drivers which don't support
+ * asynchronous javascript, such as HtmlUnit, fall back to the standard
+ * polling wait, as does any wait where the script can't be run, for example
+ * while the page is being navigated away from, or where the driver's script
+ * timeout is shorter than the time spent listening.
+ *
+ * @author Max Saperstone
+ * @version 3.3.1
+ * @lastupdate 10/19/2026
+ */
+public final class EventWait {
+
+    private static final Logger log = Logger.getLogger(EventWait.class);
+
+    // the longest time to wait for a change before checking the condition again
+    static final long QUIET_PERIOD = 500;
+
+    private static final String CHANGE_LISTENER = "var callback = arguments[arguments.length - 1];\n" +
+            "var finished = false;\n" +
+            "var events = ['transitionend', 'animationend', 'input', 'change'];\n" +
+            "var observer = new MutationObserver(changed);\n" +
+            "function finish(result) {\n" +
+            "    if (finished) {\n" +
+            "        return;\n" +
+            "    }\n" +
+            "    finished = true;\n" +
+            "    observer.disconnect();\n" +
+            "    for (var i = 0; i < events.length; i++) {\n" +
+            "        document.removeEventListener(events[i], changed, true);\n" +
+            "    }\n" +
+            "    callback(result);\n" +
+            "}\n" +
+            "function changed() {\n" +
+            "    if (window.requestAnimationFrame) {\n" +
+            "        window.requestAnimationFrame(function() { finish(true); });\n" +
+            "    }\n" +
+            "    setTimeout(function() { finish(true); }, 50);\n" +
+            "}\n" +
+            "observer.observe(document, {attributes: true, childList: true, characterData: true, subtree: true});\n" +
+            "for (var i = 0; i < events.length; i++) {\n" +
+            "    document.addEventListener(events[i], changed, true);\n" +
+            "}\n" +
+            "setTimeout(function() { finish(false); }, arguments[0]);";
+
+    private EventWait() {
+    }
+
+    /**
+     * Determines if the driver is able to listen for changes in the browser
+     *
+     * @param driver - the driver controlling the browser
+     * @return Boolean: can the driver wait for changes, or does it need to poll
+     */
+    public static boolean isSupported(WebDriver driver) {
+        return driver instanceof JavascriptExecutor && !(driver instanceof HtmlUnitDriver);
+    }
+
+    /**
+     * Waits for the provided condition to be met, checking it each time the
+     * page changes. If the condition isn't met within the provided time, a
+     * TimeoutException is thrown, same as with polling
+     *
+     * @param driver    - the driver controlling the browser
+     * @param seconds   - how many seconds to wait for
+     * @param poll      - how many milliseconds to wait between checks, if polling needs to be fallen back on
+     * @param maxPoll   - the longest to wait between checks, if polling needs to be fallen back on
+     * @param strategy  - how to space out checks, if polling needs to be fallen back on
+     * @param history   - how long previous conditions took to be met, if polling needs to be fallen back on
+     * @param condition - the condition to be met
+     */
+    public static void until(WebDriver driver, double seconds, long poll, long maxPoll, PollingStrategy strategy,
+                             PollHistory history, ExpectedCondition<?> condition) {
+        long start = System.currentTimeMillis();
+        long end = start + (long) (seconds * 1000);
+        int checks = 1;
+        while (!isMet(driver, condition)) {
+            long now = System.currentTimeMillis();
+            long remaining = end - now;
+            if (remaining <= 0) {
+                Poller.record(checks, now - start, false);
+                throw new TimeoutException("Expected condition failed: waiting for " + condition + " (tried for " +
+                        seconds + " second(s))");
+            }
+            if (!awaitChange(driver, Math.min(remaining, QUIET_PERIOD))) {
+                // the polling wait records itself
+                Poller.until(driver, remaining / 1000.0, poll, maxPoll, strategy, history, condition);
+                return;
+            }
+            checks++;
+        }
+        Poller.record(checks, System.currentTimeMillis() - start, true);
+    }
+
+    /**
+     * Checks the condition once, treating elements which can't be found as
+     * the condition not being met, same as when polling
+     *
+     * @param driver    - the driver controlling the browser
+     * @param condition - the condition to be met
+     * @return Boolean: is the condition met
+     */
+    private static boolean isMet(WebDriver driver, ExpectedCondition<?> condition) {
+        try {
+            Object value = condition.apply(driver);
+            if (value instanceof Boolean) {
+                return (Boolean) value;
+            }
+            return value != null;
+        } catch (NotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Blocks until the page changes, or until the provided time has passed
+     *
+     * @param driver       - the driver controlling the browser
+     * @param milliseconds - the longest time to wait for a change
+     * @return Boolean: was the browser able to listen for changes
+     */
+    private static boolean awaitChange(WebDriver driver, long milliseconds) {
+        try {
+            ((JavascriptExecutor) driver).executeAsyncScript(CHANGE_LISTENER, milliseconds);
+            return true;
+        } catch (ScriptTimeoutException e) {
+            // the driver's script timeout is shorter than our quiet period, so every listen would fail straight away
+            log.info("The script timeout is too short to listen for changes in the browser, falling back to polling. " + e);
+            return false;
+        } catch (WebDriverException e) {
+            log.info("Unable to listen for changes in the browser, falling back to polling. " + e);
+            return false;
+        }
+    }
+}
@@ -20,6 +20,8 @@
 
 package com.coveros.selenified.element.check;
 
+import com.coveros.selenified.utilities.Patterns;
+
 import static com.coveros.selenified.utilities.Constants.*;
 
 /**
@@ -69,7 +71,7 @@ abstract class Matches extends Check {
         // record the result
         if (!this.element.is().present()) {
             this.reporter.fail(check, waitFor, this.element.prettyOutputStart() + IS_NOT_PRESENT, timeTook);
-        } else if (!elementText.matches(expectedPattern)) {
+        } else if (!Patterns.matches(elementText, expectedPattern)) {
             this.reporter.fail(check, waitFor, this.element.prettyOutputStart() + HAS_TEXT + elementText + ENDB, timeTook);
         } else {
             this.reporter.pass(check, waitFor, this.element.prettyOutputStart() + HAS_TEXT + elementText + ENDB, timeTook);
@@ -120,7 +122,7 @@ abstract class Matches extends Check {
         // get the table cell pattern
         String actualText = this.element.get().tableCell(row, col).get().text();
         // record the result
-        if (!actualText.matches(pattern)) {
+        if (!Patterns.matches(actualText, pattern)) {
             this.reporter.fail(check, waitFor, "Cell at row " + row + column + col + within + this.element.prettyOutput() +
                     HAS_TEXT + actualText + ENDB, timeTook);
         } else {
@@ -160,7 +162,7 @@ abstract class Matches extends Check {
         // get the element value
         String actualValue = this.element.get().value();
         // record the result
-        if (!actualValue.matches(expectedPattern)) {
+        if (!Patterns.matches(actualValue, expectedPattern)) {
             this.reporter.fail(check, waitFor, this.element.prettyOutputStart() + HAS_VALUE + actualValue + ENDB, timeTook);
         } else {
             this.reporter.pass(check, waitFor, this.element.prettyOutputStart() + HAS_VALUE + actualValue + ENDB, timeTook);
@@ -199,7 +201,7 @@ abstract class Matches extends Check {
         // get the selected text
         String elementText = this.element.get().selectedOption();
         // record the result
-        if (!elementText.matches(expectedPattern)) {
+        if (!Patterns.matches(elementText, expectedPattern)) {
             this.reporter.fail(check, waitFor, this.element.prettyOutputStart() + HAS_OPTION + elementText + ENDB, timeTook);
         } else {
             this.reporter.pass(check, waitFor, this.element.prettyOutputStart() + HAS_OPTION + elementText + ENDB, timeTook);
@@ -238,7 +240,7 @@ abstract class Matches extends Check {
         // get the selected value
         String elementValue = this.element.get().selectedValue();
         // record the result
-        if (!elementValue.matches(expectedPattern)) {
+        if (!Patterns.matches(elementValue, expectedPattern)) {
             this.reporter.fail(check, waitFor, this.element.prettyOutputStart() + HAS_VALUE + elementValue + ENDB, timeTook);
         } else {
             this.reporter.pass(check, waitFor, this.element.prettyOutputStart() + HAS_VALUE + elementValue + ENDB, timeTook);
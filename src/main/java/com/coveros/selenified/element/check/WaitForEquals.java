@@ -28,7 +28,6 @@ import org.openqa.selenium.Rectangle;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.util.Arrays;
 
@@ -286,8 +285,7 @@ public class WaitForEquals extends Equals {
             if (expectedMatches > 0) {
                 timeTook = elementPresent(seconds);
             }
-            WebDriverWait wait = new WebDriverWait(element.getDriver(), (long) (seconds - timeTook), defaultPoll);
-            wait.until((ExpectedCondition<Boolean>) d -> element.get().matchCount() == expectedMatches);
+            waitUntil(seconds - timeTook, (ExpectedCondition<Boolean>) d -> element.get().matchCount() == expectedMatches);
             timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
             checkMatches(expectedMatches, seconds, timeTook);
         } catch (TimeoutException e) {
@@ -313,8 +311,7 @@ public class WaitForEquals extends Equals {
             if (timeTook >= seconds) {
                 throw new TimeoutException(ELEMENT_NOT_PRESENT);
             }
-            WebDriverWait wait = new WebDriverWait(element.getDriver(), (long) (seconds - timeTook), defaultPoll);
-            wait.until((ExpectedCondition<Boolean>) d -> element.get().tagName().equals(expectedTagName));
+            waitUntil(seconds - timeTook, (ExpectedCondition<Boolean>) d -> element.get().tagName().equals(expectedTagName));
             timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
             checkTagName(expectedTagName, seconds, timeTook);
         } catch (TimeoutException e) {
@@ -340,8 +337,7 @@ public class WaitForEquals extends Equals {
             if (timeTook >= seconds) {
                 throw new TimeoutException(ELEMENT_NOT_PRESENT);
             }
-            WebDriverWait wait = new WebDriverWait(element.getDriver(), (long) (seconds - timeTook), defaultPoll);
-            wait.until((ExpectedCondition<Boolean>) d -> element.get().location().equals(expectedLocation));
+            waitUntil(seconds - timeTook, (ExpectedCondition<Boolean>) d -> element.get().location().equals(expectedLocation));
             timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
             checkLocation(expectedLocation, seconds, timeTook);
         } catch (TimeoutException e) {
@@ -367,9 +363,8 @@ public class WaitForEquals extends Equals {
             if (timeTook >= seconds) {
                 throw new TimeoutException(ELEMENT_NOT_PRESENT);
             }
-            WebDriverWait wait = new WebDriverWait(element.getDriver(), (long) (seconds - timeTook), defaultPoll);
+            waitUntil(seconds - timeTook, (ExpectedCondition<Boolean>) d -> element.get().size().equals(expectedSize));
             timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
-            wait.until((ExpectedCondition<Boolean>) d -> element.get().size().equals(expectedSize));
             checkSize(expectedSize, seconds, timeTook);
         } catch (TimeoutException e) {
             checkSize(expectedSize, seconds, seconds);
@@ -394,8 +389,7 @@ public class WaitForEquals extends Equals {
             if (timeTook >= seconds) {
                 throw new TimeoutException(ELEMENT_NOT_PRESENT);
             }
-            WebDriverWait wait = new WebDriverWait(element.getDriver(), (long) (seconds - timeTook), defaultPoll);
-            wait.until((ExpectedCondition<Boolean>) d -> element.get().rectangle().equals(expectedRectangle));
+            waitUntil(seconds - timeTook, (ExpectedCondition<Boolean>) d -> element.get().rectangle().equals(expectedRectangle));
             timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
             checkRectangle(expectedRectangle, seconds, timeTook);
         } catch (TimeoutException e) {
@@ -422,8 +416,7 @@ public class WaitForEquals extends Equals {
             if (timeTook >= seconds) {
                 throw new TimeoutException(ELEMENT_NOT_PRESENT);
             }
-            WebDriverWait wait = new WebDriverWait(element.getDriver(), (long) (seconds - timeTook), defaultPoll);
-            wait.until((ExpectedCondition<Boolean>) d -> (expectedValue.equals(element.get().css(attribute))));
+            waitUntil(seconds - timeTook, (ExpectedCondition<Boolean>) d -> (expectedValue.equals(element.get().css(attribute))));
             timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
             checkCssValue(attribute, expectedValue, seconds, timeTook);
         } catch (TimeoutException e) {
@@ -448,8 +441,7 @@ public class WaitForEquals extends Equals {
             if (timeTook >= seconds) {
                 throw new TimeoutException(ELEMENT_NOT_PRESENT);
             }
-            WebDriverWait wait = new WebDriverWait(element.getDriver(), (long) (seconds - timeTook), defaultPoll);
-            wait.until((ExpectedCondition<Boolean>) d -> (expectedClass.equals(element.get().attribute(CLASS))));
+            waitUntil(seconds - timeTook, (ExpectedCondition<Boolean>) d -> (expectedClass.equals(element.get().attribute(CLASS))));
             timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
             checkClazz(expectedClass, seconds, timeTook);
         } catch (TimeoutException e) {
@@ -476,8 +468,7 @@ public class WaitForEquals extends Equals {
             if (timeTook >= seconds) {
                 throw new TimeoutException(ELEMENT_NOT_PRESENT);
             }
-            WebDriverWait wait = new WebDriverWait(element.getDriver(), (long) (seconds - timeTook), defaultPoll);
-            wait.until((ExpectedCondition<Boolean>) d -> (expectedValue.equals(element.get().attribute(attribute))));
+            waitUntil(seconds - timeTook, (ExpectedCondition<Boolean>) d -> (expectedValue.equals(element.get().attribute(attribute))));
             timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
             checkAttribute(attribute, expectedValue, seconds, timeTook);
         } catch (TimeoutException e) {
@@ -502,8 +493,7 @@ public class WaitForEquals extends Equals {
             if (timeTook >= seconds) {
                 throw new TimeoutException(ELEMENT_NOT_PRESENT);
             }
-            WebDriverWait wait = new WebDriverWait(element.getDriver(), (long) (seconds - timeTook), defaultPoll);
-            wait.until(ExpectedConditions.textToBePresentInElementLocated(element.defineByElement(), expectedText));
+            waitUntil(seconds - timeTook, ExpectedConditions.textToBePresentInElementLocated(element.defineByElement(), expectedText));
             timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
             checkText(expectedText, seconds, timeTook);
         } catch (TimeoutException e) {
@@ -539,8 +529,7 @@ public class WaitForEquals extends Equals {
             if (element.get().tableCell(row, col) == null) {
                 throw new TimeoutException(CELL_OUT_OF_BOUNDS);
             }
-            WebDriverWait wait = new WebDriverWait(element.getDriver(), (long) (seconds - timeTook), defaultPoll);
-            wait.until((ExpectedCondition<Boolean>) d -> element.get().tableCell(row, col).get().text().equals(expectedText));
+            waitUntil(seconds - timeTook, (ExpectedCondition<Boolean>) d -> element.get().tableCell(row, col).get().text().equals(expectedText));
             timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
             checkText(row, col, expectedText, seconds, timeTook);
         } catch (TimeoutException e) {
@@ -566,8 +555,7 @@ public class WaitForEquals extends Equals {
             if (timeTook >= seconds) {
                 throw new TimeoutException(ELEMENT_NOT_PRESENT);
             }
-            WebDriverWait wait = new WebDriverWait(element.getDriver(), (long) (seconds - timeTook), defaultPoll);
-            wait.until(ExpectedConditions.textToBePresentInElementValue(element.defineByElement(), expectedValue));
+            waitUntil(seconds - timeTook, ExpectedConditions.textToBePresentInElementValue(element.defineByElement(), expectedValue));
             timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
             checkValue(expectedValue, seconds, timeTook);
         } catch (TimeoutException e) {
@@ -596,8 +584,7 @@ public class WaitForEquals extends Equals {
             if (!element.is().select()) {
                 throw new TimeoutException(ELEMENT_NOT_SELECT);
             }
-            WebDriverWait wait = new WebDriverWait(element.getDriver(), (long) (seconds - timeTook), defaultPoll);
-            wait.until((ExpectedCondition<Boolean>) d -> element.get().selectedOption().equals(expectedText));
+            waitUntil(seconds - timeTook, (ExpectedCondition<Boolean>) d -> element.get().selectedOption().equals(expectedText));
             timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
             checkSelectedOption(expectedText, seconds, timeTook);
         } catch (TimeoutException e) {
@@ -626,8 +613,7 @@ public class WaitForEquals extends Equals {
             if (!element.is().select()) {
                 throw new TimeoutException(ELEMENT_NOT_SELECT);
             }
-            WebDriverWait wait = new WebDriverWait(element.getDriver(), (long) (seconds - timeTook), defaultPoll);
-            wait.until((ExpectedCondition<Boolean>) d -> element.get().selectedValue().equals(expectedValue));
+            waitUntil(seconds - timeTook, (ExpectedCondition<Boolean>) d -> element.get().selectedValue().equals(expectedValue));
             timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
             checkSelectedValue(expectedValue, seconds, timeTook);
         } catch (TimeoutException e) {
@@ -656,8 +642,7 @@ public class WaitForEquals extends Equals {
             if (!element.is().select()) {
                 throw new TimeoutException(ELEMENT_NOT_SELECT);
             }
-            WebDriverWait wait = new WebDriverWait(element.getDriver(), (long) (seconds - timeTook), defaultPoll);
-            wait.until((ExpectedCondition<Boolean>) d -> Arrays.toString(element.get().selectOptions()).equals(Arrays.toString(expectedOptions)));
+            waitUntil(seconds - timeTook, (ExpectedCondition<Boolean>) d -> Arrays.toString(element.get().selectOptions()).equals(Arrays.toString(expectedOptions)));
             timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
             checkSelectOptions(expectedOptions, seconds, timeTook);
         } catch (TimeoutException e) {
@@ -686,8 +671,7 @@ public class WaitForEquals extends Equals {
             if (!element.is().select()) {
                 throw new TimeoutException(ELEMENT_NOT_SELECT);
             }
-            WebDriverWait wait = new WebDriverWait(element.getDriver(), (long) (seconds - timeTook), defaultPoll);
-            wait.until((ExpectedCondition<Boolean>) d -> !Arrays.toString(element.get().selectValues()).equals(Arrays.toString(expectedValues)));
+            waitUntil(seconds - timeTook, (ExpectedCondition<Boolean>) d -> !Arrays.toString(element.get().selectValues()).equals(Arrays.toString(expectedValues)));
             timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
             checkSelectValues(expectedValues, seconds, timeTook);
         } catch (TimeoutException e) {
@@ -21,13 +21,13 @@
 package com.coveros.selenified.element.check;
 
 import com.coveros.selenified.element.Element;
+import com.coveros.selenified.element.Is;
 import com.coveros.selenified.utilities.Reporter;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedCondition;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
-
-import static com.coveros.selenified.utilities.Constants.ELEMENT_NOT_PRESENT;
 
 /**
  * WaitForState implements State to provide some additional wait capabilities.
@@ -41,6 +41,14 @@ import static com.coveros.selenified.utilities.Constants.ELEMENT_NOT_PRESENT;
  */
 public class WaitForState extends State {
 
+    /**
+     * The states an element can be required to be in before an action is
+     * performed on it
+     */
+    public enum Precondition {
+        PRESENT, DISPLAYED, ENABLED
+    }
+
     public WaitForState(Element element, Reporter reporter) {
         this.element = element;
         this.reporter = reporter;
@@ -169,8 +177,7 @@ public class WaitForState extends State {
     public void notPresent(double seconds) {
         double end = System.currentTimeMillis() + (seconds * 1000);
         try {
-            WebDriverWait wait = new WebDriverWait(element.getDriver(), (long) seconds, defaultPoll);
-            wait.until(ExpectedConditions.not(ExpectedConditions.presenceOfAllElementsLocatedBy(element.defineByElement())));
+            waitUntil(seconds, (ExpectedCondition<Boolean>) d -> !element.is().present());
             double timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
             checkNotPresent(seconds, timeTook);
         } catch (TimeoutException e) {
@@ -188,13 +195,8 @@ public class WaitForState extends State {
     public void displayed(double seconds) {
         double end = System.currentTimeMillis() + (seconds * 1000);
         try {
-            double timeTook = elementPresent(seconds);
-            if (timeTook >= seconds) {
-                throw new TimeoutException(ELEMENT_NOT_PRESENT);
-            }
-            WebDriverWait wait = new WebDriverWait(element.getDriver(), (long) (seconds - timeTook), defaultPoll);
-            wait.until(ExpectedConditions.visibilityOfElementLocated(element.defineByElement()));
-            timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
+            waitUntil(seconds, (ExpectedCondition<Boolean>) d -> unmetPrecondition(Precondition.DISPLAYED) == null);
+            double timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
             checkDisplayed(seconds, timeTook);
         } catch (TimeoutException e) {
             checkDisplayed(seconds, seconds);
@@ -211,13 +213,8 @@ public class WaitForState extends State {
     public void notDisplayed(double seconds) {
         double end = System.currentTimeMillis() + (seconds * 1000);
         try {
-            double timeTook = elementPresent(seconds);
-            if (timeTook >= seconds) {
-                throw new TimeoutException(ELEMENT_NOT_PRESENT);
-            }
-            WebDriverWait wait = new WebDriverWait(element.getDriver(), (long) (seconds - timeTook), defaultPoll);
-            wait.until(ExpectedConditions.invisibilityOfElementLocated(element.defineByElement()));
-            timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
+            waitUntil(seconds, (ExpectedCondition<Boolean>) d -> element.is().present() && !element.is().displayed());
+            double timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
             checkNotDisplayed(seconds, timeTook);
         } catch (TimeoutException e) {
             checkNotDisplayed(seconds, seconds);
@@ -234,13 +231,8 @@ public class WaitForState extends State {
     public void checked(double seconds) {
         double end = System.currentTimeMillis() + (seconds * 1000);
         try {
-            double timeTook = elementPresent(seconds);
-            if (timeTook >= seconds) {
-                throw new TimeoutException(ELEMENT_NOT_PRESENT);
-            }
-            WebDriverWait wait = new WebDriverWait(element.getDriver(), (long) (seconds - timeTook), defaultPoll);
-            wait.until((ExpectedCondition<Boolean>) d -> element.is().checked());
-            timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
+            waitUntil(seconds, (ExpectedCondition<Boolean>) d -> element.is().checked());
+            double timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
             checkChecked(seconds, timeTook);
         } catch (TimeoutException e) {
             checkChecked(seconds, seconds);
@@ -257,13 +249,8 @@ public class WaitForState extends State {
     public void notChecked(double seconds) {
         double end = System.currentTimeMillis() + (seconds * 1000);
         try {
-            double timeTook = elementPresent(seconds);
-            if (timeTook >= seconds) {
-                throw new TimeoutException(ELEMENT_NOT_PRESENT);
-            }
-            WebDriverWait wait = new WebDriverWait(element.getDriver(), (long) (seconds - timeTook), defaultPoll);
-            wait.until((ExpectedCondition<Boolean>) d -> !element.is().checked());
-            timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
+            waitUntil(seconds, (ExpectedCondition<Boolean>) d -> element.is().present() && !element.is().checked());
+            double timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
             checkNotChecked(seconds, timeTook);
         } catch (TimeoutException e) {
             checkNotChecked(seconds, seconds);
@@ -282,13 +269,8 @@ public class WaitForState extends State {
     public void editable(double seconds) {
         double end = System.currentTimeMillis() + (seconds * 1000);
         try {
-            double timeTook = elementPresent(seconds);
-            if (timeTook >= seconds) {
-                throw new TimeoutException(ELEMENT_NOT_PRESENT);
-            }
-            WebDriverWait wait = new WebDriverWait(element.getDriver(), (long) (seconds - timeTook), defaultPoll);
-            wait.until((ExpectedCondition<Boolean>) d -> element.is().editable());
-            timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
+            waitUntil(seconds, (ExpectedCondition<Boolean>) d -> element.is().editable());
+            double timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
             checkEditable(seconds, timeTook);
         } catch (TimeoutException e) {
             checkEditable(seconds, seconds);
@@ -307,13 +289,8 @@ public class WaitForState extends State {
     public void notEditable(double seconds) {
         double end = System.currentTimeMillis() + (seconds * 1000);
         try {
-            double timeTook = elementPresent(seconds);
-            if (timeTook >= seconds) {
-                throw new TimeoutException(ELEMENT_NOT_PRESENT);
-            }
-            WebDriverWait wait = new WebDriverWait(element.getDriver(), (long) (seconds - timeTook), defaultPoll);
-            wait.until((ExpectedCondition<Boolean>) d -> !element.is().editable());
-            timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
+            waitUntil(seconds, (ExpectedCondition<Boolean>) d -> element.is().present() && !element.is().editable());
+            double timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
             checkNotEditable(seconds, timeTook);
         } catch (TimeoutException e) {
             checkNotEditable(seconds, seconds);
@@ -330,13 +307,9 @@ public class WaitForState extends State {
     public void enabled(double seconds) {
         double end = System.currentTimeMillis() + (seconds * 1000);
         try {
-            double timeTook = elementPresent(seconds);
-            if (timeTook >= seconds) {
-                throw new TimeoutException(ELEMENT_NOT_PRESENT);
-            }
-            WebDriverWait wait = new WebDriverWait(element.getDriver(), (long) (seconds - timeTook), defaultPoll);
-            wait.until(ExpectedConditions.elementToBeClickable(element.defineByElement()));
-            timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
+            // same as selenium's clickable check, the element needs to be displayed as well as enabled
+            waitUntil(seconds, (ExpectedCondition<Boolean>) d -> unmetPrecondition(Precondition.DISPLAYED, Precondition.ENABLED) == null);
+            double timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
             checkEnabled(seconds, timeTook);
         } catch (TimeoutException e) {
             checkEnabled(seconds, seconds);
@@ -353,16 +326,82 @@ public class WaitForState extends State {
     public void notEnabled(double seconds) {
         double end = System.currentTimeMillis() + (seconds * 1000);
         try {
-            double timeTook = elementPresent(seconds);
-            if (timeTook >= seconds) {
-                throw new TimeoutException(ELEMENT_NOT_PRESENT);
-            }
-            WebDriverWait wait = new WebDriverWait(element.getDriver(), (long) (seconds - timeTook), defaultPoll);
-            wait.until(ExpectedConditions.not(ExpectedConditions.elementToBeClickable(element.defineByElement())));
-            timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
+            waitUntil(seconds, (ExpectedCondition<Boolean>) d -> element.is().present() && !element.is().enabled());
+            double timeTook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
             checkNotEnabled(seconds, timeTook);
         } catch (TimeoutException e) {
             checkNotEnabled(seconds, seconds);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Waits for the element to be in all of the provided states, in the order
+     * provided. The default wait time will be shared between all of the
+     * states, and each poll checks all of them at once. Unlike the other
+     * waits, nothing is logged, so the caller can determine how to report
+     * any unmet state.
+     *
+     * @param preconditions - the states the element is required to be in
+     * @return Precondition: the first state which still isn't met once the
+     * wait is over, or null if they all are
+     */
+    public Precondition preconditions(Precondition... preconditions) {
+        return preconditions(defaultWait, preconditions);
+    }
+
+    /**
+     * Waits for the element to be in all of the provided states, in the order
+     * provided. The provided wait time will be shared between all of the
+     * states, and each poll checks all of them at once. Unlike the other
+     * waits, nothing is logged, so the caller can determine how to report
+     * any unmet state.
+     *
+     * @param seconds       - how many seconds to wait for
+     * @param preconditions - the states the element is required to be in
+     * @return Precondition: the first state which still isn't met once the
+     * wait is over, or null if they all are
+     */
+    public Precondition preconditions(double seconds, Precondition... preconditions) {
+        Precondition unmet = unmetPrecondition(preconditions);
+        if (unmet == null) {
+            return null;
+        }
+        try {
+            waitUntil(seconds, (ExpectedCondition<Boolean>) d -> unmetPrecondition(preconditions) == null);
+            return null;
+        } catch (TimeoutException e) {
+            return unmetPrecondition(preconditions);
+        }
+    }
+
+    /**
+     * Checks each of the provided states against a single lookup of the
+     * element, stopping at the first one which isn't met
+     *
+     * @param preconditions - the states the element is required to be in
+     * @return Precondition: the first state which isn't met, or null if they all are
+     */
+    private Precondition unmetPrecondition(Precondition... preconditions) {
+        if (preconditions.length == 0) {
+            return null;
+        }
+        WebElement webElement;
+        try {
+            webElement = element.getWebElement();
+        } catch (NoSuchElementException | StaleElementReferenceException e) {
+            // every state requires the element to be there
+            return preconditions[0];
+        }
+        for (Precondition precondition : preconditions) {
+            try {
+                if ((precondition == Precondition.DISPLAYED && !webElement.isDisplayed()) ||
+                        (precondition == Precondition.ENABLED && !Is.isEnabled(webElement))) {
+                    return precondition;
+                }
+            } catch (StaleElementReferenceException e) {
+                return precondition;
+            }
+        }
+        return null;
+    }
+}
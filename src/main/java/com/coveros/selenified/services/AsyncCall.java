@@ -0,0 +1,282 @@
+/*
+ * Copyright 2019 Coveros, Inc.
+ *
+ * This file is part of Selenified.
+ *
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.coveros.selenified.services;
+
+import com.coveros.selenified.services.Call.Method;
+import com.coveros.selenified.utilities.Property;
+
+import java.io.File;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Performs the general web service method calls asynchronously, so that a
+ * single test thread can have many calls in flight at once. Each call returns
+ * a future, which completes with the response once the call has been made, and
+ * written to the output file. Steps are always written in the order the calls
+ * were made, regardless of the order they complete in. Unless an executor is
+ * provided, calls are made on a shared pool of daemon threads, sized by the
+ * asyncThreads property.
+ * <p>
+ * Headers, credentials and content type are read from the HTTP object when
+ * each call is actually made, so they shouldn't be changed while calls are
+ * still outstanding.
+ *
+ * @author Max Saperstone
+ * @version 3.3.1
+ * @lastupdate 10/19/2026
+ */
+public class AsyncCall {
+
+    private static final AtomicInteger THREADS = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = createExecutor(Property.getAsyncThreads());
+
+    private final Call call;
+    private final Executor executor;
+
+    AsyncCall(Call call) {
+        this(call, EXECUTOR);
+    }
+
+    AsyncCall(Call call, Executor executor) {
+        this.call = call;
+        this.executor = executor == null ? EXECUTOR : executor;
+    }
+
+    /**
+     * Retrieves the shared pool of threads calls are made on, when no executor
+     * is provided
+     *
+     * @return Executor: the shared pool of threads
+     */
+    static Executor getSharedExecutor() {
+        return EXECUTOR;
+    }
+
+    /**
+     * Creates the shared pool of threads to make calls with. Threads are
+     * daemons, so outstanding calls don't keep the JVM running, and idle
+     * threads are let go after a minute
+     *
+     * @param threads - the most calls to make at once
+     * @return ExecutorService: the pool of threads
+     */
+    private static ExecutorService createExecutor(int threads) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "selenified-async-" + THREADS.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Starts a get http call, and writes the call and response information to
+     * the output file once it completes
+     *
+     * @param endpoint - the endpoint of the service under test
+     * @return CompletableFuture: the response provided from the http call
+     */
+    public CompletableFuture<Response> get(String endpoint) {
+        return call.callAsync(executor, Method.GET, endpoint, null, null);
+    }
+
+    /**
+     * Starts a get http call, and writes the call and response information to
+     * the output file once it completes
+     *
+     * @param endpoint - the endpoint of the service under test
+     * @param params   - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @return CompletableFuture: the response provided from the http call
+     */
+    public CompletableFuture<Response> get(String endpoint, Request params) {
+        return call.callAsync(executor, Method.GET, endpoint, params, null);
+    }
+
+    /**
+     * Starts a post http call, and writes the call and response information to
+     * the output file once it completes
+     *
+     * @param endpoint - the endpoint of the service under test
+     * @param params   - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @return CompletableFuture: the response provided from the http call
+     */
+    public CompletableFuture<Response> post(String endpoint, Request params) {
+        return call.callAsync(executor, Method.POST, endpoint, params, null);
+    }
+
+    /**
+     * Starts a post http call, and writes the call and response information to
+     * the output file once it completes
+     *
+     * @param endpoint - the endpoint of the service under test
+     * @param params   - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @param file     - an input file to be provided with the call
+     * @return CompletableFuture: the response provided from the http call
+     */
+    public CompletableFuture<Response> post(String endpoint, Request params, File file) {
+        return call.callAsync(executor, Method.POST, endpoint, params, file);
+    }
+
+    /**
+     * Starts a put http call, and writes the call and response information to
+     * the output file once it completes
+     *
+     * @param endpoint - the endpoint of the service under test
+     * @param params   - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @return CompletableFuture: the response provided from the http call
+     */
+    public CompletableFuture<Response> put(String endpoint, Request params) {
+        return call.callAsync(executor, Method.PUT, endpoint, params, null);
+    }
+
+    /**
+     * Starts a put http call, and writes the call and response information to
+     * the output file once it completes
+     *
+     * @param endpoint - the endpoint of the service under test
+     * @param params   - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @param file     - an input file to be provided with the call
+     * @return CompletableFuture: the response provided from the http call
+     */
+    public CompletableFuture<Response> put(String endpoint, Request params, File file) {
+        return call.callAsync(executor, Method.PUT, endpoint, params, file);
+    }
+
+    /**
+     * Starts a patch http call, and writes the call and response information to
+     * the output file once it completes
+     *
+     * @param endpoint - the endpoint of the service under test
+     * @param params   - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @return CompletableFuture: the response provided from the http call
+     */
+    public CompletableFuture<Response> patch(String endpoint, Request params) {
+        return call.callAsync(executor, Method.PATCH, endpoint, params, null);
+    }
+
+    /**
+     * Starts a patch http call, and writes the call and response information to
+     * the output file once it completes
+     *
+     * @param endpoint - the endpoint of the service under test
+     * @param params   - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @param file     - an input file to be provided with the call
+     * @return CompletableFuture: the response provided from the http call
+     */
+    public CompletableFuture<Response> patch(String endpoint, Request params, File file) {
+        return call.callAsync(executor, Method.PATCH, endpoint, params, file);
+    }
+
+    /**
+     * Starts a delete http call, and writes the call and response information to
+     * the output file once it completes
+     *
+     * @param endpoint - the endpoint of the service under test
+     * @return CompletableFuture: the response provided from the http call
+     */
+    public CompletableFuture<Response> delete(String endpoint) {
+        return call.callAsync(executor, Method.DELETE, endpoint, null, null);
+    }
+
+    /**
+     * Starts a delete http call, and writes the call and response information to
+     * the output file once it completes
+     *
+     * @param endpoint - the endpoint of the service under test
+     * @param params   - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @return CompletableFuture: the response provided from the http call
+     */
+    public CompletableFuture<Response> delete(String endpoint, Request params) {
+        return call.callAsync(executor, Method.DELETE, endpoint, params, null);
+    }
+
+    /**
+     * Starts a delete http call, and writes the call and response information to
+     * the output file once it completes
+     *
+     * @param endpoint - the endpoint of the service under test
+     * @param params   - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @param file     - an input file to be provided with the call
+     * @return CompletableFuture: the response provided from the http call
+     */
+    public CompletableFuture<Response> delete(String endpoint, Request params, File file) {
+        return call.callAsync(executor, Method.DELETE, endpoint, params, file);
+    }
+
+    /**
+     * Starts a head http call, and writes the call and response information to
+     * the output file once it completes
+     *
+     * @param endpoint - the endpoint of the service under test
+     * @param params   - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @return CompletableFuture: the response provided from the http call
+     */
+    public CompletableFuture<Response> head(String endpoint, Request params) {
+        return call.callAsync(executor, Method.HEAD, endpoint, params, null);
+    }
+
+    /**
+     * Starts an options http call, and writes the call and response information
+     * to the output file once it completes
+     *
+     * @param endpoint - the endpoint of the service under test
+     * @param params   - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @return CompletableFuture: the response provided from the http call
+     */
+    public CompletableFuture<Response> options(String endpoint, Request params) {
+        return call.callAsync(executor, Method.OPTIONS, endpoint, params, null);
+    }
+
+    /**
+     * Starts an http call using any method, such as PROPFIND or PURGE, and
+     * writes the call and response information to the output file once it
+     * completes
+     *
+     * @param method   - the http method to call, e.g. PURGE
+     * @param endpoint - the endpoint of the service under test
+     * @param params   - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @param file     - an input file to be provided with the call
+     * @return CompletableFuture: the response provided from the http call
+     */
+    public CompletableFuture<Response> request(String method, String endpoint, Request params, File file) {
+        return call.callAsync(executor, HTTP.getMethod(method), endpoint, params, file);
+    }
+}
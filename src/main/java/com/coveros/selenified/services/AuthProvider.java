@@ -0,0 +1,47 @@
+/*
+ * Copyright 2019 Coveros, Inc.
+ *
+ * This file is part of Selenified.
+ *
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.coveros.selenified.services;
+
+import java.io.IOException;
+
+/**
+ * AuthProvider supplies the Authorization header sent with each web service
+ * call, for services authenticated with something other than basic
+ * username/password credentials, such as tokens. As it is asked for the header
+ * on every call, it should hand back a value it already holds, only doing any
+ * real work when that value needs to change.
+ *
+ * @author Max Saperstone
+ * @version 3.3.1
+ * @lastupdate 10/19/2026
+ */
+@FunctionalInterface
+public interface AuthProvider {
+
+    /**
+     * Retrieves the value of the Authorization header to send
+     *
+     * @return String: the authorization value, such as 'Bearer abc123', or
+     * null to send the call without authorization
+     * @throws IOException: if the authorization can't be obtained
+     */
+    String getAuthorization() throws IOException;
+}
@@ -22,11 +22,21 @@ package com.coveros.selenified.services;
 
 import com.coveros.selenified.exceptions.InvalidHTTPException;
 import com.coveros.selenified.exceptions.InvalidReporterException;
+import com.coveros.selenified.utilities.Property;
 import com.coveros.selenified.utilities.Reporter;
 import com.coveros.selenified.services.HTTP.ContentType;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 
 /**
  * Performs the general web service method calls, and provides a simple access
@@ -34,7 +44,7 @@ import java.util.Map;
  *
  * @author Max Saperstone
  * @version 3.3.1
- * @lastupdate 4/4/2019
+ * @lastupdate 10/19/2026
  */
 public class Call {
 
@@ -44,7 +54,10 @@ public class Call {
     // what services will we be interacting with
     private final HTTP http;
 
-    protected enum Method {GET, POST, PUT, PATCH, DELETE}
+    // the last step waiting to be written, so calls are recorded in the order they were made
+    private CompletableFuture<Void> recorded = CompletableFuture.completedFuture(null);
+
+    protected enum Method {GET, POST, PUT, PATCH, DELETE, HEAD, OPTIONS}
 
     public Call(HTTP http, Map<String, Object> headers) throws InvalidHTTPException, InvalidReporterException {
         if (http == null) {
@@ -104,6 +117,46 @@ public class Call {
         http.addCredentials(user, pass);
     }
 
+    /**
+     * Sets what provides the Authorization header for each call, such as a
+     * RefreshingTokenProvider, in place of any basic credentials
+     *
+     * @param authProvider - what provides the authorization, or null to only use basic credentials
+     */
+    public void setAuthProvider(AuthProvider authProvider) {
+        http.setAuthProvider(authProvider);
+    }
+
+    /**
+     * Sets how failed calls should be retried, and whether slow GET calls should
+     * be hedged. Each attempt made is written out to the report
+     *
+     * @param retryPolicy - how to retry calls, or null to only ever make each call once
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        http.setRetryPolicy(retryPolicy);
+    }
+
+    /**
+     * Sets the cache GET calls are served from, in place of the cache shared by
+     * the suite. Each call served from the cache is marked as such in the report
+     *
+     * @param responseCache - the cache to use, or null to not cache responses
+     */
+    public void setResponseCache(ResponseCache responseCache) {
+        http.setResponseCache(responseCache);
+    }
+
+    /**
+     * Records calls to, or replays calls from, the cassette, in place of the
+     * cassette set for the suite
+     *
+     * @param cassette - the cassette to record to, or replay from
+     */
+    public void setCassette(Cassette cassette) {
+        http.setCassette(cassette);
+    }
+
     ///////////////////////////////////////////////////////////////////
     // some simple actions for our services
     ///////////////////////////////////////////////////////////////////
@@ -251,58 +304,456 @@ public class Call {
         return call(Method.DELETE, endpoint, params, file);
     }
 
+    /**
+     * Performs a head http call and writes the call and response information
+     * to the output file
+     *
+     * @param endpoint - the endpoint of the service under test
+     * @return Response: the response provided from the http call
+     */
+    public Response head(String endpoint) {
+        return call(Method.HEAD, endpoint, null, null);
+    }
+
+    /**
+     * Performs a head http call and writes the call and response information
+     * to the output file
+     *
+     * @param endpoint - the endpoint of the service under test
+     * @param params   - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @return Response: the response provided from the http call
+     */
+    public Response head(String endpoint, Request params) {
+        return call(Method.HEAD, endpoint, params, null);
+    }
+
+    /**
+     * Performs an options http call and writes the call and response
+     * information to the output file
+     *
+     * @param endpoint - the endpoint of the service under test
+     * @return Response: the response provided from the http call
+     */
+    public Response options(String endpoint) {
+        return call(Method.OPTIONS, endpoint, null, null);
+    }
+
+    /**
+     * Performs an options http call and writes the call and response
+     * information to the output file
+     *
+     * @param endpoint - the endpoint of the service under test
+     * @param params   - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @return Response: the response provided from the http call
+     */
+    public Response options(String endpoint, Request params) {
+        return call(Method.OPTIONS, endpoint, params, null);
+    }
+
+    /**
+     * Performs an http call using any method, including ones other than the
+     * standard ones, such as PROPFIND or PURGE, and writes the call and
+     * response information to the output file
+     *
+     * @param method   - the http method to call, e.g. PURGE
+     * @param endpoint - the endpoint of the service under test
+     * @param params   - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @return Response: the response provided from the http call
+     */
+    public Response request(String method, String endpoint, Request params) {
+        return call(HTTP.getMethod(method), endpoint, params, null);
+    }
+
+    /**
+     * Performs an http call using any method, including ones other than the
+     * standard ones, such as PROPFIND or PURGE, and writes the call and
+     * response information to the output file
+     *
+     * @param method   - the http method to call, e.g. PURGE
+     * @param endpoint - the endpoint of the service under test
+     * @param params   - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @param file     - an input file to be provided with the call
+     * @return Response: the response provided from the http call
+     */
+    public Response request(String method, String endpoint, Request params, File file) {
+        return call(HTTP.getMethod(method), endpoint, params, file);
+    }
+
+    /**
+     * Performs a get http call, streaming the response body straight into the
+     * file instead of holding it in memory, and writes the call and download
+     * information to the output file
+     *
+     * @param endpoint    - the endpoint of the service under test
+     * @param destination - the file to write the response body to
+     * @return Response: the response provided from the http call, describing the download
+     */
+    public Response download(String endpoint, File destination) {
+        return download(endpoint, null, destination);
+    }
+
+    /**
+     * Performs a get http call, streaming the response body straight into the
+     * file instead of holding it in memory, and writes the call and download
+     * information to the output file
+     *
+     * @param endpoint    - the endpoint of the service under test
+     * @param params      - the parameters to be passed to the endpoint for the service
+     *                    call
+     * @param destination - the file to write the response body to
+     * @return Response: the response provided from the http call, describing the download
+     */
+    public Response download(String endpoint, Request params, File destination) {
+        String action = getAction(Method.GET.toString(), endpoint, params, null) +
+                "<div class='indent'>Downloading to <i>" + destination.getAbsolutePath() + "</i></div>";
+        return call(Method.GET.toString(), action, () -> http.download(endpoint, params, destination));
+    }
+
+    /**
+     * Performs a get http call, streaming the response body straight into the
+     * provided stream instead of holding it in memory, and writes the call and
+     * download information to the output file. The stream is not closed
+     *
+     * @param endpoint    - the endpoint of the service under test
+     * @param params      - the parameters to be passed to the endpoint for the service
+     *                    call
+     * @param destination - where to write the response body to
+     * @return Response: the response provided from the http call, describing the download
+     */
+    public Response download(String endpoint, Request params, OutputStream destination) {
+        String action = getAction(Method.GET.toString(), endpoint, params, null) +
+                "<div class='indent'>Downloading to a stream</div>";
+        return call(Method.GET.toString(), action, () -> http.download(endpoint, params, destination));
+    }
+
+    /**
+     * Performs a post http call for each of the requests, to the same endpoint,
+     * with as many calls in flight at once as the asyncThreads property allows.
+     * Instead of writing each call out to the output file, a single step is
+     * written, with how many calls were made, the response codes received, any
+     * failures, and how long the calls took
+     *
+     * @param endpoint - the endpoint of the service under test
+     * @param requests - the parameters to be passed to the endpoint for each call
+     * @return List: the response to each request, in the same order, with null
+     * for any call which couldn't be made
+     */
+    public List<Response> batch(String endpoint, List<Request> requests) {
+        return batch(endpoint, requests, Property.getAsyncThreads());
+    }
+
+    /**
+     * Performs a post http call for each of the requests, to the same endpoint,
+     * with at most the window of calls in flight at once. Instead of writing
+     * each call out to the output file, a single step is written, with how many
+     * calls were made, the response codes received, any failures, and how long
+     * the calls took
+     *
+     * @param endpoint - the endpoint of the service under test
+     * @param requests - the parameters to be passed to the endpoint for each call
+     * @param window   - the most calls to have in flight at once
+     * @return List: the response to each request, in the same order, with null
+     * for any call which couldn't be made
+     */
+    public List<Response> batch(String endpoint, List<Request> requests, int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("Need to allow at least 1 call at once, not " + window);
+        }
+        Semaphore slots = new Semaphore(window);
+        List<CompletableFuture<Response>> calls = new ArrayList<>();
+        long start = System.nanoTime();
+        for (Request request : requests) {
+            slots.acquireUninterruptibly();
+            CompletableFuture<Response> performed = new CompletableFuture<>();
+            try {
+                AsyncCall.getSharedExecutor().execute(() -> {
+                    try {
+                        performed.complete(perform(Method.POST.toString(), endpoint, request, null));
+                    } catch (Exception e) {
+                        performed.completeExceptionally(e);
+                    } finally {
+                        slots.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                slots.release();
+                performed.completeExceptionally(e);
+            }
+            calls.add(performed);
+        }
+        List<Response> responses = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (CompletableFuture<Response> call : calls) {
+            try {
+                responses.add(call.join());
+            } catch (CompletionException e) {
+                responses.add(null);
+                failures.add(e.getCause());
+            }
+        }
+        long duration = System.nanoTime() - start;
+        getRecorded().join();
+        String action = "Making <i>" + requests.size() + " " + Method.POST + "</i> calls to <i>" +
+                http.getServiceBaseUrl() + endpoint + "</i>" + "<div class='indent'>" +
+                Reporter.getCredentialStringOutput(http) + Reporter.getRequestHeadersOutput(http) + "</div>";
+        String expected = "<i>" + requests.size() + " " + Method.POST + "</i> calls were performed";
+        String actual = Reporter.getBatchOutput(responses, failures, duration);
+        if (failures.isEmpty()) {
+            reporter.pass(action, expected, actual);
+        } else {
+            reporter.fail(action, expected, actual);
+        }
+        return responses;
+    }
+
+    /**
+     * Provides access to asynchronous versions of the http calls, which are made
+     * on a shared, bounded pool of threads. Each call returns immediately, allowing
+     * many calls to be in flight at once, and its step is written to the output
+     * file once it completes, in the same order the calls were made
+     *
+     * @return AsyncCall: the asynchronous http calls
+     */
+    public AsyncCall async() {
+        return new AsyncCall(this);
+    }
+
+    /**
+     * Provides access to asynchronous versions of the http calls, which are made
+     * using the provided executor. Each call returns immediately, allowing many
+     * calls to be in flight at once, and its step is written to the output file
+     * once it completes, in the same order the calls were made
+     *
+     * @param executor - what to run the http calls with
+     * @return AsyncCall: the asynchronous http calls
+     */
+    public AsyncCall async(Executor executor) {
+        return new AsyncCall(this, executor);
+    }
+
     /**
      * Performs an http call and writes the call and response information to the
-     * output file
+     * output file. If any asynchronous calls are still outstanding, their steps
+     * are written before this one
      *
-     * @param method     - what http method call is being made. should be in all caps
+     * @param method   - what http method call is being made. should be in all caps
      * @param endpoint - the endpoint of the service under test
      * @param params   - the parameters to be passed to the endpoint for the service
      *                 call
      * @return Response: the response provided from the http call
      */
     private Response call(Method method, String endpoint, Request params, File inputFile) {
+        return call(method.toString(), endpoint, params, inputFile);
+    }
+
+    /**
+     * Performs an http call and writes the call and response information to the
+     * output file. If any asynchronous calls are still outstanding, their steps
+     * are written before this one
+     *
+     * @param method   - what http method call is being made
+     * @param endpoint - the endpoint of the service under test
+     * @param params   - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @return Response: the response provided from the http call
+     */
+    private Response call(String method, String endpoint, Request params, File inputFile) {
+        return call(method, getAction(method, endpoint, params, inputFile), () -> perform(method, endpoint, params, inputFile));
+    }
+
+    /**
+     * Performs an http call and writes the call and response information to the
+     * output file. If any asynchronous calls are still outstanding, their steps
+     * are written before this one
+     *
+     * @param method - what http method call is being made. should be in all caps
+     * @param action - the description of the call being made
+     * @param call   - makes the actual http call
+     * @return Response: the response provided from the http call
+     */
+    private Response call(String method, String action, HttpCall call) {
+        Response response = null;
+        Exception failure = null;
+        try {
+            response = call.perform();
+        } catch (Exception e) {
+            failure = e;
+        }
+        getRecorded().join();
+        return record(method, action, response, failure);
+    }
+
+    /**
+     * Starts an http call using the provided executor. Once the call completes,
+     * and all previously made calls have been written to the output file, the
+     * call and response information is written to the output file
+     *
+     * @param executor - what to run the http call with
+     * @param method   - what http method call is being made. should be in all caps
+     * @param endpoint - the endpoint of the service under test
+     * @param params   - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @return CompletableFuture: the response provided from the http call, completed
+     * once the call has been written to the output file
+     */
+    CompletableFuture<Response> callAsync(Executor executor, Method method, String endpoint, Request params,
+                                          File inputFile) {
+        return callAsync(executor, method.toString(), endpoint, params, inputFile);
+    }
+
+    /**
+     * Starts an http call using the provided executor. Once the call completes,
+     * and all previously made calls have been written to the output file, the
+     * call and response information is written to the output file
+     *
+     * @param executor - what to run the http call with
+     * @param method   - what http method call is being made
+     * @param endpoint - the endpoint of the service under test
+     * @param params   - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @return CompletableFuture: the response provided from the http call, completed
+     * once the call has been written to the output file
+     */
+    CompletableFuture<Response> callAsync(Executor executor, String method, String endpoint, Request params,
+                                          File inputFile) {
+        // the action is determined now, so it reflects the call as it was requested
+        String action = getAction(method, endpoint, params, inputFile);
+        CompletableFuture<Response> performed = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    performed.complete(perform(method, endpoint, params, inputFile));
+                } catch (Exception e) {
+                    performed.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            performed.completeExceptionally(e);
+        }
+        synchronized (this) {
+            CompletableFuture<Response> step = recorded.thenCompose(v ->
+                    performed.handle((response, failure) -> record(method, action, response, failure)));
+            recorded = step.handle((response, failure) -> null);
+            return step;
+        }
+    }
+
+    /**
+     * Retrieves the last step waiting to be written to the output file
+     *
+     * @return CompletableFuture: completed once all outstanding steps have been written
+     */
+    private synchronized CompletableFuture<Void> getRecorded() {
+        return recorded;
+    }
+
+    /**
+     * Builds up the description of the http call to be made, for the output file
+     *
+     * @param method   - what http method call is being made. should be in all caps
+     * @param endpoint - the endpoint of the service under test
+     * @param params   - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @return String: the action to write to the output file
+     */
+    private String getAction(String method, String endpoint, Request params, File inputFile) {
+        if (!reporter.isDetailed()) {
+            return method + " " + endpoint;
+        }
         StringBuilder action = new StringBuilder();
         action.append("Making <i>");
-        action.append(method.toString());
+        action.append(method);
         action.append("</i> call to <i>");
         action.append(http.getServiceBaseUrl()).append(endpoint).append(http.getRequestParams(params));
         action.append("</i>");
         action.append("<div class='indent'>");
         action.append(Reporter.getCredentialStringOutput(http));
         action.append(Reporter.getRequestHeadersOutput(http));
-        action.append(Reporter.getRequestPayloadOutput(params, inputFile));
+        action.append(Reporter.getRequestPayloadOutput(params, inputFile, reporter));
         action.append("</div>");
+        return action.toString();
+    }
+
+    /**
+     * Makes the http call, without writing anything to the output file
+     *
+     * @param method   - what http method call is being made. should be in all caps
+     * @param endpoint - the endpoint of the service under test
+     * @param params   - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @return Response: the response provided from the http call
+     * @throws IOException: if the call can't be made
+     */
+    private Response perform(String method, String endpoint, Request params, File inputFile) throws IOException {
+        switch (method) {
+            case "GET":
+                return http.get(endpoint, params);
+            case "POST":
+                return http.post(endpoint, params, inputFile);
+            case "PUT":
+                return http.put(endpoint, params, inputFile);
+            case "PATCH":
+                return http.patch(endpoint, params, inputFile);
+            case "DELETE":
+                return http.delete(endpoint, params, inputFile);
+            case "HEAD":
+                return http.head(endpoint, params);
+            case "OPTIONS":
+                return http.options(endpoint, params);
+            default:
+                return http.request(method, endpoint, params, inputFile);
+        }
+    }
+
+    /**
+     * Writes the call and response information to the output file
+     *
+     * @param method   - what http method call was made
+     * @param action   - the description of the call which was made
+     * @param response - the response provided from the http call
+     * @param failure  - why the call failed, null if it didn't
+     * @return Response: the response provided from the http call
+     */
+    private Response record(String method, String action, Response response, Throwable failure) {
         String expected = "<i>" + method + "</i> call was performed";
-        Response response = null;
+        if (failure != null) {
+            reporter.fail(action, expected, "<i>" + method + "</i> call failed. " + failure.getMessage());
+            return response;
+        }
+        if (!reporter.isDetailed()) {
+            reporter.pass(action, expected, expected);
+            return response;
+        }
+        // only calls reported in full count towards the suite's latency, not load iterations
+        if (response != null && response.getTiming() != null) {
+            response.getTiming().record();
+        }
         try {
-            switch (method) {
-                case GET:
-                    response = http.get(endpoint, params);
-                    break;
-                case POST:
-                    response = http.post(endpoint, params, inputFile);
-                    break;
-                case PUT:
-                    response = http.put(endpoint, params, inputFile);
-                    break;
-                case PATCH:
-                    response = http.patch(endpoint, params, inputFile);
-                    break;
-                case DELETE:
-                    response = http.delete(endpoint, params, inputFile);
-                    break;
-            }
             String actual = expected;
             actual += "<div class='indent'>";
             actual += Reporter.getResponseHeadersOutput(response);
             actual += Reporter.getResponseCodeOutput(response);
             actual += Reporter.getResponseOutput(response);
+            actual += Reporter.getCompressionOutput(response);
+            actual += Reporter.getCacheOutput(response);
+            actual += Reporter.getAttemptsOutput(response);
+            actual += Reporter.getTimingOutput(response);
             actual += "</div>";
-            reporter.pass(action.toString(), expected, actual);
+            reporter.pass(action, expected, actual);
         } catch (Exception e) {
-            reporter.fail(action.toString(), expected, "<i>" + method + "</i> call failed. " + e.getMessage());
+            reporter.fail(action, expected, "<i>" + method + "</i> call failed. " + e.getMessage());
         }
         return response;
     }
-}
\ No newline at end of file
+
+    /**
+     * Makes the actual http call, without writing anything to the output file
+     */
+    private interface HttpCall {
+        Response perform() throws IOException;
+    }
+}
@@ -0,0 +1,615 @@
+/*
+ * Copyright 2019 Coveros, Inc.
+ *
+ * This file is part of Selenified.
+ *
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.coveros.selenified.services;
+
+import com.coveros.selenified.utilities.Property;
+import org.testng.log4testng.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Cassette holds recorded responses to web service calls on disk, so they can
+ * be replayed later without calling the real service. Each response is keyed
+ * by a hash of the request's method, url and body. In record mode, calls are
+ * sent on to the real service, and each response is appended to the cassette.
+ * In replay mode, no calls are made at all: responses are served straight from
+ * the cassette, which is memory-mapped, and looked up through a sorted index,
+ * so replayed suites run without any network.
+ * <p>
+ * A cassette is a directory holding two files: responses.dat, holding the
+ * recorded responses, and responses.idx, holding the sorted keys of the
+ * responses, and where each one sits in the data file. Response bodies are
+ * streamed into the cassette as they're read, rather than held in memory. The
+ * index is only written when a recording cassette is flushed or closed (the
+ * shared cassette is closed when the JVM exits), so responses recorded since
+ * the last flush are lost if the JVM is killed instead.
+ *
+ * @author Max Saperstone
+ * @version 3.3.1
+ * @lastupdate 10/19/2026
+ */
+public class Cassette implements Closeable, Flushable {
+
+    private static final Logger log = Logger.getLogger(Cassette.class);
+    private static final String DATA = "responses.dat";
+    private static final String INDEX = "responses.idx";
+    private static final int DATA_MAGIC = 0x53434153;     // SCAS
+    private static final int INDEX_MAGIC = 0x53434149;    // SCAI
+    private static final int VERSION = 1;
+    private static final int KEY_LENGTH = 32;
+    private static final int ENTRY_LENGTH = KEY_LENGTH + 8;
+    private static final int DATA_HEADER = 8;
+    private static final int INDEX_HEADER = 12;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static Cassette shared;
+
+    private final File directory;
+    private final Mode mode;
+    // replaying
+    private MappedByteBuffer data;
+    private MappedByteBuffer index;
+    private int count;
+    // recording
+    private final Map<String, Long> recorded = new TreeMap<>();
+    private FileChannel out;
+    private boolean closed = false;
+
+    /**
+     * Whether calls are being recorded, or replayed
+     */
+    public enum Mode {
+        RECORD, REPLAY
+    }
+
+    /**
+     * A response held in the cassette
+     */
+    static final class Recording {
+        private final int code;
+        private final Map<String, List<String>> headers;
+        private final ByteBuffer body;
+
+        Recording(int code, Map<String, List<String>> headers, ByteBuffer body) {
+            this.code = code;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        int getCode() {
+            return code;
+        }
+
+        Map<String, List<String>> getHeaders() {
+            return headers;
+        }
+
+        /**
+         * The recorded body, read straight out of the cassette
+         *
+         * @return InputStream: the body, null if the response had none
+         */
+        InputStream getBody() {
+            return body == null ? null : new BufferInputStream(body.duplicate());
+        }
+    }
+
+    /**
+     * Opens the cassette held in the directory. A cassette being recorded
+     * keeps any responses already held in it, adding to them; a cassette
+     * being replayed which hasn't been recorded yet holds no responses
+     *
+     * @param directory - the directory holding the cassette
+     * @param mode      - whether to record or replay calls
+     * @throws IOException: if the cassette can't be read, or created
+     */
+    public Cassette(File directory, Mode mode) throws IOException {
+        this.directory = directory;
+        this.mode = mode;
+        File dataFile = new File(directory, DATA);
+        File indexFile = new File(directory, INDEX);
+        if (dataFile.exists() && indexFile.exists()) {
+            try (FileChannel channel = FileChannel.open(dataFile.toPath(), StandardOpenOption.READ)) {
+                data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            try (FileChannel channel = FileChannel.open(indexFile.toPath(), StandardOpenOption.READ)) {
+                index = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            if (data.capacity() < DATA_HEADER || data.getInt(0) != DATA_MAGIC || index.capacity() < INDEX_HEADER ||
+                    index.getInt(0) != INDEX_MAGIC || index.getInt(4) != VERSION) {
+                throw new IOException("Cassette " + directory + " isn't a valid cassette");
+            }
+            count = index.getInt(8);
+            if (index.capacity() < INDEX_HEADER + (long) count * ENTRY_LENGTH) {
+                throw new IOException("Cassette " + directory + " has a truncated index");
+            }
+        }
+        if (mode == Mode.RECORD) {
+            openForRecording(dataFile);
+        }
+    }
+
+    /**
+     * Retrieves the cassette shared by the whole suite, held in the directory
+     * set by the httpCassette property, and recording or replaying based on
+     * the httpCassetteMode property. The shared cassette is closed when the
+     * JVM exits
+     *
+     * @return Cassette: the shared cassette, or null if the httpCassette property isn't set
+     */
+    public static synchronized Cassette getShared() {
+        String directory = Property.getHttpCassette();
+        if (shared == null && directory != null) {
+            Mode mode = "record".equals(Property.getHttpCassetteMode()) ? Mode.RECORD : Mode.REPLAY;
+            try {
+                shared = new Cassette(new File(directory), mode);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to open cassette " + directory, e);
+            }
+            Cassette cassette = shared;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    cassette.close();
+                } catch (IOException e) {
+                    log.error(e);
+                }
+            }));
+        }
+        return shared;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Retrieves how many responses are held in the cassette
+     *
+     * @return Integer: the number of responses
+     */
+    public synchronized int getCount() {
+        return mode == Mode.RECORD ? recorded.size() : count;
+    }
+
+    /**
+     * Determines the key a request is recorded under, from a hash of its
+     * method, url and body
+     *
+     * @param method - the HTTP method used
+     * @param url    - the full url called
+     * @param body   - the request body sent, null if there was none
+     * @return String: the key of the request, in hex
+     * @throws IOException: if the body can't be read
+     */
+    static String getKey(String method, URL url, Transport.Body body) throws IOException {
+        MessageDigest digest = getDigest();
+        digest.update(method.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) ' ');
+        digest.update(url.toString().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+        if (body != null) {
+            // the body is streamed through the hash, so it is never held in memory
+            try (OutputStream hashed = new DigestOutputStream(new OutputStream() {
+                @Override
+                public void write(int b) {
+                    // only the hash is needed
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    // only the hash is needed
+                }
+            }, digest)) {
+                body.writeTo(hashed);
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Finds the response recorded for the key, by binary searching the
+     * memory-mapped index
+     *
+     * @param key - the key of the request
+     * @return Recording: the recorded response, null if there isn't one
+     */
+    Recording find(String key) {
+        if (index == null) {
+            return null;
+        }
+        byte[] wanted = fromHex(key);
+        ByteBuffer entries = index.duplicate();
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int compared = compare(entries, INDEX_HEADER + middle * ENTRY_LENGTH, wanted);
+            if (compared < 0) {
+                low = middle + 1;
+            } else if (compared > 0) {
+                high = middle - 1;
+            } else {
+                return read(entries.getLong(INDEX_HEADER + middle * ENTRY_LENGTH + KEY_LENGTH));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Starts recording a response under the key. The body is written to the
+     * recorder as it's read, and the response is appended to the cassette
+     * once the recorder is finished
+     *
+     * @param key     - the key of the request
+     * @param code    - the status code of the response
+     * @param headers - the headers of the response
+     * @param body    - whether the response has a body
+     * @return Recorder: the recorder to write the body to
+     * @throws IOException: if the cassette isn't recording, or the body can't be spooled
+     */
+    synchronized Recorder startRecording(String key, int code, Map<String, List<String>> headers, boolean body)
+            throws IOException {
+        checkRecording();
+        return new Recorder(key, code, headers, body ? File.createTempFile("recording", ".tmp", directory) : null);
+    }
+
+    /**
+     * Appends the response to the cassette, under the key. A response already
+     * recorded under the same key is replaced
+     *
+     * @param key     - the key of the request
+     * @param code    - the status code of the response
+     * @param headers - the headers of the response
+     * @param body    - the file the body was spooled to, null if there was none
+     * @throws IOException: if the response can't be written
+     */
+    private synchronized void append(String key, int code, Map<String, List<String>> headers, File body)
+            throws IOException {
+        checkRecording();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream record = new DataOutputStream(bytes)) {
+            record.writeInt(code);
+            record.writeShort(headers.size());
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                // the status line is held under the null key
+                record.writeBoolean(header.getKey() != null);
+                if (header.getKey() != null) {
+                    record.writeUTF(header.getKey());
+                }
+                record.writeShort(header.getValue().size());
+                for (String value : header.getValue()) {
+                    record.writeUTF(value);
+                }
+            }
+            record.writeInt(body == null ? -1 : (int) body.length());
+        }
+        long offset = out.size();
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        while (buffer.hasRemaining()) {
+            out.write(buffer, offset + buffer.position());
+        }
+        if (body != null) {
+            try (FileChannel spooled = FileChannel.open(body.toPath(), StandardOpenOption.READ)) {
+                long position = offset + buffer.limit();
+                long end = position + spooled.size();
+                while (position < end) {
+                    position += out.transferFrom(spooled, position, end - position);
+                }
+            }
+        }
+        recorded.put(key, offset);
+    }
+
+    private void checkRecording() throws IOException {
+        if (mode != Mode.RECORD || closed) {
+            throw new IOException("Cassette " + directory + " isn't recording");
+        }
+    }
+
+    /**
+     * Writes out the index of a cassette being recorded, so the responses
+     * recorded so far can be replayed, even if the JVM is killed before the
+     * cassette is closed
+     *
+     * @throws IOException: if the index can't be written
+     */
+    @Override
+    public synchronized void flush() throws IOException {
+        if (mode == Mode.RECORD && !closed) {
+            writeIndex();
+        }
+    }
+
+    /**
+     * Closes the cassette. A cassette being recorded writes out its index, so
+     * the recorded responses can be replayed
+     *
+     * @throws IOException: if the index can't be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (mode != Mode.RECORD) {
+            return;
+        }
+        writeIndex();
+        out.close();
+    }
+
+    private void writeIndex() throws IOException {
+        out.force(false);
+        // written alongside, then moved into place, so a replay never sees half an index
+        File indexFile = new File(directory, INDEX);
+        File written = new File(directory, INDEX + ".tmp");
+        try (DataOutputStream idx = new DataOutputStream(Files.newOutputStream(written.toPath()))) {
+            idx.writeInt(INDEX_MAGIC);
+            idx.writeInt(VERSION);
+            idx.writeInt(recorded.size());
+            // the keys are hex, so sorting them as strings sorts their bytes
+            for (Map.Entry<String, Long> entry : recorded.entrySet()) {
+                idx.write(fromHex(entry.getKey()));
+                idx.writeLong(entry.getValue());
+            }
+        }
+        Files.move(written.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Opens the data file to append recordings to, keeping track of the
+     * responses already recorded in it
+     *
+     * @param dataFile - the file holding the recorded responses
+     * @throws IOException: if the file can't be opened
+     */
+    private void openForRecording(File dataFile) throws IOException {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Unable to create cassette " + directory);
+        }
+        if (index != null) {
+            for (int i = 0; i < count; i++) {
+                int position = INDEX_HEADER + i * ENTRY_LENGTH;
+                byte[] key = new byte[KEY_LENGTH];
+                ByteBuffer entry = index.duplicate();
+                entry.position(position);
+                entry.get(key);
+                recorded.put(toHex(key), entry.getLong(position + KEY_LENGTH));
+            }
+        }
+        boolean existing = index != null;
+        // the existing responses are appended to from here on, rather than read
+        data = null;
+        index = null;
+        out = FileChannel.open(dataFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (!existing) {
+            out.truncate(0);
+            ByteBuffer header = ByteBuffer.allocate(DATA_HEADER);
+            header.putInt(DATA_MAGIC).putInt(VERSION).flip();
+            out.write(header, 0);
+        }
+    }
+
+    /**
+     * Reads the response recorded at the offset in the data file. The body
+     * isn't copied, but left as a view over the mapped file
+     *
+     * @param offset - where the response starts in the data file
+     * @return Recording: the recorded response
+     */
+    private Recording read(long offset) {
+        ByteBuffer record = data.duplicate();
+        record.position((int) offset);
+        try {
+            DataInputStream in = new DataInputStream(new BufferInputStream(record));
+            int code = in.readInt();
+            int headerCount = in.readUnsignedShort();
+            Map<String, List<String>> headers = new LinkedHashMap<>();
+            for (int i = 0; i < headerCount; i++) {
+                String name = in.readBoolean() ? in.readUTF() : null;
+                int valueCount = in.readUnsignedShort();
+                List<String> values = new ArrayList<>(valueCount);
+                for (int j = 0; j < valueCount; j++) {
+                    values.add(in.readUTF());
+                }
+                headers.put(name, Collections.unmodifiableList(values));
+            }
+            int length = in.readInt();
+            ByteBuffer body = null;
+            if (length >= 0) {
+                body = record.slice();
+                body.limit(length);
+            }
+            return new Recording(code, Collections.unmodifiableMap(headers), body);
+        } catch (IOException e) {
+            // the buffer is held in memory, so can only run out
+            throw new UncheckedIOException("Cassette " + directory + " is corrupt", e);
+        }
+    }
+
+    private static int compare(ByteBuffer entries, int position, byte[] key) {
+        for (int i = 0; i < KEY_LENGTH; i++) {
+            int compared = Integer.compare(entries.get(position + i) & 0xff, key[i] & 0xff);
+            if (compared != 0) {
+                return compared;
+            }
+        }
+        return 0;
+    }
+
+    private static MessageDigest getDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[i * 2] = HEX[(bytes[i] >> 4) & 0xf];
+            hex[i * 2 + 1] = HEX[bytes[i] & 0xf];
+        }
+        return new String(hex);
+    }
+
+    private static byte[] fromHex(String hex) {
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(hex.substring(i * 2, i * 2 + 2), 16);
+        }
+        return bytes;
+    }
+
+    /**
+     * Records the body of a response as it's read, spooling it to a file in
+     * the cassette, as its length is needed before it's appended
+     */
+    final class Recorder {
+        private final String key;
+        private final int code;
+        private final Map<String, List<String>> headers;
+        private final File spool;
+        private final OutputStream body;
+        private boolean done = false;
+
+        private Recorder(String key, int code, Map<String, List<String>> headers, File spool) throws IOException {
+            this.key = key;
+            this.code = code;
+            this.headers = headers;
+            this.spool = spool;
+            this.body = spool == null ? null : Files.newOutputStream(spool.toPath());
+        }
+
+        void write(byte[] b, int off, int len) throws IOException {
+            body.write(b, off, len);
+        }
+
+        /**
+         * Appends the recorded response to the cassette. Only the first
+         * call to finish, or abandon, does anything
+         *
+         * @throws IOException: if the response can't be appended
+         */
+        void finish() throws IOException {
+            if (done) {
+                return;
+            }
+            done = true;
+            try {
+                if (body != null) {
+                    body.close();
+                }
+                append(key, code, headers, spool);
+            } finally {
+                delete();
+            }
+        }
+
+        /**
+         * Drops the response, without recording it, such as when its body
+         * couldn't be read in full
+         */
+        void abandon() {
+            if (done) {
+                return;
+            }
+            done = true;
+            try {
+                if (body != null) {
+                    body.close();
+                }
+            } catch (IOException e) {
+                log.error(e);
+            }
+            delete();
+        }
+
+        private void delete() {
+            if (spool != null && !spool.delete()) {
+                log.error("Unable to delete " + spool);
+            }
+        }
+    }
+
+    /**
+     * Reads straight out of a buffer, such as the mapped cassette
+     */
+    private static class BufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        BufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!buffer.hasRemaining()) {
+                return len == 0 ? 0 : -1;
+            }
+            int read = Math.min(len, buffer.remaining());
+            buffer.get(b, off, read);
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2019 Coveros, Inc.
+ *
+ * This file is part of Selenified.
+ *
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.coveros.selenified.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CassetteTransport records calls to, or replays calls from, a cassette. When
+ * the cassette is recording, each request is sent on to the real transport,
+ * and the response body is streamed into the cassette as the caller reads it,
+ * rather than being buffered; a body the caller doesn't read in full is read
+ * out when the exchange is closed, so the whole response is recorded. When the
+ * cassette is replaying, nothing is sent: the recorded response is handed back
+ * instead, and a request which was never recorded fails.
+ *
+ * @author Max Saperstone
+ * @version 3.3.1
+ * @lastupdate 10/19/2026
+ */
+public class CassetteTransport implements Transport {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Cassette cassette;
+    private final Transport transport;
+
+    /**
+     * Records calls to, or replays calls from, the cassette
+     *
+     * @param cassette  - the cassette holding the recorded responses
+     * @param transport - the transport to send requests over while recording
+     */
+    public CassetteTransport(Cassette cassette, Transport transport) {
+        this.cassette = cassette;
+        this.transport = transport;
+    }
+
+    public Cassette getCassette() {
+        return cassette;
+    }
+
+    public Transport getTransport() {
+        return transport;
+    }
+
+    @Override
+    public Exchange send(String method, URL url, Map<String, String> headers, Body body) throws IOException {
+        String key = Cassette.getKey(method, url, body);
+        if (cassette.getMode() == Cassette.Mode.REPLAY) {
+            Cassette.Recording recording = cassette.find(key);
+            if (recording == null) {
+                throw new IOException("No response to " + method + " " + url + " is recorded in cassette " +
+                        cassette.getDirectory());
+            }
+            return new RecordedExchange(recording.getCode(), recording.getHeaders(), recording.getBody(), -1, true);
+        }
+        Exchange exchange = transport.send(method, url, headers, body);
+        try {
+            Map<String, List<String>> responseHeaders = new LinkedHashMap<>();
+            if (exchange.getHeaders() != null) {
+                for (Map.Entry<String, List<String>> header : exchange.getHeaders().entrySet()) {
+                    responseHeaders.put(header.getKey(), Collections.unmodifiableList(new ArrayList<>(header.getValue())));
+                }
+            }
+            // the body is recorded as it was sent, so compressed bodies are replayed compressed
+            InputStream in = exchange.getBody();
+            Cassette.Recorder recorder = cassette.startRecording(key, exchange.getCode(), responseHeaders, in != null);
+            if (in == null) {
+                recorder.finish();
+                exchange.close();
+                return new RecordedExchange(exchange.getCode(), Collections.unmodifiableMap(responseHeaders), null,
+                        exchange.getConnectTime(), false);
+            }
+            return new RecordingExchange(exchange, Collections.unmodifiableMap(responseHeaders),
+                    new RecordingInputStream(in, recorder));
+        } catch (IOException | RuntimeException e) {
+            try {
+                exchange.close();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Hands back the body as it's read, writing everything read to the
+     * recorder too. The response is recorded once the body runs out, or, if
+     * the caller stops reading early, once the rest is read out on close
+     */
+    private static class RecordingInputStream extends InputStream {
+        private final InputStream in;
+        private final Cassette.Recorder recorder;
+        private boolean failed = false;
+
+        RecordingInputStream(InputStream in, Cassette.Recorder recorder) {
+            this.in = in;
+            this.recorder = recorder;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read;
+            try {
+                read = in.read(b, off, len);
+                if (read > 0) {
+                    recorder.write(b, off, read);
+                }
+            } catch (IOException | RuntimeException e) {
+                // a partial response isn't worth replaying
+                failed = true;
+                recorder.abandon();
+                throw e;
+            }
+            if (read == -1) {
+                recorder.finish();
+            }
+            return read;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return in.available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (!failed) {
+                    byte[] buffer = new byte[BUFFER_SIZE];
+                    while (read(buffer, 0, buffer.length) != -1) {
+                        // read out the rest, so the whole response is recorded
+                    }
+                }
+            } finally {
+                in.close();
+            }
+        }
+    }
+
+    /**
+     * A response being recorded as its body is read
+     */
+    private static class RecordingExchange implements Exchange {
+        private final Exchange exchange;
+        private final Map<String, List<String>> headers;
+        private final RecordingInputStream body;
+
+        RecordingExchange(Exchange exchange, Map<String, List<String>> headers, RecordingInputStream body) {
+            this.exchange = exchange;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        @Override
+        public int getCode() {
+            return exchange.getCode();
+        }
+
+        @Override
+        public Map<String, List<String>> getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public long getConnectTime() {
+            return exchange.getConnectTime();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                body.close();
+            } finally {
+                exchange.close();
+            }
+        }
+    }
+
+    /**
+     * A response which has already been read in full, either from the
+     * cassette, or while recording it, as it had no body
+     */
+    private static class RecordedExchange implements Exchange {
+        private final int code;
+        private final Map<String, List<String>> headers;
+        private final InputStream body;
+        private final long connectTime;
+        private final boolean replayed;
+
+        RecordedExchange(int code, Map<String, List<String>> headers, InputStream body, long connectTime,
+                         boolean replayed) {
+            this.code = code;
+            this.headers = headers;
+            this.body = body;
+            this.connectTime = connectTime;
+            this.replayed = replayed;
+        }
+
+        @Override
+        public int getCode() {
+            return code;
+        }
+
+        @Override
+        public Map<String, List<String>> getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public long getConnectTime() {
+            return connectTime;
+        }
+
+        @Override
+        public boolean isReplayed() {
+            return replayed;
+        }
+
+        @Override
+        public void close() {
+            // nothing is held open
+        }
+    }
+}
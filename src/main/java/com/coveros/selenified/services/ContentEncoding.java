@@ -0,0 +1,245 @@
+/*
+ * Copyright 2019 Coveros, Inc.
+ *
+ * This file is part of Selenified.
+ *
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.coveros.selenified.services;
+
+import org.testng.log4testng.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Handles compressed http bodies. Responses encoded with gzip or deflate, and
+ * brotli when the org.brotli decoder is on the classpath, are decoded as they
+ * are streamed in, so the compressed body is never held in memory. Request
+ * bodies can be gzipped as they are streamed out.
+ *
+ * @author Max Saperstone
+ * @version 3.3.1
+ * @lastupdate 10/19/2026
+ */
+class ContentEncoding {
+
+    static final String CONTENT_ENCODING = "Content-Encoding";
+    static final String GZIP = "gzip";
+    private static final Logger log = Logger.getLogger(ContentEncoding.class);
+    private static final Constructor<?> BROTLI = getBrotliDecoder();
+    private static final String ACCEPT_ENCODING = BROTLI == null ? "gzip, deflate" : "gzip, deflate, br";
+
+    private ContentEncoding() {
+    }
+
+    /**
+     * Looks up the brotli decoder, which is optional
+     *
+     * @return Constructor: creates the brotli decoder, null if it isn't on the classpath
+     */
+    private static Constructor<?> getBrotliDecoder() {
+        try {
+            return Class.forName("org.brotli.dec.BrotliInputStream").getConstructor(InputStream.class);
+        } catch (ClassNotFoundException | NoSuchMethodException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Retrieves the encodings which can be decoded, to advertise in the
+     * Accept-Encoding header
+     *
+     * @return String: the encodings which can be decoded
+     */
+    static String getAcceptEncoding() {
+        return ACCEPT_ENCODING;
+    }
+
+    /**
+     * Finds the encodings the body was compressed with, from the
+     * Content-Encoding header
+     *
+     * @param headers - the response headers
+     * @return String: the encodings applied to the body, in order, null if it wasn't encoded
+     */
+    static String getEncoding(Map<String, List<String>> headers) {
+        if (headers == null) {
+            return null;
+        }
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (CONTENT_ENCODING.equalsIgnoreCase(header.getKey()) && header.getValue() != null &&
+                    !header.getValue().isEmpty()) {
+                String encoding = String.join(", ", header.getValue()).trim().toLowerCase();
+                return encoding.isEmpty() || "identity".equals(encoding) ? null : encoding;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Wraps the body so it is decoded as it is read. When several encodings
+     * were applied, they're undone in the reverse order. Encodings which aren't
+     * understood leave the body as it is
+     *
+     * @param encoding - the encodings applied to the body, from the Content-Encoding header
+     * @param body     - the body as it was received
+     * @return InputStream: the decoded body
+     * @throws IOException: if the body isn't validly encoded
+     */
+    static InputStream decode(String encoding, InputStream body) throws IOException {
+        if (encoding == null || body == null) {
+            return body;
+        }
+        String[] encodings = encoding.split(",");
+        InputStream decoded = body;
+        for (int i = encodings.length - 1; i >= 0; i--) {
+            String coding = encodings[i].trim();
+            if (GZIP.equals(coding) || "x-gzip".equals(coding)) {
+                decoded = new GZIPInputStream(decoded, 8192);
+            } else if ("deflate".equals(coding)) {
+                decoded = inflate(decoded);
+            } else if ("br".equals(coding) && BROTLI != null) {
+                decoded = unbrotli(decoded);
+            } else if (!"identity".equals(coding)) {
+                log.warn("Unable to decode response body encoded with '" + coding + "', leaving it as is");
+                return decoded;
+            }
+        }
+        return decoded;
+    }
+
+    /**
+     * Inflates a deflate encoded body. The body should be zlib wrapped, but
+     * some servers send raw deflate data, so the first two bytes are checked
+     * for a zlib header
+     *
+     * @param body - the deflated body
+     * @return InputStream: the inflated body
+     * @throws IOException: if the body can't be read
+     */
+    private static InputStream inflate(InputStream body) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(body);
+        buffered.mark(2);
+        int first = buffered.read();
+        int second = buffered.read();
+        buffered.reset();
+        boolean zlib = first != -1 && second != -1 && (first & 0x0F) == 8 && ((first << 8) | second) % 31 == 0;
+        return new InflaterInputStream(buffered, new Inflater(!zlib), 8192);
+    }
+
+    /**
+     * Decodes a brotli encoded body, using the optional brotli decoder
+     *
+     * @param body - the brotli encoded body
+     * @return InputStream: the decoded body
+     * @throws IOException: if the body isn't validly encoded
+     */
+    private static InputStream unbrotli(InputStream body) throws IOException {
+        try {
+            return (InputStream) BROTLI.newInstance(body);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Wraps the request body so it is gzipped as it is written out. As the
+     * compressed length isn't known ahead of time, it is sent chunked
+     *
+     * @param body - the request body to compress
+     * @return Transport.Body: the gzipped request body
+     */
+    static Transport.Body gzip(Transport.Body body) {
+        return new Transport.Body() {
+            @Override
+            public long length() {
+                return -1;
+            }
+
+            @Override
+            public void writeTo(OutputStream out) throws IOException {
+                GZIPOutputStream gzip = new GZIPOutputStream(out, 8192);
+                body.writeTo(gzip);
+                // the transport closes its own stream, so the gzip stream is only finished
+                gzip.finish();
+                gzip.flush();
+            }
+        };
+    }
+
+    /**
+     * Keeps track of how many bytes are read, to know how large the body was
+     * before it was decoded
+     */
+    static class CountingInputStream extends FilterInputStream {
+        private long count = 0;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read != -1) {
+                count++;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+}
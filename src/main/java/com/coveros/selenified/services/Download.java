@@ -0,0 +1,151 @@
+/*
+ * Copyright 2019 Coveros, Inc.
+ *
+ * This file is part of Selenified.
+ *
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.coveros.selenified.services;
+
+import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Download holds what is known about a response body which was streamed
+ * straight out to a file or stream, rather than being held in memory. The size,
+ * SHA-256 checksum and number of lines are all worked out as the body is
+ * streamed, so they can be checked without reading the content back in.
+ *
+ * @author Max Saperstone
+ * @version 3.3.1
+ * @lastupdate 10/19/2026
+ */
+public class Download {
+
+    private final File file;
+    private final long size;
+    private final String checksum;
+    private final long lineCount;
+    private final long duration;
+
+    /**
+     * Describes a response body which was streamed out
+     *
+     * @param file      - the file the body was written to, null if it was written to a stream
+     * @param size      - the number of bytes in the body
+     * @param checksum  - the SHA-256 checksum of the body, in hex
+     * @param lineCount - the number of lines in the body
+     * @param duration  - how long the body took to stream, in milliseconds
+     */
+    public Download(File file, long size, String checksum, long lineCount, long duration) {
+        this.file = file;
+        this.size = size;
+        this.checksum = checksum;
+        this.lineCount = lineCount;
+        this.duration = duration;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public String getChecksum() {
+        return checksum;
+    }
+
+    public long getLineCount() {
+        return lineCount;
+    }
+
+    public long getDuration() {
+        return duration;
+    }
+
+    /**
+     * Determines how quickly the body was streamed
+     *
+     * @return Long: the number of bytes streamed per second
+     */
+    public long getThroughput() {
+        return size * 1000 / Math.max(duration, 1);
+    }
+
+    /**
+     * Passes the body along to where it is being written, keeping track of its
+     * size, checksum and lines as it goes
+     */
+    static class Recorder extends FilterOutputStream {
+        private final MessageDigest digest;
+        private long size = 0;
+        private long lines = 0;
+        private byte last = '\n';
+
+        Recorder(OutputStream out) {
+            super(out);
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                // every java platform is required to support SHA-256
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            digest.update(b, off, len);
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+            if (len > 0) {
+                last = b[off + len - 1];
+            }
+            size += len;
+        }
+
+        /**
+         * Describes everything which has been written
+         *
+         * @param file     - the file the body was written to, null if it was written to a stream
+         * @param duration - how long the body took to stream, in milliseconds
+         * @return Download: the description of the streamed body
+         */
+        Download finish(File file, long duration) {
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            // a final line doesn't need to end in a newline
+            long lineCount = last == '\n' ? lines : lines + 1;
+            return new Download(file, size, hex.toString(), lineCount, duration);
+        }
+    }
+}
@@ -22,21 +22,32 @@ package com.coveros.selenified.services;
 
 import com.coveros.selenified.exceptions.InvalidHTTPException;
 import com.coveros.selenified.services.Call.Method;
+import com.coveros.selenified.utilities.LatencyMetrics;
 import com.coveros.selenified.utilities.Property;
 import com.coveros.selenified.utilities.Reporter;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
-import com.google.gson.JsonSyntaxException;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
+import com.google.gson.stream.JsonWriter;
 import org.apache.commons.codec.binary.Base64;
 import org.testng.log4testng.Logger;
 
 import java.io.*;
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.net.*;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.util.*;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
 
 /**
  * A class designed to make HTTP calls. This is wrapped by the Action and Assert
@@ -45,7 +56,7 @@ import java.util.*;
  *
  * @author Max Saperstone
  * @version 3.3.1
- * @lastupdate 4/4/2019
+ * @lastupdate 10/19/2026
  */
 public class HTTP {
 
@@ -55,6 +66,9 @@ public class HTTP {
     private static final String NEWLINE = "\r\n";
 
     private static final String CONTENT_TYPE = "Content-Type";
+    private static final String AUTHORIZATION = "Authorization";
+    private static final Pattern METHOD = Pattern.compile("[A-Za-z0-9!#$%&'*+.^_`|~-]+");
+    private static final int BUFFER_SIZE = 64 * 1024;
 
     private final Reporter reporter;
     private final String serviceBaseUrl;
@@ -62,6 +76,14 @@ public class HTTP {
     private String pass = "";
     private Map<String, Object> extraHeaders = new HashMap<>();
     private ContentType contentType = ContentType.JSON;
+    private Transport transport = getDefaultTransport();
+    private boolean keepRawResponse = true;
+    private RetryPolicy retryPolicy = null;
+    private ResponseCache responseCache = ResponseCache.getShared();
+    private AuthProvider authProvider = null;
+    private boolean compression = true;
+    private boolean requestCompression = false;
+    private volatile HeaderSnapshot headerSnapshot = null;
 
     /**
      * An enum for handling multiple content types. This is specifically only capable for handling json
@@ -90,7 +112,6 @@ public class HTTP {
     public HTTP(Reporter reporter, String serviceBaseUrl) {
         this.reporter = reporter;
         this.serviceBaseUrl = serviceBaseUrl;
-        allowMethods("PATCH");
     }
 
     /**
@@ -107,7 +128,158 @@ public class HTTP {
         this.serviceBaseUrl = serviceBaseUrl;
         this.user = user;
         this.pass = pass;
-        allowMethods("PATCH");
+    }
+
+    /**
+     * Determines the transport to use for calls, based on the httpTransport
+     * property
+     *
+     * @return Transport: either the pooled or url connection transport,
+     * recording to or replaying from the shared cassette if the httpCassette
+     * property is set
+     */
+    private static Transport getDefaultTransport() {
+        Transport transport = "urlconnection".equals(Property.getHttpTransport()) ?
+                new URLConnectionTransport() : new PooledTransport();
+        Cassette cassette = Cassette.getShared();
+        return cassette == null ? transport : new CassetteTransport(cassette, transport);
+    }
+
+    /**
+     * Sets the transport used to send requests, overriding the one set by the
+     * httpTransport property
+     *
+     * @param transport - the transport to send all requests with
+     */
+    public void setTransport(Transport transport) {
+        this.transport = transport;
+    }
+
+    /**
+     * Records calls to, or replays calls from, the cassette, rather than the
+     * cassette set by the httpCassette property
+     *
+     * @param cassette - the cassette to record to, or replay from
+     */
+    public void setCassette(Cassette cassette) {
+        Transport wrapped = transport instanceof CassetteTransport ? ((CassetteTransport) transport).getTransport() : transport;
+        this.transport = new CassetteTransport(cassette, wrapped);
+    }
+
+    /**
+     * Retrieves the transport used to send requests
+     *
+     * @return Transport: the transport sending all requests
+     */
+    public Transport getTransport() {
+        return transport;
+    }
+
+    /**
+     * Sets whether the raw body of json responses should be kept as the response
+     * message. Bodies which aren't json are always kept. Turning this off drops
+     * the raw body once it has been parsed, saving holding large responses in
+     * memory twice, but means json responses won't have a message to check, or
+     * to write to the output file
+     *
+     * @param keepRawResponse - should the raw json response body be kept
+     */
+    public void setKeepRawResponse(boolean keepRawResponse) {
+        this.keepRawResponse = keepRawResponse;
+    }
+
+    /**
+     * Determines whether the raw body of json responses is kept as the response
+     * message
+     *
+     * @return Boolean: is the raw json response body kept
+     */
+    public boolean isKeepRawResponse() {
+        return keepRawResponse;
+    }
+
+    /**
+     * Sets how calls are retried when they fail, and whether get calls are
+     * hedged when they are slow. Downloads are never retried, as their body
+     * has already been streamed out
+     *
+     * @param retryPolicy - how to retry calls, or null to only ever make each call once
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+    }
+
+    /**
+     * Retrieves how calls are retried when they fail
+     *
+     * @return RetryPolicy: how calls are retried, null if they're only ever made once
+     */
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Sets the cache get calls are served from. The same cache can be set on
+     * many HTTP objects, to share cached responses between them. Downloads are
+     * never cached
+     *
+     * @param responseCache - the cache to use, or null to not cache responses
+     */
+    public void setResponseCache(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    /**
+     * Retrieves the cache get calls are served from. By default, this is the
+     * cache shared by the suite, if the httpCacheSize property is set
+     *
+     * @return ResponseCache: the cache used, null if responses aren't cached
+     */
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * Sets whether compressed responses are asked for, by sending the
+     * Accept-Encoding header. Compressed responses are decoded as they are
+     * read in, whether they were asked for or not. By default, gzip and
+     * deflate, and brotli if its decoder is on the classpath, are asked for.
+     * Otherwise, identity is sent, so the server knows not to compress the
+     * response
+     *
+     * @param compression - should compressed responses be asked for
+     */
+    public void setCompression(boolean compression) {
+        this.compression = compression;
+        this.headerSnapshot = null;
+    }
+
+    /**
+     * Determines whether compressed responses are asked for
+     *
+     * @return Boolean: is the Accept-Encoding header sent
+     */
+    public boolean isCompression() {
+        return compression;
+    }
+
+    /**
+     * Sets whether request bodies should be gzipped as they're sent. Only
+     * turn this on if the service accepts compressed requests
+     *
+     * @param requestCompression - should request bodies be gzipped
+     */
+    public void setRequestCompression(boolean requestCompression) {
+        this.requestCompression = requestCompression;
+    }
+
+    /**
+     * Determines whether request bodies are gzipped as they're sent
+     *
+     * @return Boolean: are request bodies gzipped
+     */
+    public boolean isRequestCompression() {
+        return requestCompression;
     }
 
     /**
@@ -118,6 +290,7 @@ public class HTTP {
      */
     public void setContentType(ContentType contentType) {
         this.contentType = contentType;
+        this.headerSnapshot = null;
     }
 
     /**
@@ -128,6 +301,7 @@ public class HTTP {
      */
     public void addHeaders(Map<String, Object> headers) {
         this.extraHeaders.putAll(headers);
+        this.headerSnapshot = null;
     }
 
     /**
@@ -135,22 +309,44 @@ public class HTTP {
      */
     public void resetHeaders() {
         this.extraHeaders = new HashMap<>();
+        this.headerSnapshot = null;
     }
 
     /**
-     * Builds the headers to be passed in the HTTP call
+     * Retrieves the headers to be passed in the HTTP call. These are only
+     * built up again once the headers, content type, or credentials change, so
+     * the map returned can't be modified; use addHeaders instead
      *
      * @return Map: a mapping of the headers in key to values
      */
     public Map<String, Object> getHeaders() {
-        Map<String, Object> map = new HashMap<>();
-        map.put("Content-length", "0");
-        map.put(CONTENT_TYPE, contentType.getContentType());
-        map.put("Accept", "application/json");
-        for (Map.Entry<String, Object> entry : extraHeaders.entrySet()) {
-            map.put(entry.getKey(), entry.getValue());
+        HeaderSnapshot snapshot = headerSnapshot;
+        if (snapshot == null) {
+            snapshot = new HeaderSnapshot(null);
+            headerSnapshot = snapshot;
         }
-        return map;
+        return snapshot.headers;
+    }
+
+    /**
+     * Sets what provides the Authorization header for each call, such as a
+     * RefreshingTokenProvider. When set, this is used in place of any basic
+     * username/password credentials
+     *
+     * @param authProvider - what provides the authorization, or null to only use basic credentials
+     */
+    public void setAuthProvider(AuthProvider authProvider) {
+        this.authProvider = authProvider;
+        this.headerSnapshot = null;
+    }
+
+    /**
+     * Retrieves what provides the Authorization header for each call
+     *
+     * @return AuthProvider: what provides the authorization, null if only basic credentials are used
+     */
+    public AuthProvider getAuthProvider() {
+        return authProvider;
     }
 
     /**
@@ -163,6 +359,7 @@ public class HTTP {
     public void addCredentials(String user, String pass) {
         this.user = user;
         this.pass = pass;
+        this.headerSnapshot = null;
     }
 
     /**
@@ -222,7 +419,7 @@ public class HTTP {
      * @return Response: the response provided from the http call
      */
     public Response get(String service, Request request) throws IOException {
-        return call(Method.GET, service, request, null);
+        return call(Method.GET.toString(), service, request, null);
     }
 
     /**
@@ -235,7 +432,7 @@ public class HTTP {
      * @return Response: the response provided from the http call
      */
     public Response post(String service, Request request, File file) throws IOException {
-        return call(Method.POST, service, request, file);
+        return call(Method.POST.toString(), service, request, file);
     }
 
     /**
@@ -248,7 +445,7 @@ public class HTTP {
      * @return Response: the response provided from the http call
      */
     public Response put(String service, Request request, File file) throws IOException {
-        return call(Method.PUT, service, request, file);
+        return call(Method.PUT.toString(), service, request, file);
     }
 
 
@@ -262,7 +459,7 @@ public class HTTP {
      * @return Response: the response provided from the http call
      */
     public Response patch(String service, Request request, File file) throws IOException {
-        return call(Method.PATCH, service, request, file);
+        return call(Method.PATCH.toString(), service, request, file);
     }
 
     /**
@@ -275,7 +472,148 @@ public class HTTP {
      * @return Response: the response provided from the http call
      */
     public Response delete(String service, Request request, File file) throws IOException {
-        return call(Method.DELETE, service, request, file);
+        return call(Method.DELETE.toString(), service, request, file);
+    }
+
+    /**
+     * A basic http head call
+     *
+     * @param service - the endpoint of the service under test
+     * @param request - the parameters to be passed to the endpoint for the service
+     *                call
+     * @return Response: the response provided from the http call
+     */
+    public Response head(String service, Request request) throws IOException {
+        return call(Method.HEAD.toString(), service, request, null);
+    }
+
+    /**
+     * A basic http options call
+     *
+     * @param service - the endpoint of the service under test
+     * @param request - the parameters to be passed to the endpoint for the service
+     *                call
+     * @return Response: the response provided from the http call
+     */
+    public Response options(String service, Request request) throws IOException {
+        return call(Method.OPTIONS.toString(), service, request, null);
+    }
+
+    /**
+     * An http call using any method, including ones other than the standard
+     * ones, such as PROPFIND or PURGE
+     *
+     * @param method  - the http method to call, e.g. PURGE
+     * @param service - the endpoint of the service under test
+     * @param request - the parameters to be passed to the endpoint for the service
+     *                call
+     * @param file    - a file to upload, accompanied with the call
+     * @return Response: the response provided from the http call
+     */
+    public Response request(String method, String service, Request request, File file) throws IOException {
+        return call(getMethod(method), service, request, file);
+    }
+
+    /**
+     * Checks the http method is a valid token, as method names can't contain
+     * spaces or separators
+     *
+     * @param method - the http method to call
+     * @return String: the http method to call
+     */
+    static String getMethod(String method) {
+        if (method == null || !METHOD.matcher(method).matches()) {
+            throw new IllegalArgumentException("'" + method + "' isn't a valid http method");
+        }
+        return method;
+    }
+
+    /**
+     * Makes a get call, streaming the response body straight into the file,
+     * instead of holding it in memory
+     *
+     * @param service     - the endpoint of the service under test
+     * @param request     - the parameters to be passed to the endpoint for the service
+     *                    call
+     * @param destination - the file to write the response body to
+     * @return Response: the response provided from the http call, describing the download
+     * @throws IOException: if the call can't be made, or the file can't be written
+     */
+    public Response download(String service, Request request, File destination) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(destination), BUFFER_SIZE)) {
+            return download(service, request, out, destination);
+        }
+    }
+
+    /**
+     * Makes a get call, streaming the response body straight into the provided
+     * stream, instead of holding it in memory. The stream is not closed
+     *
+     * @param service     - the endpoint of the service under test
+     * @param request     - the parameters to be passed to the endpoint for the service
+     *                    call
+     * @param destination - where to write the response body to
+     * @return Response: the response provided from the http call, describing the download
+     * @throws IOException: if the call can't be made, or the stream can't be written to
+     */
+    public Response download(String service, Request request, OutputStream destination) throws IOException {
+        return download(service, request, destination, null);
+    }
+
+    /**
+     * Determines if the method only retrieves data, and so can safely be made
+     * more than once at the same time
+     *
+     * @param method - the http method being called
+     * @return Boolean: is the method a get, head or options call
+     */
+    private static boolean isSafe(String method) {
+        return Method.GET.toString().equals(method) || Method.HEAD.toString().equals(method) ||
+                Method.OPTIONS.toString().equals(method);
+    }
+
+    /**
+     * Makes a get call, streaming the response body through a bounded buffer
+     * into the destination, and keeping track of its size, checksum and lines
+     *
+     * @param service     - the endpoint of the service under test
+     * @param request     - the parameters to be passed to the endpoint for the service
+     *                    call
+     * @param destination - where to write the response body to
+     * @param file        - the file being written to, null if it's just a stream
+     * @return Response: the response provided from the http call, describing the download
+     * @throws IOException: if the call can't be made, or the destination can't be written to
+     */
+    private Response download(String service, Request request, OutputStream destination, File file) throws IOException {
+        URL url = new URL(this.serviceBaseUrl + service + getRequestParams(request));
+        long start = System.nanoTime();
+        try (Transport.Exchange exchange = transport.send(Method.GET.toString(), url, getRequestHeaders(), null)) {
+            long received = System.nanoTime();
+            Download.Recorder recorder = new Download.Recorder(destination);
+            String encoding = ContentEncoding.getEncoding(exchange.getHeaders());
+            ContentEncoding.CountingInputStream transferred = null;
+            InputStream body = exchange.getBody();
+            if (body != null) {
+                if (encoding != null) {
+                    transferred = new ContentEncoding.CountingInputStream(body);
+                    body = ContentEncoding.decode(encoding, transferred);
+                }
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = body.read(buffer)) != -1) {
+                    recorder.write(buffer, 0, read);
+                }
+            }
+            recorder.flush();
+            long read = System.nanoTime();
+            Download download = recorder.finish(file, (read - start) / 1000000);
+            Response response = new Response(reporter, getResponseHeaders(exchange.getHeaders()), exchange.getCode(), download);
+            if (transferred != null) {
+                response.setCompression(encoding, transferred.getCount(), download.getSize());
+            }
+            response.setTiming(getTiming(exchange, LatencyMetrics.getEndpoint(Method.GET.toString(), url), start, received, read));
+            return response;
+        }
     }
 
     /**
@@ -301,18 +639,59 @@ public class HTTP {
     }
 
     /**
-     * Setups up the header and basic connection information
+     * Retrieves the headers to send with the request, including any
+     * authentication
      *
-     * @param connection - the connection to add headers to
+     * @return Map: a mapping of the headers in key to values
+     * @throws IOException: if the auth provider can't provide authorization
      */
-    private void setupHeaders(HttpURLConnection connection) {
-        for (Map.Entry<String, Object> entry : getHeaders().entrySet()) {
-            connection.setRequestProperty(entry.getKey(), String.valueOf(entry.getValue()));
+    private Map<String, String> getRequestHeaders() throws IOException {
+        String authorization = authProvider == null ? null : authProvider.getAuthorization();
+        HeaderSnapshot snapshot = headerSnapshot;
+        // the headers are only built again when something changed, such as the token being refreshed
+        if (snapshot == null || !Objects.equals(authorization, snapshot.authorization)) {
+            snapshot = new HeaderSnapshot(authorization);
+            headerSnapshot = snapshot;
+        }
+        return snapshot.requestHeaders;
+    }
+
+    /**
+     * The headers sent with every call, built up once from the headers,
+     * content type and credentials set, rather than for each call
+     */
+    private class HeaderSnapshot {
+        private final String authorization;
+        private final Map<String, Object> headers;
+        private final Map<String, String> requestHeaders;
+
+        HeaderSnapshot(String authorization) {
+            Map<String, Object> map = new HashMap<>();
+            map.put("Content-length", "0");
+            map.put(CONTENT_TYPE, contentType.getContentType());
+            map.put("Accept", "application/json");
+            for (Map.Entry<String, Object> entry : extraHeaders.entrySet()) {
+                map.put(entry.getKey(), entry.getValue());
+            }
+            Map<String, String> request = new HashMap<>();
+            for (Map.Entry<String, Object> entry : map.entrySet()) {
+                request.put(entry.getKey(), String.valueOf(entry.getValue()));
+            }
+            if (ResponseCache.getHeader(request, "Accept-Encoding") == null) {
+                // explicitly ask for no compression, otherwise okhttp asks for gzip itself
+                request.put("Accept-Encoding", compression ? ContentEncoding.getAcceptEncoding() : "identity");
+            }
+            if (authorization != null) {
+                request.put(AUTHORIZATION, authorization);
+            } else if (authProvider == null && useCredentials()) {
+                String userpass = user + ":" + pass;
+                String encoding = new String(Base64.encodeBase64(userpass.getBytes()));
+                request.put(AUTHORIZATION, "Basic " + encoding);
+            }
+            this.authorization = authorization;
+            this.headers = Collections.unmodifiableMap(map);
+            this.requestHeaders = Collections.unmodifiableMap(request);
         }
-        connection.setDoOutput(true);
-        connection.setDoInput(true);
-        connection.setUseCaches(false);
-        connection.setAllowUserInteraction(false);
     }
 
     /**
@@ -325,102 +704,114 @@ public class HTTP {
      * @param file    - is there a file to upload as well
      * @return Response: the response provided from the http call
      */
-    private Response call(Method method, String service, Request request, File file) throws IOException {
+    private Response call(String method, String service, Request request, File file) throws IOException {
         URL url = new URL(this.serviceBaseUrl + service + getRequestParams(request));
-        HttpURLConnection connection = getConnection(url);
-        connection.setRequestMethod(method.toString());
-        setupHeaders(connection);
-        if (useCredentials()) {
-            String userpass = user + ":" + pass;
-            String encoding = new String(Base64.encodeBase64(userpass.getBytes()));
-            connection.setRequestProperty("Authorization", "Basic " + encoding);
-        }
-        connection.connect();
-        if ((request != null && request.isPayload()) || file != null) {
-            if (this.contentType == ContentType.FORMDATA) {
-                writeMultipartDataRequest(connection, request, file);
-            } else if (this.contentType == ContentType.JSON) {
-                writeJsonDataRequest(connection, request);
-            } else {
-                throw new InvalidHTTPException("Content-Type '" + connection.getRequestProperty(CONTENT_TYPE) +
-                        "' not currently supported by Selenified. Current supported types are " +
-                        "'application/json' and 'multipart/form-data'.");
-            }
+        Transport.Body body = getRequestBody(request, file);
+        Map<String, String> headers = getRequestHeaders();
+        if (body != null && requestCompression) {
+            body = ContentEncoding.gzip(body);
+            headers = new HashMap<>(headers);
+            headers.put(ContentEncoding.CONTENT_ENCODING, ContentEncoding.GZIP);
         }
-        return getResponse(connection);
+        ResponseCache cache = Method.GET.toString().equals(method) ? responseCache : null;
+        if (cache == null) {
+            return send(method, url, headers, body);
+        }
+        String key = cache.getKey(url, headers);
+        ResponseCache.Entry cached = cache.get(key);
+        if (cached != null && cached.isFresh()) {
+            return cached.toResponse(reporter, keepRawResponse, ResponseCache.Status.HIT);
+        }
+        Response response = send(method, url, cached == null ? headers : cached.addValidators(headers), body);
+        if (cached != null && response.getCode() == 304) {
+            return cache.revalidate(key, cached, response.getHeaders()).toResponse(reporter, keepRawResponse,
+                    ResponseCache.Status.REVALIDATED);
+        }
+        cache.put(key, response);
+        return response;
     }
 
     /**
-     * Provides ability to add an HTTP method to HTTPUrlConnection via reflection. Use
-     * with caution
+     * Sends the request over the transport, retrying it as the retry policy
+     * allows
      *
-     * @param methods - what HTTP method(s) do you want to add
+     * @param method  - what http method call is being made
+     * @param url     - the full url to call
+     * @param headers - the request headers to send
+     * @param body    - the request body to send, null if there is none
+     * @return Response: the response provided from the http call
+     * @throws IOException: if the call can't be made
      */
-    private static void allowMethods(String... methods) {
-        try {
-            Field methodsField = HttpURLConnection.class.getDeclaredField("methods");
-
-            Field modifiersField = Field.class.getDeclaredField("modifiers");
-            modifiersField.setAccessible(true);
-            modifiersField.setInt(methodsField, methodsField.getModifiers() & ~Modifier.FINAL);
-
-            methodsField.setAccessible(true);
-
-            String[] oldMethods = (String[]) methodsField.get(null);
-            Set<String> methodsSet = new LinkedHashSet<>(Arrays.asList(oldMethods));
-            methodsSet.addAll(Arrays.asList(methods));
-            String[] newMethods = methodsSet.toArray(new String[0]);
-
-            methodsField.set(null/*static field*/, newMethods);
-        } catch (NoSuchFieldException | IllegalAccessException e) {
-            log.info("Your version of Java doesn't support the PATCH method, be warned! " + e);
+    private Response send(String method, URL url, Map<String, String> headers, Transport.Body body) throws IOException {
+        String endpoint = LatencyMetrics.getEndpoint(method, url);
+        RetryPolicy.HttpAttempt attempt = () -> {
+            long start = System.nanoTime();
+            try (Transport.Exchange exchange = transport.send(method, url, headers, body)) {
+                return getResponse(exchange, endpoint, start);
+            }
+        };
+        if (retryPolicy == null) {
+            return attempt.perform();
         }
+        return retryPolicy.execute(isSafe(method), attempt);
     }
 
     /**
-     * Opens the URL connection, and if a proxy is provided, uses the proxy to establish the connection
+     * Builds the request body, based on the content type. The body can be
+     * written out more than once, so the call can be retried
      *
-     * @param url - the url to connect to
-     * @return HttpURLConnection: our established http connection
-     * @throws IOException: if the connection can't be established, an IOException is thrown
+     * @param request - the parameters to be passed to the endpoint for the service
+     *                call
+     * @param file    - is there a file to upload as well
+     * @return Transport.Body: the request body, null if there isn't one
+     * @throws IOException: if the body can't be built
      */
-    private HttpURLConnection getConnection(URL url) throws IOException {
-        Proxy proxy = Proxy.NO_PROXY;
-        if (Property.isProxySet()) {
-            SocketAddress addr = new InetSocketAddress(Property.getProxyHost(), Property.getProxyPort());
-            proxy = new Proxy(Proxy.Type.HTTP, addr);
+    private Transport.Body getRequestBody(Request request, File file) throws IOException {
+        if ((request == null || !request.isPayload()) && file == null) {
+            return null;
+        }
+        if (this.contentType == ContentType.FORMDATA) {
+            return getMultipartDataRequest(request, file);
+        } else if (this.contentType == ContentType.JSON) {
+            return getJsonDataRequest(request);
+        } else {
+            throw new InvalidHTTPException("Content-Type '" + this.contentType.getContentType() +
+                    "' not currently supported by Selenified. Current supported types are " +
+                    "'application/json' and 'multipart/form-data'.");
         }
-        return (HttpURLConnection) url.openConnection(proxy);
     }
 
     /**
-     * Pushes request data to the open http connection
+     * Builds the request body from the json payload. The payload is written
+     * straight out to the transport as it is sent, rather than built up in
+     * memory first
      *
-     * @param connection - the open connection of the http call
-     * @param request    - the parameters to be passed to the endpoint for the service
-     *                   call
+     * @param request - the parameters to be passed to the endpoint for the service
+     *                call
+     * @return Transport.Body: the request body
      */
-    private void writeJsonDataRequest(HttpURLConnection connection, Request request) {
-        try (OutputStreamWriter wr = new OutputStreamWriter(connection.getOutputStream())) {
-            if (request != null && request.getJsonPayload() != null) {
-                wr.write(request.getJsonPayload().toString());
-            }
-            wr.flush();
-        } catch (IOException e) {
-            log.error(e);
+    private Transport.Body getJsonDataRequest(Request request) {
+        if (request == null || request.getJsonPayload() == null) {
+            return Transport.body(new byte[0]);
         }
+        return new JsonBody(request.getJsonPayload());
     }
 
     /**
-     * Pushes request data to the open http connection
+     * Builds the multipart request body from the request data, and the file
+     * to upload. The file isn't read in ahead of time, instead it is copied
+     * out to the transport as the request is sent
      *
-     * @param connection - the open connection of the http call
-     * @param request    - the parameters to be passed to the endpoint for the service
-     *                   call
-     * @param file       - the file to upload with the request
+     * @param request - the parameters to be passed to the endpoint for the service
+     *                call
+     * @param file    - the file to upload with the request
+     * @return Transport.Body: the request body
+     * @throws IOException: if the type of the file can't be determined
      */
-    private void writeMultipartDataRequest(HttpURLConnection connection, Request request, File file) {
-        try (DataOutputStream wr = new DataOutputStream(connection.getOutputStream())) {
+    private Transport.Body getMultipartDataRequest(Request request, File file) throws IOException {
+        ByteArrayOutputStream head = new ByteArrayOutputStream();
+        File upload = null;
+        try (DataOutputStream wr = new DataOutputStream(head)) {
             wr.writeBytes(NEWLINE);
             if (request != null && request.getJsonPayload() != null) {
                 wr.writeBytes(NEWLINE + "--" + BOUNDARY + NEWLINE);
@@ -445,78 +836,234 @@ public class HTTP {
                     wr.writeBytes(NEWLINE);
                     wr.writeBytes("Content-Type: " + Files.probeContentType(file.toPath()));
                     wr.writeBytes(NEWLINE + NEWLINE);
-                    byte[] bytes = Files.readAllBytes(file.toPath());
-                    wr.write(bytes);
+                    upload = file;
                 }
             }
-            wr.writeBytes(NEWLINE + "--" + BOUNDARY + "--" + NEWLINE);
-            wr.flush();
-        } catch (IOException e) {
-            log.error(e);
         }
+        byte[] tail = (NEWLINE + "--" + BOUNDARY + "--" + NEWLINE).getBytes(StandardCharsets.US_ASCII);
+        return new MultipartBody(head.toByteArray(), upload, tail);
     }
 
     /**
-     * Extracts the response data from the open http connection
+     * Extracts the response data from the transport's response. The body is
+     * read in as raw bytes, to be decoded using the charset from the Content-Type
+     * header, or UTF-8 if none is provided. It is only parsed as json once the
+     * response data is actually needed. How long each phase of the call took is
+     * kept on the response
      *
-     * @param connection - the open connection of the http call
+     * @param exchange - the response received from the transport
+     * @param endpoint - the endpoint pattern the call was made to
+     * @param start    - when the call was started, from System.nanoTime
      * @return Response: the response provided from the http call
      */
-    @SuppressWarnings({"squid:S3776", "squid:S2093"})
-    private Response getResponse(HttpURLConnection connection) {
-        int status;
-        Map headers;
+    private Response getResponse(Transport.Exchange exchange, String endpoint, long start) {
+        long received = System.nanoTime();
+        int status = exchange.getCode();
+        Map<String, List<String>> headers = exchange.getHeaders();
+        InputStream body = null;
         try {
-            status = connection.getResponseCode();
-            headers = connection.getHeaderFields();
+            body = exchange.getBody();
         } catch (IOException e) {
-            log.error(e);
-            return null;
+            log.warn(e);
+        }
+        if (body == null) {
+            Response response = new Response(reporter, getResponseHeaders(headers), status, null, null, null);
+            response.setTiming(getTiming(exchange, endpoint, start, received, System.nanoTime()));
+            return response;
         }
-        JsonObject object = null;
-        JsonArray array = null;
-        String data = null;
-        BufferedReader rd = null;
-        // unable to use the try-with-resources block, as the rd needs to be read in the finally, and can't be closed
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        String encoding = ContentEncoding.getEncoding(headers);
+        ContentEncoding.CountingInputStream transferred = null;
         try {
-            rd = new BufferedReader(new InputStreamReader(connection.getInputStream()));
+            if (encoding != null) {
+                // the body is decoded as it's read, so the compressed body is never held
+                transferred = new ContentEncoding.CountingInputStream(body);
+                body = ContentEncoding.decode(encoding, transferred);
+            }
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                raw.write(buffer, 0, read);
+            }
         } catch (IOException e) {
-            log.warn(e);
-            try {
-                rd = new BufferedReader(new InputStreamReader(connection.getErrorStream()));
-            } catch (NullPointerException ee) {
-                log.warn(ee);
+            log.error(e);
+        }
+        Response response = new Response(reporter, getResponseHeaders(headers), status, raw.toByteArray(), getCharset(headers),
+                keepRawResponse);
+        if (transferred != null) {
+            response.setCompression(encoding, transferred.getCount(), raw.size());
+        }
+        response.setTiming(getTiming(exchange, endpoint, start, received, System.nanoTime()));
+        return response;
+    }
+
+    /**
+     * Splits the time a call took into its phases. The transport is asked how
+     * long connecting took, with the rest of the time until the response was
+     * received being the time to first byte
+     *
+     * @param exchange - the response received from the transport
+     * @param endpoint - the endpoint pattern the call was made to
+     * @param start    - when the call was started, from System.nanoTime
+     * @param received - when the response was received, from System.nanoTime
+     * @param read     - when the response body was read in, from System.nanoTime
+     * @return Timing: how long each phase of the call took
+     */
+    private static Timing getTiming(Transport.Exchange exchange, String endpoint, long start, long received, long read) {
+        long connect = exchange.getConnectTime();
+        return new Timing(endpoint, connect, Math.max(received - start - Math.max(connect, 0), 0), read - received,
+                exchange.isReplayed());
+    }
+
+    /**
+     * Copies the headers of the response into the form the response holds
+     * them in, keeping their order, and the status line
+     *
+     * @param headers - the headers of the response
+     * @return Map: the headers, keyed by name, with the list of values for
+     * each, or null if there were none
+     */
+    private static Map<String, Object> getResponseHeaders(Map<String, List<String>> headers) {
+        if (headers == null) {
+            return null;
+        }
+        return new LinkedHashMap<>(headers);
+    }
+
+    /**
+     * Determines the character set of the response from its Content-Type header,
+     * falling back to UTF-8 if none is provided
+     *
+     * @param headers - the headers of the response
+     * @return Charset: the character set the response body is encoded with
+     */
+    private static Charset getCharset(Map<String, List<String>> headers) {
+        if (headers == null) {
+            return StandardCharsets.UTF_8;
+        }
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (!CONTENT_TYPE.equalsIgnoreCase(header.getKey()) || header.getValue() == null) {
+                continue;
             }
-        } finally {
-            StringBuilder sb = new StringBuilder();
-            String line;
-            if (rd != null) {
-                try {
-                    while ((line = rd.readLine()) != null) {
-                        sb.append(line);
+            for (String value : header.getValue()) {
+                for (String parameter : value.split(";")) {
+                    String[] pair = parameter.trim().split("=", 2);
+                    if (pair.length == 2 && "charset".equalsIgnoreCase(pair[0].trim())) {
+                        try {
+                            return Charset.forName(pair[1].trim().replace("\"", ""));
+                        } catch (IllegalArgumentException e) {
+                            log.warn("Unsupported response charset " + pair[1] + ". " + e);
+                        }
                     }
-                } catch (IOException e) {
-                    log.error(e);
                 }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    /**
+     * A json request body, serialized straight out to the transport. The
+     * payload is serialized once up front only to count its length, so the
+     * transport can send it with a fixed length instead of buffering it
+     */
+    private static class JsonBody implements Transport.Body {
+        // matches how JsonElement.toString() writes out json
+        private static final Gson GSON = new GsonBuilder().serializeNulls().disableHtmlEscaping().create();
+
+        private final JsonElement payload;
+        private long length = -1;
+
+        JsonBody(JsonElement payload) {
+            this.payload = payload;
+        }
+
+        @Override
+        public long length() {
+            if (length == -1) {
+                CountingOutputStream counter = new CountingOutputStream();
                 try {
-                    rd.close();
+                    writeTo(counter);
+                    length = counter.count;
                 } catch (IOException e) {
-                    log.error(e);
+                    // fall back to streaming the body without a known length
+                    log.warn(e);
                 }
-                data = sb.toString();
-                JsonParser parser = new JsonParser();
-                try {
-                    object = (JsonObject) parser.parse(data);
-                } catch (JsonSyntaxException | ClassCastException e) {
-                    log.debug(e);
-                    try {
-                        array = (JsonArray) parser.parse(data);
-                    } catch (JsonSyntaxException | ClassCastException ee) {
-                        log.debug(ee);
+            }
+            return length;
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            JsonWriter writer = new JsonWriter(new OutputStreamWriter(out));
+            try {
+                GSON.toJson(payload, writer);
+            } catch (JsonIOException e) {
+                throw new IOException(e.getMessage(), e.getCause());
+            }
+            writer.flush();
+        }
+    }
+
+    /**
+     * A multipart request body. The form data is small, and built up ahead of
+     * time, while the file is copied out to the transport through a bounded
+     * buffer as it is sent, so even very large files are never held in memory
+     */
+    private static class MultipartBody implements Transport.Body {
+        private final byte[] head;
+        private final File file;
+        private final long fileLength;
+        private final byte[] tail;
+
+        MultipartBody(byte[] head, File file, byte[] tail) {
+            this.head = head;
+            this.file = file;
+            this.fileLength = file == null ? 0 : file.length();
+            this.tail = tail;
+        }
+
+        @Override
+        public long length() {
+            return head.length + fileLength + tail.length;
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            out.write(head);
+            if (file != null) {
+                try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                    ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+                    long remaining = fileLength;
+                    while (remaining > 0) {
+                        buffer.clear();
+                        buffer.limit((int) Math.min(BUFFER_SIZE, remaining));
+                        int read = channel.read(buffer);
+                        if (read == -1) {
+                            throw new EOFException("File " + file.getName() + " was shortened while being uploaded");
+                        }
+                        out.write(buffer.array(), 0, read);
+                        remaining -= read;
                     }
                 }
             }
+            out.write(tail);
+        }
+    }
+
+    /**
+     * Counts the bytes written to it, without keeping any of them
+     */
+    private static class CountingOutputStream extends OutputStream {
+        private long count = 0;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
         }
-        return new Response(reporter, headers, status, object, array, data);
     }
 }
@@ -0,0 +1,405 @@
+/*
+ * Copyright 2019 Coveros, Inc.
+ *
+ * This file is part of Selenified.
+ *
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.coveros.selenified.services;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JsonDiff structurally compares two json documents, finding the paths at
+ * which they differ, rather than only whether they're equal. Every subtree is
+ * hashed once, and subtrees with matching hashes are treated as equal without
+ * walking them, so only the parts of large documents which actually differ are
+ * compared. Arrays can be compared ignoring the order of their elements, which
+ * is done by sorting the hashes of their elements, rather than searching for
+ * each element in turn. Object members are always compared ignoring their
+ * order, and numbers are compared by value, so <i>1</i> and <i>1.0</i> are
+ * equal.
+ *
+ * @author Max Saperstone
+ * @version 3.3.1
+ * @lastupdate 10/19/2026
+ */
+public final class JsonDiff {
+
+    private static final int MAX_DIFFERENCES = 100;
+    private static final long NULL_HASH = 0x6a09e667f3bcc908L;
+    private static final long TRUE_HASH = 0xbb67ae8584caa73bL;
+    private static final long FALSE_HASH = 0x3c6ef372fe94f82bL;
+    private static final long NUMBER_SEED = 0xa54ff53a5f1d36f1L;
+    private static final long STRING_SEED = 0x510e527fade682d1L;
+    private static final long ARRAY_SEED = 0x9b05688c2b3e6c1fL;
+    private static final long OBJECT_SEED = 0x1f83d9abfb41bd6bL;
+
+    private final boolean ignoreArrayOrder;
+    private final Map<JsonElement, Long> hashes = new IdentityHashMap<>();
+    private final List<Difference> differences = new ArrayList<>();
+    private int differenceCount = 0;
+
+    /**
+     * How a value differs
+     */
+    public enum Type {
+        CHANGED, MISSING, UNEXPECTED
+    }
+
+    /**
+     * A single path at which the documents differ
+     */
+    public static final class Difference {
+        private final String path;
+        private final Type type;
+        private final JsonElement expected;
+        private final JsonElement actual;
+
+        Difference(String path, Type type, JsonElement expected, JsonElement actual) {
+            this.path = path;
+            this.type = type;
+            this.expected = expected;
+            this.actual = actual;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        public JsonElement getExpected() {
+            return expected;
+        }
+
+        public JsonElement getActual() {
+            return actual;
+        }
+
+        @Override
+        public String toString() {
+            switch (type) {
+                case MISSING:
+                    return path + " is missing, expected " + expected;
+                case UNEXPECTED:
+                    return path + " wasn't expected, found " + actual;
+                default:
+                    return path + " expected " + expected + ", found " + actual;
+            }
+        }
+    }
+
+    private JsonDiff(boolean ignoreArrayOrder) {
+        this.ignoreArrayOrder = ignoreArrayOrder;
+    }
+
+    /**
+     * Compares the documents, with arrays needing their elements in the same
+     * order
+     *
+     * @param expected - the expected json
+     * @param actual   - the actual json
+     * @return JsonDiff: the differences found
+     */
+    public static JsonDiff compare(JsonElement expected, JsonElement actual) {
+        return compare(expected, actual, false);
+    }
+
+    /**
+     * Compares the documents
+     *
+     * @param expected         - the expected json
+     * @param actual           - the actual json
+     * @param ignoreArrayOrder - can array elements be in any order
+     * @return JsonDiff: the differences found
+     */
+    public static JsonDiff compare(JsonElement expected, JsonElement actual, boolean ignoreArrayOrder) {
+        JsonDiff diff = new JsonDiff(ignoreArrayOrder);
+        if (expected == null || actual == null) {
+            if (expected != actual) {
+                diff.add("$", expected == null ? Type.UNEXPECTED : Type.MISSING, expected, actual);
+            }
+        } else {
+            diff.diff("$", expected, actual);
+        }
+        // the hashes are only needed while comparing
+        diff.hashes.clear();
+        return diff;
+    }
+
+    /**
+     * Determines if the documents are equal
+     *
+     * @return Boolean: were no differences found
+     */
+    public boolean isEqual() {
+        return differenceCount == 0;
+    }
+
+    /**
+     * Retrieves the paths at which the documents differ. At most the first 100
+     * differences are kept
+     *
+     * @return List: the differences found
+     */
+    public List<Difference> getDifferences() {
+        return Collections.unmodifiableList(differences);
+    }
+
+    /**
+     * Retrieves how many differences were found, including any not kept
+     *
+     * @return Integer: the number of differences found
+     */
+    public int getDifferenceCount() {
+        return differenceCount;
+    }
+
+    /**
+     * Determines whether array elements could be in any order
+     *
+     * @return Boolean: was array order ignored
+     */
+    public boolean isIgnoreArrayOrder() {
+        return ignoreArrayOrder;
+    }
+
+    private void add(String path, Type type, JsonElement expected, JsonElement actual) {
+        differenceCount++;
+        if (differences.size() < MAX_DIFFERENCES) {
+            differences.add(new Difference(path, type, expected, actual));
+        }
+    }
+
+    /**
+     * Compares two values, only walking them if their hashes differ
+     *
+     * @param path     - the path to the values
+     * @param expected - the expected value
+     * @param actual   - the actual value
+     */
+    private void diff(String path, JsonElement expected, JsonElement actual) {
+        if (hash(expected) == hash(actual)) {
+            return;
+        }
+        if (expected.isJsonObject() && actual.isJsonObject()) {
+            diffObjects(path, expected.getAsJsonObject(), actual.getAsJsonObject());
+        } else if (expected.isJsonArray() && actual.isJsonArray()) {
+            if (ignoreArrayOrder) {
+                diffUnorderedArrays(path, expected.getAsJsonArray(), actual.getAsJsonArray());
+            } else {
+                diffArrays(path, expected.getAsJsonArray(), actual.getAsJsonArray());
+            }
+        } else {
+            add(path, Type.CHANGED, expected, actual);
+        }
+    }
+
+    private void diffObjects(String path, JsonObject expected, JsonObject actual) {
+        for (Map.Entry<String, JsonElement> member : expected.entrySet()) {
+            String memberPath = path + "['" + member.getKey().replace("\\", "\\\\").replace("'", "\\'") + "']";
+            JsonElement actualValue = actual.get(member.getKey());
+            if (actualValue == null) {
+                add(memberPath, Type.MISSING, member.getValue(), null);
+            } else {
+                diff(memberPath, member.getValue(), actualValue);
+            }
+        }
+        for (Map.Entry<String, JsonElement> member : actual.entrySet()) {
+            if (!expected.has(member.getKey())) {
+                String memberPath = path + "['" + member.getKey().replace("\\", "\\\\").replace("'", "\\'") + "']";
+                add(memberPath, Type.UNEXPECTED, null, member.getValue());
+            }
+        }
+    }
+
+    private void diffArrays(String path, JsonArray expected, JsonArray actual) {
+        int common = Math.min(expected.size(), actual.size());
+        for (int i = 0; i < common; i++) {
+            diff(path + "[" + i + "]", expected.get(i), actual.get(i));
+        }
+        for (int i = common; i < expected.size(); i++) {
+            add(path + "[" + i + "]", Type.MISSING, expected.get(i), null);
+        }
+        for (int i = common; i < actual.size(); i++) {
+            add(path + "[" + i + "]", Type.UNEXPECTED, null, actual.get(i));
+        }
+    }
+
+    /**
+     * Compares arrays whose elements can be in any order. The elements are
+     * sorted by hash, and matched up in a single pass. Any left over are then
+     * paired up in the order they appear, and compared further, so a single
+     * changed field shows up as that field, rather than a whole missing and a
+     * whole unexpected element
+     *
+     * @param path     - the path to the arrays
+     * @param expected - the expected array
+     * @param actual   - the actual array
+     */
+    private void diffUnorderedArrays(String path, JsonArray expected, JsonArray actual) {
+        Integer[] expectedOrder = sortByHash(expected);
+        Integer[] actualOrder = sortByHash(actual);
+        boolean[] expectedMatched = new boolean[expected.size()];
+        boolean[] actualMatched = new boolean[actual.size()];
+        int e = 0;
+        int a = 0;
+        while (e < expectedOrder.length && a < actualOrder.length) {
+            int compared = Long.compare(hash(expected.get(expectedOrder[e])), hash(actual.get(actualOrder[a])));
+            if (compared == 0) {
+                expectedMatched[expectedOrder[e++]] = true;
+                actualMatched[actualOrder[a++]] = true;
+            } else if (compared < 0) {
+                e++;
+            } else {
+                a++;
+            }
+        }
+        int actualIndex = 0;
+        for (int expectedIndex = 0; expectedIndex < expected.size(); expectedIndex++) {
+            if (expectedMatched[expectedIndex]) {
+                continue;
+            }
+            while (actualIndex < actual.size() && actualMatched[actualIndex]) {
+                actualIndex++;
+            }
+            if (actualIndex < actual.size()) {
+                diff(path + "[" + actualIndex + "]", expected.get(expectedIndex), actual.get(actualIndex));
+                actualIndex++;
+            } else {
+                add(path + "[" + expectedIndex + "]", Type.MISSING, expected.get(expectedIndex), null);
+            }
+        }
+        for (; actualIndex < actual.size(); actualIndex++) {
+            if (!actualMatched[actualIndex]) {
+                add(path + "[" + actualIndex + "]", Type.UNEXPECTED, null, actual.get(actualIndex));
+            }
+        }
+    }
+
+    /**
+     * Sorts the indices of the array's elements by the elements' hashes
+     *
+     * @param array - the array to sort
+     * @return Integer[]: the indices of the elements, in hash order
+     */
+    private Integer[] sortByHash(JsonArray array) {
+        Integer[] order = new Integer[array.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (first, second) -> Long.compare(hash(array.get(first)), hash(array.get(second))));
+        return order;
+    }
+
+    /**
+     * Hashes the value, remembering the hash of every subtree, so each is only
+     * hashed once. Equal values always have equal hashes; as the hashes are 64
+     * bits, unequal values having equal hashes is vanishingly unlikely
+     *
+     * @param element - the value to hash
+     * @return Long: the hash of the value
+     */
+    private long hash(JsonElement element) {
+        Long cached = hashes.get(element);
+        if (cached != null) {
+            return cached;
+        }
+        long hash;
+        if (element == null || element.isJsonNull()) {
+            hash = NULL_HASH;
+        } else if (element.isJsonPrimitive()) {
+            hash = hashPrimitive(element.getAsJsonPrimitive());
+        } else if (element.isJsonArray()) {
+            hash = ARRAY_SEED;
+            for (JsonElement child : element.getAsJsonArray()) {
+                hash = mix(hash * 31 + hash(child));
+            }
+            hash = mix(hash + element.getAsJsonArray().size());
+        } else {
+            // members are summed, so the order they're in doesn't matter
+            hash = OBJECT_SEED;
+            for (Map.Entry<String, JsonElement> member : element.getAsJsonObject().entrySet()) {
+                hash += mix(hashString(member.getKey()) * 0x9e3779b97f4a7c15L ^ hash(member.getValue()));
+            }
+            hash = mix(hash + element.getAsJsonObject().size());
+        }
+        if (element != null) {
+            hashes.put(element, hash);
+        }
+        return hash;
+    }
+
+    private static long hashPrimitive(JsonPrimitive primitive) {
+        if (primitive.isBoolean()) {
+            return primitive.getAsBoolean() ? TRUE_HASH : FALSE_HASH;
+        }
+        if (primitive.isNumber()) {
+            try {
+                // numbers are normalized, so 1, 1.0 and 1e0 all hash the same
+                BigDecimal number = primitive.getAsBigDecimal();
+                number = number.signum() == 0 ? BigDecimal.ZERO : number.stripTrailingZeros();
+                return mix(NUMBER_SEED ^ hashString(number.unscaledValue().toString()) ^ ((long) number.scale() << 32));
+            } catch (NumberFormatException e) {
+                return mix(NUMBER_SEED ^ Double.doubleToLongBits(primitive.getAsDouble()));
+            }
+        }
+        return mix(STRING_SEED ^ hashString(primitive.getAsString()));
+    }
+
+    /**
+     * A 64 bit FNV-1a hash of the string
+     *
+     * @param string - the string to hash
+     * @return Long: the hash of the string
+     */
+    private static long hashString(String string) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : string.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Spreads the bits of the hash, so similar values have very different
+     * hashes
+     *
+     * @param hash - the hash to mix
+     * @return Long: the mixed hash
+     */
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+}
@@ -0,0 +1,367 @@
+/*
+ * Copyright 2019 Coveros, Inc.
+ *
+ * This file is part of Selenified.
+ *
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.coveros.selenified.services;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JsonPath is a compiled path into a json response, used to pull out nested
+ * values without walking the json by hand on every check. Paths are written
+ * similar to JSONPath, for example <i>$.users[0].name</i>,
+ * <i>$['first name']</i>, or <i>$.users[*].name</i>. The leading <i>$</i> is
+ * optional. Object keys are given with a dot, or quoted in brackets, array
+ * indices are given in brackets, counting back from the end if negative, and
+ * <i>*</i> matches every member of an object or array. Compiled paths are
+ * cached, so the same path used across many checks is only parsed once.
+ *
+ * @author Max Saperstone
+ * @version 3.3.1
+ * @lastupdate 10/19/2026
+ */
+public final class JsonPath {
+
+    private static final int MAX_PATHS = 500;
+    private static final Map<String, JsonPath> CACHE = Collections.synchronizedMap(new LinkedHashMap<String, JsonPath>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, JsonPath> eldest) {
+            return size() > MAX_PATHS;
+        }
+    });
+
+    private final String expression;
+    private final List<Segment> segments;
+    private final boolean definite;
+
+    private JsonPath(List<Segment> segments) {
+        this.segments = segments;
+        StringBuilder builder = new StringBuilder("$");
+        boolean allSingle = true;
+        for (Segment segment : segments) {
+            builder.append(segment);
+            allSingle &= !segment.wildcard;
+        }
+        this.expression = builder.toString();
+        this.definite = allSingle;
+    }
+
+    /**
+     * Compiles the provided path, or retrieves it if it has already been
+     * compiled
+     *
+     * @param path - the path to compile, e.g. $.users[0].name
+     * @return JsonPath: the compiled path
+     * @throws IllegalArgumentException: if the path can't be parsed
+     */
+    public static JsonPath compile(String path) {
+        if (path == null) {
+            throw new IllegalArgumentException("Need to provide a json path");
+        }
+        JsonPath jsonPath = CACHE.get(path);
+        if (jsonPath == null) {
+            jsonPath = new JsonPath(parse(path));
+            CACHE.put(path, jsonPath);
+        }
+        return jsonPath;
+    }
+
+    /**
+     * Builds a path from crumbs of json object keys, each one leading to the
+     * next. Each crumb is used as a key exactly as provided
+     *
+     * @param jsonCrumbs - the crumbs of json object keys leading to the field
+     * @return JsonPath: the path following those keys
+     */
+    public static JsonPath of(List<String> jsonCrumbs) {
+        List<Segment> segments = new ArrayList<>();
+        for (String jsonCrumb : jsonCrumbs) {
+            segments.add(Segment.key(jsonCrumb));
+        }
+        return new JsonPath(segments);
+    }
+
+    /**
+     * Determines if the path can only ever match a single value, meaning it
+     * contains no wildcards
+     *
+     * @return Boolean: does the path only match a single value
+     */
+    public boolean isDefinite() {
+        return definite;
+    }
+
+    /**
+     * Determines if the path doesn't step anywhere, and so just leads to the
+     * json it is resolved against
+     *
+     * @return Boolean: is the path empty
+     */
+    boolean isRoot() {
+        return segments.isEmpty();
+    }
+
+    /**
+     * Finds every value in the json matching the path
+     *
+     * @param json - the json to look through
+     * @return List: each matching value, in the order they appear
+     */
+    public List<JsonElement> evaluate(JsonElement json) {
+        List<JsonElement> current = new ArrayList<>();
+        if (json != null) {
+            current.add(json);
+        }
+        for (Segment segment : segments) {
+            List<JsonElement> next = new ArrayList<>();
+            for (JsonElement element : current) {
+                segment.select(element, next);
+            }
+            current = next;
+        }
+        return current;
+    }
+
+    /**
+     * Resolves the path against the json. A definite path gives back the value
+     * it leads to, or null if there isn't one; a path with wildcards gives back
+     * an array of every value it matches
+     *
+     * @param json - the json to look through
+     * @return JsonElement: the value found
+     */
+    public JsonElement resolve(JsonElement json) {
+        if (!definite) {
+            JsonArray matches = new JsonArray();
+            for (JsonElement match : evaluate(json)) {
+                matches.add(match);
+            }
+            return matches;
+        }
+        JsonElement current = json;
+        for (Segment segment : segments) {
+            if (current == null) {
+                return null;
+            }
+            current = segment.get(current);
+        }
+        return current;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof JsonPath && expression.equals(((JsonPath) other).expression);
+    }
+
+    @Override
+    public int hashCode() {
+        return expression.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    /**
+     * Parses the path into the steps it takes through the json
+     *
+     * @param path - the path to parse
+     * @return List: the steps of the path
+     * @throws IllegalArgumentException: if the path can't be parsed
+     */
+    private static List<Segment> parse(String path) {
+        List<Segment> segments = new ArrayList<>();
+        int i = 0;
+        int length = path.length();
+        if (i < length && path.charAt(i) == '$') {
+            i++;
+        } else if (i < length && path.charAt(i) != '[') {
+            // a leading key doesn't need a dot
+            i = readKey(path, i, segments);
+        }
+        while (i < length) {
+            char c = path.charAt(i);
+            if (c == '.') {
+                i = readKey(path, i + 1, segments);
+            } else if (c == '[') {
+                i = readBracket(path, i + 1, segments);
+            } else {
+                throw invalid(path, "unexpected '" + c + "' at position " + i);
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * Reads a dotted key, or wildcard, from the path
+     *
+     * @param path     - the path being parsed
+     * @param start    - where the key starts
+     * @param segments - the steps of the path, which the key is added to
+     * @return Integer: where the next step of the path starts
+     */
+    private static int readKey(String path, int start, List<Segment> segments) {
+        int end = start;
+        while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') {
+            end++;
+        }
+        String key = path.substring(start, end);
+        if (key.isEmpty()) {
+            throw invalid(path, "empty key at position " + start);
+        }
+        segments.add("*".equals(key) ? Segment.wildcard() : Segment.key(key));
+        return end;
+    }
+
+    /**
+     * Reads a bracketed index, quoted key, or wildcard from the path
+     *
+     * @param path     - the path being parsed
+     * @param start    - where the contents of the brackets start
+     * @param segments - the steps of the path, which the step is added to
+     * @return Integer: where the next step of the path starts
+     */
+    private static int readBracket(String path, int start, List<Segment> segments) {
+        if (start < path.length() && (path.charAt(start) == '\'' || path.charAt(start) == '"')) {
+            char quote = path.charAt(start);
+            StringBuilder key = new StringBuilder();
+            int i = start + 1;
+            while (i < path.length() && path.charAt(i) != quote) {
+                if (path.charAt(i) == '\\' && i + 1 < path.length()) {
+                    i++;
+                }
+                key.append(path.charAt(i));
+                i++;
+            }
+            if (i + 1 >= path.length() || path.charAt(i + 1) != ']') {
+                throw invalid(path, "unclosed quoted key at position " + start);
+            }
+            segments.add(Segment.key(key.toString()));
+            return i + 2;
+        }
+        int end = path.indexOf(']', start);
+        if (end == -1) {
+            throw invalid(path, "unclosed bracket at position " + (start - 1));
+        }
+        String contents = path.substring(start, end).trim();
+        if ("*".equals(contents)) {
+            segments.add(Segment.wildcard());
+        } else {
+            try {
+                segments.add(Segment.index(Integer.parseInt(contents)));
+            } catch (NumberFormatException e) {
+                throw invalid(path, "'" + contents + "' isn't an array index");
+            }
+        }
+        return end + 1;
+    }
+
+    private static IllegalArgumentException invalid(String path, String reason) {
+        return new IllegalArgumentException("Invalid json path '" + path + "': " + reason);
+    }
+
+    /**
+     * A single step through the json: into an object key, into an array index,
+     * or into every member
+     */
+    private static final class Segment {
+        private final String key;
+        private final int index;
+        private final boolean wildcard;
+
+        private Segment(String key, int index, boolean wildcard) {
+            this.key = key;
+            this.index = index;
+            this.wildcard = wildcard;
+        }
+
+        static Segment key(String key) {
+            return new Segment(key, 0, false);
+        }
+
+        static Segment index(int index) {
+            return new Segment(null, index, false);
+        }
+
+        static Segment wildcard() {
+            return new Segment(null, 0, true);
+        }
+
+        /**
+         * Steps into the element, for a key or index
+         *
+         * @param element - the element to step into
+         * @return JsonElement: the value stepped into, null if there isn't one
+         */
+        JsonElement get(JsonElement element) {
+            if (key != null) {
+                return element instanceof JsonObject ? ((JsonObject) element).get(key) : null;
+            }
+            if (!(element instanceof JsonArray)) {
+                return null;
+            }
+            JsonArray array = (JsonArray) element;
+            int position = index < 0 ? array.size() + index : index;
+            return position >= 0 && position < array.size() ? array.get(position) : null;
+        }
+
+        /**
+         * Steps into the element, adding every value stepped into to the matches
+         *
+         * @param element - the element to step into
+         * @param matches - the values stepped into so far
+         */
+        void select(JsonElement element, List<JsonElement> matches) {
+            if (!wildcard) {
+                JsonElement value = get(element);
+                if (value != null) {
+                    matches.add(value);
+                }
+            } else if (element instanceof JsonObject) {
+                for (Map.Entry<String, JsonElement> entry : ((JsonObject) element).entrySet()) {
+                    matches.add(entry.getValue());
+                }
+            } else if (element instanceof JsonArray) {
+                for (JsonElement member : (JsonArray) element) {
+                    matches.add(member);
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            if (wildcard) {
+                return "[*]";
+            }
+            if (key == null) {
+                return "[" + index + "]";
+            }
+            return "['" + key.replace("\\", "\\\\").replace("'", "\\'") + "']";
+        }
+    }
+}
@@ -0,0 +1,629 @@
+/*
+ * Copyright 2019 Coveros, Inc.
+ *
+ * This file is part of Selenified.
+ *
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.coveros.selenified.services;
+
+import com.coveros.selenified.utilities.Patterns;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.IntPredicate;
+
+/**
+ * JsonSchema validates json against a json schema. The schema is compiled once
+ * into a tree of rules, which then validates json in a single pass over it,
+ * reporting each violation found by its path, e.g. $['users'][3]['email'].
+ * Schemas loaded from files are cached for the JVM, so each schema file is only
+ * read and compiled once, no matter how many responses are validated against
+ * it.
+ * <p>
+ * The commonly used keywords of the json schema specification are supported:
+ * type, enum, const, properties, required, additionalProperties,
+ * patternProperties, minProperties, maxProperties, items, minItems, maxItems,
+ * uniqueItems, minimum, maximum, exclusiveMinimum, exclusiveMaximum,
+ * multipleOf, minLength, maxLength, pattern, allOf, anyOf, oneOf, not, and $ref
+ * to definitions within the same schema. Any other keywords, such as format,
+ * are ignored.
+ *
+ * @author Max Saperstone
+ * @version 3.3.1
+ * @lastupdate 10/19/2026
+ */
+public final class JsonSchema {
+
+    private static final int MAX_VIOLATIONS = 100;
+    private static final ConcurrentMap<String, Loaded> LOADED = new ConcurrentHashMap<>();
+
+    private final JsonElement definition;
+    private final Map<String, Rule> compiled = new ConcurrentHashMap<>();
+    private final Rule root;
+
+    /**
+     * A single way in which the json doesn't meet the schema
+     */
+    public static final class Violation {
+        private final String path;
+        private final String message;
+
+        Violation(String path, String message) {
+            this.path = path;
+            this.message = message;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return path + ": " + message;
+        }
+    }
+
+    /**
+     * A compiled piece of the schema, checking a single value
+     */
+    @FunctionalInterface
+    private interface Rule {
+        /**
+         * Checks the value, adding any violations found
+         *
+         * @param value      - the value to check
+         * @param path       - the path to the value
+         * @param violations - the violations found so far, null if only whether
+         *                   the value is valid matters
+         * @return Boolean: is the value valid
+         */
+        boolean check(JsonElement value, String path, List<Violation> violations);
+    }
+
+    private JsonSchema(JsonElement definition) {
+        this.definition = definition;
+        this.root = compile(definition, "#");
+    }
+
+    /**
+     * Compiles the provided schema
+     *
+     * @param schema - the json schema
+     * @return JsonSchema: the compiled schema
+     */
+    public static JsonSchema compile(JsonElement schema) {
+        if (schema == null) {
+            throw new IllegalArgumentException("A json schema needs to be provided");
+        }
+        return new JsonSchema(schema);
+    }
+
+    /**
+     * Loads and compiles the schema held in the provided file. Each file is
+     * only compiled once, and then reused, unless it changes
+     *
+     * @param file - the file holding the json schema
+     * @return JsonSchema: the compiled schema
+     * @throws IOException if the file can't be read
+     */
+    public static JsonSchema load(File file) throws IOException {
+        String key = file.getCanonicalPath();
+        long modified = file.lastModified();
+        Loaded loaded = LOADED.get(key);
+        if (loaded == null || loaded.modified != modified) {
+            try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+                loaded = new Loaded(compile(new JsonParser().parse(reader)), modified);
+            }
+            LOADED.put(key, loaded);
+        }
+        return loaded.schema;
+    }
+
+    /**
+     * Validates the json against the schema. At most the first 100
+     * violations are kept
+     *
+     * @param json - the json to validate
+     * @return List: the violations found, empty if the json is valid
+     */
+    public List<Violation> validate(JsonElement json) {
+        List<Violation> violations = new ArrayList<>();
+        root.check(json == null ? JsonNull.INSTANCE : json, "$", violations);
+        if (violations.size() > MAX_VIOLATIONS) {
+            return Collections.unmodifiableList(new ArrayList<>(violations.subList(0, MAX_VIOLATIONS)));
+        }
+        return Collections.unmodifiableList(violations);
+    }
+
+    /**
+     * Determines if the json meets the schema
+     *
+     * @param json - the json to validate
+     * @return Boolean: is the json valid
+     */
+    public boolean isValid(JsonElement json) {
+        return root.check(json == null ? JsonNull.INSTANCE : json, "$", null);
+    }
+
+    /**
+     * A compiled schema, and when the file it was loaded from was last changed
+     */
+    private static final class Loaded {
+        private final JsonSchema schema;
+        private final long modified;
+
+        Loaded(JsonSchema schema, long modified) {
+            this.schema = schema;
+            this.modified = modified;
+        }
+    }
+
+    ///////////////////////////////////////////////////////
+    // compiling the schema
+    ///////////////////////////////////////////////////////
+
+    /**
+     * Compiles a (sub) schema into a single rule, combining a rule for each
+     * keyword it uses
+     *
+     * @param schema  - the schema to compile
+     * @param pointer - where the schema sits in the whole schema, for errors
+     * @return Rule: the compiled schema
+     */
+    private Rule compile(JsonElement schema, String pointer) {
+        if (schema.isJsonPrimitive() && schema.getAsJsonPrimitive().isBoolean()) {
+            if (schema.getAsBoolean()) {
+                return (value, path, violations) -> true;
+            }
+            return (value, path, violations) -> fail(violations, path, "no value is allowed");
+        }
+        if (!schema.isJsonObject()) {
+            throw invalid(pointer, "a schema needs to be an object or a boolean");
+        }
+        JsonObject object = schema.getAsJsonObject();
+        if (object.has("$ref")) {
+            // other keywords next to a reference are ignored, as in the specification
+            String ref = object.get("$ref").getAsString();
+            return (value, path, violations) -> resolve(ref, pointer).check(value, path, violations);
+        }
+        List<Rule> rules = new ArrayList<>();
+        compileGeneric(object, rules);
+        compileNumeric(object, rules);
+        compileString(object, rules);
+        compileArray(object, pointer, rules);
+        compileObject(object, pointer, rules);
+        compileCombined(object, pointer, rules);
+        if (rules.isEmpty()) {
+            return (value, path, violations) -> true;
+        }
+        if (rules.size() == 1) {
+            return rules.get(0);
+        }
+        Rule[] all = rules.toArray(new Rule[0]);
+        return (value, path, violations) -> {
+            boolean valid = true;
+            for (Rule rule : all) {
+                valid &= rule.check(value, path, violations);
+                if (!valid && violations == null) {
+                    return false;
+                }
+            }
+            return valid;
+        };
+    }
+
+    private void compileGeneric(JsonObject schema, List<Rule> rules) {
+        if (schema.has("type")) {
+            Set<String> types = new LinkedHashSet<>();
+            JsonElement type = schema.get("type");
+            if (type.isJsonArray()) {
+                for (JsonElement member : type.getAsJsonArray()) {
+                    types.add(member.getAsString());
+                }
+            } else {
+                types.add(type.getAsString());
+            }
+            String expected = types.size() == 1 ? types.iterator().next() : String.join(" or ", types);
+            rules.add((value, path, violations) -> {
+                String actual = typeOf(value);
+                // every integer is also a number
+                return types.contains(actual) || ("integer".equals(actual) && types.contains("number")) ||
+                        fail(violations, path, "expected " + expected + ", found " + actual);
+            });
+        }
+        if (schema.has("enum")) {
+            JsonArray allowed = schema.getAsJsonArray("enum");
+            rules.add((value, path, violations) -> allowed.contains(value) ||
+                    fail(violations, path, value + " isn't one of " + allowed));
+        }
+        if (schema.has("const")) {
+            JsonElement constant = schema.get("const");
+            rules.add((value, path, violations) -> constant.equals(value) ||
+                    fail(violations, path, "expected " + constant + ", found " + value));
+        }
+    }
+
+    private void compileNumeric(JsonObject schema, List<Rule> rules) {
+        BigDecimal minimum = getNumber(schema, "minimum");
+        BigDecimal maximum = getNumber(schema, "maximum");
+        // draft 4 made the minimum and maximum exclusive with a boolean, later drafts give their own limit
+        boolean draft4Exclusive = schema.has("exclusiveMinimum") && isBoolean(schema.get("exclusiveMinimum"));
+        boolean draft4ExclusiveMax = schema.has("exclusiveMaximum") && isBoolean(schema.get("exclusiveMaximum"));
+        BigDecimal exclusiveMinimum = draft4Exclusive ? null : getNumber(schema, "exclusiveMinimum");
+        BigDecimal exclusiveMaximum = draft4ExclusiveMax ? null : getNumber(schema, "exclusiveMaximum");
+        if (draft4Exclusive && schema.get("exclusiveMinimum").getAsBoolean()) {
+            exclusiveMinimum = minimum;
+            minimum = null;
+        }
+        if (draft4ExclusiveMax && schema.get("exclusiveMaximum").getAsBoolean()) {
+            exclusiveMaximum = maximum;
+            maximum = null;
+        }
+        addLimit(rules, minimum, compared -> compared >= 0, "at least ");
+        addLimit(rules, maximum, compared -> compared <= 0, "at most ");
+        addLimit(rules, exclusiveMinimum, compared -> compared > 0, "more than ");
+        addLimit(rules, exclusiveMaximum, compared -> compared < 0, "less than ");
+        BigDecimal multipleOf = getNumber(schema, "multipleOf");
+        if (multipleOf != null) {
+            rules.add((value, path, violations) -> !isNumber(value) ||
+                    value.getAsBigDecimal().remainder(multipleOf).signum() == 0 ||
+                    fail(violations, path, "expected a multiple of " + multipleOf + ", found " + value));
+        }
+    }
+
+    private void addLimit(List<Rule> rules, BigDecimal limit, IntPredicate allowed, String description) {
+        if (limit != null) {
+            rules.add((value, path, violations) -> !isNumber(value) ||
+                    allowed.test(value.getAsBigDecimal().compareTo(limit)) ||
+                    fail(violations, path, "expected " + description + limit + ", found " + value));
+        }
+    }
+
+    private void compileString(JsonObject schema, List<Rule> rules) {
+        if (schema.has("minLength")) {
+            int minLength = schema.get("minLength").getAsInt();
+            rules.add((value, path, violations) -> !isString(value) || length(value) >= minLength ||
+                    fail(violations, path, "expected at least " + minLength + " characters, found " + length(value)));
+        }
+        if (schema.has("maxLength")) {
+            int maxLength = schema.get("maxLength").getAsInt();
+            rules.add((value, path, violations) -> !isString(value) || length(value) <= maxLength ||
+                    fail(violations, path, "expected at most " + maxLength + " characters, found " + length(value)));
+        }
+        if (schema.has("pattern")) {
+            // schema patterns aren't anchored, so they can match anywhere in the string
+            String pattern = schema.get("pattern").getAsString();
+            rules.add((value, path, violations) -> !isString(value) ||
+                    Patterns.get(pattern).matcher(value.getAsString()).find() ||
+                    fail(violations, path, value + " doesn't match the pattern " + pattern));
+        }
+    }
+
+    private void compileArray(JsonObject schema, String pointer, List<Rule> rules) {
+        if (schema.has("items")) {
+            JsonElement items = schema.get("items");
+            if (items.isJsonArray()) {
+                List<Rule> tuple = new ArrayList<>();
+                for (int i = 0; i < items.getAsJsonArray().size(); i++) {
+                    tuple.add(compile(items.getAsJsonArray().get(i), pointer + "/items/" + i));
+                }
+                rules.add((value, path, violations) -> {
+                    if (!value.isJsonArray()) {
+                        return true;
+                    }
+                    JsonArray array = value.getAsJsonArray();
+                    boolean valid = true;
+                    for (int i = 0; i < Math.min(tuple.size(), array.size()) && (valid || violations != null); i++) {
+                        valid &= tuple.get(i).check(array.get(i), path + "[" + i + "]", violations);
+                    }
+                    return valid;
+                });
+            } else {
+                Rule item = compile(items, pointer + "/items");
+                rules.add((value, path, violations) -> {
+                    if (!value.isJsonArray()) {
+                        return true;
+                    }
+                    JsonArray array = value.getAsJsonArray();
+                    boolean valid = true;
+                    for (int i = 0; i < array.size() && (valid || violations != null); i++) {
+                        valid &= item.check(array.get(i), path + "[" + i + "]", violations);
+                    }
+                    return valid;
+                });
+            }
+        }
+        if (schema.has("minItems")) {
+            int minItems = schema.get("minItems").getAsInt();
+            rules.add((value, path, violations) -> !value.isJsonArray() || value.getAsJsonArray().size() >= minItems ||
+                    fail(violations, path, "expected at least " + minItems + " items, found " + value.getAsJsonArray().size()));
+        }
+        if (schema.has("maxItems")) {
+            int maxItems = schema.get("maxItems").getAsInt();
+            rules.add((value, path, violations) -> !value.isJsonArray() || value.getAsJsonArray().size() <= maxItems ||
+                    fail(violations, path, "expected at most " + maxItems + " items, found " + value.getAsJsonArray().size()));
+        }
+        if (schema.has("uniqueItems") && schema.get("uniqueItems").getAsBoolean()) {
+            rules.add((value, path, violations) -> {
+                if (!value.isJsonArray()) {
+                    return true;
+                }
+                Set<JsonElement> seen = new HashSet<>();
+                JsonArray array = value.getAsJsonArray();
+                for (int i = 0; i < array.size(); i++) {
+                    if (!seen.add(array.get(i))) {
+                        return fail(violations, path + "[" + i + "]", array.get(i) + " is a duplicate");
+                    }
+                }
+                return true;
+            });
+        }
+    }
+
+    private void compileObject(JsonObject schema, String pointer, List<Rule> rules) {
+        if (schema.has("required")) {
+            List<String> required = new ArrayList<>();
+            for (JsonElement name : schema.getAsJsonArray("required")) {
+                required.add(name.getAsString());
+            }
+            rules.add((value, path, violations) -> {
+                if (!value.isJsonObject()) {
+                    return true;
+                }
+                boolean valid = true;
+                for (String name : required) {
+                    if (!value.getAsJsonObject().has(name)) {
+                        valid = fail(violations, child(path, name), "is required, but missing");
+                        if (violations == null) {
+                            return false;
+                        }
+                    }
+                }
+                return valid;
+            });
+        }
+        Map<String, Rule> properties = new LinkedHashMap<>();
+        if (schema.has("properties")) {
+            for (Map.Entry<String, JsonElement> property : schema.getAsJsonObject("properties").entrySet()) {
+                properties.put(property.getKey(), compile(property.getValue(), pointer + "/properties/" + property.getKey()));
+            }
+        }
+        Map<String, Rule> patternProperties = new LinkedHashMap<>();
+        if (schema.has("patternProperties")) {
+            for (Map.Entry<String, JsonElement> property : schema.getAsJsonObject("patternProperties").entrySet()) {
+                patternProperties.put(property.getKey(), compile(property.getValue(), pointer + "/patternProperties/" + property.getKey()));
+            }
+        }
+        Rule additional = schema.has("additionalProperties") ?
+                compile(schema.get("additionalProperties"), pointer + "/additionalProperties") : null;
+        if (!properties.isEmpty() || !patternProperties.isEmpty() || additional != null) {
+            rules.add((value, path, violations) -> {
+                if (!value.isJsonObject()) {
+                    return true;
+                }
+                boolean valid = true;
+                // each member is visited once, being checked against every schema which applies to it
+                for (Map.Entry<String, JsonElement> member : value.getAsJsonObject().entrySet()) {
+                    String memberPath = child(path, member.getKey());
+                    boolean matched = false;
+                    Rule property = properties.get(member.getKey());
+                    if (property != null) {
+                        matched = true;
+                        valid &= property.check(member.getValue(), memberPath, violations);
+                    }
+                    for (Map.Entry<String, Rule> pattern : patternProperties.entrySet()) {
+                        if (Patterns.get(pattern.getKey()).matcher(member.getKey()).find()) {
+                            matched = true;
+                            valid &= pattern.getValue().check(member.getValue(), memberPath, violations);
+                        }
+                    }
+                    if (!matched && additional != null) {
+                        valid &= additional.check(member.getValue(), memberPath, violations);
+                    }
+                    if (!valid && violations == null) {
+                        return false;
+                    }
+                }
+                return valid;
+            });
+        }
+        if (schema.has("minProperties")) {
+            int minProperties = schema.get("minProperties").getAsInt();
+            rules.add((value, path, violations) -> !value.isJsonObject() || value.getAsJsonObject().size() >= minProperties ||
+                    fail(violations, path, "expected at least " + minProperties + " properties, found " + value.getAsJsonObject().size()));
+        }
+        if (schema.has("maxProperties")) {
+            int maxProperties = schema.get("maxProperties").getAsInt();
+            rules.add((value, path, violations) -> !value.isJsonObject() || value.getAsJsonObject().size() <= maxProperties ||
+                    fail(violations, path, "expected at most " + maxProperties + " properties, found " + value.getAsJsonObject().size()));
+        }
+    }
+
+    private void compileCombined(JsonObject schema, String pointer, List<Rule> rules) {
+        if (schema.has("allOf")) {
+            List<Rule> all = compileAll(schema.getAsJsonArray("allOf"), pointer + "/allOf");
+            rules.add((value, path, violations) -> {
+                boolean valid = true;
+                for (Rule rule : all) {
+                    valid &= rule.check(value, path, violations);
+                }
+                return valid;
+            });
+        }
+        if (schema.has("anyOf")) {
+            List<Rule> any = compileAll(schema.getAsJsonArray("anyOf"), pointer + "/anyOf");
+            rules.add((value, path, violations) -> {
+                for (Rule rule : any) {
+                    if (rule.check(value, path, null)) {
+                        return true;
+                    }
+                }
+                return fail(violations, path, "doesn't match any of the anyOf schemas");
+            });
+        }
+        if (schema.has("oneOf")) {
+            List<Rule> one = compileAll(schema.getAsJsonArray("oneOf"), pointer + "/oneOf");
+            rules.add((value, path, violations) -> {
+                int matches = 0;
+                for (Rule rule : one) {
+                    if (rule.check(value, path, null)) {
+                        matches++;
+                    }
+                }
+                return matches == 1 || fail(violations, path, "matches " + matches + " of the oneOf schemas, instead of 1");
+            });
+        }
+        if (schema.has("not")) {
+            Rule not = compile(schema.get("not"), pointer + "/not");
+            rules.add((value, path, violations) -> !not.check(value, path, null) ||
+                    fail(violations, path, "matches a schema it isn't allowed to"));
+        }
+    }
+
+    private List<Rule> compileAll(JsonArray schemas, String pointer) {
+        List<Rule> all = new ArrayList<>();
+        for (int i = 0; i < schemas.size(); i++) {
+            all.add(compile(schemas.get(i), pointer + "/" + i));
+        }
+        return all;
+    }
+
+    /**
+     * Finds the rule for a reference within the schema, compiling it the first
+     * time it's used. References are resolved when first used, rather than
+     * when compiled, so schemas can refer to themselves
+     *
+     * @param ref     - the reference, e.g. #/definitions/user
+     * @param pointer - where the reference sits in the whole schema, for errors
+     * @return Rule: the compiled schema being referred to
+     */
+    private Rule resolve(String ref, String pointer) {
+        Rule rule = compiled.get(ref);
+        if (rule == null) {
+            if (!ref.startsWith("#")) {
+                throw invalid(pointer, "only references within the schema are supported, not " + ref);
+            }
+            JsonElement target = definition;
+            for (String token : ref.substring(1).split("/")) {
+                if (token.isEmpty()) {
+                    continue;
+                }
+                token = token.replace("~1", "/").replace("~0", "~");
+                if (target.isJsonObject() && target.getAsJsonObject().has(token)) {
+                    target = target.getAsJsonObject().get(token);
+                } else if (target.isJsonArray() && token.matches("\\d+") && Integer.parseInt(token) < target.getAsJsonArray().size()) {
+                    target = target.getAsJsonArray().get(Integer.parseInt(token));
+                } else {
+                    throw invalid(pointer, "the reference " + ref + " can't be found");
+                }
+            }
+            rule = compile(target, ref);
+            compiled.put(ref, rule);
+        }
+        return rule;
+    }
+
+    ///////////////////////////////////////////////////////
+    // helpers for checking values
+    ///////////////////////////////////////////////////////
+
+    private static boolean fail(List<Violation> violations, String path, String message) {
+        if (violations != null) {
+            violations.add(new Violation(path, message));
+        }
+        return false;
+    }
+
+    private static String child(String path, String key) {
+        return path + "['" + key.replace("\\", "\\\\").replace("'", "\\'") + "']";
+    }
+
+    private static String typeOf(JsonElement value) {
+        if (value.isJsonNull()) {
+            return "null";
+        }
+        if (value.isJsonObject()) {
+            return "object";
+        }
+        if (value.isJsonArray()) {
+            return "array";
+        }
+        JsonPrimitive primitive = value.getAsJsonPrimitive();
+        if (primitive.isBoolean()) {
+            return "boolean";
+        }
+        if (primitive.isNumber()) {
+            try {
+                BigDecimal number = primitive.getAsBigDecimal();
+                return number.signum() == 0 || number.stripTrailingZeros().scale() <= 0 ? "integer" : "number";
+            } catch (NumberFormatException e) {
+                return "number";
+            }
+        }
+        return "string";
+    }
+
+    private static boolean isNumber(JsonElement value) {
+        return value.isJsonPrimitive() && value.getAsJsonPrimitive().isNumber();
+    }
+
+    private static boolean isString(JsonElement value) {
+        return value.isJsonPrimitive() && value.getAsJsonPrimitive().isString();
+    }
+
+    private static boolean isBoolean(JsonElement value) {
+        return value.isJsonPrimitive() && value.getAsJsonPrimitive().isBoolean();
+    }
+
+    private static int length(JsonElement value) {
+        String string = value.getAsString();
+        return string.codePointCount(0, string.length());
+    }
+
+    private static BigDecimal getNumber(JsonObject schema, String keyword) {
+        JsonElement value = schema.get(keyword);
+        return value != null && isNumber(value) ? value.getAsBigDecimal() : null;
+    }
+
+    private static IllegalArgumentException invalid(String pointer, String reason) {
+        return new IllegalArgumentException("Invalid json schema at '" + pointer + "': " + reason);
+    }
+}
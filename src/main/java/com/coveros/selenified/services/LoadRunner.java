@@ -0,0 +1,334 @@
+/*
+ * Copyright 2019 Coveros, Inc.
+ *
+ * This file is part of Selenified.
+ *
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.coveros.selenified.services;
+
+import com.coveros.selenified.utilities.CountingReporter;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays a scenario made up of web services calls over and over, to put the
+ * services under load, and summarizes how they held up. The same flows, and
+ * the same checks, used in functional tests can be run under load, without
+ * maintaining a separate copy of them for a load testing tool.
+ * <p>
+ * By default, a fixed number of virtual users each run the scenario back to
+ * back, for the duration of the run. If a rate is set, iterations are instead
+ * started at that rate, no matter how long each takes, with the concurrency
+ * limiting how many can be running at once. Each iteration is given its own
+ * Call, reporting to a lightweight reporter which only counts the outcome of
+ * each step, instead of writing it out.
+ *
+ * @author Max Saperstone
+ * @version 3.3.1
+ * @lastupdate 10/19/2026
+ */
+public class LoadRunner {
+
+    private static final AtomicInteger THREADS = new AtomicInteger();
+
+    private final String serviceBaseUrl;
+    private final Scenario scenario;
+    private int concurrency = 1;
+    private double rate = 0;
+    private long duration = 60000;
+    private Map<String, Object> headers = null;
+    private String user = "";
+    private String pass = "";
+    private Transport transport = null;
+    private AuthProvider authProvider = null;
+
+    /**
+     * A flow of web services calls to run under load
+     */
+    public interface Scenario {
+
+        /**
+         * Runs through the flow once. Any failed checks, or anything thrown,
+         * fail the iteration
+         *
+         * @param call - the calls to make, reporting to a lightweight reporter
+         * @throws Exception: if the flow can't be completed
+         */
+        void run(Call call) throws Exception;
+    }
+
+    /**
+     * Sets up a load run of the scenario, against the services
+     *
+     * @param serviceBaseUrl - the base url of the services location
+     * @param scenario       - the flow of calls to run under load
+     */
+    public LoadRunner(String serviceBaseUrl, Scenario scenario) {
+        this.serviceBaseUrl = serviceBaseUrl;
+        this.scenario = scenario;
+    }
+
+    /**
+     * Creates a scenario which replays an existing test method. The method
+     * should take just a Call, and make all of its calls and checks with it
+     *
+     * @param test   - the object holding the test method
+     * @param method - the name of the test method
+     * @return Scenario: the flow of calls made by the test method
+     * @throws NoSuchMethodException: if the method doesn't exist, or doesn't take just a Call
+     */
+    public static Scenario scenario(Object test, String method) throws NoSuchMethodException {
+        Method flow = test.getClass().getMethod(method, Call.class);
+        return call -> {
+            try {
+                flow.invoke(test, call);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof Exception) {
+                    throw (Exception) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw e;
+            }
+        };
+    }
+
+    /**
+     * Sets how many iterations can run at once. Without a rate, this is the
+     * number of virtual users, each running the scenario back to back
+     *
+     * @param concurrency - the most iterations to run at once, at least 1
+     * @return LoadRunner: this runner, to keep configuring it
+     */
+    public LoadRunner setConcurrency(int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Need to run at least 1 iteration at once, not " + concurrency);
+        }
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    /**
+     * Sets how many iterations to start each second. Iterations are started on
+     * schedule, no matter how long earlier ones take; if the most allowed by
+     * the concurrency are already running, the iteration is dropped instead
+     *
+     * @param rate - the iterations to start per second, or 0 to run each virtual user back to back
+     * @return LoadRunner: this runner, to keep configuring it
+     */
+    public LoadRunner setRate(double rate) {
+        if (rate < 0) {
+            throw new IllegalArgumentException("Rate of " + rate + " isn't valid");
+        }
+        this.rate = rate;
+        return this;
+    }
+
+    /**
+     * Sets how long to keep starting iterations for. Iterations still running
+     * once the duration is up are allowed to finish
+     *
+     * @param duration - how long to run for
+     * @param unit     - the unit of the duration
+     * @return LoadRunner: this runner, to keep configuring it
+     */
+    public LoadRunner setDuration(long duration, TimeUnit unit) {
+        if (duration < 0) {
+            throw new IllegalArgumentException("Duration of " + duration + " isn't valid");
+        }
+        this.duration = unit.toMillis(duration);
+        return this;
+    }
+
+    /**
+     * Sets the headers to send with every call
+     *
+     * @param headers - the key-value pair of headers to set
+     * @return LoadRunner: this runner, to keep configuring it
+     */
+    public LoadRunner setHeaders(Map<String, Object> headers) {
+        this.headers = headers;
+        return this;
+    }
+
+    /**
+     * Sets the credentials to send with every call
+     *
+     * @param user - the username required for authentication
+     * @param pass - the password required for authentication
+     * @return LoadRunner: this runner, to keep configuring it
+     */
+    public LoadRunner setCredentials(String user, String pass) {
+        this.user = user;
+        this.pass = pass;
+        return this;
+    }
+
+    /**
+     * Sets what provides the Authorization header for every call. A single
+     * RefreshingTokenProvider can be shared by every virtual user, so the token
+     * is only fetched once, and refreshed in the background
+     *
+     * @param authProvider - what provides the authorization
+     * @return LoadRunner: this runner, to keep configuring it
+     */
+    public LoadRunner setAuthProvider(AuthProvider authProvider) {
+        this.authProvider = authProvider;
+        return this;
+    }
+
+    /**
+     * Sets the transport every call is sent with, instead of the one set by the
+     * httpTransport property
+     *
+     * @param transport - the transport to send requests with
+     * @return LoadRunner: this runner, to keep configuring it
+     */
+    public LoadRunner setTransport(Transport transport) {
+        this.transport = transport;
+        return this;
+    }
+
+    /**
+     * Runs the scenario under load for the duration, waiting for every
+     * iteration to finish
+     *
+     * @return LoadSummary: the throughput, latency and failures of the run
+     * @throws InterruptedException: if interrupted while waiting on the run
+     */
+    public LoadSummary run() throws InterruptedException {
+        LoadSummary summary = new LoadSummary();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(concurrency, concurrency, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "selenified-load-" + THREADS.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        long end = start + TimeUnit.MILLISECONDS.toNanos(duration);
+        try {
+            if (rate > 0) {
+                runAtRate(executor, summary, start, end);
+            } else {
+                runUsers(executor, summary, end);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        summary.setElapsed(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return summary;
+    }
+
+    /**
+     * Runs each virtual user, running the scenario back to back until the
+     * run is over
+     *
+     * @param executor - what to run the virtual users on
+     * @param summary  - where to record each iteration
+     * @param end      - when to stop starting iterations, from System.nanoTime
+     */
+    private void runUsers(ExecutorService executor, LoadSummary summary, long end) {
+        for (int i = 0; i < concurrency; i++) {
+            executor.execute(() -> {
+                while (System.nanoTime() < end && !Thread.currentThread().isInterrupted()) {
+                    iterate(System.nanoTime(), summary);
+                }
+            });
+        }
+    }
+
+    /**
+     * Starts iterations on a fixed schedule until the run is over. Each
+     * iteration's latency is measured from when it was scheduled to start, so
+     * delays in starting it count against it
+     *
+     * @param executor - what to run the iterations on
+     * @param summary  - where to record each iteration
+     * @param start    - when the run started, from System.nanoTime
+     * @param end      - when to stop starting iterations, from System.nanoTime
+     * @throws InterruptedException: if interrupted while waiting to start an iteration
+     */
+    private void runAtRate(ExecutorService executor, LoadSummary summary, long start, long end)
+            throws InterruptedException {
+        Semaphore running = new Semaphore(concurrency);
+        double interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        for (long i = 0; ; i++) {
+            long scheduled = start + (long) (i * interval);
+            if (scheduled >= end) {
+                return;
+            }
+            long wait;
+            while ((wait = scheduled - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException("Interrupted while running load");
+                }
+            }
+            if (!running.tryAcquire()) {
+                summary.drop();
+                continue;
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        iterate(scheduled, summary);
+                    } finally {
+                        running.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                running.release();
+                summary.drop();
+            }
+        }
+    }
+
+    /**
+     * Runs the scenario once, with its own Call and lightweight reporter, and
+     * records how it went
+     *
+     * @param scheduled - when the iteration was meant to start, from System.nanoTime
+     * @param summary   - where to record the iteration
+     */
+    private void iterate(long scheduled, LoadSummary summary) {
+        CountingReporter reporter = new CountingReporter("load");
+        HTTP http = new HTTP(reporter, serviceBaseUrl, user, pass);
+        if (transport != null) {
+            http.setTransport(transport);
+        }
+        http.setAuthProvider(authProvider);
+        Throwable failure = null;
+        try {
+            scenario.run(new Call(http, headers));
+        } catch (Exception | AssertionError e) {
+            failure = e;
+        }
+        summary.record(System.nanoTime() - scheduled, reporter, failure);
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2019 Coveros, Inc.
+ *
+ * This file is part of Selenified.
+ *
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.coveros.selenified.services;
+
+import com.coveros.selenified.utilities.CountingReporter;
+import com.coveros.selenified.utilities.LatencyMetrics;
+import com.coveros.selenified.utilities.LatencyMetrics.Histogram;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The outcome of running a scenario under load: how many iterations were run,
+ * how many of them failed, and why, how quickly they were run, and how long
+ * they took. Iteration latencies are measured from when each iteration was
+ * meant to start, so iterations delayed by a backed up system are counted as
+ * slow, rather than hidden.
+ *
+ * @author Max Saperstone
+ * @version 3.3.1
+ * @lastupdate 10/19/2026
+ */
+public class LoadSummary {
+
+    // only so many different failures are kept, so a failing run doesn't use up memory
+    private static final int MAX_FAILURES = 20;
+    private static final String OTHER_FAILURES = "Other failures";
+
+    private final Histogram latency = new Histogram();
+    private final Map<String, Long> failures = new LinkedHashMap<>();
+    private long iterations = 0;
+    private long failed = 0;
+    private long dropped = 0;
+    private long passedSteps = 0;
+    private long failedSteps = 0;
+    private long elapsed = 0;
+
+    /**
+     * Adds the outcome of a single iteration. The iteration failed if it
+     * threw anything, or if any of its steps failed
+     *
+     * @param nanos    - how long the iteration took, in nanoseconds
+     * @param reporter - the reporter counting the iteration's steps
+     * @param failure  - what the iteration threw, null if it completed
+     */
+    synchronized void record(long nanos, CountingReporter reporter, Throwable failure) {
+        iterations++;
+        latency.record(nanos);
+        passedSteps += reporter.getPasses();
+        failedSteps += reporter.getFails();
+        String reason = null;
+        if (failure != null) {
+            reason = failure.getClass().getSimpleName() + ": " + failure.getMessage();
+        } else if (reporter.getFails() > 0) {
+            reason = reporter.getFirstFailure();
+        }
+        if (reason != null) {
+            failed++;
+            if (!failures.containsKey(reason) && failures.size() >= MAX_FAILURES) {
+                reason = OTHER_FAILURES;
+            }
+            failures.merge(reason, 1L, Long::sum);
+        }
+    }
+
+    /**
+     * Counts an iteration which wasn't started, as too many were already running
+     */
+    synchronized void drop() {
+        dropped++;
+    }
+
+    /**
+     * Sets how long the whole run took
+     *
+     * @param millis - the length of the run, in milliseconds
+     */
+    synchronized void setElapsed(long millis) {
+        elapsed = millis;
+    }
+
+    public synchronized long getIterations() {
+        return iterations;
+    }
+
+    public synchronized long getFailed() {
+        return failed;
+    }
+
+    /**
+     * Retrieves how many iterations were never started, because the most
+     * allowed were already running when they were due
+     *
+     * @return Long: the number of iterations skipped
+     */
+    public synchronized long getDropped() {
+        return dropped;
+    }
+
+    public synchronized long getPassedSteps() {
+        return passedSteps;
+    }
+
+    public synchronized long getFailedSteps() {
+        return failedSteps;
+    }
+
+    /**
+     * Retrieves how long the whole run took
+     *
+     * @return Long: the length of the run, in milliseconds
+     */
+    public synchronized long getElapsed() {
+        return elapsed;
+    }
+
+    /**
+     * Determines the fraction of iterations which failed
+     *
+     * @return Double: the failed iterations over all iterations, 0 if none ran
+     */
+    public synchronized double getErrorRate() {
+        return iterations == 0 ? 0 : (double) failed / iterations;
+    }
+
+    /**
+     * Determines how many iterations were completed each second
+     *
+     * @return Double: the iterations completed per second
+     */
+    public synchronized double getThroughput() {
+        return iterations * 1000.0 / Math.max(elapsed, 1);
+    }
+
+    /**
+     * Retrieves the latencies of every iteration
+     *
+     * @return Histogram: the iteration latencies, in nanoseconds
+     */
+    public Histogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * Retrieves why iterations failed. Only the first 20 different reasons are
+     * kept, any others are counted together as other failures
+     *
+     * @return Map: each reason for failing, in the order first seen, mapped to
+     * how many iterations failed for it
+     */
+    public synchronized Map<String, Long> getFailures() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(failures));
+    }
+
+    /**
+     * Describes the run, with its throughput, latency percentiles, and failures
+     *
+     * @return String: a human readable summary of the run
+     */
+    @Override
+    public synchronized String toString() {
+        StringBuilder summary = new StringBuilder();
+        summary.append(iterations).append(" iterations in ").append(elapsed).append("ms (");
+        summary.append(String.format(Locale.US, "%.2f", getThroughput())).append("/s), ");
+        summary.append(failed).append(" failed (").append(String.format(Locale.US, "%.2f", getErrorRate() * 100)).append("%)");
+        if (dropped > 0) {
+            summary.append(", ").append(dropped).append(" dropped");
+        }
+        summary.append("\n");
+        summary.append("latency p50 ").append(LatencyMetrics.formatMillis(latency.getValueAtPercentile(50)));
+        summary.append(", p95 ").append(LatencyMetrics.formatMillis(latency.getValueAtPercentile(95)));
+        summary.append(", p99 ").append(LatencyMetrics.formatMillis(latency.getValueAtPercentile(99)));
+        summary.append(", max ").append(LatencyMetrics.formatMillis(latency.getMax()));
+        for (Map.Entry<String, Long> failure : failures.entrySet()) {
+            summary.append("\n").append(failure.getValue()).append(" x ").append(failure.getKey());
+        }
+        return summary.toString();
+    }
+}
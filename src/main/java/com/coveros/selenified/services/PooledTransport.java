@@ -0,0 +1,277 @@
+/*
+ * Copyright 2019 Coveros, Inc.
+ *
+ * This file is part of Selenified.
+ *
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.coveros.selenified.services;
+
+import com.coveros.selenified.utilities.Property;
+import okhttp3.Call;
+import okhttp3.ConnectionPool;
+import okhttp3.EventListener;
+import okhttp3.Headers;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import okio.BufferedSink;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A transport built on OkHttp, which keeps a pool of connections shared by
+ * every HTTP object, so connections are kept alive and reused between calls.
+ * HTTP/2 is used whenever the server supports it. The number of calls made to
+ * the same host and port at once is limited to the httpMaxPerRoute property,
+ * with any additional calls waiting for one to finish. The pool itself keeps
+ * idle connections across all hosts, enough for several routes to each have
+ * httpMaxPerRoute connections waiting to be reused.
+ *
+ * @author Max Saperstone
+ * @version 3.3.1
+ * @lastupdate 10/19/2026
+ */
+public class PooledTransport implements Transport {
+
+    private static final String CONTENT_LENGTH = "Content-Length";
+    // the methods OkHttp won't send without a body
+    private static final Set<String> REQUIRE_BODY =
+            new HashSet<>(Arrays.asList("POST", "PUT", "PATCH", "PROPPATCH", "REPORT"));
+    private static final int MAX_PER_ROUTE = Property.getHttpMaxPerRoute();
+    // the pool is shared by every host, so keep enough idle connections for several busy routes
+    private static final int MAX_IDLE = MAX_PER_ROUTE * 5;
+
+    private static final OkHttpClient CLIENT = new OkHttpClient.Builder()
+            .connectionPool(new ConnectionPool(MAX_IDLE, 5, TimeUnit.MINUTES))
+            .readTimeout(0, TimeUnit.MILLISECONDS)
+            .writeTimeout(0, TimeUnit.MILLISECONDS)
+            .eventListenerFactory(call -> new ConnectTimer(call.request().tag(ConnectTime.class)))
+            .build();
+    private static final Map<String, Semaphore> ROUTES = new ConcurrentHashMap<>();
+
+    // the client for this transport, with the proxy resolved the first time it is needed
+    private volatile OkHttpClient client;
+
+    /**
+     * Sends the request over a pooled connection, using the proxy if one is set
+     *
+     * @param method  - the HTTP method to use, e.g. GET, POST
+     * @param url     - the full url to call
+     * @param headers - the request headers to send
+     * @param body    - the request body to send, null if there is none
+     * @return Exchange: the response to the request
+     * @throws IOException: if the request can't be sent, or no response is received
+     */
+    @Override
+    public Exchange send(String method, URL url, Map<String, String> headers, Body body) throws IOException {
+        ConnectTime connectTime = new ConnectTime();
+        okhttp3.Request.Builder builder = new okhttp3.Request.Builder().url(url).method(method, getRequestBody(method, body))
+                .tag(ConnectTime.class, connectTime);
+        for (Map.Entry<String, String> entry : headers.entrySet()) {
+            // the length is determined from the body itself
+            if (!CONTENT_LENGTH.equalsIgnoreCase(entry.getKey())) {
+                builder.header(entry.getKey(), entry.getValue());
+            }
+        }
+        Semaphore route = ROUTES.computeIfAbsent(url.getHost() + ":" + url.getPort(), k -> new Semaphore(MAX_PER_ROUTE));
+        try {
+            route.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a connection to " + url.getHost());
+        }
+        try {
+            return new PooledExchange(getClient().newCall(builder.build()).execute(), route, connectTime);
+        } catch (IOException | RuntimeException e) {
+            route.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Retrieves the shared client, going through the proxy if one is set. The
+     * proxy is only looked up the first time, after which the same client is
+     * reused. The proxied client still shares the same connection pool
+     *
+     * @return OkHttpClient: the client to send requests with
+     * @throws IOException: if the proxy is set, but can't be parsed
+     */
+    private OkHttpClient getClient() throws IOException {
+        OkHttpClient resolved = client;
+        if (resolved == null) {
+            resolved = CLIENT;
+            if (Property.isProxySet()) {
+                Proxy proxy = new Proxy(Proxy.Type.HTTP, new InetSocketAddress(Property.getProxyHost(), Property.getProxyPort()));
+                resolved = CLIENT.newBuilder().proxy(proxy).build();
+            }
+            client = resolved;
+        }
+        return resolved;
+    }
+
+    /**
+     * Converts the request body into one OkHttp can send. Methods which
+     * require a body are given an empty one if none is provided, and methods
+     * which don't allow a body don't get sent one
+     *
+     * @param method - the HTTP method to use, e.g. GET, POST
+     * @param body   - the request body to send, null if there is none
+     * @return RequestBody: the OkHttp request body
+     */
+    private RequestBody getRequestBody(String method, Body body) {
+        if ("GET".equals(method) || "HEAD".equals(method)) {
+            return null;
+        }
+        if (body == null) {
+            if (REQUIRE_BODY.contains(method)) {
+                return RequestBody.create(null, new byte[0]);
+            }
+            return null;
+        }
+        return new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                // the content type is passed along with the rest of the headers
+                return null;
+            }
+
+            @Override
+            public long contentLength() {
+                return body.length();
+            }
+
+            @Override
+            public void writeTo(BufferedSink sink) throws IOException {
+                body.writeTo(sink.outputStream());
+            }
+        };
+    }
+
+    /**
+     * The response from OkHttp. Closing it returns the connection to the
+     * pool, and frees up the route for another call
+     */
+    private static class PooledExchange implements Exchange {
+        private final okhttp3.Response response;
+        private final Semaphore route;
+        private final ConnectTime connectTime;
+        private boolean closed = false;
+
+        PooledExchange(okhttp3.Response response, Semaphore route, ConnectTime connectTime) {
+            this.response = response;
+            this.route = route;
+            this.connectTime = connectTime;
+        }
+
+        @Override
+        public long getConnectTime() {
+            return connectTime.nanos;
+        }
+
+        @Override
+        public int getCode() {
+            return response.code();
+        }
+
+        @Override
+        public Map<String, List<String>> getHeaders() {
+            Map<String, List<String>> headers = new LinkedHashMap<>();
+            headers.put(null, Collections.singletonList(response.protocol().toString().toUpperCase() + " " +
+                    response.code() + " " + response.message()));
+            Headers responseHeaders = response.headers();
+            for (String name : responseHeaders.names()) {
+                headers.put(name, responseHeaders.values(name));
+            }
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            ResponseBody body = response.body();
+            if (body == null) {
+                return null;
+            }
+            return body.byteStream();
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                response.close();
+                route.release();
+            }
+        }
+    }
+
+    /**
+     * How long a call spent connecting, filled in as OkHttp connects
+     */
+    private static class ConnectTime {
+        // a pooled connection which is reused takes no time to connect
+        private volatile long nanos = 0;
+    }
+
+    /**
+     * Times how long OkHttp takes to connect each call, including any retried
+     * routes, and records it against the call's connect time
+     */
+    private static class ConnectTimer extends EventListener {
+        private final ConnectTime connectTime;
+        private long start;
+
+        ConnectTimer(ConnectTime connectTime) {
+            this.connectTime = connectTime;
+        }
+
+        @Override
+        public void connectStart(Call call, InetSocketAddress address, Proxy proxy) {
+            start = System.nanoTime();
+        }
+
+        @Override
+        public void connectEnd(Call call, InetSocketAddress address, Proxy proxy, Protocol protocol) {
+            if (connectTime != null) {
+                connectTime.nanos += System.nanoTime() - start;
+            }
+        }
+
+        @Override
+        public void connectFailed(Call call, InetSocketAddress address, Proxy proxy, Protocol protocol, IOException e) {
+            if (connectTime != null) {
+                connectTime.nanos += System.nanoTime() - start;
+            }
+        }
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2019 Coveros, Inc.
+ *
+ * This file is part of Selenified.
+ *
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.coveros.selenified.services;
+
+import org.testng.log4testng.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * RefreshingTokenProvider authorizes calls with a token, such as an OAuth
+ * access token, which expires. The token is fetched when it is first needed,
+ * and then fetched again in the background shortly before it expires, so
+ * calls never wait on a token being fetched, other than the very first one,
+ * or if a background refresh failed and the token has since expired. Once a
+ * token goes unused for its whole life, it is no longer refreshed in the
+ * background, so a provider which is no longer used stops calling the token
+ * source; the next call using it fetches a new token itself.
+ *
+ * @author Max Saperstone
+ * @version 3.3.1
+ * @lastupdate 10/19/2026
+ */
+public class RefreshingTokenProvider implements AuthProvider, Closeable {
+
+    private static final Logger log = Logger.getLogger(RefreshingTokenProvider.class);
+    private static final AtomicInteger THREADS = new AtomicInteger();
+    private static final ScheduledExecutorService REFRESHES = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "selenified-token-refresh-" + THREADS.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+    // tokens are fetched off the scheduling thread, so one slow token source doesn't hold up every other provider
+    private static final ExecutorService FETCHES = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "selenified-token-fetch-" + THREADS.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final TokenSource source;
+    private String scheme = "Bearer";
+    private long refreshAhead = TimeUnit.SECONDS.toNanos(30);
+    private final Object fetching = new Object();
+    private volatile Token token = null;
+    private volatile boolean used = false;
+    private ScheduledFuture<?> scheduled = null;
+    private boolean closed = false;
+
+    /**
+     * Fetches a new token, typically by calling an authentication service
+     */
+    @FunctionalInterface
+    public interface TokenSource {
+        Token fetch() throws IOException;
+    }
+
+    /**
+     * A token, along with when it expires
+     */
+    public static class Token {
+        private final String value;
+        private final long expiresAt;
+
+        /**
+         * Creates a token which expires
+         *
+         * @param value     - the token to send
+         * @param expiresIn - how long until the token expires, 0 or less if it never does
+         * @param unit      - the unit expiresIn is in
+         */
+        public Token(String value, long expiresIn, TimeUnit unit) {
+            this.value = value;
+            this.expiresAt = expiresIn > 0 ? System.nanoTime() + unit.toNanos(expiresIn) : Long.MAX_VALUE;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        /**
+         * Determines if the token never expires
+         *
+         * @return Boolean: does the token last forever
+         */
+        public boolean isPermanent() {
+            return expiresAt == Long.MAX_VALUE;
+        }
+
+        /**
+         * Determines how long until the token expires
+         *
+         * @return Long: the nanoseconds until the token expires, negative if it already has
+         */
+        long getRemaining() {
+            return isPermanent() ? Long.MAX_VALUE : expiresAt - System.nanoTime();
+        }
+    }
+
+    /**
+     * Creates a provider which sends tokens as Bearer authorization
+     *
+     * @param source - where new tokens are fetched from
+     */
+    public RefreshingTokenProvider(TokenSource source) {
+        this.source = source;
+    }
+
+    /**
+     * Sets the authorization scheme the token is sent with. By default this is
+     * Bearer
+     *
+     * @param scheme - the scheme sent before the token
+     * @return RefreshingTokenProvider: this provider, to keep configuring it
+     */
+    public RefreshingTokenProvider setScheme(String scheme) {
+        this.scheme = scheme;
+        return this;
+    }
+
+    /**
+     * Sets how long before the token expires it is refreshed in the background.
+     * By default, this is 30 seconds. Tokens which don't last that long are
+     * refreshed halfway through their life instead
+     *
+     * @param refreshAhead - how long before expiry to refresh the token
+     * @param unit         - the unit refreshAhead is in
+     * @return RefreshingTokenProvider: this provider, to keep configuring it
+     */
+    public RefreshingTokenProvider setRefreshAhead(long refreshAhead, TimeUnit unit) {
+        this.refreshAhead = unit.toNanos(refreshAhead);
+        return this;
+    }
+
+    /**
+     * Retrieves the token currently held
+     *
+     * @return Token: the current token, null if one hasn't been fetched yet
+     */
+    public Token getToken() {
+        return token;
+    }
+
+    /**
+     * Retrieves the Authorization header to send, made up of the scheme and
+     * the current token. The token is only fetched here if there isn't a valid
+     * one held
+     *
+     * @return String: the authorization value
+     * @throws IOException: if a new token is needed, and it can't be fetched
+     */
+    @Override
+    public String getAuthorization() throws IOException {
+        Token current = token;
+        if (current == null || current.getRemaining() <= 0) {
+            synchronized (fetching) {
+                // another call may have fetched it while this one waited
+                current = token;
+                if (current == null || current.getRemaining() <= 0) {
+                    current = refresh();
+                }
+            }
+        }
+        used = true;
+        return scheme + " " + current.getValue();
+    }
+
+    /**
+     * Fetches a new token straight away, and schedules it to be refreshed
+     * before it expires. The provider isn't locked while the token is being
+     * fetched, so a slow token source doesn't hold up closing the provider
+     *
+     * @return Token: the newly fetched token
+     * @throws IOException: if the token can't be fetched
+     */
+    public Token refresh() throws IOException {
+        Token fetched = source.fetch();
+        if (fetched == null || fetched.getValue() == null) {
+            throw new IOException("No token was provided to authorize with");
+        }
+        synchronized (this) {
+            token = fetched;
+            used = false;
+            schedule(fetched);
+        }
+        return fetched;
+    }
+
+    /**
+     * Stops refreshing the token in the background. The provider can still be
+     * used, but will only fetch a token once the current one expires
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (scheduled != null) {
+            scheduled.cancel(false);
+            scheduled = null;
+        }
+    }
+
+    /**
+     * Schedules the token to be refreshed before it expires
+     *
+     * @param fetched - the token just fetched
+     */
+    private void schedule(Token fetched) {
+        if (scheduled != null) {
+            scheduled.cancel(false);
+            scheduled = null;
+        }
+        if (closed || fetched.isPermanent()) {
+            return;
+        }
+        long remaining = fetched.getRemaining();
+        long delay = remaining > refreshAhead ? remaining - refreshAhead : remaining / 2;
+        scheduled = REFRESHES.schedule(() -> FETCHES.execute(this::refreshIfUsed), Math.max(delay, 0),
+                TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Refreshes the token in the background, but only if it has been used
+     * since it was fetched. An unused token is left to expire, and the next
+     * call fetches a new one itself
+     */
+    private void refreshIfUsed() {
+        if (!used) {
+            log.info("Token wasn't used since it was last fetched, no longer refreshing it in the background");
+            return;
+        }
+        try {
+            refresh();
+        } catch (IOException | RuntimeException e) {
+            // the next call fetches the token itself, once this one expires
+            log.warn("Unable to refresh token. " + e);
+        }
+    }
+}
@@ -23,51 +23,153 @@ package com.coveros.selenified.services;
 import com.coveros.selenified.services.check.*;
 import com.coveros.selenified.utilities.Reporter;
 import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.testng.log4testng.Logger;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
- * A class designed to hold data provided from the HTTP calls.
+ * A class designed to hold data provided from the HTTP calls. The raw body is
+ * only parsed, and the checks on it are only created, when first needed.
  *
  * @author Max Saperstone
  * @version 3.3.1
- * @lastupdate 1/6/2020
+ * @lastupdate 10/19/2026
  */
 public class Response {
 
+    private static final Logger log = Logger.getLogger(Response.class);
+
+    private final Reporter reporter;
     private final Map<String, Object> headers;
     private final int code;
-    private final JsonObject object;
-    private final JsonArray array;
-    private final String message;
+    private JsonObject object;
+    private JsonArray array;
+    private String message;
+
+    // the raw body, kept until it's been parsed and decoded, as needed
+    private byte[] body;
+    private final Charset charset;
+    private final boolean keepRaw;
+    private boolean parsed;
+
+    // what was streamed out, if the body was downloaded instead of being read in
+    private Download download;
+
+    // each attempt made of the call, if it was made with a retry policy
+    private List<RetryPolicy.Attempt> attempts = Collections.emptyList();
+
+    // how long each phase of the call took, if it was timed
+    private Timing timing;
+
+    // how the response was provided by the cache, if it was
+    private ResponseCache.Status cacheStatus;
+
+    // how the body was compressed, if it was
+    private String contentEncoding = null;
+    private long transferSize = -1;
+    private long decodedSize = -1;
+
+    // nested values already looked up, as the same ones are often checked several times
+    private final Map<JsonPath, JsonElement> resolved = new HashMap<>();
 
     // the assert class to check information about the response
-    private final AssertContains assertContains;
-    private final AssertEquals assertEquals;
-    private final AssertExcludes assertExcludes;
-    private final AssertMatches assertMatches;
+    private AssertContains assertContains;
+    private AssertEquals assertEquals;
+    private AssertExcludes assertExcludes;
+    private AssertMatches assertMatches;
 
     // the verify class to check information about the response
-    private final VerifyContains verifyContains;
-    private final VerifyEquals verifyEquals;
-    private final VerifyExcludes verifyExcludes;
-    private final VerifyMatches verifyMatches;
+    private VerifyContains verifyContains;
+    private VerifyEquals verifyEquals;
+    private VerifyExcludes verifyExcludes;
+    private VerifyMatches verifyMatches;
 
     public Response(Reporter reporter, Map<String, Object> headers, int code, JsonObject object, JsonArray array, String message) {
+        this.reporter = reporter;
         this.headers = headers;
         this.code = code;
         this.object = object;
         this.array = array;
         this.message = message;
-        this.assertContains = new AssertContains(this, reporter);
-        this.assertEquals = new AssertEquals(this, reporter);
-        this.assertExcludes = new AssertExcludes(this, reporter);
-        this.assertMatches = new AssertMatches(this, reporter);
-        this.verifyContains = new VerifyContains(this, reporter);
-        this.verifyEquals = new VerifyEquals(this, reporter);
-        this.verifyExcludes = new VerifyExcludes(this, reporter);
-        this.verifyMatches = new VerifyMatches(this, reporter);
+        this.charset = StandardCharsets.UTF_8;
+        this.keepRaw = true;
+        this.parsed = true;
+    }
+
+    /**
+     * Creates a response from the raw body returned by the http call. The body
+     * is only parsed as json the first time the data is needed, and is only
+     * decoded into the message the first time the message is needed, so
+     * responses which are only checked for their code never pay for either
+     *
+     * @param reporter - the output file to write checks to
+     * @param headers  - the headers of the response
+     * @param code     - the status code of the response
+     * @param body     - the raw body of the response
+     * @param charset  - the character set the body is encoded with
+     */
+    public Response(Reporter reporter, Map<String, Object> headers, int code, byte[] body, Charset charset) {
+        this(reporter, headers, code, body, charset, true);
+    }
+
+    /**
+     * Creates a response from the raw body returned by the http call. If the raw
+     * body isn't being kept, it is dropped once it has been successfully parsed
+     * as json, leaving no message
+     *
+     * @param reporter - the output file to write checks to
+     * @param headers  - the headers of the response
+     * @param code     - the status code of the response
+     * @param body     - the raw body of the response
+     * @param charset  - the character set the body is encoded with
+     * @param keepRaw  - should the raw body be kept once it has been parsed as json
+     */
+    Response(Reporter reporter, Map<String, Object> headers, int code, byte[] body, Charset charset, boolean keepRaw) {
+        this.reporter = reporter;
+        this.headers = headers;
+        this.code = code;
+        this.body = body;
+        this.charset = charset == null ? StandardCharsets.UTF_8 : charset;
+        this.keepRaw = keepRaw;
+        this.parsed = body == null;
+    }
+
+    /**
+     * Creates a response whose body was streamed out to a file or stream,
+     * rather than read in. There is no message or json data, just the
+     * description of what was downloaded
+     *
+     * @param reporter - the output file to write checks to
+     * @param headers  - the headers of the response
+     * @param code     - the status code of the response
+     * @param download - what was streamed out from the body
+     */
+    public Response(Reporter reporter, Map<String, Object> headers, int code, Download download) {
+        this(reporter, headers, code, null, null, true);
+        this.download = download;
+    }
+
+    /**
+     * Retrieves the reporter the response's checks are written to
+     *
+     * @return Reporter: the output file to write checks to
+     */
+    public Reporter getReporter() {
+        return reporter;
     }
 
     /**
@@ -78,6 +180,9 @@ public class Response {
      * the test to immediately stop on the error.
      */
     public AssertContains assertContains() {
+        if (assertContains == null) {
+            assertContains = new AssertContains(this, reporter);
+        }
         return assertContains;
     }
 
@@ -89,6 +194,9 @@ public class Response {
      * the test to immediately stop on the error.
      */
     public AssertEquals assertEquals() {
+        if (assertEquals == null) {
+            assertEquals = new AssertEquals(this, reporter);
+        }
         return assertEquals;
     }
 
@@ -100,6 +208,9 @@ public class Response {
      * the test to immediately stop on the error.
      */
     public AssertExcludes assertExcludes() {
+        if (assertExcludes == null) {
+            assertExcludes = new AssertExcludes(this, reporter);
+        }
         return assertExcludes;
     }
 
@@ -111,6 +222,9 @@ public class Response {
      * the test to immediately stop on the error.
      */
     public AssertMatches assertMatches() {
+        if (assertMatches == null) {
+            assertMatches = new AssertMatches(this, reporter);
+        }
         return assertMatches;
     }
 
@@ -121,6 +235,9 @@ public class Response {
      * troubleshooting and debugging failing tests.
      */
     public VerifyContains verifyContains() {
+        if (verifyContains == null) {
+            verifyContains = new VerifyContains(this, reporter);
+        }
         return verifyContains;
     }
 
@@ -131,6 +248,9 @@ public class Response {
      * troubleshooting and debugging failing tests.
      */
     public VerifyEquals verifyEquals() {
+        if (verifyEquals == null) {
+            verifyEquals = new VerifyEquals(this, reporter);
+        }
         return verifyEquals;
     }
 
@@ -141,6 +261,9 @@ public class Response {
      * troubleshooting and debugging failing tests.
      */
     public VerifyExcludes verifyExcludes() {
+        if (verifyExcludes == null) {
+            verifyExcludes = new VerifyExcludes(this, reporter);
+        }
         return verifyExcludes;
     }
 
@@ -151,6 +274,9 @@ public class Response {
      * troubleshooting and debugging failing tests.
      */
     public VerifyMatches verifyMatches() {
+        if (verifyMatches == null) {
+            verifyMatches = new VerifyMatches(this, reporter);
+        }
         return verifyMatches;
     }
 
@@ -162,19 +288,206 @@ public class Response {
         return code;
     }
 
+    /**
+     * Retrieves what was streamed out from the body, if the response was downloaded
+     *
+     * @return Download: the description of the download, null if the body was read in
+     */
+    public Download getDownload() {
+        return download;
+    }
+
+    /**
+     * Retrieves each attempt made of the call, if it was made with a retry
+     * policy
+     *
+     * @return List: the attempts made, in order, empty if there was no retry policy
+     */
+    public List<RetryPolicy.Attempt> getAttempts() {
+        return attempts;
+    }
+
+    void setAttempts(List<RetryPolicy.Attempt> attempts) {
+        this.attempts = Collections.unmodifiableList(attempts);
+    }
+
+    /**
+     * Retrieves how long each phase of the call took. The parse time is only
+     * filled in once the body has been parsed
+     *
+     * @return Timing: the timing of the call, null if it wasn't timed
+     */
+    public Timing getTiming() {
+        return timing;
+    }
+
+    void setTiming(Timing timing) {
+        this.timing = timing;
+    }
+
+    /**
+     * Retrieves how the response was provided by the response cache
+     *
+     * @return ResponseCache.Status: whether the cached response was served
+     * as is, or revalidated first, null if it wasn't provided by the cache
+     */
+    public ResponseCache.Status getCacheStatus() {
+        return cacheStatus;
+    }
+
+    void setCacheStatus(ResponseCache.Status cacheStatus) {
+        this.cacheStatus = cacheStatus;
+    }
+
+    /**
+     * Retrieves the encodings the body was compressed with, as it was sent
+     *
+     * @return String: the content encodings, such as gzip, null if the body wasn't compressed
+     */
+    public String getContentEncoding() {
+        return contentEncoding;
+    }
+
+    /**
+     * Retrieves how large the compressed body was, as it was sent
+     *
+     * @return Long: the number of bytes transferred, -1 if the body wasn't compressed
+     */
+    public long getTransferSize() {
+        return transferSize;
+    }
+
+    /**
+     * Retrieves how large the body was, once it was decoded
+     *
+     * @return Long: the number of bytes decoded, -1 if the body wasn't compressed
+     */
+    public long getDecodedSize() {
+        return decodedSize;
+    }
+
+    void setCompression(String contentEncoding, long transferSize, long decodedSize) {
+        this.contentEncoding = contentEncoding;
+        this.transferSize = transferSize;
+        this.decodedSize = decodedSize;
+    }
+
+    /**
+     * Retrieves the raw body, if it hasn't been dropped after being parsed
+     *
+     * @return byte[]: the raw body, null if there isn't one
+     */
+    synchronized byte[] getRawBody() {
+        return body;
+    }
+
+    Charset getCharset() {
+        return charset;
+    }
+
     public boolean isData() {
+        parse();
         return object != null || array != null;
     }
 
     public JsonArray getArrayData() {
+        parse();
         return array;
     }
 
     public JsonObject getObjectData() {
+        parse();
         return object;
     }
 
-    public String getMessage() {
+    /**
+     * Looks up the value the json path leads to in the response data. Paths
+     * start from the object data, or, if the response is an array, step into
+     * the array data. Each path is only resolved once per response, with the
+     * value remembered for any following lookups
+     *
+     * @param jsonPath - the compiled path to the value
+     * @return JsonElement: the value found, null if there isn't one. For paths
+     * with wildcards, an array of every value found
+     */
+    public synchronized JsonElement resolve(JsonPath jsonPath) {
+        if (!resolved.containsKey(jsonPath)) {
+            JsonElement root = getObjectData();
+            if (root == null && !jsonPath.isRoot()) {
+                root = getArrayData();
+            }
+            resolved.put(jsonPath, jsonPath.resolve(root));
+        }
+        return resolved.get(jsonPath);
+    }
+
+    /**
+     * Looks up the value the json path leads to in the response data, e.g.
+     * $.users[0].name
+     *
+     * @param jsonPath - the path to the value
+     * @return JsonElement: the value found, null if there isn't one. For paths
+     * with wildcards, an array of every value found
+     */
+    public JsonElement resolve(String jsonPath) {
+        return resolve(JsonPath.compile(jsonPath));
+    }
+
+    public synchronized String getMessage() {
+        if (message == null && !keepRaw) {
+            // the raw body is only dropped once it has been parsed
+            parse();
+        }
+        if (message == null && body != null) {
+            message = new String(body, charset);
+        }
         return message;
     }
-}
\ No newline at end of file
+
+    /**
+     * Parses the raw body as json, if it hasn't been already. The body is
+     * parsed in a single pass, with the first token determining if it is a json
+     * object or array; if it is neither, or the body isn't entirely valid json,
+     * there is no data
+     */
+    private synchronized void parse() {
+        if (parsed) {
+            return;
+        }
+        parsed = true;
+        long start = System.nanoTime();
+        parse(new JsonReader(new InputStreamReader(new ByteArrayInputStream(body), charset)));
+        if (timing != null) {
+            timing.setParse(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Reads the json data in from the raw body
+     *
+     * @param reader - the reader over the raw body
+     */
+    private void parse(JsonReader reader) {
+        reader.setLenient(true);
+        try {
+            JsonToken first = reader.peek();
+            if (first != JsonToken.BEGIN_OBJECT && first != JsonToken.BEGIN_ARRAY) {
+                return;
+            }
+            JsonElement data = new JsonParser().parse(reader);
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                return;
+            }
+            if (data.isJsonObject()) {
+                object = data.getAsJsonObject();
+            } else {
+                array = data.getAsJsonArray();
+            }
+            if (!keepRaw) {
+                body = null;
+            }
+        } catch (IOException | JsonParseException e) {
+            log.debug(e);
+        }
+    }
+}
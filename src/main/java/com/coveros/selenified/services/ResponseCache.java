@@ -0,0 +1,353 @@
+/*
+ * Copyright 2019 Coveros, Inc.
+ *
+ * This file is part of Selenified.
+ *
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.coveros.selenified.services;
+
+import com.coveros.selenified.utilities.Property;
+import com.coveros.selenified.utilities.Reporter;
+
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An in memory cache of get responses, shared by every HTTP object it is set
+ * on, so reference data fetched over and over during a suite is only fetched
+ * once. Responses are keyed by their full url, including parameters, and the
+ * request headers the cache varies on. The Cache-Control, Age, ETag and
+ * Last-Modified response headers are honored: responses are served from the
+ * cache while they're fresh, and once stale, are revalidated with a
+ * conditional request, rather than fetched again. Once the bodies held take up
+ * more than the maximum size, the least recently used responses are dropped.
+ *
+ * @author Max Saperstone
+ * @version 3.3.1
+ * @lastupdate 10/19/2026
+ */
+public class ResponseCache {
+
+    private static final String ETAG = "ETag";
+    private static final String LAST_MODIFIED = "Last-Modified";
+    private static final ResponseCache SHARED = Property.getHttpCacheSize() > 0 ?
+            new ResponseCache(Property.getHttpCacheSize() * 1024L * 1024L) : null;
+
+    private final long maxSize;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private List<String> varyHeaders = Arrays.asList("Accept", "Authorization");
+    private long size = 0;
+
+    /**
+     * How a response was provided
+     */
+    public enum Status {
+        HIT, REVALIDATED
+    }
+
+    /**
+     * Creates an empty cache
+     *
+     * @param maxSize - the most bytes of response bodies to hold
+     */
+    public ResponseCache(long maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Cache size of " + maxSize + " isn't valid");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Retrieves the cache shared by the whole suite, sized by the httpCacheSize
+     * property
+     *
+     * @return ResponseCache: the shared cache, or null if the httpCacheSize property isn't set
+     */
+    public static ResponseCache getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Sets which request headers responses are cached separately for. By
+     * default, responses are cached separately for each Accept and
+     * Authorization header
+     *
+     * @param headers - the names of the request headers to vary the cache on
+     * @return ResponseCache: this cache, to keep configuring it
+     */
+    public synchronized ResponseCache setVaryHeaders(String... headers) {
+        this.varyHeaders = Arrays.asList(headers);
+        return this;
+    }
+
+    /**
+     * Retrieves how many responses are held
+     *
+     * @return Integer: the number of cached responses
+     */
+    public synchronized int getCount() {
+        return entries.size();
+    }
+
+    /**
+     * Retrieves the number of bytes of response bodies held
+     *
+     * @return Long: the size of the cached bodies
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * Drops every cached response
+     */
+    public synchronized void clear() {
+        entries.clear();
+        size = 0;
+    }
+
+    /**
+     * Determines the key a call is cached under, from its url, and the values
+     * of the request headers the cache varies on
+     *
+     * @param url     - the full url called, including parameters
+     * @param headers - the request headers sent
+     * @return String: the cache key
+     */
+    synchronized String getKey(URL url, Map<String, String> headers) {
+        StringBuilder key = new StringBuilder(url.toString());
+        for (String vary : varyHeaders) {
+            key.append('\n').append(vary).append(": ").append(getHeader(headers, vary));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Looks up the cached response for a key, marking it as recently used
+     *
+     * @param key - the cache key of the call
+     * @return Entry: the cached response, null if there isn't one
+     */
+    synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Caches the response, if its headers allow it. Only successful responses
+     * are cached, and only if they can be served for a while, or can be
+     * revalidated. Any response previously cached for the call is dropped
+     * either way, as it has been superseded
+     *
+     * @param key      - the cache key of the call
+     * @param response - the response received
+     */
+    synchronized void put(String key, Response response) {
+        // otherwise a stale entry is kept revalidating with validators the server no longer uses
+        remove(key);
+        byte[] body = response.getRawBody();
+        if (response.getCode() != 200 || body == null || body.length > maxSize) {
+            return;
+        }
+        CacheControl cacheControl = new CacheControl(response.getHeaders());
+        if (cacheControl.noStore || (cacheControl.getFreshFor() == 0 &&
+                getHeader(response.getHeaders(), ETAG) == null && getHeader(response.getHeaders(), LAST_MODIFIED) == null)) {
+            return;
+        }
+        entries.put(key, new Entry(response.getHeaders(), body, response.getCharset(), cacheControl.getFreshFor()));
+        size += body.length;
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (size > maxSize && eldest.hasNext()) {
+            size -= eldest.next().body.length;
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Refreshes a cached response which the server confirmed hasn't changed,
+     * using the freshness from the not modified response
+     *
+     * @param key         - the cache key of the call
+     * @param entry       - the cached response which was revalidated
+     * @param notModified - the headers of the not modified response
+     * @return Entry: the refreshed cached response
+     */
+    synchronized Entry revalidate(String key, Entry entry, Map<String, Object> notModified) {
+        Map<String, Object> headers = new LinkedHashMap<>(entry.headers);
+        for (Map.Entry<String, Object> header : notModified.entrySet()) {
+            // the status line of the cached response is kept
+            if (header.getKey() != null) {
+                headers.keySet().removeIf(name -> header.getKey().equalsIgnoreCase(name));
+                headers.put(header.getKey(), header.getValue());
+            }
+        }
+        Entry refreshed = new Entry(headers, entry.body, entry.charset, new CacheControl(headers).getFreshFor());
+        if (entries.containsKey(key)) {
+            entries.put(key, refreshed);
+        }
+        return refreshed;
+    }
+
+    /**
+     * Drops the cached response for a key, if there is one
+     *
+     * @param key - the cache key of the call
+     */
+    private void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            size -= removed.body.length;
+        }
+    }
+
+    /**
+     * Finds the first value of a header, ignoring the case of its name
+     *
+     * @param headers - the headers to look through, either as strings or lists of strings
+     * @param name    - the name of the header
+     * @return String: the first value of the header, null if it isn't set
+     */
+    static String getHeader(Map<String, ?> headers, String name) {
+        if (headers == null) {
+            return null;
+        }
+        for (Map.Entry<String, ?> header : headers.entrySet()) {
+            if (name.equalsIgnoreCase(header.getKey())) {
+                Object value = header.getValue();
+                if (value instanceof List) {
+                    List<?> values = (List<?>) value;
+                    return values.isEmpty() ? null : String.valueOf(values.get(0));
+                }
+                return value == null ? null : String.valueOf(value);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The Cache-Control directives of a response, along with its Age
+     */
+    private static class CacheControl {
+        private boolean noStore = false;
+        private long maxAge = -1;
+        private long age = 0;
+
+        CacheControl(Map<String, Object> headers) {
+            String cacheControl = getHeader(headers, "Cache-Control");
+            if (cacheControl != null) {
+                for (String directive : cacheControl.toLowerCase().split(",")) {
+                    directive = directive.trim();
+                    if ("no-store".equals(directive)) {
+                        noStore = true;
+                    } else if ("no-cache".equals(directive)) {
+                        maxAge = 0;
+                    } else if (directive.startsWith("max-age=") && maxAge != 0) {
+                        maxAge = parseSeconds(directive.substring(8));
+                    }
+                }
+            }
+            String ageHeader = getHeader(headers, "Age");
+            if (ageHeader != null) {
+                age = Math.max(parseSeconds(ageHeader), 0);
+            }
+        }
+
+        /**
+         * Determines how long the response can be served without revalidating it
+         *
+         * @return Long: how long the response is fresh for, in nanoseconds
+         */
+        long getFreshFor() {
+            return TimeUnit.SECONDS.toNanos(Math.max(maxAge - age, 0));
+        }
+
+        private static long parseSeconds(String seconds) {
+            try {
+                return Long.parseLong(seconds.trim().replace("\"", ""));
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * A cached response. A new response is created from it each time it is
+     * served, so each is written to the reporter of the test using it
+     */
+    static class Entry {
+        private final Map<String, Object> headers;
+        private final byte[] body;
+        private final Charset charset;
+        private final long freshUntil;
+
+        Entry(Map<String, Object> headers, byte[] body, Charset charset, long freshFor) {
+            this.headers = Collections.unmodifiableMap(headers == null ? new HashMap<>() : new LinkedHashMap<>(headers));
+            this.body = body;
+            this.charset = charset;
+            this.freshUntil = System.nanoTime() + freshFor;
+        }
+
+        /**
+         * Determines if the response can still be served without revalidating it
+         *
+         * @return Boolean: is the response still fresh
+         */
+        boolean isFresh() {
+            return System.nanoTime() - freshUntil < 0;
+        }
+
+        /**
+         * Adds the conditional headers needed to revalidate the response
+         *
+         * @param requestHeaders - the headers of the request being made
+         * @return Map: the request headers, along with the conditional headers
+         */
+        Map<String, String> addValidators(Map<String, String> requestHeaders) {
+            Map<String, String> conditional = new HashMap<>(requestHeaders);
+            String etag = getHeader(headers, ETAG);
+            if (etag != null) {
+                conditional.put("If-None-Match", etag);
+            }
+            String lastModified = getHeader(headers, LAST_MODIFIED);
+            if (lastModified != null) {
+                conditional.put("If-Modified-Since", lastModified);
+            }
+            return conditional;
+        }
+
+        /**
+         * Creates a response from the cached one, to be checked in a test
+         *
+         * @param reporter    - the output file to write checks to
+         * @param keepRaw     - should the raw body be kept once it has been parsed as json
+         * @param cacheStatus - how the response was provided
+         * @return Response: the cached response
+         */
+        Response toResponse(Reporter reporter, boolean keepRaw, Status cacheStatus) {
+            Response response = new Response(reporter, new LinkedHashMap<>(headers), 200, body, charset, keepRaw);
+            response.setCacheStatus(cacheStatus);
+            return response;
+        }
+    }
+}
@@ -0,0 +1,425 @@
+/*
+ * Copyright 2019 Coveros, Inc.
+ *
+ * This file is part of Selenified.
+ *
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.coveros.selenified.services;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * RetryPolicy determines how a http call is retried when it fails. A call is
+ * retried when its response code, or the exception it failed with, matches the
+ * policy, up to the maximum number of attempts. Between attempts the policy
+ * backs off exponentially, with random jitter so many failing calls don't all
+ * retry at once. Get calls, which are safe to make more than once, can also be
+ * hedged: if the first attempt takes longer than a percentile of the recent
+ * call latencies, a second identical call is made, and whichever responds first
+ * is used. Every attempt is kept on the response, and written to the output
+ * file, so slow or flaky calls are still visible even when they pass.
+ *
+ * @author Max Saperstone
+ * @version 3.3.1
+ * @lastupdate 10/19/2026
+ */
+public class RetryPolicy {
+
+    private static final int LATENCY_WINDOW = 100;
+    private static final int MIN_LATENCY_SAMPLES = 20;
+    private static final AtomicInteger THREADS = new AtomicInteger();
+    private static final ExecutorService HEDGES = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "selenified-hedge-" + THREADS.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private int maxAttempts = 3;
+    private long initialBackoff = 100;
+    private long maxBackoff = 5000;
+    private boolean jitter = true;
+    private IntPredicate retryOnStatus = code -> code == 429 || code == 502 || code == 503 || code == 504;
+    private Predicate<IOException> retryOnException = e -> true;
+    private double hedgePercentile = 0;
+
+    // the most recent call latencies, used to determine when to hedge
+    private final long[] latencies = new long[LATENCY_WINDOW];
+    private int latencyCount = 0;
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Sets the most times a call will be attempted, including the first
+     *
+     * @param maxAttempts - the most attempts to make, at least 1
+     * @return RetryPolicy: this policy, to keep configuring it
+     */
+    public RetryPolicy setMaxAttempts(int maxAttempts) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Need to make at least 1 attempt, not " + maxAttempts);
+        }
+        this.maxAttempts = maxAttempts;
+        return this;
+    }
+
+    /**
+     * Sets how long to wait between attempts. The wait starts at the initial
+     * backoff, and doubles after each attempt, up to the max backoff
+     *
+     * @param initialBackoff - how long to wait before the second attempt, in milliseconds
+     * @param maxBackoff     - the longest to ever wait between attempts, in milliseconds
+     * @return RetryPolicy: this policy, to keep configuring it
+     */
+    public RetryPolicy setBackoff(long initialBackoff, long maxBackoff) {
+        if (initialBackoff < 0 || maxBackoff < initialBackoff) {
+            throw new IllegalArgumentException("Backoff of " + initialBackoff + " to " + maxBackoff + " isn't valid");
+        }
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        return this;
+    }
+
+    /**
+     * Sets whether to randomize each wait between attempts, anywhere from
+     * none up to the full backoff, so failing calls spread out their retries
+     *
+     * @param jitter - should waits between attempts be randomized
+     * @return RetryPolicy: this policy, to keep configuring it
+     */
+    public RetryPolicy setJitter(boolean jitter) {
+        this.jitter = jitter;
+        return this;
+    }
+
+    /**
+     * Sets which response codes cause a call to be retried. By default, only
+     * 429, 502, 503 and 504 are retried
+     *
+     * @param retryOnStatus - which response codes should be retried
+     * @return RetryPolicy: this policy, to keep configuring it
+     */
+    public RetryPolicy setRetryOnStatus(IntPredicate retryOnStatus) {
+        this.retryOnStatus = retryOnStatus;
+        return this;
+    }
+
+    /**
+     * Sets the response codes which cause a call to be retried
+     *
+     * @param codes - the response codes which should be retried
+     * @return RetryPolicy: this policy, to keep configuring it
+     */
+    public RetryPolicy setRetryOnStatus(Integer... codes) {
+        List<Integer> retried = Arrays.asList(codes);
+        return setRetryOnStatus(retried::contains);
+    }
+
+    /**
+     * Sets which failures cause a call to be retried. By default, any call
+     * which can't be made is retried
+     *
+     * @param retryOnException - which failures should be retried
+     * @return RetryPolicy: this policy, to keep configuring it
+     */
+    public RetryPolicy setRetryOnException(Predicate<IOException> retryOnException) {
+        this.retryOnException = retryOnException;
+        return this;
+    }
+
+    /**
+     * Sets when get calls are hedged. If the first attempt takes longer than
+     * this percentile of recent call latencies, a second call is made, and
+     * whichever responds first is used. Hedging only starts once enough calls
+     * have been made to know what is slow. A percentile of 0 turns hedging off,
+     * which is the default
+     *
+     * @param hedgePercentile - the percentile of latency to hedge after, e.g. 95
+     * @return RetryPolicy: this policy, to keep configuring it
+     */
+    public RetryPolicy setHedgePercentile(double hedgePercentile) {
+        if (hedgePercentile < 0 || hedgePercentile >= 100) {
+            throw new IllegalArgumentException("Hedge percentile of " + hedgePercentile + " isn't valid");
+        }
+        this.hedgePercentile = hedgePercentile;
+        return this;
+    }
+
+    /**
+     * Determines how long to wait after a failed attempt, before trying again
+     *
+     * @param attempt - which attempt just failed, starting at 1
+     * @return Long: how long to wait, in milliseconds
+     */
+    long getBackoff(int attempt) {
+        long backoff = initialBackoff;
+        for (int i = 1; i < attempt && backoff < maxBackoff; i++) {
+            backoff *= 2;
+        }
+        backoff = Math.min(backoff, maxBackoff);
+        if (jitter && backoff > 0) {
+            backoff = ThreadLocalRandom.current().nextLong(backoff + 1);
+        }
+        return backoff;
+    }
+
+    /**
+     * Determines how long to let a get call run before hedging it, based on
+     * the latencies of recent calls
+     *
+     * @return Long: how long to wait before hedging, in milliseconds, or -1 if
+     * the call shouldn't be hedged
+     */
+    synchronized long getHedgeDelay() {
+        if (hedgePercentile <= 0 || latencyCount < MIN_LATENCY_SAMPLES) {
+            return -1;
+        }
+        long[] sorted = Arrays.copyOf(latencies, Math.min(latencyCount, LATENCY_WINDOW));
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(hedgePercentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(index, 0)];
+    }
+
+    /**
+     * Remembers how long a call took, to determine when to hedge
+     *
+     * @param latency - how long the call took, in milliseconds
+     */
+    synchronized void recordLatency(long latency) {
+        latencies[latencyCount % LATENCY_WINDOW] = latency;
+        latencyCount++;
+    }
+
+    /**
+     * Makes the call, retrying and hedging it as this policy allows. Every
+     * attempt made is kept on the returned response
+     *
+     * @param idempotent - can the call safely be made more than once at the same time
+     * @param call       - makes a single attempt of the call
+     * @return Response: the response from the last attempt made
+     * @throws IOException: if the last attempt failed
+     */
+    Response execute(boolean idempotent, HttpAttempt call) throws IOException {
+        List<Attempt> attempts = new ArrayList<>();
+        for (int number = 1; ; number++) {
+            long hedgeDelay = idempotent ? getHedgeDelay() : -1;
+            long start = System.nanoTime();
+            Response response = null;
+            IOException failure = null;
+            boolean hedged = false;
+            try {
+                if (hedgeDelay >= 0) {
+                    Hedged outcome = hedge(call, hedgeDelay);
+                    response = outcome.response;
+                    hedged = outcome.hedged;
+                } else {
+                    response = call.perform();
+                }
+            } catch (IOException e) {
+                failure = e;
+            }
+            long duration = (System.nanoTime() - start) / 1000000;
+            if (failure == null) {
+                recordLatency(duration);
+            }
+            boolean retry = number < maxAttempts &&
+                    (failure != null ? retryOnException.test(failure) : retryOnStatus.test(response.getCode()));
+            long backoff = retry ? getBackoff(number) : 0;
+            attempts.add(new Attempt(number, response == null ? -1 : response.getCode(),
+                    failure == null ? null : failure.getMessage(), duration, hedged ? hedgeDelay : -1, backoff));
+            if (!retry) {
+                if (failure != null) {
+                    if (attempts.size() > 1) {
+                        throw new IOException(failure.getMessage() + " (after " + attempts.size() + " attempts)", failure);
+                    }
+                    throw failure;
+                }
+                response.setAttempts(attempts);
+                return response;
+            }
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting to retry the call");
+            }
+        }
+    }
+
+    /**
+     * Makes the call, and if it hasn't responded within the delay, makes it
+     * again, using whichever call responds first. The slower call is left to
+     * finish on its own, and its response is dropped
+     *
+     * @param call  - makes a single attempt of the call
+     * @param delay - how long to wait before making the second call, in milliseconds
+     * @return Hedged: the first response, and whether a second call was made
+     * @throws IOException: if both calls failed
+     */
+    private Hedged hedge(HttpAttempt call, long delay) throws IOException {
+        CompletableFuture<Response> first = start(call);
+        try {
+            return new Hedged(first.get(delay, TimeUnit.MILLISECONDS), false);
+        } catch (TimeoutException e) {
+            // the call is slow, so hedge it
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the call");
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+        CompletableFuture<Response> second = start(call);
+        CompletableFuture<Response> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<Response> attempt : Arrays.asList(first, second)) {
+            attempt.whenComplete((response, failure) -> {
+                if (failure == null) {
+                    winner.complete(response);
+                } else if (failures.incrementAndGet() == 2) {
+                    winner.completeExceptionally(failure);
+                }
+            });
+        }
+        try {
+            return new Hedged(winner.join(), true);
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static CompletableFuture<Response> start(HttpAttempt call) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return call.perform();
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, HEDGES);
+    }
+
+    private static IOException unwrap(Throwable failure) {
+        while (failure instanceof CompletionException && failure.getCause() != null) {
+            failure = failure.getCause();
+        }
+        if (failure instanceof IOException) {
+            return (IOException) failure;
+        }
+        return new IOException(failure);
+    }
+
+    /**
+     * Makes a single attempt of a http call
+     */
+    interface HttpAttempt {
+        Response perform() throws IOException;
+    }
+
+    /**
+     * The response from a possibly hedged attempt
+     */
+    private static class Hedged {
+        private final Response response;
+        private final boolean hedged;
+
+        Hedged(Response response, boolean hedged) {
+            this.response = response;
+            this.hedged = hedged;
+        }
+    }
+
+    /**
+     * A single attempt made of a http call
+     */
+    public static class Attempt {
+        private final int number;
+        private final int code;
+        private final String failure;
+        private final long duration;
+        private final long hedgedAfter;
+        private final long backoff;
+
+        Attempt(int number, int code, String failure, long duration, long hedgedAfter, long backoff) {
+            this.number = number;
+            this.code = code;
+            this.failure = failure;
+            this.duration = duration;
+            this.hedgedAfter = hedgedAfter;
+            this.backoff = backoff;
+        }
+
+        public int getNumber() {
+            return number;
+        }
+
+        /**
+         * The response code of the attempt
+         *
+         * @return Integer: the response code, or -1 if no response was received
+         */
+        public int getCode() {
+            return code;
+        }
+
+        /**
+         * Why the attempt failed
+         *
+         * @return String: the failure, or null if a response was received
+         */
+        public String getFailure() {
+            return failure;
+        }
+
+        public long getDuration() {
+            return duration;
+        }
+
+        /**
+         * How long the attempt ran before it was hedged
+         *
+         * @return Long: the delay before a second call was made, in milliseconds, or -1 if it wasn't hedged
+         */
+        public long getHedgedAfter() {
+            return hedgedAfter;
+        }
+
+        /**
+         * How long was waited after the attempt, before retrying
+         *
+         * @return Long: the wait, in milliseconds, or 0 if the call wasn't retried
+         */
+        public long getBackoff() {
+            return backoff;
+        }
+    }
+
+}
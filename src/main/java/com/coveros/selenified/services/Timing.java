@@ -0,0 +1,174 @@
+/*
+ * Copyright 2019 Coveros, Inc.
+ *
+ * This file is part of Selenified.
+ *
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.coveros.selenified.services;
+
+import com.coveros.selenified.utilities.LatencyMetrics;
+import com.coveros.selenified.utilities.LatencyMetrics.Phase;
+
+/**
+ * Timing holds how long each phase of a single http call took: establishing
+ * the connection, waiting for the first byte of the response, and reading the
+ * response body in. As the body is only parsed when it is first needed, the
+ * parse time is filled in later, if the body is ever parsed. Once the call is
+ * reported, each phase is added to the suite wide latency metrics, under the
+ * call's endpoint. Calls replayed from a cassette never are, as their timing
+ * says nothing about the service.
+ *
+ * @author Max Saperstone
+ * @version 3.3.1
+ * @lastupdate 10/19/2026
+ */
+public class Timing {
+
+    private final String endpoint;
+    private final long connect;
+    private final long firstByte;
+    private final long body;
+    private final boolean replayed;
+    private volatile long parse = -1;
+    private boolean recorded = false;
+
+    /**
+     * Describes how long a call took
+     *
+     * @param endpoint  - the endpoint pattern the call was made to, e.g. GET /users/{id}
+     * @param connect   - how long it took to connect, in nanoseconds, or -1 if unknown
+     * @param firstByte - how long it took for the response to start coming back, in nanoseconds
+     * @param body      - how long it took to read the body, in nanoseconds
+     */
+    public Timing(String endpoint, long connect, long firstByte, long body) {
+        this(endpoint, connect, firstByte, body, false);
+    }
+
+    /**
+     * Describes how long a call took
+     *
+     * @param endpoint  - the endpoint pattern the call was made to, e.g. GET /users/{id}
+     * @param connect   - how long it took to connect, in nanoseconds, or -1 if unknown
+     * @param firstByte - how long it took for the response to start coming back, in nanoseconds
+     * @param body      - how long it took to read the body, in nanoseconds
+     * @param replayed  - was the response replayed, rather than received from the service
+     */
+    public Timing(String endpoint, long connect, long firstByte, long body, boolean replayed) {
+        this.endpoint = endpoint;
+        this.connect = connect;
+        this.firstByte = firstByte;
+        this.body = body;
+        this.replayed = replayed;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * How long it took to establish the connection. Reused connections take
+     * no time at all
+     *
+     * @return Long: the time to connect, in nanoseconds, or -1 if it isn't known
+     */
+    public long getConnect() {
+        return connect;
+    }
+
+    /**
+     * How long it took from the connection being established until the
+     * response started coming back. This covers sending the request, and the
+     * time the server took to handle it
+     *
+     * @return Long: the time to first byte, in nanoseconds
+     */
+    public long getFirstByte() {
+        return firstByte;
+    }
+
+    /**
+     * How long it took to read the response body in
+     *
+     * @return Long: the time to read the body, in nanoseconds
+     */
+    public long getBody() {
+        return body;
+    }
+
+    /**
+     * Whether the response was replayed, such as from a cassette, rather than
+     * received from the service
+     *
+     * @return Boolean: was the response replayed
+     */
+    public boolean isReplayed() {
+        return replayed;
+    }
+
+    /**
+     * How long it took to parse the response body as json
+     *
+     * @return Long: the time to parse, in nanoseconds, or -1 if the body hasn't been parsed
+     */
+    public long getParse() {
+        return parse;
+    }
+
+    /**
+     * How long the call took, from connecting until the body was read in.
+     * Parsing the body happens later, if at all, so isn't included
+     *
+     * @return Long: the total time, in nanoseconds
+     */
+    public long getTotal() {
+        return Math.max(connect, 0) + firstByte + body;
+    }
+
+    /**
+     * Adds each phase of the call to the suite wide latency metrics. This is
+     * only done once, and never for replayed responses. If the body hasn't
+     * been parsed yet, the parse time is added once it is
+     */
+    public synchronized void record() {
+        if (recorded || replayed) {
+            return;
+        }
+        recorded = true;
+        if (connect >= 0) {
+            LatencyMetrics.record(endpoint, Phase.CONNECT, connect);
+        }
+        LatencyMetrics.record(endpoint, Phase.FIRST_BYTE, firstByte);
+        LatencyMetrics.record(endpoint, Phase.BODY, body);
+        LatencyMetrics.record(endpoint, Phase.TOTAL, getTotal());
+        if (parse >= 0) {
+            LatencyMetrics.record(endpoint, Phase.PARSE, parse);
+        }
+    }
+
+    /**
+     * Fills in how long it took to parse the body, adding it to the latency
+     * metrics if the call has already been recorded
+     *
+     * @param parse - the time to parse, in nanoseconds
+     */
+    synchronized void setParse(long parse) {
+        this.parse = parse;
+        if (recorded) {
+            LatencyMetrics.record(endpoint, Phase.PARSE, parse);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2019 Coveros, Inc.
+ *
+ * This file is part of Selenified.
+ *
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.coveros.selenified.services;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transport is responsible for actually sending a HTTP request over the wire,
+ * and handing back the raw response. HTTP builds the url, headers and body for
+ * each call, and hands them to its transport, so the underlying client can be
+ * swapped out without changing how calls are made or reported.
+ *
+ * @author Max Saperstone
+ * @version 3.3.1
+ * @lastupdate 10/19/2026
+ */
+public interface Transport {
+
+    /**
+     * Sends the request, and waits for the response to start coming back. The
+     * returned exchange must be closed once the response body has been read,
+     * so the connection can be reused
+     *
+     * @param method  - the HTTP method to use, e.g. GET, POST
+     * @param url     - the full url to call
+     * @param headers - the request headers to send
+     * @param body    - the request body to send, null if there is none
+     * @return Exchange: the response to the request
+     * @throws IOException: if the request can't be sent, or no response is received
+     */
+    Exchange send(String method, URL url, Map<String, String> headers, Body body) throws IOException;
+
+    /**
+     * A request body, which is written out to the transport as it is sent
+     */
+    interface Body {
+
+        /**
+         * The number of bytes which will be written
+         *
+         * @return Long: the length of the body, or -1 if it isn't known ahead of time
+         */
+        long length();
+
+        /**
+         * Writes the body out to the transport
+         *
+         * @param out - where to write the body to
+         * @throws IOException: if the body can't be written
+         */
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * The response received back from the transport
+     */
+    interface Exchange extends Closeable {
+
+        /**
+         * The HTTP status code of the response
+         *
+         * @return Integer: the status code
+         */
+        int getCode();
+
+        /**
+         * The headers of the response. The status line is stored under the null key
+         *
+         * @return Map: the headers, mapping each header name to its values
+         */
+        Map<String, List<String>> getHeaders();
+
+        /**
+         * The body of the response, which should be read once, then closed
+         *
+         * @return InputStream: the body of the response, null if there is none
+         * @throws IOException: if the body can't be read
+         */
+        InputStream getBody() throws IOException;
+
+        /**
+         * How long it took to establish the connection the request was sent
+         * over. A reused connection takes no time to establish
+         *
+         * @return Long: the time to connect, in nanoseconds, or -1 if it isn't known
+         */
+        default long getConnectTime() {
+            return -1;
+        }
+
+        /**
+         * Whether the response was replayed from an earlier recording, rather
+         * than received from the service
+         *
+         * @return Boolean: was the response replayed
+         */
+        default boolean isReplayed() {
+            return false;
+        }
+    }
+
+    /**
+     * Wraps an already built up array of bytes as a request body
+     *
+     * @param bytes - the content of the body
+     * @return Body: the request body
+     */
+    static Body body(byte[] bytes) {
+        return new Body() {
+            @Override
+            public long length() {
+                return bytes.length;
+            }
+
+            @Override
+            public void writeTo(OutputStream out) throws IOException {
+                out.write(bytes);
+            }
+        };
+    }
+}
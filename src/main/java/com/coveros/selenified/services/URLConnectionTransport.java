@@ -0,0 +1,180 @@
+/*
+ * Copyright 2019 Coveros, Inc.
+ *
+ * This file is part of Selenified.
+ *
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.coveros.selenified.services;
+
+import com.coveros.selenified.utilities.Property;
+import org.testng.log4testng.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.*;
+import java.util.*;
+
+/**
+ * A transport built on the JDK's HttpURLConnection. No additional libraries
+ * are needed for it, but connections are only reused when the JDK's own
+ * keep-alive cache allows it. It is kept as a fallback to the pooled
+ * transport. HttpURLConnection only allows the standard methods, so any
+ * others, such as PATCH, can't be sent with this transport, and fail with a
+ * ProtocolException. The pooled transport should be used for those.
+ *
+ * @author Max Saperstone
+ * @version 3.3.1
+ * @lastupdate 10/19/2026
+ */
+public class URLConnectionTransport implements Transport {
+
+    private static final Logger log = Logger.getLogger(URLConnectionTransport.class);
+    // the only methods HttpURLConnection is able to send
+    private static final Set<String> METHODS =
+            new HashSet<>(Arrays.asList("GET", "POST", "HEAD", "OPTIONS", "PUT", "DELETE", "TRACE"));
+
+    /**
+     * Sends the request over a HttpURLConnection, using the proxy if one is set.
+     * Request bodies are streamed out with a fixed length when it is known, and
+     * chunked otherwise. Methods HttpURLConnection doesn't support, such as
+     * PATCH, are never sent, as sending them as another method would change
+     * what the call does
+     *
+     * @param method  - the HTTP method to use, e.g. GET, POST
+     * @param url     - the full url to call
+     * @param headers - the request headers to send
+     * @param body    - the request body to send, null if there is none
+     * @return Exchange: the response to the request
+     * @throws IOException: if the request can't be sent, or no response is received. A ProtocolException is
+     *                      thrown for methods HttpURLConnection doesn't support
+     */
+    @Override
+    public Exchange send(String method, URL url, Map<String, String> headers, Body body) throws IOException {
+        if (!METHODS.contains(method)) {
+            throw new ProtocolException("The " + method + " method isn't supported by HttpURLConnection. Use the " +
+                    "pooled httpTransport to make " + method + " calls");
+        }
+        HttpURLConnection connection = getConnection(url);
+        connection.setRequestMethod(method);
+        for (Map.Entry<String, String> entry : headers.entrySet()) {
+            connection.setRequestProperty(entry.getKey(), entry.getValue());
+        }
+        if (body != null) {
+            // stream the body out, rather than letting the connection buffer all of it
+            if (body.length() >= 0) {
+                connection.setFixedLengthStreamingMode(body.length());
+            } else {
+                connection.setChunkedStreamingMode(0);
+            }
+        }
+        connection.setDoOutput(true);
+        connection.setDoInput(true);
+        connection.setUseCaches(false);
+        connection.setAllowUserInteraction(false);
+        long start = System.nanoTime();
+        connection.connect();
+        long connectTime = System.nanoTime() - start;
+        if (body != null) {
+            try (OutputStream out = connection.getOutputStream()) {
+                body.writeTo(out);
+                out.flush();
+            }
+        }
+        return new URLConnectionExchange(connection, connectTime);
+    }
+
+    /**
+     * Opens the URL connection, and if a proxy is provided, uses the proxy to establish the connection
+     *
+     * @param url - the url to connect to
+     * @return HttpURLConnection: our established http connection
+     * @throws IOException: if the connection can't be established, an IOException is thrown
+     */
+    private HttpURLConnection getConnection(URL url) throws IOException {
+        Proxy proxy = Proxy.NO_PROXY;
+        if (Property.isProxySet()) {
+            SocketAddress addr = new InetSocketAddress(Property.getProxyHost(), Property.getProxyPort());
+            proxy = new Proxy(Proxy.Type.HTTP, addr);
+        }
+        return (HttpURLConnection) url.openConnection(proxy);
+    }
+
+    /**
+     * The response from a HttpURLConnection. Closing it drains anything left
+     * of the body, so the JDK is able to keep the connection alive
+     */
+    private static class URLConnectionExchange implements Exchange {
+        private final HttpURLConnection connection;
+        private final int code;
+        private final long connectTime;
+        private InputStream body;
+
+        URLConnectionExchange(HttpURLConnection connection, long connectTime) throws IOException {
+            this.connection = connection;
+            this.connectTime = connectTime;
+            this.code = connection.getResponseCode();
+        }
+
+        @Override
+        public long getConnectTime() {
+            return connectTime;
+        }
+
+        @Override
+        public int getCode() {
+            return code;
+        }
+
+        @Override
+        public Map<String, List<String>> getHeaders() {
+            return connection.getHeaderFields();
+        }
+
+        @Override
+        public InputStream getBody() {
+            if (body == null) {
+                try {
+                    body = connection.getInputStream();
+                } catch (IOException e) {
+                    log.warn(e);
+                    body = connection.getErrorStream();
+                }
+            }
+            return body;
+        }
+
+        @Override
+        public void close() throws IOException {
+            InputStream in = getBody();
+            if (in == null) {
+                return;
+            }
+            try {
+                byte[] buffer = new byte[8192];
+                while (in.read(buffer) != -1) {
+                    // drain the rest of the body, so the connection can be reused
+                }
+            } catch (IOException e) {
+                // the body was already fully read and closed
+                log.debug(e);
+            } finally {
+                in.close();
+            }
+        }
+    }
+}
@@ -28,6 +28,7 @@ import com.google.gson.JsonObject;
 import java.util.List;
 
 import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
 
 /**
  * Assert will handle all verifications performed on the actual web services
@@ -37,7 +38,7 @@ import static org.testng.AssertJUnit.assertEquals;
  *
  * @author Max Saperstone
  * @version 3.3.1
- * @lastupdate 10/24/2019
+ * @lastupdate 10/19/2026
  */
 public class AssertEquals extends Equals {
 
@@ -77,7 +78,21 @@ public class AssertEquals extends Equals {
      */
     @Override
     public void objectData(JsonObject expectedJson) {
-        assertEquals("JsonObject Response Mismatch", expectedJson, checkObjectData(expectedJson));
+        objectData(expectedJson, false);
+    }
+
+    /**
+     * Asserts the actual response json payload is equal to the expected
+     * response json payload, allowing the elements of arrays to be in any order
+     * if requested, and writes that out to the output file. If this fails, the
+     * code will immediately exit, and record the error.
+     *
+     * @param expectedJson     - the expected response json object
+     * @param ignoreArrayOrder - can the elements of arrays be in any order
+     */
+    @Override
+    public void objectData(JsonObject expectedJson, boolean ignoreArrayOrder) {
+        assertTrue("JsonObject Response Mismatch", checkObjectData(expectedJson, ignoreArrayOrder));
     }
 
     /**
@@ -89,7 +104,21 @@ public class AssertEquals extends Equals {
      */
     @Override
     public void arrayData(JsonArray expectedJson) {
-        assertEquals("JsonArray Response Mismatch", expectedJson, checkArrayData(expectedJson));
+        arrayData(expectedJson, false);
+    }
+
+    /**
+     * Asserts the actual response json payload is equal to the expected
+     * response json payload, allowing the elements of arrays to be in any order
+     * if requested, and writes that out to the output file. If this fails, the
+     * code will immediately exit, and record the error.
+     *
+     * @param expectedJson     - the expected response json array
+     * @param ignoreArrayOrder - can the elements of arrays be in any order
+     */
+    @Override
+    public void arrayData(JsonArray expectedJson, boolean ignoreArrayOrder) {
+        assertTrue("JsonArray Response Mismatch", checkArrayData(expectedJson, ignoreArrayOrder));
     }
 
     /**
@@ -106,6 +135,19 @@ public class AssertEquals extends Equals {
         assertEquals("JsonElement Response Mismatch", expectedValue, checkNestedValue(jsonKeys, expectedValue));
     }
 
+    /**
+     * Asserts the actual response json payload contains a key with a value equal to the expected
+     * value. The jsonPath should lead to the field with the expected value, e.g. $.users[0].name. This result will be written out to the output file. If this fails, the code will
+     * immediately exit, and record the error.
+     *
+     * @param jsonPath      - the path to the field with the expected value
+     * @param expectedValue - the expected value
+     */
+    @Override
+    public void pathValue(String jsonPath, Object expectedValue) {
+        assertEquals("JsonElement Response Mismatch", expectedValue, checkPathValue(jsonPath, expectedValue));
+    }
+
     /**
      * Asserts the actual response payload is equal to the expected
      * response payload, and writes that out to the output file. If this fails, the code will
@@ -141,4 +183,41 @@ public class AssertEquals extends Equals {
     public void nestedArraySize(List<String> jsonKeys, int expectedSize) {
         assertEquals("Response Array Size Mismatch", expectedSize, checkNestedArraySize(jsonKeys, expectedSize));
     }
-}
\ No newline at end of file
+
+    /**
+     * Asserts the actual response payload contains a key with a value of the number of elements
+     * in an array as expected, and writes that out to the output file. If this fails, the code will
+     * immediately exit, and record the error.
+     *
+     * @param jsonPath     - the path to the array
+     * @param expectedSize - the expected array size
+     */
+    @Override
+    public void pathArraySize(String jsonPath, int expectedSize) {
+        assertEquals("Response Array Size Mismatch", expectedSize, checkPathArraySize(jsonPath, expectedSize));
+    }
+
+    /**
+     * Asserts the actual downloaded response body has a SHA-256 checksum equal
+     * to the expected checksum, and writes that out to the output file. If this
+     * fails, the code will immediately exit, and record the error.
+     *
+     * @param expectedChecksum - the expected SHA-256 checksum, in hex
+     */
+    @Override
+    public void checksum(String expectedChecksum) {
+        assertEquals("Checksum Mismatch", expectedChecksum.toLowerCase(), checkChecksum(expectedChecksum));
+    }
+
+    /**
+     * Asserts the actual downloaded response body has the expected number of
+     * lines, and writes that out to the output file. If this fails, the code
+     * will immediately exit, and record the error.
+     *
+     * @param expectedLines - the expected number of lines
+     */
+    @Override
+    public void lineCount(long expectedLines) {
+        assertEquals("Line Count Mismatch", expectedLines, checkLineCount(expectedLines));
+    }
+}
@@ -39,7 +39,7 @@ import static org.testng.AssertJUnit.assertTrue;
  *
  * @author Max Saperstone
  * @version 3.3.1
- * @lastupdate 10/24/2019
+ * @lastupdate 10/19/2026
  */
 public class AssertExcludes extends Excludes {
 
@@ -100,6 +100,21 @@ public class AssertExcludes extends Excludes {
         assertTrue(EXPECTED_NOT_TO_FIND + String.join(", " + expectedKeys), checkNestedKeys(jsonKeys, expectedKeys));
     }
 
+    /**
+     * Asserts the actual response json payload contains a key containing a JsonObject
+     * excluding each of the keys provided. The jsonPath should lead to the field with the expected value,
+     * e.g. $.users[0].name. This result will be written out to the output file.
+     * If this fails, the code will immediately exit, and record the error.
+     *
+     * @param jsonPath     - the path to the field with the expected value
+     * @param expectedKeys - a list with string keys expected in the json
+     *                     response
+     */
+    @Override
+    public void pathKeys(String jsonPath, List<String> expectedKeys) {
+        assertTrue(EXPECTED_NOT_TO_FIND + String.join(", " + expectedKeys), checkPathKeys(jsonPath, expectedKeys));
+    }
+
     /**
      * Asserts the actual response json payload contains a key containing a JsonObject
      * containing each of the pair values provided. The jsonKeys should be passed in
@@ -116,6 +131,21 @@ public class AssertExcludes extends Excludes {
         assertTrue(EXPECTED_NOT_TO_FIND + Reporter.formatKeyPair(expectedPairs), checkNestedKeyValues(jsonKeys, expectedPairs));
     }
 
+    /**
+     * Asserts the actual response json payload contains a key containing a JsonObject
+     * containing each of the pair values provided. The jsonPath should lead to the field with the expected value,
+     * e.g. $.users[0].name. This result will be written out to the output file. If this fails, the code will
+     * immediately exit, and record the error.
+     *
+     * @param jsonPath      - the path to the field with the expected value
+     * @param expectedPairs a hashmap with string key value pairs expected in the json
+     *                      response
+     */
+    @Override
+    public void pathKeyValues(String jsonPath, Map<String, Object> expectedPairs) {
+        assertTrue(EXPECTED_NOT_TO_FIND + Reporter.formatKeyPair(expectedPairs), checkPathKeyValues(jsonPath, expectedPairs));
+    }
+
     /**
      * Asserts the actual response json payload contains a key containing a JsonElement.
      * The jsonKeys should be passed in as crumbs of the keys leading to the field with
@@ -130,6 +160,19 @@ public class AssertExcludes extends Excludes {
         assertTrue(EXPECTED_NOT_TO_FIND + GSON.toJson(expectedJson), checkNestedValue(jsonKeys, expectedJson));
     }
 
+    /**
+     * Asserts the actual response json payload contains a key containing a JsonElement.
+     * The jsonPath should lead to the field with the expected value, e.g. $.users[0].name. This result will be written out to the output file. If this fails, the code will
+     * immediately exit, and record the error.
+     *
+     * @param jsonPath     - the path to the field with the expected value
+     * @param expectedJson - the expected response json array
+     */
+    @Override
+    public void pathValue(String jsonPath, JsonElement expectedJson) {
+        assertTrue(EXPECTED_NOT_TO_FIND + GSON.toJson(expectedJson), checkPathValue(jsonPath, expectedJson));
+    }
+
     /**
      * Asserts the actual response json payload contains to the expected json
      * element, and writes that out to the output file. If this fails, the code will
@@ -20,12 +20,16 @@
 
 package com.coveros.selenified.services.check;
 
+import com.coveros.selenified.services.JsonSchema;
 import com.coveros.selenified.services.Response;
+import com.coveros.selenified.utilities.Patterns;
 import com.coveros.selenified.utilities.Reporter;
 
+import java.io.File;
 import java.util.List;
 
 import static com.coveros.selenified.utilities.Constants.DOES_NOT_MATCH_PATTERN;
+import static org.testng.AssertJUnit.assertNotNull;
 import static org.testng.AssertJUnit.assertTrue;
 
 /**
@@ -36,7 +40,7 @@ import static org.testng.AssertJUnit.assertTrue;
  *
  * @author Max Saperstone
  * @version 3.3.1
- * @lastupdate 1/6/2020
+ * @lastupdate 10/19/2026
  */
 public class AssertMatches extends Matches {
 
@@ -65,7 +69,7 @@ public class AssertMatches extends Matches {
     @Override
     public void code(String expectedPattern) {
         int code = checkCode(expectedPattern);
-        assertTrue("Code Mismatch: code of '" + code + DOES_NOT_MATCH_PATTERN + expectedPattern + "'", String.valueOf(code).matches(expectedPattern));
+        assertTrue("Code Mismatch: code of '" + code + DOES_NOT_MATCH_PATTERN + expectedPattern + "'", Patterns.matches(String.valueOf(code), expectedPattern));
     }
 
     /**
@@ -80,7 +84,21 @@ public class AssertMatches extends Matches {
     @Override
     public void nestedValue(List<String> jsonKeys, String expectedPattern) {
         String nestedValue = checkNestedValue(jsonKeys, expectedPattern);
-        assertTrue("JsonElement Response Mismatch: nested value of '" + nestedValue + DOES_NOT_MATCH_PATTERN + expectedPattern + "'", nestedValue.matches(expectedPattern));
+        assertTrue("JsonElement Response Mismatch: nested value of '" + nestedValue + DOES_NOT_MATCH_PATTERN + expectedPattern + "'", Patterns.matches(nestedValue, expectedPattern));
+    }
+
+    /**
+     * Asserts the actual response json payload contains a key with a value matching the expected
+     * value. The jsonPath should lead to the field with the expected value, e.g. $.users[0].name. This result will be written out to the output file. If this fails, the code will
+     * immediately exit, and record the error.
+     *
+     * @param jsonPath        - the path to the field with the expected value
+     * @param expectedPattern - the expected pattern of the value
+     */
+    @Override
+    public void pathValue(String jsonPath, String expectedPattern) {
+        String nestedValue = checkPathValue(jsonPath, expectedPattern);
+        assertTrue("JsonElement Response Mismatch: nested value of '" + nestedValue + DOES_NOT_MATCH_PATTERN + expectedPattern + "'", Patterns.matches(nestedValue, expectedPattern));
     }
 
     /**
@@ -93,6 +111,20 @@ public class AssertMatches extends Matches {
     @Override
     public void message(String expectedPattern) {
         String message = checkMessage(expectedPattern);
-        assertTrue("Response Message Mismatch: message of '" + message + DOES_NOT_MATCH_PATTERN + expectedPattern, message != null && message.matches(expectedPattern));
+        assertTrue("Response Message Mismatch: message of '" + message + DOES_NOT_MATCH_PATTERN + expectedPattern, Patterns.matches(message, expectedPattern));
+    }
+
+    /**
+     * Asserts the actual response json payload meets the json schema held in
+     * the expected schema file, and writes that out to the output file. If this
+     * fails, the code will immediately exit, and record the error.
+     *
+     * @param schemaFile - the file holding the json schema the response needs to meet
+     */
+    @Override
+    public void schema(File schemaFile) {
+        List<JsonSchema.Violation> violations = checkSchema(schemaFile);
+        assertNotNull("Schema Mismatch: unable to read schema '" + schemaFile + "'", violations);
+        assertTrue("Schema Mismatch: response doesn't match schema '" + schemaFile + "': " + violations, violations.isEmpty());
     }
-}
\ No newline at end of file
+}
@@ -20,6 +20,7 @@
 
 package com.coveros.selenified.services.check;
 
+import com.coveros.selenified.services.JsonPath;
 import com.coveros.selenified.services.Response;
 import com.coveros.selenified.utilities.Reporter;
 import com.google.gson.JsonArray;
@@ -38,7 +39,7 @@ import java.util.Map;
  *
  * @author Max Saperstone
  * @version 3.3.1
- * @lastupdate 1/6/2020
+ * @lastupdate 10/19/2026
  */
 abstract class Check {
 
@@ -93,6 +94,62 @@ abstract class Check {
         }
     }
 
+    /**
+     * Determines if an unknown JsonElement is equal to the expected value. Simple
+     * values are compared directly against the json primitive, without boxing
+     * it up first; anything else is cast, and then compared
+     *
+     * @param known   - what value are we expecting
+     * @param unknown - what JsonElement are we comparing against
+     * @return boolean - is the JsonElement equal to the expected value
+     */
+    public boolean isEqual(Object known, JsonElement unknown) {
+        if (unknown == null) {
+            return false;
+        }
+        try {
+            if (known instanceof String) {
+                return known.equals(unknown.getAsString());
+            } else if (known instanceof Integer) {
+                return (Integer) known == unknown.getAsInt();
+            } else if (known instanceof Double) {
+                return Double.compare((Double) known, unknown.getAsDouble()) == 0;
+            } else if (known instanceof Float) {
+                return Float.compare((Float) known, unknown.getAsFloat()) == 0;
+            } else if (known instanceof Long) {
+                return (Long) known == unknown.getAsLong();
+            } else if (known instanceof Boolean) {
+                return (Boolean) known == unknown.getAsBoolean();
+            } else if (known instanceof Byte) {
+                return (Byte) known == unknown.getAsByte();
+            }
+        } catch (UnsupportedOperationException | NumberFormatException | IllegalStateException e) {
+            return known.equals(unknown);
+        }
+        return known.equals(castObject(known, unknown));
+    }
+
+    /**
+     * Retrieves the value the path leads to in the response
+     *
+     * @param path - the compiled path to the field
+     * @return JsonElement: the value found, null if there isn't one
+     */
+    JsonElement getNestedValue(JsonPath path) {
+        return this.response.resolve(path);
+    }
+
+    /**
+     * Retrieves the json object the path leads to in the response
+     *
+     * @param path - the compiled path to the field
+     * @return JsonObject: the object found, null if there isn't one, or the value isn't an object
+     */
+    JsonObject getNestedObject(JsonPath path) {
+        JsonElement value = getNestedValue(path);
+        return value instanceof JsonObject ? value.getAsJsonObject() : null;
+    }
+
     /**
      * Checks whether the provided jsonObject contains each of the provided keys
      *
@@ -141,8 +198,7 @@ abstract class Check {
         boolean pass = (actualValue != null);
         for (Map.Entry<String, Object> entry : expectedPairs.entrySet()) {
             if (actualValue != null && actualValue.has(entry.getKey())) {
-                Object objectVal = castObject(entry.getValue(), actualValue.get(entry.getKey()));
-                if (!entry.getValue().equals(objectVal)) {
+                if (!isEqual(entry.getValue(), actualValue.get(entry.getKey()))) {
                     pass = false;
                 }
             } else {
@@ -163,7 +219,7 @@ abstract class Check {
     public boolean doesJsonObjectExcludePairs(Map<String, Object> expectedPairs, JsonObject actualValue) {
         boolean pass = true;
         for (Map.Entry<String, Object> entry : expectedPairs.entrySet()) {
-            if (actualValue != null && actualValue.has(entry.getKey()) && entry.getValue().equals(castObject(entry.getValue(), actualValue.get(entry.getKey())))) {
+            if (actualValue != null && actualValue.has(entry.getKey()) && isEqual(entry.getValue(), actualValue.get(entry.getKey()))) {
                 pass = false;
             }
         }
@@ -20,6 +20,9 @@
 
 package com.coveros.selenified.services.check;
 
+import com.coveros.selenified.services.Download;
+import com.coveros.selenified.services.JsonDiff;
+import com.coveros.selenified.services.JsonPath;
 import com.coveros.selenified.utilities.Reporter;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
@@ -38,10 +41,12 @@ import static com.coveros.selenified.utilities.Constants.*;
  *
  * @author Max Saperstone
  * @version 3.3.1
- * @lastupdate 10/24/2019
+ * @lastupdate 10/19/2026
  */
 abstract class Equals extends Check {
 
+    private static final String NOT_DOWNLOADED = "Found a response which wasn't downloaded";
+
     /**
      * Checks the actual response code is equals to the expected response
      * code, and writes that out to the output file
@@ -73,15 +78,25 @@ abstract class Equals extends Check {
 
     /**
      * Checks the actual response json payload is equal to the expected
-     * response json payload, and writes that out to the output file
+     * response json payload, optionally allowing the elements of any arrays
+     * to be in any order, and writes that out to the output file
      *
-     * @param expectedJson - the expected response json object
+     * @param expectedJson     - the expected response json object
+     * @param ignoreArrayOrder - can the elements of arrays be in any order
      */
-    JsonObject checkObjectData(JsonObject expectedJson) {
-        JsonObject actualJson = this.response.getObjectData();
-        recordResult(EXPECTED_TO_FIND_A_RESPONSE_OF + DIV_I + Reporter.formatHTML(GSON.toJson(expectedJson)) + END_IDIV,
-                FOUND + Reporter.formatResponse(this.response), expectedJson.equals(actualJson));
-        return actualJson;
+    abstract void objectData(JsonObject expectedJson, boolean ignoreArrayOrder);
+
+    /**
+     * Checks the actual response json payload is equal to the expected
+     * response json payload, and writes that out to the output file. If they
+     * differ, the paths at which they differ are written out as well
+     *
+     * @param expectedJson     - the expected response json object
+     * @param ignoreArrayOrder - can the elements of arrays be in any order
+     * @return Boolean: are the payloads equal
+     */
+    boolean checkObjectData(JsonObject expectedJson, boolean ignoreArrayOrder) {
+        return checkData(expectedJson, this.response.getObjectData(), ignoreArrayOrder);
     }
 
     /**
@@ -94,15 +109,47 @@ abstract class Equals extends Check {
 
     /**
      * Checks the actual response json payload is equal to the expected
-     * response json payload, and writes that out to the output file
+     * response json payload, optionally allowing the elements of any arrays
+     * to be in any order, and writes that out to the output file
      *
-     * @param expectedJson - the expected response json array
+     * @param expectedJson     - the expected response json array
+     * @param ignoreArrayOrder - can the elements of arrays be in any order
+     */
+    abstract void arrayData(JsonArray expectedJson, boolean ignoreArrayOrder);
+
+    /**
+     * Checks the actual response json payload is equal to the expected
+     * response json payload, and writes that out to the output file. If they
+     * differ, the paths at which they differ are written out as well
+     *
+     * @param expectedJson     - the expected response json array
+     * @param ignoreArrayOrder - can the elements of arrays be in any order
+     * @return Boolean: are the payloads equal
      */
-    JsonArray checkArrayData(JsonArray expectedJson) {
-        JsonArray actualJson = this.response.getArrayData();
-        recordResult(EXPECTED_TO_FIND_A_RESPONSE_OF + DIV_I + Reporter.formatHTML(GSON.toJson(expectedJson)) + END_IDIV,
-                FOUND + Reporter.formatResponse(this.response), expectedJson.equals(actualJson));
-        return actualJson;
+    boolean checkArrayData(JsonArray expectedJson, boolean ignoreArrayOrder) {
+        return checkData(expectedJson, this.response.getArrayData(), ignoreArrayOrder);
+    }
+
+    /**
+     * Structurally compares the expected and actual payloads, and writes that
+     * out to the output file
+     *
+     * @param expectedJson     - the expected response json
+     * @param actualJson       - the actual response json
+     * @param ignoreArrayOrder - can the elements of arrays be in any order
+     * @return Boolean: are the payloads equal
+     */
+    private boolean checkData(JsonElement expectedJson, JsonElement actualJson, boolean ignoreArrayOrder) {
+        JsonDiff diff = JsonDiff.compare(expectedJson, actualJson, ignoreArrayOrder);
+        String expected = EXPECTED_TO_FIND_A_RESPONSE_OF + DIV_I + Reporter.formatHTML(GSON.toJson(expectedJson)) + END_IDIV;
+        if (ignoreArrayOrder) {
+            expected += "<div>ignoring the order of array elements</div>";
+        }
+        String actual = FOUND + Reporter.formatResponse(this.response);
+        if (!diff.isEqual()) {
+            actual += Reporter.getDiffOutput(diff);
+        }
+        return recordResult(expected, actual, diff.isEqual());
     }
 
     /**
@@ -115,6 +162,15 @@ abstract class Equals extends Check {
      */
     abstract void nestedValue(List<String> jsonKeys, Object expectedValue);
 
+    /**
+     * Checks the actual response json payload contains a key with a value equal to the expected
+     * value. The jsonPath should lead to the field with the expected value, e.g. $.users[0].name. This result will be written out to the output file.
+     *
+     * @param jsonPath      - the path to the field with the expected value
+     * @param expectedValue - the expected value
+     */
+    abstract void pathValue(String jsonPath, Object expectedValue);
+
     /**
      * Checks the actual response json payload contains a key with a value equal to the expected
      * value. The jsonCrumbs should be passed in as crumbs of the keys leading to the field with
@@ -124,16 +180,32 @@ abstract class Equals extends Check {
      * @param expectedValue - the expected value
      */
     Object checkNestedValue(List<String> jsonCrumbs, Object expectedValue) {
-        JsonElement actualValue = this.response.getObjectData();
-        for (String jsonCrumb : jsonCrumbs) {
-            if (!(actualValue instanceof JsonObject)) {
-                actualValue = null;
-                break;
-            }
-            actualValue = actualValue.getAsJsonObject().get(jsonCrumb);
-        }
+        return checkNestedValue(String.join(ARROW, jsonCrumbs), JsonPath.of(jsonCrumbs), expectedValue);
+    }
+
+    /**
+     * Checks the actual response json payload contains a key with a value equal to the expected
+     * value. The jsonPath should lead to the field with the expected value, e.g. $.users[0].name. This result will be written out to the output file.
+     *
+     * @param jsonPath    - the path to the field with the expected value
+     * @param expectedValue - the expected value
+     */
+    Object checkPathValue(String jsonPath, Object expectedValue) {
+        return checkNestedValue(jsonPath, JsonPath.compile(jsonPath), expectedValue);
+    }
+
+    /**
+     * Checks the actual response json payload contains a key with a value equal to the expected
+     * value. The jsonPath should lead to the field with the expected value, e.g. $.users[0].name. This result will be written out to the output file.
+     *
+     * @param description - how the path is written to the output file
+     * @param path      - the compiled path to the field with the expected value
+     * @param expectedValue - the expected value
+     */
+    private Object checkNestedValue(String description, JsonPath path, Object expectedValue) {
+        JsonElement actualValue = getNestedValue(path);
         Object objectVal = castObject(expectedValue, actualValue);
-        recordResult(EXPECTED_TO_FIND_A_RESPONSE_OF + STARTI + Reporter.formatHTML(String.join(ARROW, jsonCrumbs)) + ENDI +
+        recordResult(EXPECTED_TO_FIND_A_RESPONSE_OF + STARTI + Reporter.formatHTML(description) + ENDI +
                         " with value of: " + DIV_I + Reporter.formatHTML(GSON.toJson(expectedValue)) + END_IDIV,
                 FOUND + DIV_I + Reporter.formatHTML(GSON.toJson(objectVal)) + END_IDIV, expectedValue.equals(objectVal));
         return objectVal;
@@ -196,21 +268,47 @@ abstract class Equals extends Check {
      */
     abstract void nestedArraySize(List<String> jsonKeys, int expectedSize);
 
+    /**
+     * Checks the actual response payload contains the number of elements
+     * in an array as expected, and writes that out to the output file
+     *
+     * @param jsonPath     - the path to the array
+     * @param expectedSize - the expected array size
+     */
+    abstract void pathArraySize(String jsonPath, int expectedSize);
+
     /**
      * Checks the actual response payload contains a key with a value of the number of elements
      * in an array as expected, and writes that out to the output file
      *
+     * @param jsonCrumbs   - the crumbs of json object keys leading to the array
      * @param expectedSize - the expected array size
      */
     int checkNestedArraySize(List<String> jsonCrumbs, int expectedSize) {
-        JsonElement actualValue = this.response.getObjectData();
-        for (String jsonCrumb : jsonCrumbs) {
-            if (!(actualValue instanceof JsonObject)) {
-                actualValue = null;
-                break;
-            }
-            actualValue = actualValue.getAsJsonObject().get(jsonCrumb);
-        }
+        return checkNestedArraySize(String.join(ARROW, jsonCrumbs), JsonPath.of(jsonCrumbs), expectedSize);
+    }
+
+    /**
+     * Checks the actual response payload contains a key with a value of the number of elements
+     * in an array as expected, and writes that out to the output file
+     *
+     * @param jsonPath     - the path to the array
+     * @param expectedSize - the expected array size
+     */
+    int checkPathArraySize(String jsonPath, int expectedSize) {
+        return checkNestedArraySize(jsonPath, JsonPath.compile(jsonPath), expectedSize);
+    }
+
+    /**
+     * Checks the actual response payload contains a key with a value of the number of elements
+     * in an array as expected, and writes that out to the output file
+     *
+     * @param description  - how the path is written to the output file
+     * @param path         - the compiled path to the array
+     * @param expectedSize - the expected array size
+     */
+    private int checkNestedArraySize(String description, JsonPath path, int expectedSize) {
+        JsonElement actualValue = getNestedValue(path);
 
         int actualSize = -1;
         if (actualValue instanceof JsonArray) {
@@ -220,10 +318,56 @@ abstract class Equals extends Check {
         if (actualSize == -1) {
             size = " which isn't an array";
         }
-        recordResult(EXPECTED_TO_FIND_A_RESPONSE_OF + STARTI + Reporter.formatHTML(String.join(ARROW, jsonCrumbs)) +
+        recordResult(EXPECTED_TO_FIND_A_RESPONSE_OF + STARTI + Reporter.formatHTML(description) +
                         ENDI + " to be an array with size of " + STARTI + expectedSize + ENDI,
                 FOUND + DIV_I + Reporter.formatHTML(GSON.toJson(actualValue)) + END_IDIV + size,
                 actualSize == expectedSize);
         return actualSize;
     }
+
+    /**
+     * Checks the actual downloaded response body has a SHA-256 checksum equal
+     * to the expected checksum, and writes that out to the output file
+     *
+     * @param expectedChecksum - the expected SHA-256 checksum, in hex
+     */
+    abstract void checksum(String expectedChecksum);
+
+    /**
+     * Checks the actual downloaded response body has a SHA-256 checksum equal
+     * to the expected checksum, and writes that out to the output file
+     *
+     * @param expectedChecksum - the expected SHA-256 checksum, in hex
+     */
+    String checkChecksum(String expectedChecksum) {
+        Download download = this.response.getDownload();
+        String actualChecksum = download == null ? null : download.getChecksum();
+        recordResult("Expected to find a download with a SHA-256 checksum of " + STARTI + expectedChecksum + ENDI,
+                download == null ? NOT_DOWNLOADED : "Found a download with a SHA-256 checksum of " + STARTI + actualChecksum + ENDI,
+                expectedChecksum.equalsIgnoreCase(actualChecksum));
+        return actualChecksum;
+    }
+
+    /**
+     * Checks the actual downloaded response body has the expected number of
+     * lines, and writes that out to the output file
+     *
+     * @param expectedLines - the expected number of lines
+     */
+    abstract void lineCount(long expectedLines);
+
+    /**
+     * Checks the actual downloaded response body has the expected number of
+     * lines, and writes that out to the output file
+     *
+     * @param expectedLines - the expected number of lines
+     */
+    long checkLineCount(long expectedLines) {
+        Download download = this.response.getDownload();
+        long actualLines = download == null ? -1 : download.getLineCount();
+        recordResult("Expected to find a download with " + STARTI + expectedLines + ENDI + " lines",
+                download == null ? NOT_DOWNLOADED : "Found a download with " + STARTI + actualLines + ENDI + " lines",
+                actualLines == expectedLines);
+        return actualLines;
+    }
 }
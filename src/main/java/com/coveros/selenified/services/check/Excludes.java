@@ -20,6 +20,7 @@
 
 package com.coveros.selenified.services.check;
 
+import com.coveros.selenified.services.JsonPath;
 import com.coveros.selenified.utilities.Reporter;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
@@ -39,7 +40,7 @@ import static com.coveros.selenified.utilities.Constants.*;
  *
  * @author Max Saperstone
  * @version 3.3.1
- * @lastupdate 10/24/2019
+ * @lastupdate 10/19/2026
  */
 abstract class Excludes extends Check {
 
@@ -121,6 +122,17 @@ abstract class Excludes extends Check {
      */
     abstract void nestedKeys(List<String> jsonKeys, List<String> expectedKeys);
 
+    /**
+     * Checks the actual response json payload contains a key containing a JsonObject
+     * excluding each of the keys provided. The jsonPath should lead to the field with the expected value,
+     * e.g. $.users[0].name. This result will be written out to the output file.
+     *
+     * @param jsonPath     - the path to the field with the expected value
+     * @param expectedKeys - a list with string keys expected in the json
+     *                     response
+     */
+    abstract void pathKeys(String jsonPath, List<String> expectedKeys);
+
     /**
      * Checks the actual response json payload contains a key containing a JsonObject
      * excluding each of the keys provided. The jsonKeys should be passed in
@@ -132,16 +144,35 @@ abstract class Excludes extends Check {
      *                     response
      */
     boolean checkNestedKeys(List<String> jsonCrumbs, List<String> expectedKeys) {
-        JsonObject actualValue = this.response.getObjectData();
-        for (String jsonCrumb : jsonCrumbs) {
-            if (actualValue != null && actualValue.get(jsonCrumb) instanceof JsonObject) {
-                actualValue = actualValue.get(jsonCrumb).getAsJsonObject();
-            } else {
-                actualValue = null;
-                break;
-            }
-        }
-        return recordResult(EXPECTED_TO_FIND_A_RESPONSE_OF + STARTI + Reporter.formatHTML(String.join(ARROW, jsonCrumbs)) +
+        return checkNestedKeys(String.join(ARROW, jsonCrumbs), JsonPath.of(jsonCrumbs), expectedKeys);
+    }
+
+    /**
+     * Checks the actual response json payload contains a key containing a JsonObject
+     * excluding each of the keys provided. The jsonPath should lead to the field
+     * with the expected value, e.g. $.users[0].name. This result will be written out to the output file.
+     *
+     * @param jsonPath   - the path to the field with the expected value
+     * @param expectedKeys - a list with string keys expected in the json
+     *                     response
+     */
+    boolean checkPathKeys(String jsonPath, List<String> expectedKeys) {
+        return checkNestedKeys(jsonPath, JsonPath.compile(jsonPath), expectedKeys);
+    }
+
+    /**
+     * Checks the actual response json payload contains a key containing a JsonObject
+     * excluding each of the keys provided. The jsonPath should lead to the field
+     * with the expected value, e.g. $.users[0].name. This result will be written out to the output file.
+     *
+     * @param description - how the path is written to the output file
+     * @param path     - the compiled path to the field with the expected value
+     * @param expectedKeys - a list with string keys expected in the json
+     *                     response
+     */
+    private boolean checkNestedKeys(String description, JsonPath path, List<String> expectedKeys) {
+        JsonObject actualValue = getNestedObject(path);
+        return recordResult(EXPECTED_TO_FIND_A_RESPONSE_OF + STARTI + Reporter.formatHTML(description) +
                         ENDI + EXCLUDING.substring(0, EXCLUDING.length() - 2) + " keys: " + STARTI + String.join("</i>', '<i>", expectedKeys) + ENDI,
                 FOUND + DIV_I + Reporter.formatHTML(GSON.toJson(actualValue)) + END_IDIV,
                 !doesJsonObjectContainKeys(expectedKeys, actualValue));
@@ -159,6 +190,17 @@ abstract class Excludes extends Check {
      */
     abstract void nestedKeyValues(List<String> jsonKeys, Map<String, Object> expectedPairs);
 
+    /**
+     * Checks the actual response json payload excludes a key excluding a JsonObject
+     * excluding each of the pair values provided. The jsonPath should lead to the field with the expected value,
+     * e.g. $.users[0].name. This result will be written out to the output file.
+     *
+     * @param jsonPath      - the path to the field with the expected value
+     * @param expectedPairs a hashmap with string key value pairs expected in the json
+     *                      response
+     */
+    abstract void pathKeyValues(String jsonPath, Map<String, Object> expectedPairs);
+
     /**
      * Checks the actual response json payload excludes a key excluding a JsonObject
      * excluding each of the pair values provided. The jsonKeys should be passed in
@@ -170,16 +212,35 @@ abstract class Excludes extends Check {
      *                      response
      */
     boolean checkNestedKeyValues(List<String> jsonCrumbs, Map<String, Object> expectedPairs) {
-        JsonObject actualValue = this.response.getObjectData();
-        for (String jsonCrumb : jsonCrumbs) {
-            if (actualValue != null && actualValue.get(jsonCrumb) instanceof JsonObject) {
-                actualValue = actualValue.get(jsonCrumb).getAsJsonObject();
-            } else {
-                actualValue = null;
-                break;
-            }
-        }
-        return recordResult(EXPECTED_TO_FIND_A_RESPONSE_OF + STARTI + Reporter.formatHTML(String.join(ARROW, jsonCrumbs)) +
+        return checkNestedKeyValues(String.join(ARROW, jsonCrumbs), JsonPath.of(jsonCrumbs), expectedPairs);
+    }
+
+    /**
+     * Checks the actual response json payload excludes a key excluding a JsonObject
+     * excluding each of the pair values provided. The jsonPath should lead to the field
+     * with the expected value, e.g. $.users[0].name. This result will be written out to the output file.
+     *
+     * @param jsonPath    - the path to the field with the expected value
+     * @param expectedPairs a hashmap with string key value pairs expected in the json
+     *                      response
+     */
+    boolean checkPathKeyValues(String jsonPath, Map<String, Object> expectedPairs) {
+        return checkNestedKeyValues(jsonPath, JsonPath.compile(jsonPath), expectedPairs);
+    }
+
+    /**
+     * Checks the actual response json payload excludes a key excluding a JsonObject
+     * excluding each of the pair values provided. The jsonPath should lead to the field
+     * with the expected value, e.g. $.users[0].name. This result will be written out to the output file.
+     *
+     * @param description - how the path is written to the output file
+     * @param path      - the compiled path to the field with the expected value
+     * @param expectedPairs a hashmap with string key value pairs expected in the json
+     *                      response
+     */
+    private boolean checkNestedKeyValues(String description, JsonPath path, Map<String, Object> expectedPairs) {
+        JsonObject actualValue = getNestedObject(path);
+        return recordResult(EXPECTED_TO_FIND_A_RESPONSE_OF + STARTI + Reporter.formatHTML(description) +
                         ENDI + EXCLUDING + DIV_I + Reporter.formatKeyPair(expectedPairs) + END_IDIV,
                 FOUND + DIV_I + Reporter.formatHTML(GSON.toJson(actualValue)) + END_IDIV,
                 doesJsonObjectExcludePairs(expectedPairs, actualValue));
@@ -195,6 +256,15 @@ abstract class Excludes extends Check {
      */
     abstract void nestedValue(List<String> jsonCrumbs, JsonElement expectedJson);
 
+    /**
+     * Checks the actual response json payload excludes a key excluding a JsonElement.
+     * The jsonPath should lead to the field with the expected value, e.g. $.users[0].name. This result will be written out to the output file.
+     *
+     * @param jsonPath   - the path to the field with the expected value
+     * @param expectedJson - the expected response json array
+     */
+    abstract void pathValue(String jsonPath, JsonElement expectedJson);
+
     /**
      * Checks the actual response json payload excludes a key excluding a JsonElement.
      * The jsonKeys should be passed in as crumbs of the keys leading to the field with
@@ -204,20 +274,36 @@ abstract class Excludes extends Check {
      * @param expectedJson - the expected response json array
      */
     boolean checkNestedValue(List<String> jsonCrumbs, JsonElement expectedJson) {
-        JsonElement actualValue = this.response.getObjectData();
-        for (String jsonCrumb : jsonCrumbs) {
-            if (!(actualValue instanceof JsonObject)) {
-                actualValue = null;
-                break;
-            }
-            actualValue = actualValue.getAsJsonObject().get(jsonCrumb);
-        }
+        return checkNestedValue(String.join(ARROW, jsonCrumbs), JsonPath.of(jsonCrumbs), expectedJson);
+    }
+
+    /**
+     * Checks the actual response json payload excludes a key excluding a JsonElement.
+     * The jsonPath should lead to the field with the expected value, e.g. $.users[0].name. This result will be written out to the output file.
+     *
+     * @param jsonPath   - the path to the field with the expected value
+     * @param expectedJson - the expected response json array
+     */
+    boolean checkPathValue(String jsonPath, JsonElement expectedJson) {
+        return checkNestedValue(jsonPath, JsonPath.compile(jsonPath), expectedJson);
+    }
+
+    /**
+     * Checks the actual response json payload excludes a key excluding a JsonElement.
+     * The jsonPath should lead to the field with the expected value, e.g. $.users[0].name. This result will be written out to the output file.
+     *
+     * @param description - how the path is written to the output file
+     * @param path     - the compiled path to the field with the expected value
+     * @param expectedJson - the expected response json array
+     */
+    private boolean checkNestedValue(String description, JsonPath path, JsonElement expectedJson) {
+        JsonElement actualValue = getNestedValue(path);
 
         boolean pass = true;
         if (actualValue instanceof JsonArray) {
             pass = !actualValue.getAsJsonArray().contains(expectedJson);
         }
-        return recordResult(EXPECTED_TO_FIND_A_RESPONSE_OF + STARTI + Reporter.formatHTML(String.join(ARROW, jsonCrumbs)) +
+        return recordResult(EXPECTED_TO_FIND_A_RESPONSE_OF + STARTI + Reporter.formatHTML(description) +
                         ENDI + EXCLUDING + DIV_I + Reporter.formatHTML(GSON.toJson(expectedJson)) + END_IDIV,
                 FOUND + DIV_I + Reporter.formatHTML(GSON.toJson(actualValue)) + END_IDIV, pass);
     }
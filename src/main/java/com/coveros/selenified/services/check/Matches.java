@@ -20,10 +20,16 @@
 
 package com.coveros.selenified.services.check;
 
+import com.coveros.selenified.services.JsonPath;
+import com.coveros.selenified.services.JsonSchema;
+import com.coveros.selenified.utilities.Patterns;
 import com.coveros.selenified.utilities.Reporter;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.List;
 
 import static com.coveros.selenified.utilities.Constants.*;
@@ -37,7 +43,7 @@ import static com.coveros.selenified.utilities.Constants.*;
  *
  * @author Max Saperstone
  * @version 3.3.1
- * @lastupdate 1/6/2020
+ * @lastupdate 10/19/2026
  */
 abstract class Matches extends Check {
 
@@ -58,7 +64,7 @@ abstract class Matches extends Check {
     int checkCode(String expectedPattern) {
         int actualCode = this.response.getCode();
         recordResult("Expected to find a response code matching a pattern of: '<i>" + expectedPattern + ENDI,
-                "Found a response code of <b>" + actualCode + ENDB, String.valueOf(actualCode).matches(expectedPattern));
+                "Found a response code of <b>" + actualCode + ENDB, Patterns.matches(String.valueOf(actualCode), expectedPattern));
         return actualCode;
     }
 
@@ -72,6 +78,15 @@ abstract class Matches extends Check {
      */
     abstract void nestedValue(List<String> jsonKeys, String expectedPattern);
 
+    /**
+     * Checks the actual response json payload contains a key with a value matching the expected
+     * value. The jsonPath should lead to the field with the expected value, e.g. $.users[0].name. This result will be written out to the output file.
+     *
+     * @param jsonPath        - the path to the field with the expected value
+     * @param expectedPattern - the expected pattern of the  value
+     */
+    abstract void pathValue(String jsonPath, String expectedPattern);
+
     /**
      * Checks the actual response json payload contains a key with a value matching the expected
      * value. The jsonCrumbs should be passed in as crumbs of the keys leading to the field with
@@ -81,14 +96,30 @@ abstract class Matches extends Check {
      * @param expectedPattern - the expected pattern of the value
      */
     String checkNestedValue(List<String> jsonCrumbs, String expectedPattern) {
-        JsonElement actualValue = this.response.getObjectData();
-        for (String jsonCrumb : jsonCrumbs) {
-            if (!(actualValue instanceof JsonObject)) {
-                actualValue = null;
-                break;
-            }
-            actualValue = actualValue.getAsJsonObject().get(jsonCrumb);
-        }
+        return checkNestedValue(String.join(ARROW, jsonCrumbs), JsonPath.of(jsonCrumbs), expectedPattern);
+    }
+
+    /**
+     * Checks the actual response json payload contains a key with a value matching the expected
+     * value. The jsonPath should lead to the field with the expected value, e.g. $.users[0].name. This result will be written out to the output file.
+     *
+     * @param jsonPath      - the path to the field with the expected value
+     * @param expectedPattern - the expected pattern of the value
+     */
+    String checkPathValue(String jsonPath, String expectedPattern) {
+        return checkNestedValue(jsonPath, JsonPath.compile(jsonPath), expectedPattern);
+    }
+
+    /**
+     * Checks the actual response json payload contains a key with a value matching the expected
+     * value. The jsonPath should lead to the field with the expected value, e.g. $.users[0].name. This result will be written out to the output file.
+     *
+     * @param description   - how the path is written to the output file
+     * @param path        - the compiled path to the field with the expected value
+     * @param expectedPattern - the expected pattern of the value
+     */
+    private String checkNestedValue(String description, JsonPath path, String expectedPattern) {
+        JsonElement actualValue = getNestedValue(path);
         String stringValue = String.valueOf(actualValue);
         if (actualValue != null) {
             try {
@@ -97,9 +128,9 @@ abstract class Matches extends Check {
                 log.info(e);
             }
         }
-        recordResult(EXPECTED_TO_FIND_A_RESPONSE_OF + STARTI + Reporter.formatHTML(String.join(ARROW, jsonCrumbs)) + ENDI +
+        recordResult(EXPECTED_TO_FIND_A_RESPONSE_OF + STARTI + Reporter.formatHTML(description) + ENDI +
                         " matching a pattern of: " + DIV_I + expectedPattern + END_IDIV,
-                FOUND + DIV_I + Reporter.formatHTML(GSON.toJson(actualValue)) + END_IDIV, stringValue.matches(expectedPattern));
+                FOUND + DIV_I + Reporter.formatHTML(GSON.toJson(actualValue)) + END_IDIV, Patterns.matches(stringValue, expectedPattern));
         return stringValue;
     }
 
@@ -120,7 +151,55 @@ abstract class Matches extends Check {
     String checkMessage(String expectedPattern) {
         String actualMessage = this.response.getMessage();
         recordResult(EXPECTED_TO_FIND_A_RESPONSE_MATCHING + STARTI + expectedPattern + ENDI,
-                FOUND + STARTI + this.response.getMessage() + ENDI, actualMessage != null && actualMessage.matches(expectedPattern));
+                FOUND + STARTI + this.response.getMessage() + ENDI, Patterns.matches(actualMessage, expectedPattern));
         return actualMessage;
     }
+
+    /**
+     * Checks the actual response json payload meets the json schema held in
+     * the expected schema file, and writes that out to the output file
+     *
+     * @param schemaFile - the file holding the json schema the response needs to meet
+     */
+    abstract void schema(File schemaFile);
+
+    /**
+     * Checks the actual response json payload meets the json schema held in
+     * the expected schema file, and writes that out to the output file, along
+     * with the path of each violation found. The schema is only compiled the
+     * first time the file is used
+     *
+     * @param schemaFile - the file holding the json schema the response needs to meet
+     * @return List: the violations found, null if the schema couldn't be read or used
+     */
+    List<JsonSchema.Violation> checkSchema(File schemaFile) {
+        String expected = "Expected to find a response matching the schema: " + STARTI + schemaFile.getPath() + ENDI;
+        JsonSchema schema;
+        try {
+            schema = JsonSchema.load(schemaFile);
+        } catch (IOException | JsonParseException | IllegalArgumentException | IllegalStateException |
+                UnsupportedOperationException e) {
+            // an invalid schema, or a keyword with the wrong type of value, can't be compiled
+            log.error(e);
+            recordResult(expected, "Unable to read the schema: " + STARTI + Reporter.formatHTML(e.getMessage()) + ENDI, false);
+            return null;
+        }
+        JsonElement actualJson = this.response.getObjectData();
+        if (actualJson == null) {
+            actualJson = this.response.getArrayData();
+        }
+        List<JsonSchema.Violation> violations;
+        try {
+            violations = schema.validate(actualJson);
+        } catch (IllegalArgumentException | IllegalStateException | UnsupportedOperationException e) {
+            // references are only resolved once they're used, so a bad one is found while validating
+            log.error(e);
+            recordResult(expected, "Unable to validate against the schema: " + STARTI +
+                    Reporter.formatHTML(e.getMessage()) + ENDI, false);
+            return null;
+        }
+        recordResult(expected, FOUND + Reporter.formatResponse(this.response) + Reporter.getSchemaOutput(violations),
+                violations.isEmpty());
+        return violations;
+    }
 }
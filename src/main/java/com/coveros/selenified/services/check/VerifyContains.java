@@ -35,7 +35,7 @@ import java.util.Map;
  *
  * @author Max Saperstone
  * @version 3.3.1
- * @lastupdate 10/24/2019
+ * @lastupdate 10/19/2026
  */
 public class VerifyContains extends Contains {
 
@@ -104,6 +104,20 @@ public class VerifyContains extends Contains {
         checkNestedKeys(jsonKeys, expectedKeys);
     }
 
+    /**
+     * Verifies the actual response json payload contains a key containing a JsonObject
+     * containing each of the keys provided. The jsonPath should lead to the field with the expected value,
+     * e.g. $.users[0].name. This result will be written out to the output file.
+     *
+     * @param jsonPath     - the path to the field with the expected value
+     * @param expectedKeys - a list with string keys expected in the json
+     *                     response
+     */
+    @Override
+    public void pathKeys(String jsonPath, List<String> expectedKeys) {
+        checkPathKeys(jsonPath, expectedKeys);
+    }
+
     /**
      * Verifies the actual response json payload contains a key containing a JsonObject
      * containing each of the pair values provided. The jsonKeys should be passed in
@@ -119,6 +133,20 @@ public class VerifyContains extends Contains {
         checkNestedKeyValues(jsonKeys, expectedPairs);
     }
 
+    /**
+     * Verifies the actual response json payload contains a key containing a JsonObject
+     * containing each of the pair values provided. The jsonPath should lead to the field with the expected value,
+     * e.g. $.users[0].name. This result will be written out to the output file.
+     *
+     * @param jsonPath      - the path to the field with the expected value
+     * @param expectedPairs - a hashmap with string key value pairs expected in the json
+     *                      response
+     */
+    @Override
+    public void pathKeyValues(String jsonPath, Map<String, Object> expectedPairs) {
+        checkPathKeyValues(jsonPath, expectedPairs);
+    }
+
     /**
      * Verifies the actual response json payload contains a key containing a JsonElement.
      * The jsonKeys should be passed in as crumbs of the keys leading to the field with
@@ -132,6 +160,18 @@ public class VerifyContains extends Contains {
         checkNestedValue(jsonKeys, expectedJson);
     }
 
+    /**
+     * Verifies the actual response json payload contains a key containing a JsonElement.
+     * The jsonPath should lead to the field with the expected value, e.g. $.users[0].name. This result will be written out to the output file.
+     *
+     * @param jsonPath     - the path to the field with the expected value
+     * @param expectedJson - the expected response json array
+     */
+    @Override
+    public void pathValue(String jsonPath, JsonElement expectedJson) {
+        checkPathValue(jsonPath, expectedJson);
+    }
+
     /**
      * Verifies the actual response json payload contains to the expected json
      * element, and writes that out to the output file.
@@ -35,7 +35,7 @@ import java.util.List;
  *
  * @author Max Saperstone
  * @version 3.3.1
- * @lastupdate 10/24/2019
+ * @lastupdate 10/19/2026
  */
 public class VerifyEquals extends Equals {
 
@@ -73,7 +73,20 @@ public class VerifyEquals extends Equals {
      */
     @Override
     public void objectData(JsonObject expectedJson) {
-        checkObjectData(expectedJson);
+        checkObjectData(expectedJson, false);
+    }
+
+    /**
+     * Verifies the actual response json payload is equal to the expected
+     * response json payload, allowing the elements of arrays to be in any order
+     * if requested, and writes that out to the output file.
+     *
+     * @param expectedJson     - the expected response json object
+     * @param ignoreArrayOrder - can the elements of arrays be in any order
+     */
+    @Override
+    public void objectData(JsonObject expectedJson, boolean ignoreArrayOrder) {
+        checkObjectData(expectedJson, ignoreArrayOrder);
     }
 
     /**
@@ -84,7 +97,20 @@ public class VerifyEquals extends Equals {
      */
     @Override
     public void arrayData(JsonArray expectedJson) {
-        checkArrayData(expectedJson);
+        checkArrayData(expectedJson, false);
+    }
+
+    /**
+     * Verifies the actual response json payload is equal to the expected
+     * response json payload, allowing the elements of arrays to be in any order
+     * if requested, and writes that out to the output file.
+     *
+     * @param expectedJson     - the expected response json array
+     * @param ignoreArrayOrder - can the elements of arrays be in any order
+     */
+    @Override
+    public void arrayData(JsonArray expectedJson, boolean ignoreArrayOrder) {
+        checkArrayData(expectedJson, ignoreArrayOrder);
     }
 
     /**
@@ -100,6 +126,18 @@ public class VerifyEquals extends Equals {
         checkNestedValue(jsonKeys, expectedValue);
     }
 
+    /**
+     * Verifies the actual response json payload contains a key with a value equal to the expected
+     * value. The jsonPath should lead to the field with the expected value, e.g. $.users[0].name. This result will be written out to the output file.
+     *
+     * @param jsonPath      - the path to the field with the expected value
+     * @param expectedValue - the expected value
+     */
+    @Override
+    public void pathValue(String jsonPath, Object expectedValue) {
+        checkPathValue(jsonPath, expectedValue);
+    }
+
     /**
      * Verifies the actual response payload is equal to the expected
      * response payload, and writes that out to the output file.
@@ -132,4 +170,38 @@ public class VerifyEquals extends Equals {
     public void nestedArraySize(List<String> jsonKeys, int expectedSize) {
         checkNestedArraySize(jsonKeys, expectedSize);
     }
-}
\ No newline at end of file
+
+    /**
+     * Verifies the actual response payload contains a key with a value of the number of elements
+     * in an array as expected, and writes that out to the output file.
+     *
+     * @param jsonPath     - the path to the array
+     * @param expectedSize - the expected array size
+     */
+    @Override
+    public void pathArraySize(String jsonPath, int expectedSize) {
+        checkPathArraySize(jsonPath, expectedSize);
+    }
+
+    /**
+     * Verifies the actual downloaded response body has a SHA-256 checksum equal
+     * to the expected checksum, and writes that out to the output file.
+     *
+     * @param expectedChecksum - the expected SHA-256 checksum, in hex
+     */
+    @Override
+    public void checksum(String expectedChecksum) {
+        checkChecksum(expectedChecksum);
+    }
+
+    /**
+     * Verifies the actual downloaded response body has the expected number of
+     * lines, and writes that out to the output file.
+     *
+     * @param expectedLines - the expected number of lines
+     */
+    @Override
+    public void lineCount(long expectedLines) {
+        checkLineCount(expectedLines);
+    }
+}
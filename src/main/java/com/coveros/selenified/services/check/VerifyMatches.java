@@ -23,6 +23,7 @@ package com.coveros.selenified.services.check;
 import com.coveros.selenified.services.Response;
 import com.coveros.selenified.utilities.Reporter;
 
+import java.io.File;
 import java.util.List;
 
 /**
@@ -33,7 +34,7 @@ import java.util.List;
  *
  * @author Max Saperstone
  * @version 3.3.1
- * @lastupdate 1/6/2020
+ * @lastupdate 10/19/2026
  */
 public class VerifyMatches extends Matches {
 
@@ -76,6 +77,18 @@ public class VerifyMatches extends Matches {
         checkNestedValue(jsonKeys, expectedPattern);
     }
 
+    /**
+     * Verifies the actual response json payload contains a key with a value matching the expected
+     * value. The jsonPath should lead to the field with the expected value, e.g. $.users[0].name. This result will be written out to the output file.
+     *
+     * @param jsonPath        - the path to the field with the expected value
+     * @param expectedPattern - the expected pattern of the value
+     */
+    @Override
+    public void pathValue(String jsonPath, String expectedPattern) {
+        checkPathValue(jsonPath, expectedPattern);
+    }
+
     /**
      * Verifies the actual response payload matches the expected
      * response payload, and writes that out to the output file.
@@ -86,4 +99,15 @@ public class VerifyMatches extends Matches {
     public void message(String expectedPattern) {
         checkMessage(expectedPattern);
     }
-}
\ No newline at end of file
+
+    /**
+     * Verifies the actual response json payload meets the json schema held in
+     * the expected schema file, and writes that out to the output file.
+     *
+     * @param schemaFile - the file holding the json schema the response needs to meet
+     */
+    @Override
+    public void schema(File schemaFile) {
+        checkSchema(schemaFile);
+    }
+}
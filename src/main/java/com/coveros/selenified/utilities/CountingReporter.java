@@ -0,0 +1,119 @@
+/*
+ * Copyright 2019 Coveros, Inc.
+ *
+ * This file is part of Selenified.
+ *
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.coveros.selenified.utilities;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A lightweight reporter, which only counts how many steps passed, failed or
+ * were checked, instead of writing each step out to an output file. This keeps
+ * steps cheap enough to run the same tests many thousands of times, e.g. when
+ * running them under load. The first failed step is remembered, to describe
+ * why the test failed.
+ *
+ * @author Max Saperstone
+ * @version 3.3.1
+ * @lastupdate 10/19/2026
+ */
+public class CountingReporter extends Reporter {
+
+    private final AtomicInteger passes = new AtomicInteger();
+    private final AtomicInteger fails = new AtomicInteger();
+    private final AtomicInteger checks = new AtomicInteger();
+    private final AtomicReference<String> firstFailure = new AtomicReference<>();
+
+    /**
+     * Creates a new reporter, which doesn't write out an output file
+     *
+     * @param test - a string value of the test name, typically the method name
+     */
+    public CountingReporter(String test) {
+        super(test);
+    }
+
+    @Override
+    public boolean isDetailed() {
+        return false;
+    }
+
+    @Override
+    public void pass(String check, double waitFor, String actual, double timeTook) {
+        passes.incrementAndGet();
+    }
+
+    @Override
+    public void fail(String check, double waitFor, String actual, double timeTook) {
+        recordFail("Expected " + check + ", but " + actual);
+    }
+
+    @Override
+    public void pass(String action, String expectedResult, String actualResult) {
+        passes.incrementAndGet();
+    }
+
+    @Override
+    public void check(String action, String expectedResult, String actualResult) {
+        checks.incrementAndGet();
+    }
+
+    @Override
+    public void fail(String action, String expectedResult, String actualResult) {
+        recordFail(actualResult);
+    }
+
+    @Override
+    public void finalizeReporter(int testStatus) {
+        // there is no output file to finish
+    }
+
+    /**
+     * Counts a failed step, remembering it if it is the first
+     *
+     * @param failure - a description of the failure
+     */
+    private void recordFail(String failure) {
+        fails.incrementAndGet();
+        firstFailure.compareAndSet(null, failure);
+    }
+
+    public int getPasses() {
+        return passes.get();
+    }
+
+    @Override
+    public int getFails() {
+        return fails.get();
+    }
+
+    public int getChecks() {
+        return checks.get();
+    }
+
+    /**
+     * Retrieves the description of the first step which failed
+     *
+     * @return String: the actual outcome of the first failed step, null if no steps failed
+     */
+    public String getFirstFailure() {
+        return firstFailure.get();
+    }
+}
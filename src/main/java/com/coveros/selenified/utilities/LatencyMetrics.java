@@ -0,0 +1,283 @@
+/*
+ * Copyright 2019 Coveros, Inc.
+ *
+ * This file is part of Selenified.
+ *
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.coveros.selenified.utilities;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+
+import java.net.URL;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+/**
+ * Collects the latencies of every web services call made during the suite,
+ * grouped by endpoint pattern, so percentiles can be reported once the suite
+ * finishes. Ids in the path (numbers, uuids, long hex strings) are collapsed
+ * into {id}, so calls for different records are grouped together. Each phase of
+ * a call is kept in its own histogram, with a fixed memory footprint no matter
+ * how many calls are made.
+ *
+ * @author Max Saperstone
+ * @version 3.3.1
+ * @lastupdate 10/19/2026
+ */
+public class LatencyMetrics {
+
+    private static final Pattern ID = Pattern.compile("\\d+|[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-" +
+            "[0-9a-fA-F]{4}-[0-9a-fA-F]{12}|[0-9a-fA-F]{16,}");
+    private static final ConcurrentMap<String, Map<Phase, Histogram>> ENDPOINTS = new ConcurrentHashMap<>();
+
+    /**
+     * The phases of a call which are timed
+     */
+    public enum Phase {
+        CONNECT, FIRST_BYTE, BODY, PARSE, TOTAL;
+
+        /**
+         * The name of the phase, as written out to the json metrics
+         *
+         * @return String: the camel cased name of the phase
+         */
+        public String getName() {
+            String[] words = name().toLowerCase().split("_");
+            StringBuilder camel = new StringBuilder(words[0]);
+            for (int i = 1; i < words.length; i++) {
+                camel.append(Character.toUpperCase(words[i].charAt(0))).append(words[i].substring(1));
+            }
+            return camel.toString();
+        }
+    }
+
+    private LatencyMetrics() {
+    }
+
+    /**
+     * Determines the endpoint pattern a call is grouped under, from its method
+     * and url. The query string is dropped, and ids in the path are replaced
+     * with {id}
+     *
+     * @param method - the HTTP method of the call, e.g. GET
+     * @param url    - the url called
+     * @return String: the endpoint pattern, e.g. GET /users/{id}
+     */
+    public static String getEndpoint(String method, URL url) {
+        StringBuilder endpoint = new StringBuilder(method).append(" ");
+        String path = url.getPath();
+        if (path == null || path.isEmpty()) {
+            return endpoint.append("/").toString();
+        }
+        String[] segments = path.split("/", -1);
+        for (int i = 0; i < segments.length; i++) {
+            if (i > 0) {
+                endpoint.append("/");
+            }
+            endpoint.append(ID.matcher(segments[i]).matches() ? "{id}" : segments[i]);
+        }
+        return endpoint.toString();
+    }
+
+    /**
+     * Adds the time a phase of a call took to the endpoint's metrics
+     *
+     * @param endpoint - the endpoint pattern the call was made to
+     * @param phase    - which phase of the call was timed
+     * @param nanos    - how long the phase took, in nanoseconds
+     */
+    public static void record(String endpoint, Phase phase, long nanos) {
+        ENDPOINTS.computeIfAbsent(endpoint, k -> {
+            Map<Phase, Histogram> phases = new EnumMap<>(Phase.class);
+            for (Phase p : Phase.values()) {
+                phases.put(p, new Histogram());
+            }
+            return phases;
+        }).get(phase).record(nanos);
+    }
+
+    /**
+     * Retrieves the metrics of each endpoint called
+     *
+     * @return SortedMap: each endpoint pattern, sorted, mapped to the histogram of each phase
+     */
+    public static SortedMap<String, Map<Phase, Histogram>> getEndpoints() {
+        return new TreeMap<>(ENDPOINTS);
+    }
+
+    /**
+     * Clears out all of the collected metrics
+     */
+    public static void reset() {
+        ENDPOINTS.clear();
+    }
+
+    /**
+     * Writes out the metrics of each endpoint as json. Each phase with calls
+     * timed is given its count, mean, p50, p95, p99 and max, in milliseconds
+     *
+     * @return String: the json metrics
+     */
+    public static String toJson() {
+        JsonObject json = new JsonObject();
+        for (Map.Entry<String, Map<Phase, Histogram>> endpoint : getEndpoints().entrySet()) {
+            JsonObject phases = new JsonObject();
+            for (Map.Entry<Phase, Histogram> phase : endpoint.getValue().entrySet()) {
+                Histogram histogram = phase.getValue();
+                if (histogram.getCount() == 0) {
+                    continue;
+                }
+                JsonObject summary = new JsonObject();
+                summary.addProperty("count", histogram.getCount());
+                summary.addProperty("mean", toMillis(histogram.getMean()));
+                summary.addProperty("p50", toMillis(histogram.getValueAtPercentile(50)));
+                summary.addProperty("p95", toMillis(histogram.getValueAtPercentile(95)));
+                summary.addProperty("p99", toMillis(histogram.getValueAtPercentile(99)));
+                summary.addProperty("max", toMillis(histogram.getMax()));
+                phases.add(phase.getKey().getName(), summary);
+            }
+            json.add(endpoint.getKey(), phases);
+        }
+        return new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create().toJson(json);
+    }
+
+    /**
+     * Converts nanoseconds into milliseconds, keeping two decimal places
+     *
+     * @param nanos - the time, in nanoseconds
+     * @return Double: the time, in milliseconds
+     */
+    public static double toMillis(long nanos) {
+        return Math.round(nanos / 10000.0) / 100.0;
+    }
+
+    /**
+     * Formats nanoseconds as milliseconds, with two decimal places, e.g. 1.25ms
+     *
+     * @param nanos - the time, in nanoseconds
+     * @return String: the formatted time
+     */
+    public static String formatMillis(long nanos) {
+        return String.format(Locale.US, "%.2fms", nanos / 1000000.0);
+    }
+
+    /**
+     * A histogram of recorded values, in the style of an HDR histogram. Values
+     * are counted in buckets which double in width, each split into 64 sub
+     * buckets, so any value is reported to within about 1.5% of what was
+     * recorded, using the same small, fixed amount of memory however many
+     * values are recorded, and however large they are
+     */
+    public static class Histogram {
+        private static final int SUB_BUCKET_BITS = 6;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+        private final long[] counts = new long[(64 - SUB_BUCKET_BITS) * SUB_BUCKETS];
+        private long count = 0;
+        private long total = 0;
+        private long max = 0;
+
+        /**
+         * Determines which bucket a value is counted in. Values below 128 each
+         * get their own bucket, above that, each doubling gets 64 buckets
+         *
+         * @param value - the value to count
+         * @return Integer: the index of the bucket
+         */
+        static int getIndex(long value) {
+            if (value < 2 * SUB_BUCKETS) {
+                return (int) value;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+            return exponent * SUB_BUCKETS + (int) (value >>> exponent);
+        }
+
+        /**
+         * Determines the largest value which would be counted in a bucket
+         *
+         * @param index - the index of the bucket
+         * @return Long: the largest value counted in it
+         */
+        static long getHighestValue(int index) {
+            if (index < 2 * SUB_BUCKETS) {
+                return index;
+            }
+            int exponent = index / SUB_BUCKETS - 1;
+            long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+            return ((subBucket + 1) << exponent) - 1;
+        }
+
+        /**
+         * Counts a value. Negative values are counted as 0
+         *
+         * @param value - the value to count
+         */
+        public synchronized void record(long value) {
+            value = Math.max(value, 0);
+            counts[getIndex(value)]++;
+            count++;
+            total += value;
+            max = Math.max(max, value);
+        }
+
+        public synchronized long getCount() {
+            return count;
+        }
+
+        public synchronized long getMax() {
+            return max;
+        }
+
+        /**
+         * Determines the average value counted
+         *
+         * @return Long: the mean value, or 0 if nothing has been counted
+         */
+        public synchronized long getMean() {
+            return count == 0 ? 0 : total / count;
+        }
+
+        /**
+         * Determines the value at a percentile of everything counted, e.g. the
+         * 95th percentile is the value 95% of counted values are at or below
+         *
+         * @param percentile - the percentile to find, from 0 to 100
+         * @return Long: the value at the percentile, or 0 if nothing has been counted
+         */
+        public synchronized long getValueAtPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(getHighestValue(i), max);
+                }
+            }
+            return max;
+        }
+    }
+}
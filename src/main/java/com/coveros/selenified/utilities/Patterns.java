@@ -0,0 +1,179 @@
+/*
+ * Copyright 2019 Coveros, Inc.
+ *
+ * This file is part of Selenified.
+ *
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.coveros.selenified.utilities;
+
+import org.testng.log4testng.Logger;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Patterns holds on to the compiled regular expressions used by every matches
+ * check. Checks and waits are evaluated over and over again while polling, so
+ * rather than compiling the expected pattern on every evaluation, it is
+ * compiled once and reused by the whole JVM. At most MAX_PATTERNS are kept,
+ * dropping the least recently used pattern once full.
+ * <p>
+ * Matching can also be given a time limit, set by the matchTimeout property,
+ * so a pattern which backtracks catastrophically against a large response
+ * body fails the test, rather than hanging it. As this says nothing about
+ * whether the text matches, a MatchTimeoutException is thrown, instead of the
+ * check being reported as not matching.
+ *
+ * @author Max Saperstone
+ * @version 3.3.1
+ * @lastupdate 10/19/2026
+ */
+public final class Patterns {
+
+    private static final Logger log = Logger.getLogger(Patterns.class);
+    private static final int MAX_PATTERNS = 500;
+    private static final int CHECK_EVERY = 1024;
+    private static final long TIMEOUT = Property.getMatchTimeout();
+    private static final Map<String, Pattern> CACHE =
+            Collections.synchronizedMap(new LinkedHashMap<String, Pattern>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Pattern> eldest) {
+                    return size() > MAX_PATTERNS;
+                }
+            });
+
+    private Patterns() {
+    }
+
+    /**
+     * Retrieves the compiled pattern for the provided regular expression,
+     * compiling and storing it if it hasn't been seen before
+     *
+     * @param regex - the regular expression
+     * @return Pattern: the compiled pattern
+     */
+    public static Pattern get(String regex) {
+        Pattern pattern = CACHE.get(regex);
+        if (pattern == null) {
+            pattern = Pattern.compile(regex);
+            CACHE.put(regex, pattern);
+        }
+        return pattern;
+    }
+
+    /**
+     * Determines if the entire text matches the regular expression, the same
+     * as String.matches, giving up once the matchTimeout has passed
+     *
+     * @param text  - the text to match
+     * @param regex - the regular expression to match it against
+     * @return Boolean: does the text match, false if the text is null
+     * @throws MatchTimeoutException: if the match took longer than the matchTimeout
+     */
+    public static boolean matches(String text, String regex) {
+        return matches(text, regex, TIMEOUT);
+    }
+
+    /**
+     * Determines if the entire text matches the regular expression, the same
+     * as String.matches, giving up once the timeout has passed
+     *
+     * @param text    - the text to match
+     * @param regex   - the regular expression to match it against
+     * @param timeout - the most milliseconds to spend matching, 0 to never give up
+     * @return Boolean: does the text match, false if the text is null
+     * @throws MatchTimeoutException: if the match took longer than the timeout
+     */
+    public static boolean matches(String text, String regex, long timeout) {
+        Pattern pattern = get(regex);
+        if (text == null) {
+            return false;
+        }
+        if (timeout <= 0) {
+            return pattern.matcher(text).matches();
+        }
+        try {
+            return pattern.matcher(new DeadlineSequence(text, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout))).matches();
+        } catch (MatchTimeoutException e) {
+            String message = "Gave up matching '" + regex + "' against " + text.length() + " characters after " + timeout + "ms";
+            log.warn(message);
+            throw new MatchTimeoutException(message);
+        }
+    }
+
+    /**
+     * Thrown once the time to match has run out, as whether or not the text
+     * matches isn't known. Within the matcher, it is thrown without a stack
+     * trace, to cheaply unwind it from however deeply it has backtracked
+     */
+    public static class MatchTimeoutException extends RuntimeException {
+        private static final long serialVersionUID = -4837206154029731856L;
+
+        MatchTimeoutException() {
+            super(null, null, false, false);
+        }
+
+        public MatchTimeoutException(String msg) {
+            super(msg);
+        }
+    }
+
+    /**
+     * Wraps the text being matched, checking whether the time to match has run
+     * out as the matcher reads characters from it. The clock is only read every
+     * CHECK_EVERY characters, to keep the cost of reading small
+     */
+    private static class DeadlineSequence implements CharSequence {
+        private final CharSequence text;
+        private final long deadline;
+        private int reads = 0;
+
+        DeadlineSequence(CharSequence text, long deadline) {
+            this.text = text;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (++reads == CHECK_EVERY) {
+                reads = 0;
+                if (System.nanoTime() - deadline > 0) {
+                    throw new MatchTimeoutException();
+                }
+            }
+            return text.charAt(index);
+        }
+
+        @Override
+        public int length() {
+            return text.length();
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new DeadlineSequence(text.subSequence(start, end), deadline);
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2019 Coveros, Inc.
+ *
+ * This file is part of Selenified.
+ *
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.coveros.selenified.utilities;
+
+/**
+ * PollHistory keeps track of how long conditions have taken to be met for a
+ * single wait object, so that adaptive polling can space out its checks
+ * based on that object's own history. Each element and app wait keeps its
+ * own history, meaning slow conditions for one element, or one test, don't
+ * change how often another one is checked.
+ *
+ * @author Max Saperstone
+ * @version 3.3.1
+ * @lastupdate 10/19/2026
+ */
+public class PollHistory {
+
+    // how heavily the latest time to true counts towards the expected time
+    private static final double WEIGHT = 0.2;
+
+    // the moving average of how long conditions have taken to be met, in milliseconds
+    private double expectedTime = 0;
+
+    /**
+     * Retrieves the moving average of how long conditions have taken to be
+     * met
+     *
+     * @return Double: the expected time to true, in milliseconds, or 0 if no
+     * condition has been met yet
+     */
+    public synchronized double getExpectedTime() {
+        return expectedTime;
+    }
+
+    /**
+     * Records how long a condition took to be met, moving the expected time
+     * towards it
+     *
+     * @param timeToTrue - how many milliseconds the condition took to be met
+     */
+    public synchronized void record(long timeToTrue) {
+        if (expectedTime <= 0) {
+            expectedTime = timeToTrue;
+        } else {
+            expectedTime = (WEIGHT * timeToTrue) + ((1 - WEIGHT) * expectedTime);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2019 Coveros, Inc.
+ *
+ * This file is part of Selenified.
+ *
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.coveros.selenified.utilities;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.testng.log4testng.Logger;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Poller repeatedly checks a condition until it is met, or until the provided
+ * time runs out, spacing out the checks using the provided polling strategy.
+ * It replaces Selenium's WebDriverWait so that the time between checks can
+ * change over the course of the wait, and so that metrics about each wait
+ * (how many times the condition was checked, and how long it took to be met)
+ * are recorded, to help tune the polling used. Event driven waits add their
+ * outcomes to the same metrics, which are written out alongside the overall
+ * report.
+ *
+ * @author Max Saperstone
+ * @version 3.3.1
+ * @lastupdate 10/19/2026
+ */
+public class Poller {
+
+    private static final Logger log = Logger.getLogger(Poller.class);
+
+    private static final AtomicLong WAITS = new AtomicLong();
+    private static final AtomicLong TIMEOUTS = new AtomicLong();
+    private static final AtomicLong POLLS = new AtomicLong();
+    private static final AtomicLong TIME_TO_TRUE = new AtomicLong();
+
+    private Poller() {
+    }
+
+    /**
+     * Checks the condition until it is met. If the condition isn't met
+     * within the provided time, a TimeoutException is thrown. Any elements
+     * which can't be found while checking are treated as the condition not
+     * being met.
+     *
+     * @param driver    - the driver controlling the browser
+     * @param seconds   - how many seconds to wait for
+     * @param poll      - the poll interval, in milliseconds
+     * @param maxPoll   - the longest the poll interval is allowed to grow to, in milliseconds
+     * @param strategy  - how to space out the checks of the condition
+     * @param history   - how long previous conditions took to be met for the wait object, which
+     *                  this wait is added to. If null, no history is used
+     * @param condition - the condition to be met
+     * @param <T>       - the type of value the condition returns
+     * @return T: the value the condition returned once met
+     */
+    public static <T> T until(WebDriver driver, double seconds, long poll, long maxPoll, PollingStrategy strategy,
+                              PollHistory history, ExpectedCondition<T> condition) {
+        long start = System.currentTimeMillis();
+        long end = start + (long) (seconds * 1000);
+        double expectedTime = history == null ? 0 : history.getExpectedTime();
+        int polls = 0;
+        Throwable lastException = null;
+        while (true) {
+            polls++;
+            try {
+                T value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    long timeToTrue = System.currentTimeMillis() - start;
+                    record(polls, timeToTrue, true);
+                    if (history != null) {
+                        history.record(timeToTrue);
+                    }
+                    log.debug("Condition " + condition + " met after " + timeToTrue + "ms and " + polls + " polls");
+                    return value;
+                }
+            } catch (NotFoundException e) {
+                lastException = e;
+            }
+            long now = System.currentTimeMillis();
+            if (now >= end) {
+                record(polls, now - start, false);
+                log.debug("Condition " + condition + " not met after " + (now - start) + "ms and " + polls + " polls");
+                throw new TimeoutException("Expected condition failed: waiting for " + condition + " (tried for " +
+                        seconds + " second(s) with " + polls + " polls)", lastException);
+            }
+            long sleep = Math.min(strategy.nextPoll(poll, maxPoll, polls, now - start, expectedTime), end - now);
+            try {
+                Thread.sleep(sleep);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TimeoutException("Interrupted while waiting for " + condition, e);
+            }
+        }
+    }
+
+    /**
+     * Adds the outcome of a wait to the overall metrics. Waits made here are
+     * added automatically, this is for waits which check their condition some
+     * other way, such as by listening for changes
+     *
+     * @param polls   - how many times the condition was checked
+     * @param elapsed - how long the wait took, in milliseconds
+     * @param met     - whether the condition was met
+     */
+    public static void record(int polls, long elapsed, boolean met) {
+        WAITS.incrementAndGet();
+        POLLS.addAndGet(polls);
+        if (met) {
+            TIME_TO_TRUE.addAndGet(elapsed);
+        } else {
+            TIMEOUTS.incrementAndGet();
+        }
+    }
+
+    /**
+     * Retrieves how many waits have been performed
+     *
+     * @return Long: the number of waits
+     */
+    public static long getWaits() {
+        return WAITS.get();
+    }
+
+    /**
+     * Retrieves how many waits ran out of time before their condition was met
+     *
+     * @return Long: the number of waits which timed out
+     */
+    public static long getTimeouts() {
+        return TIMEOUTS.get();
+    }
+
+    /**
+     * Retrieves how many times conditions have been checked, across all waits
+     *
+     * @return Long: the number of polls
+     */
+    public static long getPolls() {
+        return POLLS.get();
+    }
+
+    /**
+     * Retrieves the average time it took for conditions to be met, for waits
+     * which didn't time out
+     *
+     * @return Double: the average time to true, in milliseconds
+     */
+    public static double getAverageTimeToTrue() {
+        long met = WAITS.get() - TIMEOUTS.get();
+        if (met <= 0) {
+            return 0;
+        }
+        return (double) TIME_TO_TRUE.get() / met;
+    }
+
+    /**
+     * Writes out the wait metrics as json, so they can be used to tune the
+     * waits, and tracked from run to run
+     *
+     * @return String: the wait metrics, as pretty printed json
+     */
+    public static String toJson() {
+        JsonObject json = new JsonObject();
+        long waits = getWaits();
+        json.addProperty("waits", waits);
+        json.addProperty("timeouts", getTimeouts());
+        json.addProperty("polls", getPolls());
+        json.addProperty("pollsPerWait", waits == 0 ? 0 : Math.round(getPolls() * 100.0 / waits) / 100.0);
+        json.addProperty("averageTimeToTrue", Math.round(getAverageTimeToTrue() * 100) / 100.0);
+        return new GsonBuilder().setPrettyPrinting().create().toJson(json);
+    }
+
+    /**
+     * Clears out all of the recorded wait metrics
+     */
+    public static void resetMetrics() {
+        WAITS.set(0);
+        TIMEOUTS.set(0);
+        POLLS.set(0);
+        TIME_TO_TRUE.set(0);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019 Coveros, Inc.
+ *
+ * This file is part of Selenified.
+ *
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.coveros.selenified.utilities;
+
+/**
+ * The different ways waits can space out their checks of a condition. FIXED
+ * checks every poll interval, EXPONENTIAL doubles the interval after each
+ * check, up to the maximum poll, and ADAPTIVE spaces checks based on how long
+ * previous conditions have taken to be met for the same wait object, checking
+ * sparingly before then, and backing off exponentially after.
+ *
+ * @author Max Saperstone
+ * @version 3.3.1
+ * @lastupdate 10/19/2026
+ */
+public enum PollingStrategy {
+    FIXED {
+        @Override
+        public long nextPoll(long poll, long maxPoll, int polls, long elapsed, double expectedTime) {
+            return poll;
+        }
+    },
+    EXPONENTIAL {
+        @Override
+        public long nextPoll(long poll, long maxPoll, int polls, long elapsed, double expectedTime) {
+            return backOff(poll, maxPoll, polls);
+        }
+    },
+    ADAPTIVE {
+        @Override
+        public long nextPoll(long poll, long maxPoll, int polls, long elapsed, double expectedTime) {
+            if (expectedTime <= 0) {
+                return backOff(poll, maxPoll, polls);
+            }
+            if (elapsed < expectedTime) {
+                // check a handful of times before the condition is typically met
+                return Math.min(Math.max(poll, (long) (expectedTime / EXPECTED_CHECKS)), maxPoll);
+            }
+            return backOff(poll, maxPoll, (int) ((elapsed - expectedTime) / Math.max(poll, 1)));
+        }
+    };
+
+    // how many times to check before the adaptive expected time is reached
+    private static final int EXPECTED_CHECKS = 4;
+
+    /**
+     * Determines how long to wait before checking the condition again
+     *
+     * @param poll         - the poll interval provided for the wait, in milliseconds
+     * @param maxPoll      - the longest the interval is allowed to grow to, in milliseconds
+     * @param polls        - how many times the condition has already been checked
+     * @param elapsed      - how long the wait has gone on for, in milliseconds
+     * @param expectedTime - how long conditions have previously taken to be met for this wait
+     *                     object, in milliseconds, or 0 if unknown. Only the adaptive strategy
+     *                     makes use of this
+     * @return Long: the number of milliseconds to wait before checking again
+     */
+    public abstract long nextPoll(long poll, long maxPoll, int polls, long elapsed, double expectedTime);
+
+    /**
+     * Doubles the poll interval for each check, never going beyond the
+     * maximum poll, or below the initial poll
+     *
+     * @param poll    - the initial poll interval, in milliseconds
+     * @param maxPoll - the longest the interval is allowed to grow to, in milliseconds
+     * @param polls   - how many times the interval should be doubled
+     * @return Long: the number of milliseconds to wait before checking again
+     */
+    private static long backOff(long poll, long maxPoll, int polls) {
+        long next = poll;
+        for (int i = 0; i < polls && next < maxPoll; i++) {
+            next *= 2;
+        }
+        return Math.max(poll, Math.min(next, maxPoll));
+    }
+
+    /**
+     * Determines the polling strategy from its name, ignoring case
+     *
+     * @param strategy - the name of the strategy
+     * @return PollingStrategy: the matching strategy, or null if none match
+     */
+    public static PollingStrategy lookup(String strategy) {
+        for (PollingStrategy pollingStrategy : PollingStrategy.values()) {
+            if (pollingStrategy.name().equalsIgnoreCase(strategy)) {
+                return pollingStrategy;
+            }
+        }
+        return null;
+    }
+}
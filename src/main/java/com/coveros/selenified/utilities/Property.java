@@ -50,6 +50,16 @@ public class Property {
     private static final String PROXY_ISNT_SET = "Proxy isn't set";
     private static final double WAIT = 5;       //in seconds
     private static final long POLL = 50;        //in milliseconds
+    private static final long MAX_POLL_DEFAULT = 1000;     //in milliseconds
+    private static final String POOLED = "pooled";
+    private static final String URL_CONNECTION = "urlconnection";
+    private static final String REPLAY = "replay";
+    private static final String RECORD = "record";
+    private static final int MAX_PER_ROUTE = 20;
+    private static final int ASYNC_THREADS_DEFAULT = 20;
+    private static final int REPORT_BODY_LIMIT_DEFAULT = 100000;     //in characters
+    private static final int HTTP_CACHE_SIZE_DEFAULT = 0;     //in megabytes
+    private static final long MATCH_TIMEOUT_DEFAULT = 0;     //in milliseconds
 
     private Property() {
     }
@@ -68,6 +78,17 @@ public class Property {
     public static final String HEADLESS = "headless";
     public static final String OPTIONS = "options";
     public static final String BUILD_NAME = "buildName";
+    public static final String EVENT_WAITS = "eventWaits";
+    public static final String POLLING_STRATEGY = "pollingStrategy";
+    public static final String MAX_POLL = "maxPoll";
+    public static final String HTTP_TRANSPORT = "httpTransport";
+    public static final String HTTP_MAX_PER_ROUTE = "httpMaxPerRoute";
+    public static final String ASYNC_THREADS = "asyncThreads";
+    public static final String REPORT_BODY_LIMIT = "reportBodyLimit";
+    public static final String HTTP_CACHE_SIZE = "httpCacheSize";
+    public static final String MATCH_TIMEOUT = "matchTimeout";
+    public static final String HTTP_CASSETTE = "httpCassette";
+    public static final String HTTP_CASSETTE_MODE = "httpCassetteMode";
 
     /**
      * Retrieves the specified program property. if it exists from the system properties, that is returned, overridding
@@ -313,6 +334,240 @@ public class Property {
         }
     }
 
+    /**
+     * Retrieves the polling strategy. if it is set via a system property, that is used, if it is set via program
+     * property, that is used, otherwise, it uses fixed polling
+     *
+     * @return PollingStrategy: how waits should space out checking their conditions
+     */
+    public static PollingStrategy getPollingStrategy() {
+        String pollingStrategy = getProgramProperty(POLLING_STRATEGY);
+        if (pollingStrategy == null || "".equals(pollingStrategy)) {
+            return PollingStrategy.FIXED;
+        }
+        PollingStrategy strategy = PollingStrategy.lookup(pollingStrategy);
+        if (strategy == null) {
+            log.error("Provided polling strategy needs to be one of fixed, exponential, or adaptive.");
+            return PollingStrategy.FIXED;
+        }
+        return strategy;
+    }
+
+    /**
+     * Retrieves the maximum poll. if it is set via a system property, that is used, if it is set via program
+     * property, that is used, otherwise, it uses the default
+     *
+     * @return Long: the most milliseconds exponential or adaptive polling will wait between checks
+     */
+    public static long getMaxPoll() {
+        String maxPoll = getProgramProperty(MAX_POLL);
+        if (maxPoll == null || "".equals(maxPoll)) {
+            return MAX_POLL_DEFAULT;
+        }
+        try {
+            return Long.valueOf(maxPoll);
+        } catch (Exception e) {
+            log.error("Provided max poll needs to be a long. " + e);
+            return MAX_POLL_DEFAULT;
+        }
+    }
+
+    /**
+     * Determines if waits should listen for changes in the browser to determine when to check their condition,
+     * instead of polling for it. Browsers which don't support this will fall back to polling
+     *
+     * @return boolean: use event waits or not
+     */
+    public static boolean useEventWaits() {
+        String eventWaits = getProgramProperty(EVENT_WAITS);
+        if (eventWaits == null) {
+            return false;
+        }
+        if ("".equals(eventWaits)) {
+            return true;
+        }
+        return "true".equalsIgnoreCase(eventWaits);
+    }
+
+    /**
+     * Retrieves the transport used to make web service calls. if it is set via a system property, that is used, if
+     * it is set via program property, that is used, otherwise, the pooled transport is used
+     *
+     * @return String: either pooled or urlconnection
+     */
+    public static String getHttpTransport() {
+        String httpTransport = getProgramProperty(HTTP_TRANSPORT);
+        if (httpTransport == null || "".equals(httpTransport)) {
+            return POOLED;
+        }
+        if (!POOLED.equalsIgnoreCase(httpTransport) && !URL_CONNECTION.equalsIgnoreCase(httpTransport)) {
+            log.error("Provided http transport needs to be either pooled or urlconnection.");
+            return POOLED;
+        }
+        return httpTransport.toLowerCase();
+    }
+
+    /**
+     * Retrieves the maximum number of web service calls which can be made to the same host at once. if it is set
+     * via a system property, that is used, if it is set via program property, that is used, otherwise, it uses the
+     * default
+     *
+     * @return Integer: the most calls to make to a single host at once
+     */
+    public static int getHttpMaxPerRoute() {
+        String maxPerRoute = getProgramProperty(HTTP_MAX_PER_ROUTE);
+        if (maxPerRoute == null || "".equals(maxPerRoute)) {
+            return MAX_PER_ROUTE;
+        }
+        try {
+            int max = Integer.valueOf(maxPerRoute);
+            if (max > 0) {
+                return max;
+            }
+        } catch (Exception e) {
+            log.error("Provided http max per route needs to be an integer. " + e);
+            return MAX_PER_ROUTE;
+        }
+        log.error("Provided http max per route needs to be positive.");
+        return MAX_PER_ROUTE;
+    }
+
+    /**
+     * Retrieves the number of threads used to make asynchronous web service calls. if it is set via a system
+     * property, that is used, if it is set via program property, that is used, otherwise, it uses the default
+     *
+     * @return Integer: the most asynchronous calls to make at once
+     */
+    public static int getAsyncThreads() {
+        String asyncThreads = getProgramProperty(ASYNC_THREADS);
+        if (asyncThreads == null || "".equals(asyncThreads)) {
+            return ASYNC_THREADS_DEFAULT;
+        }
+        try {
+            int threads = Integer.valueOf(asyncThreads);
+            if (threads > 0) {
+                return threads;
+            }
+        } catch (Exception e) {
+            log.error("Provided async threads needs to be an integer. " + e);
+            return ASYNC_THREADS_DEFAULT;
+        }
+        log.error("Provided async threads needs to be positive.");
+        return ASYNC_THREADS_DEFAULT;
+    }
+
+    /**
+     * Retrieves the most characters of a request payload or response body to write into the output file. Anything
+     * larger is cut off, and written in full to a side file. if it is set via a system property, that is used, if
+     * it is set via program property, that is used, otherwise, it uses the default
+     *
+     * @return Integer: the most characters of a payload or body to write into the output file
+     */
+    public static int getReportBodyLimit() {
+        String reportBodyLimit = getProgramProperty(REPORT_BODY_LIMIT);
+        if (reportBodyLimit == null || "".equals(reportBodyLimit)) {
+            return REPORT_BODY_LIMIT_DEFAULT;
+        }
+        try {
+            int limit = Integer.valueOf(reportBodyLimit);
+            if (limit > 0) {
+                return limit;
+            }
+        } catch (Exception e) {
+            log.error("Provided report body limit needs to be an integer. " + e);
+            return REPORT_BODY_LIMIT_DEFAULT;
+        }
+        log.error("Provided report body limit needs to be positive.");
+        return REPORT_BODY_LIMIT_DEFAULT;
+    }
+
+    /**
+     * Retrieves the size of the response cache shared by every web services
+     * call in the suite. if it is set via a system property, that is used, if
+     * it is set via program property, that is used, otherwise, it uses the
+     * default, which turns off caching
+     *
+     * @return Integer: the most megabytes of get responses to cache, 0 if they aren't cached
+     */
+    public static int getHttpCacheSize() {
+        String cacheSize = getProgramProperty(HTTP_CACHE_SIZE);
+        if (cacheSize == null || "".equals(cacheSize)) {
+            return HTTP_CACHE_SIZE_DEFAULT;
+        }
+        try {
+            int size = Integer.valueOf(cacheSize);
+            if (size >= 0) {
+                return size;
+            }
+        } catch (Exception e) {
+            log.error("Provided http cache size needs to be an integer. " + e);
+            return HTTP_CACHE_SIZE_DEFAULT;
+        }
+        log.error("Provided http cache size can't be negative.");
+        return HTTP_CACHE_SIZE_DEFAULT;
+    }
+
+    /**
+     * Retrieves the most time a matches check can spend matching its pattern
+     * before giving up. if it is set via a system property, that is used, if
+     * it is set via program property, that is used, otherwise, matching never
+     * gives up
+     *
+     * @return Long: the most milliseconds to spend matching, 0 if matching never gives up
+     */
+    public static long getMatchTimeout() {
+        String matchTimeout = getProgramProperty(MATCH_TIMEOUT);
+        if (matchTimeout == null || "".equals(matchTimeout)) {
+            return MATCH_TIMEOUT_DEFAULT;
+        }
+        try {
+            long timeout = Long.valueOf(matchTimeout);
+            if (timeout >= 0) {
+                return timeout;
+            }
+        } catch (Exception e) {
+            log.error("Provided match timeout needs to be an integer. " + e);
+            return MATCH_TIMEOUT_DEFAULT;
+        }
+        log.error("Provided match timeout can't be negative.");
+        return MATCH_TIMEOUT_DEFAULT;
+    }
+
+    /**
+     * Retrieves the directory of the cassette web service calls are recorded
+     * to, or replayed from. if it is set via a system property, that is used,
+     * if it is set via program property, that is used, otherwise, calls are
+     * neither recorded nor replayed
+     *
+     * @return String: the cassette directory, null if calls aren't recorded or replayed
+     */
+    public static String getHttpCassette() {
+        String cassette = getProgramProperty(HTTP_CASSETTE);
+        if (cassette == null || "".equals(cassette)) {
+            return null;
+        }
+        return cassette;
+    }
+
+    /**
+     * Retrieves whether web service calls are recorded to, or replayed from,
+     * the cassette. if it is set via a system property, that is used, if it is
+     * set via program property, that is used, otherwise, calls are replayed
+     *
+     * @return String: either record or replay
+     */
+    public static String getHttpCassetteMode() {
+        String cassetteMode = getProgramProperty(HTTP_CASSETTE_MODE);
+        if (cassetteMode == null || "".equals(cassetteMode)) {
+            return REPLAY;
+        }
+        if (!REPLAY.equalsIgnoreCase(cassetteMode) && !RECORD.equalsIgnoreCase(cassetteMode)) {
+            log.error("Provided http cassette mode needs to be either record or replay.");
+            return REPLAY;
+        }
+        return cassetteMode.toLowerCase();
+    }
+
     /**
      * Determines if build name is set.
      *
@@ -21,6 +21,8 @@
 package com.coveros.selenified.utilities;
 
 import com.coveros.selenified.Browser;
+import com.coveros.selenified.utilities.LatencyMetrics.Histogram;
+import com.coveros.selenified.utilities.LatencyMetrics.Phase;
 import org.apache.commons.lang3.StringUtils;
 import org.openqa.selenium.logging.LogEntries;
 import org.openqa.selenium.logging.LogEntry;
@@ -50,7 +52,7 @@ import static java.nio.file.Files.newBufferedWriter;
  *
  * @author Max Saperstone
  * @version 3.3.1
- * @lastupdate 8/08/2019
+ * @lastupdate 10/19/2026
  */
 public class ReportOverview extends EmailableReporter2 {
 
@@ -60,6 +62,8 @@ public class ReportOverview extends EmailableReporter2 {
     private static final String DANGER = "danger";
     private static final String TR = "</tr>";
     private static final String FILE_NAME = "report.html";
+    private static final String LATENCY_FILE_NAME = "latency.json";
+    private static final String WAITS_FILE_NAME = "waits.json";
     private NumberFormat integerFormat = NumberFormat.getIntegerInstance();
 
     private String outputDirectory;
@@ -91,6 +95,44 @@ public class ReportOverview extends EmailableReporter2 {
         writeDocumentEnd();
 
         writer.close();
+        writeLatencyMetrics(outputDirectory);
+        writeWaitMetrics(outputDirectory);
+    }
+
+    /**
+     * Writes out the latency percentiles of each web services endpoint called
+     * during the run as json, so they can be tracked from run to run. Nothing
+     * is written if no calls were made
+     *
+     * @param outdir - the output directory to save the metrics file to
+     */
+    private void writeLatencyMetrics(String outdir) {
+        if (LatencyMetrics.getEndpoints().isEmpty()) {
+            return;
+        }
+        try (BufferedWriter out = newBufferedWriter(new File(outdir, LATENCY_FILE_NAME).toPath(), UTF_8)) {
+            out.write(LatencyMetrics.toJson());
+        } catch (IOException e) {
+            log.error("Unable to write latency metrics", e);
+        }
+    }
+
+    /**
+     * Writes out how many waits were made during the run, how many times they
+     * checked their conditions, and how long those took to be met, as json,
+     * so waits can be tuned. Nothing is written if no waits were made
+     *
+     * @param outdir - the output directory to save the metrics file to
+     */
+    private void writeWaitMetrics(String outdir) {
+        if (Poller.getWaits() == 0) {
+            return;
+        }
+        try (BufferedWriter out = newBufferedWriter(new File(outdir, WAITS_FILE_NAME).toPath(), UTF_8)) {
+            out.write(Poller.toJson());
+        } catch (IOException e) {
+            log.error("Unable to write wait metrics", e);
+        }
     }
 
     /**
@@ -143,6 +185,8 @@ public class ReportOverview extends EmailableReporter2 {
         writer.println("    <body>");
         writer.println("        <h1 style='text-align:center;'>Selenified Test Results</h1>");
         writeSuiteSummary();
+        writeLatencySummary();
+        writeWaitSummary();
         writeScenarioDetails();
         writer.println("    </body>");
     }
@@ -193,6 +237,77 @@ public class ReportOverview extends EmailableReporter2 {
         writer.println("        </div>");
     }
 
+    /**
+     * Generates a summary of how long the calls to each web services endpoint
+     * took, across the whole run. Nothing is written if no calls were made
+     */
+    private void writeLatencySummary() {
+        Map<String, Map<Phase, Histogram>> endpoints = LatencyMetrics.getEndpoints();
+        if (endpoints.isEmpty()) {
+            return;
+        }
+        writer.println("        <div class='container'>");
+        writer.println("            <table class='table table-bordered' style='width:100%;'>");
+        writer.println("                <thead>");
+        writer.print("                    <tr>");
+        headerCell("Endpoint");
+        headerCell("Calls");
+        headerCell("p50");
+        headerCell("p95");
+        headerCell("p99");
+        headerCell("Max");
+        writer.println(TR);
+        writer.println("                </thead>");
+        writer.println("                <tbody>");
+        for (Map.Entry<String, Map<Phase, Histogram>> endpoint : endpoints.entrySet()) {
+            Histogram total = endpoint.getValue().get(Phase.TOTAL);
+            writer.print("<tr>");
+            cell(Utils.escapeHtml(endpoint.getKey()));
+            cell(integerFormat.format(total.getCount()));
+            cell(LatencyMetrics.formatMillis(total.getValueAtPercentile(50)));
+            cell(LatencyMetrics.formatMillis(total.getValueAtPercentile(95)));
+            cell(LatencyMetrics.formatMillis(total.getValueAtPercentile(99)));
+            cell(LatencyMetrics.formatMillis(total.getMax()));
+            writer.println(TR);
+        }
+        writer.println("                </tbody>");
+        writer.println("            </table>");
+        writer.println("        </div>");
+    }
+
+    /**
+     * Generates a summary of the waits made across the whole run, to help
+     * tune the polling used. Nothing is written if no waits were made
+     */
+    private void writeWaitSummary() {
+        long waits = Poller.getWaits();
+        if (waits == 0) {
+            return;
+        }
+        writer.println("        <div class='container'>");
+        writer.println("            <table class='table table-bordered' style='width:100%;'>");
+        writer.println("                <thead>");
+        writer.print("                    <tr>");
+        headerCell("Waits");
+        headerCell("Timed Out");
+        headerCell("Polls");
+        headerCell("Polls per Wait");
+        headerCell("Average Time to True");
+        writer.println(TR);
+        writer.println("                </thead>");
+        writer.println("                <tbody>");
+        writer.print("<tr>");
+        cell(integerFormat.format(waits));
+        cell(integerFormat.format(Poller.getTimeouts()));
+        cell(integerFormat.format(Poller.getPolls()));
+        cell(String.format("%.2f", (double) Poller.getPolls() / waits));
+        cell(String.format("%.2fms", Poller.getAverageTimeToTrue()));
+        writer.println(TR);
+        writer.println("                </tbody>");
+        writer.println("            </table>");
+        writer.println("        </div>");
+    }
+
     /**
      * Creates a table with each test case run and it's details
      */
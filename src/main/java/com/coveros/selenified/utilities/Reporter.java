@@ -26,17 +26,25 @@ import com.coveros.selenified.Capabilities;
 import com.coveros.selenified.application.App;
 import com.coveros.selenified.exceptions.InvalidBrowserException;
 import com.coveros.selenified.exceptions.InvalidProxyException;
+import com.coveros.selenified.services.Download;
 import com.coveros.selenified.services.HTTP;
+import com.coveros.selenified.services.JsonDiff;
+import com.coveros.selenified.services.JsonSchema;
 import com.coveros.selenified.services.Request;
 import com.coveros.selenified.services.Response;
+import com.coveros.selenified.services.ResponseCache;
+import com.coveros.selenified.services.RetryPolicy;
+import com.coveros.selenified.services.Timing;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
 import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
 import org.openqa.selenium.logging.LogEntries;
 import org.openqa.selenium.logging.LogType;
 import org.testng.log4testng.Logger;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -58,7 +66,7 @@ import static com.coveros.selenified.utilities.Constants.END_IDIV;
  *
  * @author Max Saperstone
  * @version 3.3.1
- * @lastupdate 8/18/2019
+ * @lastupdate 10/19/2026
  */
 public class Reporter {
 
@@ -75,6 +83,9 @@ public class Reporter {
     private static final String DISPLAY_NONE = "' style='display:none;'>";
     private static final String DIV = "<div>";
     private static final String END_DIV = "</div>";
+    // responses are remembered only as long as they're still in use
+    private static final Map<Response, String> FORMATTED_RESPONSES = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Map<Response, String> RAW_RESPONSES = Collections.synchronizedMap(new WeakHashMap<>());
 
 
     // the image width for reporting
@@ -138,6 +149,38 @@ public class Reporter {
         createOutputHeader();
     }
 
+    /**
+     * Creates a reporter which doesn't write out an output file, for reporters
+     * which only need to keep track of the steps performed, without their
+     * details
+     *
+     * @param test - a string value of the test name, typically the method name
+     */
+    protected Reporter(String test) {
+        this.directory = ".";
+        this.test = test;
+        this.capabilities = null;
+        this.url = null;
+        this.suite = null;
+        this.groups = new ArrayList<>();
+        this.author = null;
+        this.version = null;
+        this.objectives = null;
+        filename = test;
+        file = null;
+        setStartTime();
+    }
+
+    /**
+     * Determines if the details of each step are written out. If they aren't,
+     * steps don't need their results formatted
+     *
+     * @return Boolean: are the details of each step written to the output file
+     */
+    public boolean isDetailed() {
+        return true;
+    }
+
     /**
      * Retrieves the directory in string form of the output files
      *
@@ -385,7 +428,6 @@ public class Reporter {
      *                 will be returned unaltered
      */
     public void pass(String check, double waitFor, String actual, double timeTook) {
-        passes++;
         recordStep(getAction(check, waitFor), "Expected " + check, getActual(actual, timeTook), true, Success.PASS);
     }
 
@@ -405,7 +447,6 @@ public class Reporter {
      *                 will be returned unaltered
      */
     public void fail(String check, double waitFor, String actual, double timeTook) {
-        fails++;
         recordStep(getAction(check, waitFor), "Expected " + check, getActual(actual, timeTook), true, Success.FAIL);
     }
 
@@ -418,7 +459,6 @@ public class Reporter {
      * @param actualResult   - the result that actually occurred
      */
     public void pass(String action, String expectedResult, String actualResult) {
-        passes++;
         recordStep(action, expectedResult, actualResult, false, Success.PASS);
     }
 
@@ -432,7 +472,6 @@ public class Reporter {
      * @param actualResult   - the result that actually occurred
      */
     public void check(String action, String expectedResult, String actualResult) {
-        checks++;
         recordStep(action, expectedResult, actualResult, true, Success.CHECK);
     }
 
@@ -446,7 +485,6 @@ public class Reporter {
      * @param actualResult   - the result that actually occurred
      */
     public void fail(String action, String expectedResult, String actualResult) {
-        fails++;
         recordStep(action, expectedResult, actualResult, true, Success.FAIL);
     }
 
@@ -461,7 +499,19 @@ public class Reporter {
      * @param screenshot     - should a screenshot be taken
      * @param success        - the result of the action
      */
-    private void recordStep(String action, String expectedResult, String actualResult, Boolean screenshot, Success success) {
+    private synchronized void recordStep(String action, String expectedResult, String actualResult, Boolean screenshot, Success success) {
+        // steps may be recorded from asynchronous calls, so the counts are kept together with the step number
+        switch (success) {
+            case PASS:
+                passes++;
+                break;
+            case FAIL:
+                fails++;
+                break;
+            case CHECK:
+                checks++;
+                break;
+        }
         stepNum++;
         String imageLink = "";
         if (screenshot && isRealBrowser()) {
@@ -827,7 +877,9 @@ public class Reporter {
     }
 
     /**
-     * Formats the response parameters to be 'prettily' printed out in HTML
+     * Formats the response parameters to be 'prettily' printed out in HTML. As
+     * the same response is often checked several times, the formatted response
+     * is remembered, so it is only built once
      *
      * @param response - the http response to be formatted.
      * @return String: a 'prettily' formatted string that is HTML safe to output
@@ -836,19 +888,64 @@ public class Reporter {
         if (response == null) {
             return "";
         }
-        StringBuilder output = new StringBuilder();
-        if (response.isData()) {
-            output.append(DIV_I);
-            Gson gson = new GsonBuilder().setPrettyPrinting().create();
-            if (response.getArrayData() != null) {
-                output.append(gson.toJson(response.getArrayData()));
-            }
-            if (response.getObjectData() != null) {
-                output.append(gson.toJson(response.getObjectData()));
+        return FORMATTED_RESPONSES.computeIfAbsent(response, Reporter::buildFormattedResponse);
+    }
+
+    /**
+     * Builds the 'prettily' formatted response. If the response data is larger
+     * than the reportBodyLimit property, only the start of it is included, with
+     * the full data written to a side file
+     *
+     * @param response - the http response to be formatted.
+     * @return String: a 'prettily' formatted string that is HTML safe to output
+     */
+    private static String buildFormattedResponse(Response response) {
+        if (!response.isData()) {
+            return "";
+        }
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        StringBuilder data = new StringBuilder();
+        if (response.getArrayData() != null) {
+            data.append(gson.toJson(response.getArrayData()));
+        }
+        if (response.getObjectData() != null) {
+            data.append(gson.toJson(response.getObjectData()));
+        }
+        return DIV_I + limitOutput(data.toString(), response.getReporter(), "response", true) + END_IDIV;
+    }
+
+    /**
+     * Limits the content written into the output file to the reportBodyLimit
+     * property. Content over the limit is cut off, and, if a reporter is
+     * provided, written in full to a side file next to the output file, with a
+     * link to it added
+     *
+     * @param content  - the content to write into the output file
+     * @param reporter - the output file the content is being written to
+     * @param type     - what the content is, used to name the side file
+     * @param format   - should the content be made HTML friendly
+     * @return String: the content, limited to the configured size
+     */
+    private static String limitOutput(String content, Reporter reporter, String type, boolean format) {
+        int limit = Property.getReportBodyLimit();
+        if (content.length() <= limit) {
+            return format ? formatHTML(content) : content;
+        }
+        String shortened = content.substring(0, limit);
+        StringBuilder output = new StringBuilder(format ? formatHTML(shortened) : shortened);
+        output.append("<div><b>Truncated after ").append(limit).append(" of ").append(content.length());
+        output.append(" characters.</b>");
+        if (reporter != null) {
+            String sideFile = reporter.getFileName() + "_" + type + "_" + getUUID() + ".txt";
+            try {
+                Files.write(new File(reporter.getDirectory(), sideFile).toPath(), content.getBytes(StandardCharsets.UTF_8));
+                output.append(" <a href='").append(sideFile).append("' target='_blank'>View full ").append(type).append("</a>");
+            } catch (IOException e) {
+                log.error(e);
             }
-            output.append(END_IDIV);
         }
-        return formatHTML(output.toString());
+        output.append(END_DIV);
+        return output.toString();
     }
 
     /**
@@ -896,6 +993,22 @@ public class Reporter {
      * @return String: a 'prettily' formatted string that is HTML safe to output
      */
     public static String getRequestPayloadOutput(Request params, File file) {
+        return getRequestPayloadOutput(params, file, null);
+    }
+
+    /**
+     * Formats the request parameters to be 'prettily' printed out in HTML. If the
+     * json payload is larger than the reportBodyLimit property, only the start of
+     * it is included, with the full payload written to a side file next to the
+     * output file
+     *
+     * @param params   - the parameters to be formatted. Either a JSON object, or a
+     *                 hashmap
+     * @param file     - an input file provided with the call
+     * @param reporter - the output file the payload is being written to
+     * @return String: a 'prettily' formatted string that is HTML safe to output
+     */
+    public static String getRequestPayloadOutput(Request params, File file, Reporter reporter) {
         StringBuilder payload = new StringBuilder();
         String uuid = getUUID();
         payload.append(ONCLICK_TOGGLE).append(uuid).append("\")'>Toggle Payload</a> ");
@@ -903,7 +1016,7 @@ public class Reporter {
         if (params != null && params.getJsonPayload() != null) {
             Gson gson = new GsonBuilder().setPrettyPrinting().create();
             payload.append(DIV);
-            payload.append(formatHTML(gson.toJson(params.getJsonPayload())));
+            payload.append(limitOutput(gson.toJson(params.getJsonPayload()), reporter, "payload", true));
             payload.append(END_DIV);
         }
         if (params != null && params.getMultipartData() != null) {
@@ -1016,12 +1129,17 @@ public class Reporter {
 
     /**
      * Takes the response returned from the HTTP call, and writes it to the output
-     * file, in properly HTML formatted fashion
+     * file, in properly HTML formatted fashion. As the same response is often
+     * checked several times, the limited response is remembered, so any side
+     * file is only written once
      *
      * @param response - the response object obtained from the call
      * @return String: an HTML formatted string with headers
      */
     public static String getResponseOutput(Response response) {
+        if (response != null && response.getDownload() != null) {
+            return getDownloadOutput(response.getDownload());
+        }
         if (response == null || response.getMessage() == null || "".equals(response.getMessage())) {
             return "";
         }
@@ -1029,11 +1147,252 @@ public class Reporter {
         String uuid = getUUID();
         responseOutput.append(ONCLICK_TOGGLE).append(uuid).append("\")'>Toggle Raw Response</a> ");
         responseOutput.append(SPAN_ID).append(uuid).append(DISPLAY_NONE);
-        responseOutput.append(DIV).append(response.getMessage()).append(END_DIV);
+        // the raw response is limited only once, so only one side file is written, no matter how often it's checked
+        String raw = RAW_RESPONSES.computeIfAbsent(response, r -> limitOutput(r.getMessage(), r.getReporter(), "response", false));
+        responseOutput.append(DIV).append(raw).append(END_DIV);
         responseOutput.append(END_SPAN);
         return responseOutput.toString();
     }
 
+    /**
+     * Takes the download streamed out from the HTTP call, and writes what was
+     * downloaded to the output file, in properly HTML formatted fashion
+     *
+     * @param download - the description of the streamed response body
+     * @return String: an HTML formatted string with the download details
+     */
+    public static String getDownloadOutput(Download download) {
+        StringBuilder downloadOutput = new StringBuilder();
+        downloadOutput.append(DIV).append("Downloaded <i>").append(download.getSize()).append(" bytes</i>");
+        if (download.getFile() != null) {
+            downloadOutput.append(" to <i>").append(download.getFile().getAbsolutePath()).append("</i>");
+        }
+        downloadOutput.append(" in <i>").append(download.getDuration()).append("ms</i> (<i>");
+        downloadOutput.append(download.getThroughput()).append(" bytes/s</i>)").append(END_DIV);
+        downloadOutput.append(DIV).append("SHA-256: <i>").append(download.getChecksum()).append("</i>").append(END_DIV);
+        downloadOutput.append(DIV).append("Lines: <i>").append(download.getLineCount()).append("</i>").append(END_DIV);
+        return downloadOutput.toString();
+    }
+
+    /**
+     * Takes the attempts made for the HTTP call, and writes each of them to the
+     * output file, in properly HTML formatted fashion. Nothing is written if the
+     * call was made just once
+     *
+     * @param response - the response object obtained from the call
+     * @return String: an HTML formatted string with the attempts
+     */
+    public static String getAttemptsOutput(Response response) {
+        if (response == null || response.getAttempts().isEmpty() ||
+                (response.getAttempts().size() == 1 && response.getAttempts().get(0).getHedgedAfter() < 0)) {
+            return "";
+        }
+        StringBuilder attemptsOutput = new StringBuilder();
+        attemptsOutput.append(DIV).append("Attempts: <i>").append(response.getAttempts().size()).append("</i>").append(END_DIV);
+        for (RetryPolicy.Attempt attempt : response.getAttempts()) {
+            attemptsOutput.append("<div class='indent'>").append(attempt.getNumber()).append(". ");
+            if (attempt.getFailure() != null) {
+                attemptsOutput.append("failed with <i>").append(attempt.getFailure()).append("</i>");
+            } else {
+                attemptsOutput.append("returned <i>").append(attempt.getCode()).append("</i>");
+            }
+            attemptsOutput.append(" in <i>").append(attempt.getDuration()).append("ms</i>");
+            if (attempt.getHedgedAfter() >= 0) {
+                attemptsOutput.append(", hedged after <i>").append(attempt.getHedgedAfter()).append("ms</i>");
+            }
+            if (attempt.getBackoff() > 0) {
+                attemptsOutput.append(", retried after <i>").append(attempt.getBackoff()).append("ms</i>");
+            }
+            attemptsOutput.append(END_DIV);
+        }
+        return attemptsOutput.toString();
+    }
+
+    /**
+     * Takes the structural differences found between two json payloads, and
+     * writes each path which differs to the output file, in properly HTML
+     * formatted fashion. Long values are shortened, so a large payload doesn't
+     * swamp the report
+     *
+     * @param diff - the differences found between the json payloads
+     * @return String: an HTML formatted string with the differences
+     */
+    public static String getDiffOutput(JsonDiff diff) {
+        if (diff == null || diff.isEqual()) {
+            return "";
+        }
+        StringBuilder diffOutput = new StringBuilder();
+        diffOutput.append(DIV).append("Found <i>").append(diff.getDifferenceCount()).append("</i> difference");
+        diffOutput.append(diff.getDifferenceCount() == 1 ? "" : "s").append(":").append(END_DIV);
+        for (JsonDiff.Difference difference : diff.getDifferences()) {
+            diffOutput.append("<div class='indent'><i>").append(formatHTML(difference.getPath())).append("</i>");
+            switch (difference.getType()) {
+                case MISSING:
+                    diffOutput.append(" is missing, expected <i>").append(formatDiffValue(difference.getExpected()));
+                    break;
+                case UNEXPECTED:
+                    diffOutput.append(" wasn't expected, found <i>").append(formatDiffValue(difference.getActual()));
+                    break;
+                default:
+                    diffOutput.append(": expected <i>").append(formatDiffValue(difference.getExpected()));
+                    diffOutput.append("</i>, found <i>").append(formatDiffValue(difference.getActual()));
+            }
+            diffOutput.append("</i>").append(END_DIV);
+        }
+        int remaining = diff.getDifferenceCount() - diff.getDifferences().size();
+        if (remaining > 0) {
+            diffOutput.append("<div class='indent'>and <i>").append(remaining).append("</i> more").append(END_DIV);
+        }
+        return diffOutput.toString();
+    }
+
+    /**
+     * Takes the violations found validating a json payload against a json
+     * schema, and writes each of them, with its path, to the output file, in
+     * properly HTML formatted fashion
+     *
+     * @param violations - the violations found validating the payload
+     * @return String: an HTML formatted string with the violations
+     */
+    public static String getSchemaOutput(List<JsonSchema.Violation> violations) {
+        if (violations == null || violations.isEmpty()) {
+            return "";
+        }
+        StringBuilder schemaOutput = new StringBuilder();
+        schemaOutput.append(DIV).append("Found <i>").append(violations.size()).append("</i> schema violation");
+        schemaOutput.append(violations.size() == 1 ? "" : "s").append(":").append(END_DIV);
+        for (JsonSchema.Violation violation : violations) {
+            schemaOutput.append("<div class='indent'><i>").append(formatHTML(violation.getPath())).append("</i>: ");
+            schemaOutput.append(formatHTML(violation.getMessage())).append(END_DIV);
+        }
+        return schemaOutput.toString();
+    }
+
+    /**
+     * Compactly writes out a json value from a difference, shortening it if it
+     * is long
+     *
+     * @param value - the json value to write out
+     * @return String: an HTML formatted string with the value
+     */
+    private static String formatDiffValue(JsonElement value) {
+        String compact = String.valueOf(value);
+        if (compact.length() > 100) {
+            compact = compact.substring(0, 100) + "...";
+        }
+        return formatHTML(compact);
+    }
+
+    /**
+     * Takes how the body of the HTTP response was compressed, and writes it to
+     * the output file, in properly HTML formatted fashion. Nothing is written
+     * if the body wasn't compressed
+     *
+     * @param response - the response object obtained from the call
+     * @return String: an HTML formatted string with the compression
+     */
+    public static String getCompressionOutput(Response response) {
+        if (response == null || response.getContentEncoding() == null) {
+            return "";
+        }
+        return DIV + "Compressed with <i>" + response.getContentEncoding() + "</i>: <i>" + response.getTransferSize() +
+                " bytes</i> transferred for <i>" + response.getDecodedSize() + " bytes</i> of content" + END_DIV;
+    }
+
+    /**
+     * Takes how the response to the HTTP call was provided by the response
+     * cache, and writes it to the output file, in properly HTML formatted
+     * fashion. Nothing is written if the response wasn't cached
+     *
+     * @param response - the response object obtained from the call
+     * @return String: an HTML formatted string with the cache status
+     */
+    public static String getCacheOutput(Response response) {
+        if (response == null || response.getCacheStatus() == null) {
+            return "";
+        }
+        if (response.getCacheStatus() == ResponseCache.Status.HIT) {
+            return DIV + "Served from the <i>response cache</i>" + END_DIV;
+        }
+        return DIV + "Served from the <i>response cache</i>, after revalidating it with the server" + END_DIV;
+    }
+
+    /**
+     * Takes how long each phase of the HTTP call took, and writes it to the
+     * output file, in properly HTML formatted fashion
+     *
+     * @param response - the response object obtained from the call
+     * @return String: an HTML formatted string with the timing
+     */
+    public static String getTimingOutput(Response response) {
+        if (response == null || response.getTiming() == null) {
+            return "";
+        }
+        Timing timing = response.getTiming();
+        StringBuilder timingOutput = new StringBuilder();
+        timingOutput.append(DIV).append("Took <i>").append(LatencyMetrics.formatMillis(timing.getTotal())).append("</i> (");
+        if (timing.getConnect() >= 0) {
+            timingOutput.append("connect <i>").append(LatencyMetrics.formatMillis(timing.getConnect())).append("</i>, ");
+        }
+        timingOutput.append("first byte <i>").append(LatencyMetrics.formatMillis(timing.getFirstByte())).append("</i>, ");
+        timingOutput.append("body <i>").append(LatencyMetrics.formatMillis(timing.getBody())).append("</i>)");
+        // parsing isn't part of the call itself, so is kept out of the total
+        if (timing.getParse() >= 0) {
+            timingOutput.append(", then parsed in <i>").append(LatencyMetrics.formatMillis(timing.getParse())).append("</i>");
+        }
+        if (timing.isReplayed()) {
+            timingOutput.append(", replayed");
+        }
+        timingOutput.append(END_DIV);
+        return timingOutput.toString();
+    }
+
+    /**
+     * Takes the responses from a batch of HTTP calls, and writes a summary of
+     * them to the output file, in properly HTML formatted fashion: how many of
+     * each response code were received, why any calls failed, and how long
+     * the calls took
+     *
+     * @param responses - the responses from the calls, null for any which failed
+     * @param failures  - why each failed call failed
+     * @param duration  - how long the whole batch took, in nanoseconds
+     * @return String: an HTML formatted string with the batch summary
+     */
+    public static String getBatchOutput(List<Response> responses, List<Throwable> failures, long duration) {
+        Map<Integer, Integer> codes = new TreeMap<>();
+        LatencyMetrics.Histogram latency = new LatencyMetrics.Histogram();
+        for (Response response : responses) {
+            if (response == null) {
+                continue;
+            }
+            codes.merge(response.getCode(), 1, Integer::sum);
+            if (response.getTiming() != null) {
+                latency.record(response.getTiming().getTotal());
+            }
+        }
+        StringBuilder batchOutput = new StringBuilder();
+        batchOutput.append(DIV).append("Responses:");
+        for (Map.Entry<Integer, Integer> code : codes.entrySet()) {
+            batchOutput.append(" <i>").append(code.getKey()).append("</i> x ").append(code.getValue());
+        }
+        batchOutput.append(END_DIV);
+        if (!failures.isEmpty()) {
+            batchOutput.append(DIV).append("Failed: <i>").append(failures.size()).append("</i>").append(END_DIV);
+            // only a handful of failures are written out, as they're often all the same
+            for (Throwable failure : failures.subList(0, Math.min(failures.size(), 5))) {
+                batchOutput.append("<div class='indent'>").append(formatHTML(failure.getMessage())).append(END_DIV);
+            }
+        }
+        batchOutput.append(DIV).append("Took <i>").append(LatencyMetrics.formatMillis(duration)).append("</i>");
+        if (latency.getCount() > 0) {
+            batchOutput.append(" (p50 <i>").append(LatencyMetrics.formatMillis(latency.getValueAtPercentile(50)));
+            batchOutput.append("</i>, p95 <i>").append(LatencyMetrics.formatMillis(latency.getValueAtPercentile(95)));
+            batchOutput.append("</i>, max <i>").append(LatencyMetrics.formatMillis(latency.getMax())).append("</i>)");
+        }
+        batchOutput.append(END_DIV);
+        return batchOutput.toString();
+    }
+
     /**
      * Generates a unique id
      *
@@ -6,12 +6,32 @@ import com.coveros.selenified.exceptions.InvalidProxyException;
 import com.coveros.selenified.exceptions.InvalidReporterException;
 import com.coveros.selenified.services.Call;
 import com.coveros.selenified.services.HTTP;
+import com.coveros.selenified.services.Request;
+import com.coveros.selenified.services.Response;
+import com.coveros.selenified.services.RetryPolicy;
+import com.coveros.selenified.services.Transport;
+import com.coveros.selenified.utilities.LatencyMetrics;
 import com.coveros.selenified.utilities.Reporter;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+import static org.testng.Assert.*;
 
 public class CallTest {
 
@@ -48,4 +68,297 @@ public class CallTest {
     public void constructorTest() throws InvalidHTTPException, InvalidReporterException {
         new Call(http, new HashMap<>());
     }
+
+    @Test
+    public void asyncTest() throws InvalidHTTPException, InvalidReporterException {
+        HTTP asyncHttp = new HTTP(reporter, "http://localhost");
+        asyncHttp.setTransport(new DelayedTransport());
+        Response response = new Call(asyncHttp, null).async().get("/fast").join();
+        assertEquals(response.getCode(), 200);
+        assertEquals(response.getMessage(), "/fast");
+    }
+
+    @Test
+    public void asyncExecutorTest() throws InvalidHTTPException, InvalidReporterException {
+        HTTP asyncHttp = new HTTP(reporter, "http://localhost");
+        asyncHttp.setTransport(new DelayedTransport());
+        Response response = new Call(asyncHttp, null).async(Executors.newSingleThreadExecutor()).delete("/fast").join();
+        assertEquals(response.getCode(), 200);
+    }
+
+    @Test
+    public void asyncOrderTest() throws InvalidHTTPException, InvalidReporterException, IOException,
+            InvalidBrowserException, InvalidProxyException {
+        Reporter asyncReporter = new Reporter(null, "asyncOrderTest", null, null, null, null, null, null, null);
+        HTTP asyncHttp = new HTTP(asyncReporter, "http://localhost");
+        asyncHttp.setTransport(new DelayedTransport());
+        Call call = new Call(asyncHttp, null);
+        CompletableFuture<Response> slow = call.async().get("/slow");
+        CompletableFuture<Response> fast = call.async().get("/fast");
+        fast.join();
+        assertTrue(slow.isDone());
+        File file = new File(asyncReporter.getFileName() + ".html");
+        String content = new String(Files.readAllBytes(file.toPath()));
+        assertTrue(content.indexOf("localhost/slow") < content.indexOf("localhost/fast"));
+        file.delete();
+    }
+
+    @Test
+    public void asyncThenSyncOrderTest() throws InvalidHTTPException, InvalidReporterException, IOException,
+            InvalidBrowserException, InvalidProxyException {
+        Reporter asyncReporter = new Reporter(null, "asyncThenSyncOrderTest", null, null, null, null, null, null, null);
+        HTTP asyncHttp = new HTTP(asyncReporter, "http://localhost");
+        asyncHttp.setTransport(new DelayedTransport());
+        Call call = new Call(asyncHttp, null);
+        CompletableFuture<Response> slow = call.async().get("/slow");
+        call.get("/fast");
+        assertTrue(slow.isDone());
+        File file = new File(asyncReporter.getFileName() + ".html");
+        String content = new String(Files.readAllBytes(file.toPath()));
+        assertTrue(content.indexOf("localhost/slow") < content.indexOf("localhost/fast"));
+        file.delete();
+    }
+
+    @Test
+    public void asyncFailureTest() throws InvalidHTTPException, InvalidReporterException, InvalidBrowserException,
+            InvalidProxyException {
+        Reporter asyncReporter = new Reporter(null, "asyncFailureTest", null, null, null, null, null, null, null);
+        HTTP asyncHttp = new HTTP(asyncReporter, "http://localhost");
+        asyncHttp.setTransport(new DelayedTransport());
+        assertNull(new Call(asyncHttp, null).async().get("/fail").join());
+        assertEquals(asyncReporter.getFails(), 1);
+        new File(asyncReporter.getFileName() + ".html").delete();
+    }
+
+    @Test
+    public void downloadStreamTest() throws InvalidHTTPException, InvalidReporterException, IOException,
+            InvalidBrowserException, InvalidProxyException {
+        Reporter downloadReporter = new Reporter(null, "downloadStreamTest", null, null, null, null, null, null, null);
+        HTTP downloadHttp = new HTTP(downloadReporter, "http://localhost");
+        downloadHttp.setTransport(new DelayedTransport());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Response response = new Call(downloadHttp, null).download("/export", null, out);
+        assertEquals(out.toString(), "/export");
+        assertEquals(response.getCode(), 200);
+        assertNull(response.getMessage());
+        assertEquals(response.getDownload().getSize(), 7);
+        assertEquals(response.getDownload().getLineCount(), 1);
+        assertNull(response.getDownload().getFile());
+        assertEquals(downloadReporter.getFails(), 0);
+        File file = new File(downloadReporter.getFileName() + ".html");
+        String content = new String(Files.readAllBytes(file.toPath()));
+        assertTrue(content.contains("Downloading to a stream"));
+        assertTrue(content.contains("Downloaded <i>7 bytes</i> in"));
+        assertTrue(content.contains("SHA-256: <i>" + response.getDownload().getChecksum() + "</i>"));
+        file.delete();
+    }
+
+    @Test
+    public void downloadFileTest() throws InvalidHTTPException, InvalidReporterException, IOException,
+            InvalidBrowserException, InvalidProxyException {
+        Reporter downloadReporter = new Reporter(null, "downloadFileTest", null, null, null, null, null, null, null);
+        HTTP downloadHttp = new HTTP(downloadReporter, "http://localhost");
+        downloadHttp.setTransport(new DelayedTransport());
+        File destination = File.createTempFile("download", ".csv");
+        destination.deleteOnExit();
+        Response response = new Call(downloadHttp, null).download("/export", destination);
+        assertEquals(new String(Files.readAllBytes(destination.toPath())), "/export");
+        assertEquals(response.getDownload().getFile(), destination);
+        File file = new File(downloadReporter.getFileName() + ".html");
+        String content = new String(Files.readAllBytes(file.toPath()));
+        assertTrue(content.contains("Downloading to <i>" + destination.getAbsolutePath() + "</i>"));
+        file.delete();
+    }
+
+    @Test
+    public void downloadFailureTest() throws InvalidHTTPException, InvalidReporterException, InvalidBrowserException,
+            InvalidProxyException {
+        Reporter downloadReporter = new Reporter(null, "downloadFailureTest", null, null, null, null, null, null, null);
+        HTTP downloadHttp = new HTTP(downloadReporter, "http://localhost");
+        downloadHttp.setTransport(new DelayedTransport());
+        assertNull(new Call(downloadHttp, null).download("/fail", null, new ByteArrayOutputStream()));
+        assertEquals(downloadReporter.getFails(), 1);
+        new File(downloadReporter.getFileName() + ".html").delete();
+    }
+
+    @Test
+    public void headTest() throws InvalidHTTPException, InvalidReporterException {
+        HTTP methodHttp = new HTTP(reporter, "http://localhost");
+        methodHttp.setTransport(new DelayedTransport());
+        Call call = new Call(methodHttp, null);
+        assertEquals(call.head("/fast").getCode(), 200);
+        assertEquals(call.options("/fast").getCode(), 200);
+        assertEquals(call.async().head("/fast", null).join().getCode(), 200);
+    }
+
+    @Test
+    public void customMethodReportedTest() throws InvalidHTTPException, InvalidReporterException, IOException,
+            InvalidBrowserException, InvalidProxyException {
+        Reporter methodReporter = new Reporter(null, "customMethodReportedTest", null, null, null, null, null, null, null);
+        HTTP methodHttp = new HTTP(methodReporter, "http://localhost");
+        methodHttp.setTransport(new DelayedTransport());
+        Call call = new Call(methodHttp, null);
+        Response response = call.request("PURGE", "/cache", null);
+        assertEquals(response.getMessage(), "/cache");
+        assertEquals(call.async().request("PROPFIND", "/cache", null, null).join().getCode(), 200);
+        File file = new File(methodReporter.getFileName() + ".html");
+        String content = new String(Files.readAllBytes(file.toPath()));
+        assertTrue(content.contains("Making <i>PURGE</i> call to <i>http://localhost/cache</i>"));
+        assertTrue(content.contains("<i>PROPFIND</i> call was performed"));
+        file.delete();
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void invalidMethodTest() throws InvalidHTTPException, InvalidReporterException {
+        new Call(http, null).request("GET ME", "/cache", null);
+    }
+
+    @Test
+    public void retryReportedTest() throws InvalidHTTPException, InvalidReporterException, IOException,
+            InvalidBrowserException, InvalidProxyException {
+        Reporter retryReporter = new Reporter(null, "retryReportedTest", null, null, null, null, null, null, null);
+        HTTP retryHttp = new HTTP(retryReporter, "http://localhost");
+        retryHttp.setTransport(new DelayedTransport());
+        Call call = new Call(retryHttp, null);
+        call.setRetryPolicy(new RetryPolicy().setBackoff(0, 0));
+        Response response = call.get("/flaky");
+        assertEquals(response.getAttempts().size(), 2);
+        assertEquals(retryReporter.getFails(), 0);
+        File file = new File(retryReporter.getFileName() + ".html");
+        try {
+            String content = new String(Files.readAllBytes(file.toPath()));
+            assertTrue(content.contains("<div>Attempts: <i>2</i></div>"));
+            assertTrue(content.contains("1. failed with <i>Connection reset</i> in <i>"));
+            assertTrue(content.contains("2. returned <i>200</i> in <i>"));
+            // the transport doesn't time its connections, so only the first byte onwards is reported
+            assertTrue(content.contains(" (first byte <i>"));
+            assertFalse(content.contains("connect <i>"));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void latencyRecordedTest() throws InvalidHTTPException, InvalidReporterException, IOException,
+            InvalidBrowserException, InvalidProxyException {
+        LatencyMetrics.reset();
+        Reporter latencyReporter = new Reporter(null, "latencyRecordedTest", null, null, null, null, null, null, null);
+        HTTP latencyHttp = new HTTP(latencyReporter, "http://localhost");
+        latencyHttp.setTransport(new DelayedTransport());
+        Call call = new Call(latencyHttp, null);
+        call.setRetryPolicy(new RetryPolicy().setBackoff(0, 0));
+        try {
+            Response response = call.get("/flaky");
+            // only the response which was reported is counted, not the failed attempt
+            assertEquals(LatencyMetrics.getEndpoints().get("GET /flaky").get(LatencyMetrics.Phase.TOTAL).getCount(), 1);
+            assertEquals(LatencyMetrics.getEndpoints().get("GET /flaky").get(LatencyMetrics.Phase.TOTAL).getMax(),
+                    response.getTiming().getTotal());
+        } finally {
+            new File(latencyReporter.getFileName() + ".html").delete();
+            LatencyMetrics.reset();
+        }
+    }
+
+    @Test
+    public void retryExhaustedReportedTest() throws InvalidHTTPException, InvalidReporterException, IOException,
+            InvalidBrowserException, InvalidProxyException {
+        Reporter retryReporter = new Reporter(null, "retryExhaustedReportedTest", null, null, null, null, null, null, null);
+        HTTP retryHttp = new HTTP(retryReporter, "http://localhost");
+        retryHttp.setTransport(new DelayedTransport());
+        Call call = new Call(retryHttp, null);
+        call.setRetryPolicy(new RetryPolicy().setBackoff(0, 0).setMaxAttempts(2));
+        assertNull(call.get("/fail"));
+        assertEquals(retryReporter.getFails(), 1);
+        File file = new File(retryReporter.getFileName() + ".html");
+        String content = new String(Files.readAllBytes(file.toPath()));
+        assertTrue(content.contains("Connection refused (after 2 attempts)"));
+        file.delete();
+    }
+
+    @Test
+    public void batchTest() throws InvalidHTTPException, InvalidReporterException, IOException,
+            InvalidBrowserException, InvalidProxyException {
+        Reporter batchReporter = new Reporter(null, "batchTest", null, null, null, null, null, null, null);
+        HTTP batchHttp = new HTTP(batchReporter, "http://localhost");
+        batchHttp.setTransport(new DelayedTransport());
+        List<Request> requests = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            requests.add(new Request().setUrlParams(Collections.singletonMap("id", i)));
+        }
+        List<Response> responses = new Call(batchHttp, null).batch("/users", requests, 3);
+        assertEquals(responses.size(), 10);
+        for (Response response : responses) {
+            assertEquals(response.getCode(), 200);
+        }
+        assertEquals(batchReporter.getFails(), 0);
+        File file = new File(batchReporter.getFileName() + ".html");
+        String content = new String(Files.readAllBytes(file.toPath()));
+        assertTrue(content.contains("Making <i>10 POST</i> calls to <i>http://localhost/users</i>"));
+        assertTrue(content.contains("<div>Responses: <i>200</i> x 10</div>"));
+        assertFalse(content.contains("Toggle Raw Response"));
+        file.delete();
+    }
+
+    @Test
+    public void batchFailureTest() throws InvalidHTTPException, InvalidReporterException, IOException,
+            InvalidBrowserException, InvalidProxyException {
+        Reporter batchReporter = new Reporter(null, "batchFailureTest", null, null, null, null, null, null, null);
+        HTTP batchHttp = new HTTP(batchReporter, "http://localhost");
+        batchHttp.setTransport(new DelayedTransport());
+        List<Response> responses = new Call(batchHttp, null).batch("/fail",
+                Arrays.asList(new Request(), new Request(), new Request()));
+        assertEquals(responses, Arrays.asList(null, null, null));
+        assertEquals(batchReporter.getFails(), 1);
+        File file = new File(batchReporter.getFileName() + ".html");
+        String content = new String(Files.readAllBytes(file.toPath()));
+        assertTrue(content.contains("<div>Failed: <i>3</i></div><div class='indent'>Connection&nbsp;refused</div>"));
+        file.delete();
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void batchWindowInvalidTest() throws InvalidHTTPException, InvalidReporterException {
+        new Call(http, null).batch("/users", Collections.singletonList(new Request()), 0);
+    }
+
+    private static class DelayedTransport implements Transport {
+        private boolean flaky = true;
+
+        @Override
+        public Exchange send(String method, URL url, Map<String, String> headers, Body body) throws IOException {
+            if (url.getPath().startsWith("/flaky") && flaky) {
+                flaky = false;
+                throw new IOException("Connection reset");
+            }
+            if (url.getPath().startsWith("/fail")) {
+                throw new IOException("Connection refused");
+            }
+            if (url.getPath().startsWith("/slow")) {
+                try {
+                    Thread.sleep(300);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return new Exchange() {
+                @Override
+                public int getCode() {
+                    return 200;
+                }
+
+                @Override
+                public Map<String, List<String>> getHeaders() {
+                    return new HashMap<>();
+                }
+
+                @Override
+                public InputStream getBody() {
+                    return new ByteArrayInputStream(url.getPath().getBytes());
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+    }
 }
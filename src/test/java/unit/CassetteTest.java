@@ -0,0 +1,303 @@
+package unit;
+
+import com.coveros.selenified.services.Cassette;
+import com.coveros.selenified.services.CassetteTransport;
+import com.coveros.selenified.services.HTTP;
+import com.coveros.selenified.services.Request;
+import com.coveros.selenified.services.Response;
+import com.coveros.selenified.services.Transport;
+import com.google.gson.JsonObject;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class CassetteTest {
+
+    private File directory;
+
+    @BeforeMethod(alwaysRun = true)
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("cassette").toFile();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteDirectory() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void sharedDisabledTest() {
+        assertNull(Cassette.getShared());
+        assertFalse(new HTTP(null, "http://localhost").getTransport() instanceof CassetteTransport);
+    }
+
+    @Test
+    public void recordReplayTest() throws IOException {
+        ServerTransport server = new ServerTransport();
+        try (Cassette cassette = new Cassette(directory, Cassette.Mode.RECORD)) {
+            HTTP http = getHttp(server, cassette);
+            Response recorded = http.get("/users", null);
+            assertEquals(recorded.getCode(), 200);
+            assertEquals(recorded.getMessage(), "hello /users");
+            assertEquals(cassette.getCount(), 1);
+            assertFalse(recorded.getTiming().isReplayed());
+        }
+        assertEquals(server.calls, 1);
+        try (Cassette cassette = new Cassette(directory, Cassette.Mode.REPLAY)) {
+            assertEquals(cassette.getCount(), 1);
+            Response replayed = getHttp(server, cassette).get("/users", null);
+            assertEquals(replayed.getCode(), 200);
+            assertEquals(replayed.getMessage(), "hello /users");
+            assertEquals(replayed.getHeaders().get("X-Server"), Collections.singletonList("stub"));
+            assertTrue(replayed.getTiming().isReplayed());
+        }
+        assertEquals(server.calls, 1);
+    }
+
+    @Test
+    public void keyedTest() throws IOException {
+        ServerTransport server = new ServerTransport();
+        JsonObject john = new JsonObject();
+        john.addProperty("name", "john");
+        JsonObject jane = new JsonObject();
+        jane.addProperty("name", "jane");
+        try (Cassette cassette = new Cassette(directory, Cassette.Mode.RECORD)) {
+            HTTP http = getHttp(server, cassette);
+            http.get("/users?page=1", null);
+            http.get("/users?page=2", null);
+            http.post("/users", new Request().setJsonPayload(john), null);
+            http.post("/users", new Request().setJsonPayload(jane), null);
+            http.put("/users", new Request().setJsonPayload(john), null);
+            assertEquals(cassette.getCount(), 5);
+        }
+        try (Cassette cassette = new Cassette(directory, Cassette.Mode.REPLAY)) {
+            HTTP http = getHttp(server, cassette);
+            assertEquals(http.get("/users?page=2", null).getMessage(), "hello /users?page=2");
+            assertEquals(http.post("/users", new Request().setJsonPayload(jane), null).getMessage(),
+                    "hello /users {\"name\":\"jane\"}");
+            assertEquals(http.put("/users", new Request().setJsonPayload(john), null).getMessage(),
+                    "hello /users {\"name\":\"john\"}");
+        }
+        assertEquals(server.calls, 5);
+    }
+
+    @Test
+    public void rerecordTest() throws IOException {
+        ServerTransport server = new ServerTransport();
+        try (Cassette cassette = new Cassette(directory, Cassette.Mode.RECORD)) {
+            getHttp(server, cassette).get("/users", null);
+        }
+        server.greeting = "goodbye";
+        try (Cassette cassette = new Cassette(directory, Cassette.Mode.RECORD)) {
+            HTTP http = getHttp(server, cassette);
+            http.get("/users", null);
+            http.get("/posts", null);
+            assertEquals(cassette.getCount(), 2);
+        }
+        try (Cassette cassette = new Cassette(directory, Cassette.Mode.REPLAY)) {
+            assertEquals(cassette.getCount(), 2);
+            HTTP http = getHttp(server, cassette);
+            assertEquals(http.get("/users", null).getMessage(), "goodbye /users");
+            assertEquals(http.get("/posts", null).getMessage(), "goodbye /posts");
+        }
+    }
+
+    @Test
+    public void noBodyTest() throws IOException {
+        ServerTransport server = new ServerTransport();
+        server.code = 204;
+        try (Cassette cassette = new Cassette(directory, Cassette.Mode.RECORD)) {
+            getHttp(server, cassette).delete("/users/1", null, null);
+        }
+        try (Cassette cassette = new Cassette(directory, Cassette.Mode.REPLAY)) {
+            Response response = getHttp(server, cassette).delete("/users/1", null, null);
+            assertEquals(response.getCode(), 204);
+        }
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void replayMissingTest() throws IOException {
+        try (Cassette cassette = new Cassette(directory, Cassette.Mode.REPLAY)) {
+            assertEquals(cassette.getCount(), 0);
+            new CassetteTransport(cassette, new ServerTransport()).send("GET", new URL("http://localhost/users"),
+                    new HashMap<>(), null);
+        }
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void corruptTest() throws IOException {
+        Files.write(new File(directory, "responses.dat").toPath(), "hello".getBytes(StandardCharsets.UTF_8));
+        Files.write(new File(directory, "responses.idx").toPath(), "world".getBytes(StandardCharsets.UTF_8));
+        new Cassette(directory, Cassette.Mode.REPLAY);
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void recordClosedTest() throws IOException {
+        Cassette cassette = new Cassette(directory, Cassette.Mode.RECORD);
+        cassette.close();
+        new CassetteTransport(cassette, new ServerTransport()).send("GET", new URL("http://localhost/users"),
+                new HashMap<>(), null);
+    }
+
+    @Test
+    public void streamedTest() throws IOException {
+        ServerTransport server = new ServerTransport();
+        server.greeting = String.join("", Collections.nCopies(10000, "hello"));
+        try (Cassette cassette = new Cassette(directory, Cassette.Mode.RECORD)) {
+            CassetteTransport transport = new CassetteTransport(cassette, server);
+            try (Transport.Exchange exchange = transport.send("GET", new URL("http://localhost/users"),
+                    new HashMap<>(), null)) {
+                InputStream body = exchange.getBody();
+                byte[] start = new byte[5];
+                assertEquals(body.read(start), 5);
+                assertEquals(new String(start, StandardCharsets.UTF_8), "hello");
+                // nothing more has been read from the server, and nothing recorded yet
+                assertEquals(server.sent.available(), 50000 + " /users".length() - 5);
+                assertEquals(cassette.getCount(), 0);
+            }
+            // closing early reads out the rest, so the whole response is recorded
+            assertEquals(server.sent.available(), 0);
+            assertEquals(server.closed, 1);
+            assertEquals(cassette.getCount(), 1);
+        }
+        try (Cassette cassette = new Cassette(directory, Cassette.Mode.REPLAY)) {
+            assertEquals(getHttp(server, cassette).get("/users", null).getMessage(), server.greeting + " /users");
+        }
+        File[] files = directory.listFiles();
+        assertNotNull(files);
+        assertEquals(files.length, 2);
+    }
+
+    @Test
+    public void failedReadNotRecordedTest() throws IOException {
+        ServerTransport server = new ServerTransport();
+        server.failing = true;
+        try (Cassette cassette = new Cassette(directory, Cassette.Mode.RECORD)) {
+            try (Transport.Exchange exchange = new CassetteTransport(cassette, server).send("GET",
+                    new URL("http://localhost/users"), new HashMap<>(), null)) {
+                exchange.getBody().read(new byte[5]);
+                fail("Expected the broken body to fail the read");
+            } catch (IOException e) {
+                assertEquals(e.getMessage(), "connection reset");
+            }
+            assertEquals(cassette.getCount(), 0);
+            assertEquals(server.closed, 1);
+        }
+        File[] files = directory.listFiles();
+        assertNotNull(files);
+        assertEquals(files.length, 2);
+    }
+
+    @Test
+    public void flushTest() throws IOException {
+        ServerTransport server = new ServerTransport();
+        try (Cassette recording = new Cassette(directory, Cassette.Mode.RECORD)) {
+            getHttp(server, recording).get("/users", null);
+            recording.flush();
+            // replayable before the recording cassette is closed
+            try (Cassette cassette = new Cassette(directory, Cassette.Mode.REPLAY)) {
+                assertEquals(cassette.getCount(), 1);
+                assertEquals(getHttp(server, cassette).get("/users", null).getMessage(), "hello /users");
+            }
+            getHttp(server, recording).get("/posts", null);
+        }
+        try (Cassette cassette = new Cassette(directory, Cassette.Mode.REPLAY)) {
+            assertEquals(cassette.getCount(), 2);
+        }
+    }
+
+    @Test
+    public void setCassetteTest() throws IOException {
+        ServerTransport server = new ServerTransport();
+        try (Cassette cassette = new Cassette(directory, Cassette.Mode.REPLAY)) {
+            HTTP http = getHttp(server, cassette);
+            http.setCassette(cassette);
+            CassetteTransport transport = (CassetteTransport) http.getTransport();
+            assertSame(transport.getCassette(), cassette);
+            assertSame(transport.getTransport(), server);
+        }
+    }
+
+    private HTTP getHttp(Transport transport, Cassette cassette) {
+        HTTP http = new HTTP(null, "http://localhost");
+        http.setTransport(transport);
+        http.setCassette(cassette);
+        return http;
+    }
+
+    private static class ServerTransport implements Transport {
+        private int code = 200;
+        private String greeting = "hello";
+        private int calls = 0;
+        private int closed = 0;
+        private boolean failing = false;
+        private ByteArrayInputStream sent;
+
+        @Override
+        public Exchange send(String method, URL url, Map<String, String> headers, Body requestBody) throws IOException {
+            calls++;
+            StringBuilder message = new StringBuilder(greeting).append(' ').append(url.getFile());
+            if (requestBody != null) {
+                ByteArrayOutputStream sent = new ByteArrayOutputStream();
+                requestBody.writeTo(sent);
+                if (sent.size() > 0) {
+                    message.append(' ').append(new String(sent.toByteArray(), StandardCharsets.UTF_8));
+                }
+            }
+            int status = code;
+            Map<String, List<String>> responseHeaders = new HashMap<>();
+            responseHeaders.put("X-Server", Collections.singletonList("stub"));
+            byte[] body = status == 204 ? null : message.toString().getBytes(StandardCharsets.UTF_8);
+            sent = body == null ? null : new ByteArrayInputStream(body);
+            InputStream stream = sent;
+            if (failing) {
+                stream = new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("connection reset");
+                    }
+                };
+            }
+            InputStream responseBody = stream;
+            return new Exchange() {
+                @Override
+                public int getCode() {
+                    return status;
+                }
+
+                @Override
+                public Map<String, List<String>> getHeaders() {
+                    return responseHeaders;
+                }
+
+                @Override
+                public InputStream getBody() {
+                    return responseBody;
+                }
+
+                @Override
+                public void close() {
+                    closed++;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package unit;
+
+import com.coveros.selenified.utilities.CountingReporter;
+import org.testng.annotations.Test;
+
+import java.io.File;
+
+import static org.testng.Assert.*;
+
+public class CountingReporterTest {
+
+    @Test
+    public void noFileTest() {
+        CountingReporter reporter = new CountingReporter("noFileTest");
+        reporter.pass("action", "expected", "actual");
+        reporter.finalizeReporter(1);
+        assertFalse(new File("noFileTest.html").exists());
+        assertFalse(reporter.isDetailed());
+    }
+
+    @Test
+    public void countTest() {
+        CountingReporter reporter = new CountingReporter("countTest");
+        reporter.pass("action", "expected", "actual");
+        reporter.pass("check", 0, "actual", 0);
+        reporter.check("action", "expected", "actual");
+        reporter.fail("action", "expected", "first failure");
+        reporter.fail("check", 0, "second failure", 0);
+        assertEquals(reporter.getPasses(), 2);
+        assertEquals(reporter.getChecks(), 1);
+        assertEquals(reporter.getFails(), 2);
+        assertEquals(reporter.getFirstFailure(), "first failure");
+    }
+
+    @Test
+    public void noFailuresTest() {
+        CountingReporter reporter = new CountingReporter("noFailuresTest");
+        assertEquals(reporter.getFails(), 0);
+        assertNull(reporter.getFirstFailure());
+    }
+}
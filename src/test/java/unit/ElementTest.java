@@ -2,10 +2,21 @@ package unit;
 
 import com.coveros.selenified.Locator;
 import com.coveros.selenified.element.Element;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
 import org.testng.annotations.Test;
 
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
 
 public class ElementTest {
 
@@ -170,4 +181,146 @@ public class ElementTest {
         Element element = new Element(null, null, Locator.ID, "myId", 10);
         assertEquals(element.prettyOutputEnd(), "11th element with <i>ID</i> of <i>myId</i>. ");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void checkDefineByElementTest() {
+        Element element = new Element(null, null, Locator.ID, "myId");
+        assertEquals(element.defineByElement(), By.id("myId"));
+    }
+
+    @Test
+    public void checkDefineByElementReusedTest() {
+        Element element = new Element(null, null, Locator.XPATH, "//div[@id='reused']");
+        Element otherElement = new Element(null, null, Locator.XPATH, "//div[@id='reused']", 3);
+        assertSame(element.defineByElement(), element.defineByElement());
+        assertSame(element.defineByElement(), otherElement.defineByElement());
+    }
+
+    @Test
+    public void checkDefineByElementTypeTest() {
+        Element element = new Element(null, null, Locator.ID, "shared");
+        Element otherElement = new Element(null, null, Locator.NAME, "shared");
+        assertEquals(element.defineByElement(), By.id("shared"));
+        assertEquals(otherElement.defineByElement(), By.name("shared"));
+        assertNotEquals(element.defineByElement(), otherElement.defineByElement());
+    }
+
+    @Test
+    public void checkDefineByElementChainNoParentTest() {
+        Element element = new Element(null, null, Locator.ID, "myId");
+        assertNull(element.defineByElementChain());
+    }
+
+    @Test
+    public void checkDefineByElementChainXPathTest() {
+        Element element = new Element(null, null, Locator.XPATH, "span", new Element(null, null, Locator.XPATH, "//div", 1));
+        assertEquals(element.defineByElementChain(), By.xpath("(//div)[2]/span"));
+    }
+
+    @Test
+    public void checkDefineByElementChainIdTest() {
+        Element element = new Element(null, null, Locator.NAME, "myName", new Element(null, null, Locator.ID, "myId"));
+        assertEquals(element.defineByElementChain(), By.xpath("(//*[@id='myId'])[1]/descendant::*[@name='myName']"));
+    }
+
+    @Test
+    public void checkDefineByElementChainClassTest() {
+        Element element = new Element(null, null, Locator.CLASSNAME, "child", new Element(null, null, Locator.XPATH, "//form"));
+        assertEquals(element.defineByElementChain(), By.xpath("(//form)[1]/descendant::*[contains(concat(' '," +
+                "normalize-space(@class),' '),' child ')]"));
+    }
+
+    @Test
+    public void checkDefineByElementChainGrandParentTest() {
+        Element element = new Element(null, null, Locator.XPATH, ".//input", 2, new Element(null, null, Locator.ID,
+                "parentId", 1, new Element(null, null, Locator.XPATH, "//form", 3)));
+        assertEquals(element.defineByElementChain(), By.xpath("((//form)[4]/descendant::*[@id='parentId'])[2]/" +
+                ".//input"));
+    }
+
+    @Test
+    public void checkDefineByElementChainQuotesTest() {
+        Element element = new Element(null, null, Locator.ID, "it's \"quoted\"", new Element(null, null, Locator.XPATH, "//form"));
+        assertEquals(element.defineByElementChain(), By.xpath("(//form)[1]/descendant::*[@id=concat('it',\"'\",'s " +
+                "\"quoted\"')]"));
+    }
+
+    @Test
+    public void checkDefineByElementChainCssTest() {
+        Element element = new Element(null, null, Locator.XPATH, "span", new Element(null, null, Locator.CSS, "div"));
+        assertNull(element.defineByElementChain());
+        element = new Element(null, null, Locator.CSS, "span", new Element(null, null, Locator.XPATH, "//div"));
+        assertNull(element.defineByElementChain());
+    }
+
+    @Test
+    public void checkDefineByElementChainAbsoluteTest() {
+        Element element = new Element(null, null, Locator.XPATH, "//span", new Element(null, null, Locator.XPATH, "//div"));
+        assertNull(element.defineByElementChain());
+        element = new Element(null, null, Locator.XPATH, "(span)[1]", new Element(null, null, Locator.XPATH, "//div"));
+        assertNull(element.defineByElementChain());
+        element = new Element(null, null, Locator.XPATH, "span | a", new Element(null, null, Locator.XPATH, "//div"));
+        assertNull(element.defineByElementChain());
+    }
+
+    @Test
+    public void checkGetWebElementsChainMissingTest() {
+        AtomicInteger driverLookups = new AtomicInteger();
+        WebDriver driver = driver(null, driverLookups);
+        Element element = new Element(driver, null, Locator.XPATH, "span", new Element(driver, null, Locator.XPATH, "//div"));
+        assertTrue(element.getWebElements().isEmpty());
+        assertTrue(element.getWebElements().isEmpty());
+        // one chained lookup per call, without walking the parents
+        assertEquals(driverLookups.get(), 2);
+    }
+
+    @Test
+    public void checkGetWebElementsChainFoundTest() {
+        AtomicInteger driverLookups = new AtomicInteger();
+        WebElement found = webElement(Collections.emptyList(), new AtomicInteger());
+        WebDriver driver = driver(found, driverLookups);
+        Element element = new Element(driver, null, Locator.XPATH, "span", new Element(driver, null, Locator.XPATH, "//div"));
+        assertEquals(element.getWebElements(), Collections.singletonList(found));
+        assertEquals(driverLookups.get(), 1);
+    }
+
+    @Test
+    public void checkGetWebElementsNoChainTest() {
+        AtomicInteger driverLookups = new AtomicInteger();
+        AtomicInteger parentLookups = new AtomicInteger();
+        WebElement child = webElement(Collections.emptyList(), new AtomicInteger());
+        WebDriver driver = driver(webElement(Collections.singletonList(child), parentLookups), driverLookups);
+        Element element = new Element(driver, null, Locator.XPATH, "span", new Element(driver, null, Locator.CSS, "div"));
+        assertEquals(element.getWebElements(), Collections.singletonList(child));
+        assertEquals(driverLookups.get(), 1);
+        assertEquals(parentLookups.get(), 1);
+    }
+
+    private WebDriver driver(WebElement found, AtomicInteger lookups) {
+        return (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{WebDriver.class},
+                (proxy, method, args) -> {
+                    if ("findElements".equals(method.getName())) {
+                        lookups.incrementAndGet();
+                        return found == null ? Collections.emptyList() : Collections.singletonList(found);
+                    }
+                    return null;
+                });
+    }
+
+    private WebElement webElement(List<WebElement> children, AtomicInteger lookups) {
+        return (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{WebElement.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findElements":
+                            lookups.incrementAndGet();
+                            return children;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            return null;
+                    }
+                });
+    }
+}
@@ -0,0 +1,149 @@
+package unit;
+
+import com.coveros.selenified.element.check.EventWait;
+import com.coveros.selenified.utilities.Poller;
+import com.coveros.selenified.utilities.PollingStrategy;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.*;
+
+public class EventWaitTest {
+
+    private WebDriver driver(AtomicInteger scripts, RuntimeException scriptError) {
+        return (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class[]{WebDriver.class, JavascriptExecutor.class}, (proxy, method, args) -> {
+                    if ("executeAsyncScript".equals(method.getName())) {
+                        scripts.incrementAndGet();
+                        if (scriptError != null) {
+                            throw scriptError;
+                        }
+                        return true;
+                    }
+                    return null;
+                });
+    }
+
+    @Test
+    public void supportedTest() {
+        assertTrue(EventWait.isSupported(driver(new AtomicInteger(), null)));
+    }
+
+    @Test
+    public void notSupportedNullTest() {
+        assertFalse(EventWait.isSupported(null));
+    }
+
+    @Test
+    public void notSupportedNoJavascriptTest() {
+        WebDriver driver = (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class[]{WebDriver.class}, (proxy, method, args) -> null);
+        assertFalse(EventWait.isSupported(driver));
+    }
+
+    @Test
+    public void untilMetTest() {
+        AtomicInteger scripts = new AtomicInteger();
+        AtomicInteger checks = new AtomicInteger();
+        EventWait.until(driver(scripts, null), 1, 10, 1000, PollingStrategy.FIXED, null,
+                (ExpectedCondition<Boolean>) d -> checks.incrementAndGet() == 3);
+        assertEquals(checks.get(), 3);
+        assertEquals(scripts.get(), 2);
+    }
+
+    @Test
+    public void untilCountedTest() {
+        long waits = Poller.getWaits();
+        long polls = Poller.getPolls();
+        AtomicInteger checks = new AtomicInteger();
+        EventWait.until(driver(new AtomicInteger(), null), 1, 10, 1000, PollingStrategy.FIXED, null,
+                (ExpectedCondition<Boolean>) d -> checks.incrementAndGet() == 3);
+        assertTrue(Poller.getWaits() >= waits + 1);
+        assertTrue(Poller.getPolls() >= polls + 3);
+    }
+
+    @Test
+    public void untilMetImmediatelyTest() {
+        AtomicInteger scripts = new AtomicInteger();
+        EventWait.until(driver(scripts, null), 1, 10, 1000, PollingStrategy.FIXED, null, (ExpectedCondition<String>) d -> "done");
+        assertEquals(scripts.get(), 0);
+    }
+
+    @Test
+    public void untilNotFoundTest() {
+        AtomicInteger scripts = new AtomicInteger();
+        AtomicInteger checks = new AtomicInteger();
+        EventWait.until(driver(scripts, null), 1, 10, 1000, PollingStrategy.FIXED, null, (ExpectedCondition<Boolean>) d -> {
+            if (checks.incrementAndGet() < 2) {
+                throw new NoSuchElementException("not yet");
+            }
+            return true;
+        });
+        assertEquals(checks.get(), 2);
+        assertEquals(scripts.get(), 1);
+    }
+
+    @Test(expectedExceptions = TimeoutException.class)
+    public void untilNotMetTest() {
+        EventWait.until(driver(new AtomicInteger(), null), 0.2, 10, 1000, PollingStrategy.FIXED, null,
+                (ExpectedCondition<Boolean>) d -> false);
+    }
+
+    @Test
+    public void untilScriptTimeoutTest() {
+        AtomicInteger scripts = new AtomicInteger();
+        AtomicInteger checks = new AtomicInteger();
+        EventWait.until(driver(scripts, new ScriptTimeoutException("too slow")), 1, 10, 1000, PollingStrategy.FIXED,
+                null, (ExpectedCondition<Boolean>) d -> checks.incrementAndGet() == 3);
+        assertEquals(checks.get(), 3);
+        assertEquals(scripts.get(), 1);
+    }
+
+    @Test
+    public void untilScriptTimeoutNotMetTest() {
+        AtomicInteger scripts = new AtomicInteger();
+        AtomicInteger checks = new AtomicInteger();
+        try {
+            EventWait.until(driver(scripts, new ScriptTimeoutException("too slow")), 0.5, 50, 1000,
+                    PollingStrategy.FIXED, null, (ExpectedCondition<Boolean>) d -> {
+                        checks.incrementAndGet();
+                        return false;
+                    });
+            fail("Expected the wait to time out");
+        } catch (TimeoutException e) {
+            // the script is only tried once, and the condition is polled, rather than checked in a tight loop
+            assertEquals(scripts.get(), 1);
+            assertTrue(checks.get() <= 15, "Checked " + checks.get() + " times");
+        }
+    }
+
+    @Test
+    public void untilFallbackTest() {
+        AtomicInteger scripts = new AtomicInteger();
+        AtomicInteger checks = new AtomicInteger();
+        EventWait.until(driver(scripts, new WebDriverException("no javascript")), 1, 10, 1000, PollingStrategy.FIXED,
+                null, (ExpectedCondition<Boolean>) d -> checks.incrementAndGet() == 4);
+        assertEquals(checks.get(), 4);
+        assertEquals(scripts.get(), 1);
+    }
+
+    @Test(expectedExceptions = TimeoutException.class)
+    public void untilFallbackNotMetTest() {
+        AtomicInteger scripts = new AtomicInteger();
+        try {
+            EventWait.until(driver(scripts, new WebDriverException("no javascript")), 0.2, 10, 1000,
+                    PollingStrategy.FIXED, null, (ExpectedCondition<Boolean>) d -> false);
+        } finally {
+            assertEquals(scripts.get(), 1);
+        }
+    }
+}
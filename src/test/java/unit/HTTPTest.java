@@ -1,12 +1,33 @@
 package unit;
 
-import com.coveros.selenified.services.HTTP;
-import com.coveros.selenified.services.Request;
+import com.coveros.selenified.services.*;
+import com.coveros.selenified.utilities.LatencyMetrics;
+import com.coveros.selenified.utilities.Reporter;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.verify.VerificationTimes;
 import org.testng.annotations.Test;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
+import static org.mockserver.integration.ClientAndServer.startClientAndServer;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
 import static org.testng.Assert.*;
 
 public class HTTPTest {
@@ -183,4 +204,643 @@ public class HTTPTest {
         http.resetHeaders();
         assertEquals(http.getHeaders(), map);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getHeadersReusedTest() {
+        HTTP http = new HTTP(null, "");
+        assertSame(http.getHeaders(), http.getHeaders());
+    }
+
+    @Test
+    public void getHeadersRebuiltTest() {
+        HTTP http = new HTTP(null, "");
+        Map<String, Object> before = http.getHeaders();
+        http.setContentType(HTTP.ContentType.FORMDATA);
+        assertNotSame(http.getHeaders(), before);
+        assertEquals(http.getHeaders().get("Content-Type"), HTTP.ContentType.FORMDATA.getContentType());
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void getHeadersUnmodifiableTest() {
+        HTTP http = new HTTP(null, "");
+        http.getHeaders().put("Age", 1234);
+    }
+
+    @Test
+    public void transportHeadersReusedTest() throws IOException {
+        HTTP http = new HTTP(null, "http://localhost", "User", "Pass");
+        RecordingTransport transport = new RecordingTransport("hello");
+        http.setTransport(transport);
+        http.get("/users", null);
+        Map<String, String> first = transport.headers;
+        http.get("/users", null);
+        assertSame(transport.headers, first);
+        http.addCredentials("Other", "Pass");
+        http.get("/users", null);
+        assertEquals(transport.headers.get("Authorization"), "Basic T3RoZXI6UGFzcw==");
+    }
+
+    @Test
+    public void transportAuthProviderTest() throws IOException {
+        HTTP http = new HTTP(null, "http://localhost", "User", "Pass");
+        RecordingTransport transport = new RecordingTransport("hello");
+        http.setTransport(transport);
+        String[] token = {"Bearer abc"};
+        AuthProvider authProvider = () -> token[0];
+        http.setAuthProvider(authProvider);
+        assertEquals(http.getAuthProvider(), authProvider);
+        http.get("/users", null);
+        assertEquals(transport.headers.get("Authorization"), "Bearer abc");
+        Map<String, String> first = transport.headers;
+        http.get("/users", null);
+        assertSame(transport.headers, first);
+        token[0] = "Bearer def";
+        http.get("/users", null);
+        assertEquals(transport.headers.get("Authorization"), "Bearer def");
+        token[0] = null;
+        http.get("/users", null);
+        assertNull(transport.headers.get("Authorization"));
+        http.setAuthProvider(null);
+        http.get("/users", null);
+        assertEquals(transport.headers.get("Authorization"), "Basic VXNlcjpQYXNz");
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void transportAuthProviderFailureTest() throws IOException {
+        HTTP http = new HTTP(null, "http://localhost");
+        http.setTransport(new RecordingTransport("hello"));
+        http.setAuthProvider(() -> {
+            throw new IOException("Unable to get token");
+        });
+        http.get("/users", null);
+    }
+
+    @Test
+    public void defaultTransportTest() {
+        HTTP http = new HTTP(null, "");
+        assertTrue(http.getTransport() instanceof PooledTransport);
+    }
+
+    @Test
+    public void setTransportTest() {
+        HTTP http = new HTTP(null, "");
+        Transport transport = new URLConnectionTransport();
+        http.setTransport(transport);
+        assertEquals(http.getTransport(), transport);
+    }
+
+    @Test
+    public void transportGetTest() throws IOException {
+        HTTP http = new HTTP(null, "http://localhost", "User", "Pass");
+        RecordingTransport transport = new RecordingTransport("{\"name\":\"john\"}");
+        http.setTransport(transport);
+        Response response = http.get("/users", new Request().setUrlParams(Collections.singletonMap("id", 5)));
+        assertEquals(transport.method, "GET");
+        assertEquals(transport.url, new URL("http://localhost/users?id=5"));
+        assertEquals(transport.headers.get("Authorization"), "Basic VXNlcjpQYXNz");
+        assertEquals(transport.headers.get("Accept"), "application/json");
+        assertNull(transport.body);
+        assertTrue(transport.closed);
+        assertEquals(response.getCode(), 200);
+        assertEquals(response.getObjectData().get("name").getAsString(), "john");
+    }
+
+    @Test
+    public void transportHeadTest() throws IOException {
+        HTTP http = new HTTP(null, "http://localhost");
+        RecordingTransport transport = new RecordingTransport("");
+        http.setTransport(transport);
+        assertEquals(http.head("/users", null).getCode(), 200);
+        assertEquals(transport.method, "HEAD");
+        assertNull(transport.body);
+    }
+
+    @Test
+    public void transportOptionsTest() throws IOException {
+        HTTP http = new HTTP(null, "http://localhost");
+        RecordingTransport transport = new RecordingTransport("");
+        http.setTransport(transport);
+        http.options("/users", null);
+        assertEquals(transport.method, "OPTIONS");
+    }
+
+    @Test
+    public void transportCustomMethodTest() throws IOException {
+        HTTP http = new HTTP(null, "http://localhost");
+        RecordingTransport transport = new RecordingTransport("");
+        http.setTransport(transport);
+        JsonObject payload = new JsonObject();
+        payload.addProperty("name", "john");
+        http.request("PROPFIND", "/users", new Request().setJsonPayload(payload), null);
+        assertEquals(transport.method, "PROPFIND");
+        assertEquals(transport.body, "{\"name\":\"john\"}");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void transportInvalidMethodTest() throws IOException {
+        new HTTP(null, "http://localhost").request("GET ME", "/users", null, null);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void transportNullMethodTest() throws IOException {
+        new HTTP(null, "http://localhost").request(null, "/users", null, null);
+    }
+
+    @Test
+    public void transportPostTest() throws IOException {
+        HTTP http = new HTTP(null, "http://localhost");
+        RecordingTransport transport = new RecordingTransport("[1,2]");
+        http.setTransport(transport);
+        JsonObject json = new JsonObject();
+        json.addProperty("name", "john");
+        Response response = http.post("/users", new Request().setJsonPayload(json), null);
+        assertEquals(transport.method, "POST");
+        assertEquals(transport.body, "{\"name\":\"john\"}");
+        assertEquals(response.getArrayData().size(), 2);
+    }
+
+    @Test
+    public void transportPostJsonFormatTest() throws IOException {
+        HTTP http = new HTTP(null, "http://localhost");
+        RecordingTransport transport = new RecordingTransport("{}");
+        http.setTransport(transport);
+        JsonObject json = new JsonObject();
+        json.addProperty("name", "<john & jane>");
+        json.add("age", JsonNull.INSTANCE);
+        JsonArray children = new JsonArray();
+        children.add(1.5);
+        json.add("children", children);
+        http.post("/users", new Request().setJsonPayload(json), null);
+        assertEquals(transport.body, json.toString());
+        assertEquals(transport.bodyLength, json.toString().getBytes().length);
+    }
+
+    @Test
+    public void transportPostNoPayloadTest() throws IOException {
+        HTTP http = new HTTP(null, "http://localhost");
+        RecordingTransport transport = new RecordingTransport("{}");
+        http.setTransport(transport);
+        http.post("/users", new Request().setMultipartData(Collections.singletonMap("name", "john")), null);
+        assertEquals(transport.body, "");
+        assertEquals(transport.bodyLength, 0);
+    }
+
+    @Test
+    public void transportMultipartTest() throws IOException {
+        HTTP http = new HTTP(null, "http://localhost");
+        http.setContentType(HTTP.ContentType.FORMDATA);
+        RecordingTransport transport = new RecordingTransport("{}");
+        http.setTransport(transport);
+        http.post("/users", new Request().setMultipartData(Collections.singletonMap("name", "john")), null);
+        assertEquals(transport.body, "\r\n\r\n------WebKitFormBoundary7MA4YWxkTrZu0gW\r\n" +
+                "Content-Disposition: form-data; name=\"name\"\r\n\r\njohn" +
+                "\r\n------WebKitFormBoundary7MA4YWxkTrZu0gW--\r\n");
+    }
+
+    @Test
+    public void transportMultipartFileTest() throws IOException {
+        File file = File.createTempFile("upload", ".txt");
+        file.deleteOnExit();
+        StringBuilder content = new StringBuilder();
+        while (content.length() < 200000) {
+            content.append("line ").append(content.length()).append("\n");
+        }
+        Files.write(file.toPath(), content.toString().getBytes(StandardCharsets.UTF_8));
+        HTTP http = new HTTP(null, "http://localhost");
+        http.setContentType(HTTP.ContentType.FORMDATA);
+        RecordingTransport transport = new RecordingTransport("{}");
+        http.setTransport(transport);
+        http.post("/users", null, file);
+        assertTrue(transport.body.contains("Content-Disposition: form-data; name=\"file\"; filename=\"" +
+                file.getName() + "\""));
+        assertTrue(transport.body.contains("\r\n\r\n" + content + "\r\n------WebKitFormBoundary7MA4YWxkTrZu0gW--\r\n"));
+        assertTrue(transport.bodyLength > file.length());
+    }
+
+    @Test
+    public void transportMultipartMissingFileTest() throws IOException {
+        HTTP http = new HTTP(null, "http://localhost");
+        http.setContentType(HTTP.ContentType.FORMDATA);
+        RecordingTransport transport = new RecordingTransport("{}");
+        http.setTransport(transport);
+        http.post("/users", null, new File("missing-upload.txt"));
+        assertEquals(transport.body, "\r\n\r\n------WebKitFormBoundary7MA4YWxkTrZu0gW--\r\n");
+    }
+
+    @Test
+    public void downloadTest() throws IOException {
+        HTTP http = new HTTP(null, "http://localhost");
+        RecordingTransport transport = new RecordingTransport("a\nb\nc");
+        http.setTransport(transport);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Response response = http.download("/export", new Request().setUrlParams(Collections.singletonMap("id", 5)), out);
+        assertEquals(transport.method, "GET");
+        assertEquals(transport.url, new URL("http://localhost/export?id=5"));
+        assertNull(transport.body);
+        assertTrue(transport.closed);
+        assertEquals(out.toString("UTF-8"), "a\nb\nc");
+        assertEquals(response.getCode(), 200);
+        assertNull(response.getMessage());
+        assertFalse(response.isData());
+        assertEquals(response.getDownload().getSize(), 5);
+        assertEquals(response.getDownload().getLineCount(), 3);
+        assertEquals(response.getDownload().getChecksum(),
+                "ea7fb08b7a2dc4619ffb7c7bb38d95a2047935fa165d71b12efd3852a2e6d0cc");
+    }
+
+    @Test
+    public void downloadTrailingNewlineTest() throws IOException {
+        HTTP http = new HTTP(null, "http://localhost");
+        http.setTransport(new RecordingTransport("a\nb\n"));
+        Response response = http.download("/export", null, new ByteArrayOutputStream());
+        assertEquals(response.getDownload().getLineCount(), 2);
+    }
+
+    @Test
+    public void downloadEmptyTest() throws IOException {
+        HTTP http = new HTTP(null, "http://localhost");
+        http.setTransport(new RecordingTransport(""));
+        Response response = http.download("/export", null, new ByteArrayOutputStream());
+        assertEquals(response.getDownload().getSize(), 0);
+        assertEquals(response.getDownload().getLineCount(), 0);
+        assertEquals(response.getDownload().getChecksum(),
+                "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855");
+    }
+
+    @Test
+    public void downloadFileTest() throws IOException {
+        File file = File.createTempFile("download", ".bin");
+        file.deleteOnExit();
+        byte[] content = new byte[200000];
+        new Random(5).nextBytes(content);
+        HTTP http = new HTTP(null, "http://localhost");
+        http.setTransport(new RecordingTransport(content));
+        Response response = http.download("/export", null, file);
+        assertEquals(Files.readAllBytes(file.toPath()), content);
+        assertEquals(response.getDownload().getFile(), file);
+        assertEquals(response.getDownload().getSize(), 200000);
+        assertTrue(response.getDownload().getThroughput() > 0);
+    }
+
+    @Test
+    public void responseKeepsNewlinesTest() throws IOException {
+        HTTP http = new HTTP(null, "http://localhost");
+        http.setTransport(new RecordingTransport("{\n  \"name\": \"john\"\n}"));
+        Response response = http.get("/users", null);
+        assertEquals(response.getMessage(), "{\n  \"name\": \"john\"\n}");
+        assertEquals(response.getObjectData().get("name").getAsString(), "john");
+        assertNull(response.getArrayData());
+    }
+
+    @Test
+    public void responseArrayTest() throws IOException {
+        HTTP http = new HTTP(null, "http://localhost");
+        http.setTransport(new RecordingTransport("  [{\"name\":\"john\"},{\"name\":\"jane\"}]"));
+        Response response = http.get("/users", null);
+        assertNull(response.getObjectData());
+        assertEquals(response.getArrayData().size(), 2);
+        assertEquals(response.getMessage(), "  [{\"name\":\"john\"},{\"name\":\"jane\"}]");
+    }
+
+    @Test
+    public void responseTextTest() throws IOException {
+        HTTP http = new HTTP(null, "http://localhost");
+        http.setTransport(new RecordingTransport("hello\nworld"));
+        Response response = http.get("/users", null);
+        assertFalse(response.isData());
+        assertEquals(response.getMessage(), "hello\nworld");
+    }
+
+    @Test
+    public void responseEmptyTest() throws IOException {
+        HTTP http = new HTTP(null, "http://localhost");
+        http.setTransport(new RecordingTransport(""));
+        Response response = http.get("/users", null);
+        assertFalse(response.isData());
+        assertEquals(response.getMessage(), "");
+    }
+
+    @Test
+    public void responseTrailingDataTest() throws IOException {
+        HTTP http = new HTTP(null, "http://localhost");
+        http.setTransport(new RecordingTransport("{\"name\":\"john\"} and more"));
+        Response response = http.get("/users", null);
+        assertFalse(response.isData());
+        assertEquals(response.getMessage(), "{\"name\":\"john\"} and more");
+    }
+
+    @Test
+    public void responseMalformedTest() throws IOException {
+        HTTP http = new HTTP(null, "http://localhost");
+        http.setTransport(new RecordingTransport("{\"name\":"));
+        Response response = http.get("/users", null);
+        assertFalse(response.isData());
+        assertEquals(response.getMessage(), "{\"name\":");
+    }
+
+    @Test
+    public void responseCharsetTest() throws IOException {
+        HTTP http = new HTTP(null, "http://localhost");
+        RecordingTransport transport = new RecordingTransport("{\"name\":\"jos\u00e9\"}".getBytes(StandardCharsets.ISO_8859_1));
+        transport.responseHeaders.put("content-type", Collections.singletonList("application/json; charset=ISO-8859-1"));
+        http.setTransport(transport);
+        Response response = http.get("/users", null);
+        assertEquals(response.getObjectData().get("name").getAsString(), "jos\u00e9");
+        assertEquals(response.getMessage(), "{\"name\":\"jos\u00e9\"}");
+    }
+
+    @Test
+    public void responseBadCharsetTest() throws IOException {
+        HTTP http = new HTTP(null, "http://localhost");
+        RecordingTransport transport = new RecordingTransport("{\"name\":\"john\"}");
+        transport.responseHeaders.put("Content-Type", Collections.singletonList("application/json; charset=bogus"));
+        http.setTransport(transport);
+        Response response = http.get("/users", null);
+        assertEquals(response.getObjectData().get("name").getAsString(), "john");
+    }
+
+    @Test
+    public void keepRawResponseDefaultTest() {
+        assertTrue(new HTTP(null, "http://localhost").isKeepRawResponse());
+    }
+
+    @Test
+    public void dropRawResponseTest() throws IOException {
+        HTTP http = new HTTP(null, "http://localhost");
+        http.setKeepRawResponse(false);
+        assertFalse(http.isKeepRawResponse());
+        http.setTransport(new RecordingTransport("{\"name\":\"john\"}"));
+        Response response = http.get("/users", null);
+        assertEquals(response.getObjectData().get("name").getAsString(), "john");
+        assertNull(response.getMessage());
+    }
+
+    @Test
+    public void dropRawResponseTextTest() throws IOException {
+        HTTP http = new HTTP(null, "http://localhost");
+        http.setKeepRawResponse(false);
+        http.setTransport(new RecordingTransport("hello world"));
+        Response response = http.get("/users", null);
+        assertEquals(response.getMessage(), "hello world");
+    }
+
+    @Test
+    public void transportTimingTest() throws IOException {
+        LatencyMetrics.reset();
+        HTTP http = new HTTP(null, "http://localhost");
+        http.setTransport(new RecordingTransport("{\"name\":\"john\"}"));
+        Response response = http.get("/users/5", null);
+        Timing timing = response.getTiming();
+        assertEquals(timing.getEndpoint(), "GET /users/{id}");
+        assertEquals(timing.getConnect(), -1);
+        assertTrue(timing.getFirstByte() >= 0);
+        assertTrue(timing.getBody() >= 0);
+        assertEquals(timing.getParse(), -1);
+        assertFalse(timing.isReplayed());
+        // nothing is recorded until the call is reported
+        assertTrue(LatencyMetrics.getEndpoints().isEmpty());
+        timing.record();
+        timing.record();
+        assertEquals(LatencyMetrics.getEndpoints().get("GET /users/{id}").get(LatencyMetrics.Phase.TOTAL).getCount(), 1);
+        assertEquals(LatencyMetrics.getEndpoints().get("GET /users/{id}").get(LatencyMetrics.Phase.CONNECT).getCount(), 0);
+        assertEquals(LatencyMetrics.getEndpoints().get("GET /users/{id}").get(LatencyMetrics.Phase.PARSE).getCount(), 0);
+        long total = timing.getTotal();
+        response.getObjectData();
+        assertTrue(timing.getParse() >= 0);
+        assertEquals(timing.getTotal(), total);
+        assertEquals(LatencyMetrics.getEndpoints().get("GET /users/{id}").get(LatencyMetrics.Phase.PARSE).getCount(), 1);
+        LatencyMetrics.reset();
+    }
+
+    @Test
+    public void timingParsedBeforeRecordTest() throws IOException {
+        LatencyMetrics.reset();
+        HTTP http = new HTTP(null, "http://localhost");
+        http.setTransport(new RecordingTransport("{\"name\":\"john\"}"));
+        Response response = http.get("/users/5", null);
+        response.getObjectData();
+        assertTrue(LatencyMetrics.getEndpoints().isEmpty());
+        response.getTiming().record();
+        assertEquals(LatencyMetrics.getEndpoints().get("GET /users/{id}").get(LatencyMetrics.Phase.PARSE).getCount(), 1);
+        assertEquals(LatencyMetrics.getEndpoints().get("GET /users/{id}").get(LatencyMetrics.Phase.TOTAL).getMax(),
+                response.getTiming().getTotal());
+        LatencyMetrics.reset();
+    }
+
+    @Test
+    public void timingReplayedTest() {
+        LatencyMetrics.reset();
+        Timing timing = new Timing("GET /users", -1, 1000, 1000, true);
+        assertTrue(timing.isReplayed());
+        timing.record();
+        assertTrue(LatencyMetrics.getEndpoints().isEmpty());
+    }
+
+    @Test
+    public void downloadTimingTest() throws IOException {
+        HTTP http = new HTTP(null, "http://localhost");
+        http.setTransport(new RecordingTransport("hello"));
+        Response response = http.download("/export", null, new ByteArrayOutputStream());
+        assertEquals(response.getTiming().getEndpoint(), "GET /export");
+        assertEquals(response.getTiming().getParse(), -1);
+        LatencyMetrics.reset();
+    }
+
+    @Test
+    public void acceptEncodingTest() throws IOException {
+        HTTP http = new HTTP(null, "http://localhost");
+        RecordingTransport transport = new RecordingTransport("hello");
+        http.setTransport(transport);
+        assertTrue(http.isCompression());
+        http.get("/users", null);
+        assertEquals(transport.headers.get("Accept-Encoding"), brotliAvailable() ? "gzip, deflate, br" : "gzip, deflate");
+        assertNull(http.getHeaders().get("Accept-Encoding"));
+        http.addHeaders(Collections.singletonMap("accept-encoding", "gzip"));
+        http.get("/users", null);
+        assertEquals(transport.headers.get("accept-encoding"), "gzip");
+        assertNull(transport.headers.get("Accept-Encoding"));
+        http.resetHeaders();
+        http.setCompression(false);
+        http.get("/users", null);
+        assertEquals(transport.headers.get("Accept-Encoding"), "identity");
+    }
+
+    @Test
+    public void acceptEncodingPooledTest() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        ClientAndServer mockServer = startClientAndServer(port);
+        try {
+            mockServer.when(request().withPath("/compressed/").withHeader("Accept-Encoding", "identity"))
+                    .respond(response().withBody("hello"));
+            mockServer.when(request().withPath("/compressed/")).respond(response()
+                    .withHeader("Content-Encoding", "gzip")
+                    .withBody(compress("hello", new ByteArrayOutputStream(), true)));
+            HTTP http = new HTTP(null, "http://localhost:" + port + "/");
+            Response response = http.get("compressed/", null);
+            assertEquals(response.getMessage(), "hello");
+            assertEquals(response.getContentEncoding(), "gzip");
+            http.setCompression(false);
+            response = http.get("compressed/", null);
+            assertEquals(response.getMessage(), "hello");
+            assertNull(response.getContentEncoding());
+            mockServer.verify(request().withPath("/compressed/").withHeader("Accept-Encoding", "identity"),
+                    VerificationTimes.exactly(1));
+        } finally {
+            mockServer.stop();
+        }
+    }
+
+    @Test
+    public void gzipResponseTest() throws IOException {
+        byte[] body = compress("{\"name\":\"john\"}", new ByteArrayOutputStream(), true);
+        HTTP http = new HTTP(null, "http://localhost");
+        RecordingTransport transport = new RecordingTransport(body);
+        transport.responseHeaders.put("Content-Encoding", Collections.singletonList("gzip"));
+        http.setTransport(transport);
+        Response response = http.get("/users", null);
+        assertEquals(response.getObjectData().get("name").getAsString(), "john");
+        assertEquals(response.getContentEncoding(), "gzip");
+        assertEquals(response.getTransferSize(), body.length);
+        assertEquals(response.getDecodedSize(), 15);
+        assertEquals(Reporter.getCompressionOutput(response), "<div>Compressed with <i>gzip</i>: <i>" + body.length +
+                " bytes</i> transferred for <i>15 bytes</i> of content</div>");
+    }
+
+    @Test
+    public void deflateResponseTest() throws IOException {
+        HTTP http = new HTTP(null, "http://localhost");
+        RecordingTransport transport = new RecordingTransport(compress("hello world", new ByteArrayOutputStream(), false));
+        transport.responseHeaders.put("Content-Encoding", Collections.singletonList("deflate"));
+        http.setTransport(transport);
+        Response response = http.get("/users", null);
+        assertEquals(response.getMessage(), "hello world");
+        assertEquals(response.getContentEncoding(), "deflate");
+    }
+
+    @Test
+    public void uncompressedResponseTest() throws IOException {
+        HTTP http = new HTTP(null, "http://localhost");
+        http.setTransport(new RecordingTransport("hello world"));
+        Response response = http.get("/users", null);
+        assertNull(response.getContentEncoding());
+        assertEquals(response.getTransferSize(), -1);
+        assertEquals(Reporter.getCompressionOutput(response), "");
+    }
+
+    @Test
+    public void gzipDownloadTest() throws IOException {
+        byte[] body = compress("line one\nline two\n", new ByteArrayOutputStream(), true);
+        HTTP http = new HTTP(null, "http://localhost");
+        RecordingTransport transport = new RecordingTransport(body);
+        transport.responseHeaders.put("Content-Encoding", Collections.singletonList("gzip"));
+        http.setTransport(transport);
+        ByteArrayOutputStream destination = new ByteArrayOutputStream();
+        Response response = http.download("/export", null, destination);
+        assertEquals(destination.toString("UTF-8"), "line one\nline two\n");
+        assertEquals(response.getDownload().getSize(), 18);
+        assertEquals(response.getDownload().getLineCount(), 2);
+        assertEquals(response.getTransferSize(), body.length);
+        assertEquals(response.getDecodedSize(), 18);
+    }
+
+    @Test
+    public void requestCompressionTest() throws IOException {
+        HTTP http = new HTTP(null, "http://localhost");
+        ByteArrayOutputStream sent = new ByteArrayOutputStream();
+        Map<String, String> sentHeaders = new HashMap<>();
+        http.setTransport((method, url, headers, body) -> {
+            sentHeaders.putAll(headers);
+            assertEquals(body.length(), -1);
+            body.writeTo(sent);
+            return new RecordingTransport("").send(method, url, headers, null);
+        });
+        assertFalse(http.isRequestCompression());
+        http.setRequestCompression(true);
+        JsonObject payload = new JsonObject();
+        payload.addProperty("name", "john");
+        http.post("/users", new Request().setJsonPayload(payload), null);
+        assertEquals(sentHeaders.get("Content-Encoding"), "gzip");
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(sent.toByteArray()))) {
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                decoded.write(buffer, 0, read);
+            }
+        }
+        assertEquals(decoded.toString("UTF-8"), "{\"name\":\"john\"}");
+    }
+
+    private boolean brotliAvailable() {
+        try {
+            Class.forName("org.brotli.dec.BrotliInputStream");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private byte[] compress(String content, ByteArrayOutputStream out, boolean gzip) throws IOException {
+        try (OutputStream compressed = gzip ? new GZIPOutputStream(out) : new DeflaterOutputStream(out)) {
+            compressed.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+
+    private static class RecordingTransport implements Transport {
+        private final byte[] responseBody;
+        private final Map<String, List<String>> responseHeaders = new HashMap<>();
+        private String method;
+        private URL url;
+        private Map<String, String> headers;
+        private String body;
+        private long bodyLength;
+        private boolean closed = false;
+
+        RecordingTransport(String responseBody) {
+            this(responseBody.getBytes(StandardCharsets.UTF_8));
+        }
+
+        RecordingTransport(byte[] responseBody) {
+            this.responseBody = responseBody;
+        }
+
+        @Override
+        public Exchange send(String method, URL url, Map<String, String> headers, Body body) throws IOException {
+            this.method = method;
+            this.url = url;
+            this.headers = headers;
+            if (body != null) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                bodyLength = body.length();
+                body.writeTo(out);
+                this.body = out.toString("UTF-8");
+                assertEquals(out.size(), bodyLength);
+            }
+            return new Exchange() {
+                @Override
+                public int getCode() {
+                    return 200;
+                }
+
+                @Override
+                public Map<String, List<String>> getHeaders() {
+                    return responseHeaders;
+                }
+
+                @Override
+                public InputStream getBody() {
+                    return new ByteArrayInputStream(responseBody);
+                }
+
+                @Override
+                public void close() {
+                    closed = true;
+                }
+            };
+        }
+    }
+}
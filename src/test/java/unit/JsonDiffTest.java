@@ -0,0 +1,192 @@
+package unit;
+
+import com.coveros.selenified.services.JsonDiff;
+import com.coveros.selenified.services.JsonDiff.Difference;
+import com.coveros.selenified.services.JsonDiff.Type;
+import com.coveros.selenified.utilities.Reporter;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+public class JsonDiffTest {
+
+    @Test
+    public void equalTest() {
+        JsonDiff diff = JsonDiff.compare(json("{'name':'john','roles':['admin','user'],'age':30}"),
+                json("{'age':30,'roles':['admin','user'],'name':'john'}"));
+        assertTrue(diff.isEqual());
+        assertEquals(diff.getDifferenceCount(), 0);
+        assertTrue(diff.getDifferences().isEmpty());
+        assertEquals(Reporter.getDiffOutput(diff), "");
+    }
+
+    @Test
+    public void numbersTest() {
+        assertTrue(JsonDiff.compare(new JsonPrimitive(1), new JsonPrimitive(1.0)).isEqual());
+        assertTrue(JsonDiff.compare(new JsonPrimitive(0), new JsonPrimitive(-0.0)).isEqual());
+        assertTrue(JsonDiff.compare(json("{'price':1.50}"), json("{'price':1.5}")).isEqual());
+        assertFalse(JsonDiff.compare(new JsonPrimitive(1), new JsonPrimitive("1")).isEqual());
+        assertFalse(JsonDiff.compare(new JsonPrimitive(1), new JsonPrimitive(1.01)).isEqual());
+    }
+
+    @Test
+    public void typesTest() {
+        assertFalse(JsonDiff.compare(JsonNull.INSTANCE, new JsonPrimitive("null")).isEqual());
+        assertFalse(JsonDiff.compare(new JsonPrimitive(true), new JsonPrimitive("true")).isEqual());
+        assertFalse(JsonDiff.compare(json("{}"), json("[]")).isEqual());
+        assertFalse(JsonDiff.compare(json("{'a':[]}"), json("{'a':{}}")).isEqual());
+    }
+
+    @Test
+    public void changedTest() {
+        JsonDiff diff = JsonDiff.compare(json("{'users':[{'name':'john','age':30},{'name':'jane','age':25}]}"),
+                json("{'users':[{'name':'john','age':30},{'name':'jane','age':26}]}"));
+        assertFalse(diff.isEqual());
+        assertEquals(diff.getDifferenceCount(), 1);
+        Difference difference = diff.getDifferences().get(0);
+        assertEquals(difference.getPath(), "$['users'][1]['age']");
+        assertEquals(difference.getType(), Type.CHANGED);
+        assertEquals(difference.getExpected(), new JsonPrimitive(25));
+        assertEquals(difference.getActual(), new JsonPrimitive(26));
+        assertEquals(difference.toString(), "$['users'][1]['age'] expected 25, found 26");
+        assertEquals(Reporter.getDiffOutput(diff), "<div>Found <i>1</i> difference:</div><div class='indent'>" +
+                "<i>$['users'][1]['age']</i>: expected <i>25</i>, found <i>26</i></div>");
+    }
+
+    @Test
+    public void missingUnexpectedTest() {
+        JsonDiff diff = JsonDiff.compare(json("{'name':'john','age':30}"), json("{'name':'john','email':'j@x.com'}"));
+        assertEquals(diff.getDifferenceCount(), 2);
+        assertEquals(diff.getDifferences().get(0).getPath(), "$['age']");
+        assertEquals(diff.getDifferences().get(0).getType(), Type.MISSING);
+        assertNull(diff.getDifferences().get(0).getActual());
+        assertEquals(diff.getDifferences().get(1).getPath(), "$['email']");
+        assertEquals(diff.getDifferences().get(1).getType(), Type.UNEXPECTED);
+        assertNull(diff.getDifferences().get(1).getExpected());
+        assertEquals(Reporter.getDiffOutput(diff), "<div>Found <i>2</i> differences:</div>" +
+                "<div class='indent'><i>$['age']</i> is missing, expected <i>30</i></div>" +
+                "<div class='indent'><i>$['email']</i> wasn't expected, found <i>\"j@x.com\"</i></div>");
+    }
+
+    @Test
+    public void keyEscapedTest() {
+        JsonDiff diff = JsonDiff.compare(json("{\"it's\":1}"), json("{\"it's\":2}"));
+        assertEquals(diff.getDifferences().get(0).getPath(), "$['it\\'s']");
+    }
+
+    @Test
+    public void arrayLengthTest() {
+        JsonDiff diff = JsonDiff.compare(json("[1,2,3]"), json("[1,2]"));
+        assertEquals(diff.getDifferenceCount(), 1);
+        assertEquals(diff.getDifferences().get(0).getPath(), "$[2]");
+        assertEquals(diff.getDifferences().get(0).getType(), Type.MISSING);
+        diff = JsonDiff.compare(json("[1]"), json("[1,2]"));
+        assertEquals(diff.getDifferences().get(0).getPath(), "$[1]");
+        assertEquals(diff.getDifferences().get(0).getType(), Type.UNEXPECTED);
+    }
+
+    @Test
+    public void arrayOrderTest() {
+        JsonElement expected = json("[{'id':1},{'id':2},{'id':3}]");
+        JsonElement actual = json("[{'id':3},{'id':1},{'id':2}]");
+        assertFalse(JsonDiff.compare(expected, actual).isEqual());
+        JsonDiff diff = JsonDiff.compare(expected, actual, true);
+        assertTrue(diff.isEqual());
+        assertTrue(diff.isIgnoreArrayOrder());
+    }
+
+    @Test
+    public void arrayOrderDuplicatesTest() {
+        assertTrue(JsonDiff.compare(json("[1,1,2]"), json("[1,2,1]"), true).isEqual());
+        JsonDiff diff = JsonDiff.compare(json("[1,1,2]"), json("[1,2,2]"), true);
+        assertEquals(diff.getDifferenceCount(), 1);
+        assertEquals(diff.getDifferences().get(0).getType(), Type.CHANGED);
+        assertEquals(diff.getDifferences().get(0).getExpected(), new JsonPrimitive(1));
+        assertEquals(diff.getDifferences().get(0).getActual(), new JsonPrimitive(2));
+    }
+
+    @Test
+    public void arrayOrderChangedTest() {
+        JsonDiff diff = JsonDiff.compare(json("[{'id':1,'name':'john'},{'id':2,'name':'jane'}]"),
+                json("[{'id':2,'name':'jane'},{'id':1,'name':'johnny'}]"), true);
+        assertEquals(diff.getDifferenceCount(), 1);
+        assertEquals(diff.getDifferences().get(0).getPath(), "$[1]['name']");
+        assertEquals(diff.getDifferences().get(0).getType(), Type.CHANGED);
+    }
+
+    @Test
+    public void arrayOrderLengthTest() {
+        JsonDiff diff = JsonDiff.compare(json("[1,2,3]"), json("[3,1]"), true);
+        assertEquals(diff.getDifferenceCount(), 1);
+        assertEquals(diff.getDifferences().get(0).getType(), Type.MISSING);
+        assertEquals(diff.getDifferences().get(0).getExpected(), new JsonPrimitive(2));
+        diff = JsonDiff.compare(json("[3,1]"), json("[1,4,3]"), true);
+        assertEquals(diff.getDifferenceCount(), 1);
+        assertEquals(diff.getDifferences().get(0).getPath(), "$[1]");
+        assertEquals(diff.getDifferences().get(0).getType(), Type.UNEXPECTED);
+    }
+
+    @Test
+    public void nestedArrayOrderTest() {
+        assertTrue(JsonDiff.compare(json("{'groups':[{'users':['a','b']},{'users':['c']}]}"),
+                json("{'groups':[{'users':['c']},{'users':['b','a']}]}"), true).isEqual());
+    }
+
+    @Test
+    public void nullTest() {
+        assertTrue(JsonDiff.compare(null, null).isEqual());
+        JsonDiff diff = JsonDiff.compare(json("{}"), null);
+        assertEquals(diff.getDifferences().get(0).getPath(), "$");
+        assertEquals(diff.getDifferences().get(0).getType(), Type.MISSING);
+        diff = JsonDiff.compare(null, json("[]"));
+        assertEquals(diff.getDifferences().get(0).getType(), Type.UNEXPECTED);
+    }
+
+    @Test
+    public void cappedTest() {
+        JsonArray expected = new JsonArray();
+        JsonArray actual = new JsonArray();
+        for (int i = 0; i < 150; i++) {
+            expected.add(i);
+            actual.add(-i - 1);
+        }
+        JsonDiff diff = JsonDiff.compare(expected, actual);
+        assertEquals(diff.getDifferenceCount(), 150);
+        assertEquals(diff.getDifferences().size(), 100);
+        assertTrue(Reporter.getDiffOutput(diff).endsWith("<div class='indent'>and <i>50</i> more</div>"));
+    }
+
+    @Test
+    public void longValueTest() {
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            value.append('a');
+        }
+        JsonDiff diff = JsonDiff.compare(new JsonPrimitive(value.toString()), new JsonPrimitive("b"));
+        assertTrue(Reporter.getDiffOutput(diff).contains("expected <i>\"" + value.substring(0, 99) + "...</i>"));
+    }
+
+    @Test
+    public void largeTest() {
+        JsonArray expected = new JsonArray();
+        JsonArray actual = new JsonArray();
+        for (int i = 0; i < 5000; i++) {
+            expected.add(json("{'id':" + i + ",'tags':['a','b']}"));
+            actual.add(json("{'id':" + (4999 - i) + ",'tags':['a','b']}"));
+        }
+        assertTrue(JsonDiff.compare(expected, actual, true).isEqual());
+        actual.get(500).getAsJsonObject().addProperty("id", -1);
+        JsonDiff diff = JsonDiff.compare(expected, actual, true);
+        assertEquals(diff.getDifferenceCount(), 1);
+        assertEquals(diff.getDifferences().get(0).getPath(), "$[500]['id']");
+    }
+
+    private JsonElement json(String json) {
+        return new JsonParser().parse(json);
+    }
+}
@@ -0,0 +1,160 @@
+package unit;
+
+import com.coveros.selenified.services.JsonPath;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class JsonPathTest {
+
+    private final JsonElement json = new JsonParser().parse("{\"users\":[{\"name\":\"john\",\"age\":30}," +
+            "{\"name\":\"jane\",\"age\":25}],\"first name\":\"max\",\"it's\":true,\"nested\":{\"value\":5}}");
+
+    @Test
+    public void compileCachedTest() {
+        assertSame(JsonPath.compile("$.users[0].name"), JsonPath.compile("$.users[0].name"));
+    }
+
+    @Test
+    public void compileEqualTest() {
+        assertEquals(JsonPath.compile("users[0].name"), JsonPath.compile("$['users'][0][\"name\"]"));
+        assertEquals(JsonPath.compile("users[0].name").hashCode(), JsonPath.compile("$['users'][0][\"name\"]").hashCode());
+        assertNotEquals(JsonPath.compile("users[1].name"), JsonPath.compile("users[0].name"));
+    }
+
+    @Test
+    public void toStringTest() {
+        assertEquals(JsonPath.compile("$.users[*].name").toString(), "$['users'][*]['name']");
+        assertEquals(JsonPath.compile("$['it\\'s']").toString(), "$['it\\'s']");
+        assertEquals(JsonPath.compile("$").toString(), "$");
+    }
+
+    @Test
+    public void ofCrumbsTest() {
+        assertEquals(JsonPath.of(Arrays.asList("nested", "value")), JsonPath.compile("$.nested.value"));
+        assertEquals(JsonPath.of(Collections.singletonList("users[0]")).toString(), "$['users[0]']");
+    }
+
+    @Test
+    public void isDefiniteTest() {
+        assertTrue(JsonPath.compile("$.users[0].name").isDefinite());
+        assertFalse(JsonPath.compile("$.users[*].name").isDefinite());
+        assertFalse(JsonPath.compile("$.*").isDefinite());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void compileNullTest() {
+        JsonPath.compile(null);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void compileEmptyKeyTest() {
+        JsonPath.compile("$.users..name");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void compileUnclosedBracketTest() {
+        JsonPath.compile("$.users[0");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void compileUnclosedQuoteTest() {
+        JsonPath.compile("$['users]");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void compileBadIndexTest() {
+        JsonPath.compile("$.users[first]");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void compileBadCharacterTest() {
+        JsonPath.compile("$users");
+    }
+
+    @Test
+    public void resolveKeyTest() {
+        assertEquals(JsonPath.compile("$.nested.value").resolve(json), new JsonPrimitive(5));
+        assertEquals(JsonPath.compile("nested.value").resolve(json), new JsonPrimitive(5));
+    }
+
+    @Test
+    public void resolveQuotedKeyTest() {
+        assertEquals(JsonPath.compile("$['first name']").resolve(json), new JsonPrimitive("max"));
+        assertEquals(JsonPath.compile("$[\"it's\"]").resolve(json), new JsonPrimitive(true));
+        assertEquals(JsonPath.compile("$['it\\'s']").resolve(json), new JsonPrimitive(true));
+    }
+
+    @Test
+    public void resolveIndexTest() {
+        assertEquals(JsonPath.compile("$.users[1].name").resolve(json), new JsonPrimitive("jane"));
+        assertEquals(JsonPath.compile("$.users[-1].name").resolve(json), new JsonPrimitive("jane"));
+        assertEquals(JsonPath.compile("$.users[-2].age").resolve(json), new JsonPrimitive(30));
+    }
+
+    @Test
+    public void resolveRootTest() {
+        assertEquals(JsonPath.compile("$").resolve(json), json);
+    }
+
+    @Test
+    public void resolveMissingTest() {
+        assertNull(JsonPath.compile("$.users[2].name").resolve(json));
+        assertNull(JsonPath.compile("$.users[-3].name").resolve(json));
+        assertNull(JsonPath.compile("$.missing.name").resolve(json));
+        assertNull(JsonPath.compile("$.users.name").resolve(json));
+        assertNull(JsonPath.compile("$.nested[0]").resolve(json));
+        assertNull(JsonPath.compile("$.nested.value.more").resolve(json));
+        assertNull(JsonPath.compile("$.nested").resolve(null));
+    }
+
+    @Test
+    public void resolveWildcardTest() {
+        JsonArray names = new JsonArray();
+        names.add("john");
+        names.add("jane");
+        assertEquals(JsonPath.compile("$.users[*].name").resolve(json), names);
+        assertEquals(JsonPath.compile("$.users.*.name").resolve(json), names);
+    }
+
+    @Test
+    public void resolveWildcardObjectTest() {
+        JsonArray values = new JsonArray();
+        values.add(5);
+        assertEquals(JsonPath.compile("$.nested[*]").resolve(json), values);
+    }
+
+    @Test
+    public void resolveWildcardMissingTest() {
+        assertEquals(JsonPath.compile("$.users[*].email").resolve(json), new JsonArray());
+        assertEquals(JsonPath.compile("$.missing[*]").resolve(json), new JsonArray());
+    }
+
+    @Test
+    public void evaluateTest() {
+        List<JsonElement> ages = JsonPath.compile("$.users[*].age").evaluate(json);
+        assertEquals(ages, Arrays.asList(new JsonPrimitive(30), new JsonPrimitive(25)));
+        assertEquals(JsonPath.compile("$.nested.value").evaluate(json), Collections.singletonList(new JsonPrimitive(5)));
+        assertTrue(JsonPath.compile("$.nested.missing").evaluate(json).isEmpty());
+        assertTrue(JsonPath.compile("$").evaluate(null).isEmpty());
+    }
+
+    @Test
+    public void resolveArrayRootTest() {
+        JsonArray array = new JsonArray();
+        JsonObject john = new JsonObject();
+        john.addProperty("name", "john");
+        array.add(john);
+        assertEquals(JsonPath.compile("$[0].name").resolve(array), new JsonPrimitive("john"));
+        assertNull(JsonPath.compile("$.name").resolve(array));
+    }
+}
@@ -0,0 +1,186 @@
+package unit;
+
+import com.coveros.selenified.services.JsonSchema;
+import com.coveros.selenified.services.JsonSchema.Violation;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class JsonSchemaTest {
+
+    private static final String USER = "{'type':'object','required':['id','name'],'properties':{" +
+            "'id':{'type':'integer','minimum':1},'name':{'type':'string','minLength':1,'maxLength':10}," +
+            "'email':{'type':'string','pattern':'@'},'role':{'enum':['admin','user']}," +
+            "'tags':{'type':'array','items':{'type':'string'},'uniqueItems':true,'maxItems':3}}," +
+            "'additionalProperties':false}";
+
+    @Test
+    public void validTest() {
+        JsonSchema schema = JsonSchema.compile(json(USER));
+        JsonElement user = json("{'id':1,'name':'john','email':'john@x.com','role':'admin','tags':['a','b']}");
+        assertTrue(schema.validate(user).isEmpty());
+        assertTrue(schema.isValid(user));
+    }
+
+    @Test
+    public void violationsTest() {
+        JsonSchema schema = JsonSchema.compile(json(USER));
+        List<Violation> violations = schema.validate(json("{'id':0,'email':'john','role':'owner','extra':true}"));
+        assertEquals(violations.size(), 5);
+        assertEquals(violations.get(0).toString(), "$['name']: is required, but missing");
+        assertEquals(violations.get(1).toString(), "$['id']: expected at least 1, found 0");
+        assertEquals(violations.get(2).toString(), "$['email']: \"john\" doesn't match the pattern @");
+        assertEquals(violations.get(3).getPath(), "$['role']");
+        assertEquals(violations.get(4).getPath(), "$['extra']");
+        assertFalse(schema.isValid(json("{'id':0}")));
+    }
+
+    @Test
+    public void typeTest() {
+        JsonSchema schema = JsonSchema.compile(json("{'type':'integer'}"));
+        assertTrue(schema.isValid(json("5")));
+        assertTrue(schema.isValid(json("5.0")));
+        assertFalse(schema.isValid(json("5.5")));
+        assertEquals(schema.validate(json("'5'")).get(0).getMessage(), "expected integer, found string");
+        schema = JsonSchema.compile(json("{'type':['number','null']}"));
+        assertTrue(schema.isValid(json("5")));
+        assertTrue(schema.isValid(json("5.5")));
+        assertTrue(schema.isValid(json("null")));
+        assertTrue(schema.isValid(null));
+        assertEquals(schema.validate(json("true")).get(0).getMessage(), "expected number or null, found boolean");
+    }
+
+    @Test
+    public void arrayTest() {
+        JsonSchema schema = JsonSchema.compile(json("{'type':'array','minItems':1,'items':{'type':'object','required':['id']}}"));
+        assertTrue(schema.isValid(json("[{'id':1},{'id':2}]")));
+        List<Violation> violations = schema.validate(json("[{'id':1},{},{'name':'john'}]"));
+        assertEquals(violations.size(), 2);
+        assertEquals(violations.get(0).getPath(), "$[1]['id']");
+        assertEquals(violations.get(1).getPath(), "$[2]['id']");
+        assertEquals(schema.validate(json("[]")).get(0).toString(), "$: expected at least 1 items, found 0");
+    }
+
+    @Test
+    public void tupleTest() {
+        JsonSchema schema = JsonSchema.compile(json("{'items':[{'type':'string'},{'type':'number'}]}"));
+        assertTrue(schema.isValid(json("['a',1,true]")));
+        assertEquals(schema.validate(json("[1,'a']")).size(), 2);
+    }
+
+    @Test
+    public void uniqueItemsTest() {
+        JsonSchema schema = JsonSchema.compile(json(USER));
+        List<Violation> violations = schema.validate(json("{'id':1,'name':'john','tags':['a','b','a']}"));
+        assertEquals(violations.size(), 1);
+        assertEquals(violations.get(0).toString(), "$['tags'][2]: \"a\" is a duplicate");
+    }
+
+    @Test
+    public void numericTest() {
+        JsonSchema schema = JsonSchema.compile(json("{'exclusiveMinimum':0,'exclusiveMaximum':10,'multipleOf':0.5}"));
+        assertTrue(schema.isValid(json("9.5")));
+        assertFalse(schema.isValid(json("0")));
+        assertFalse(schema.isValid(json("10")));
+        assertFalse(schema.isValid(json("1.2")));
+        // draft 4 marks the minimum and maximum exclusive with a boolean
+        schema = JsonSchema.compile(json("{'minimum':0,'exclusiveMinimum':true,'maximum':10}"));
+        assertFalse(schema.isValid(json("0")));
+        assertTrue(schema.isValid(json("10")));
+        // limits only apply to numbers
+        assertTrue(schema.isValid(json("'-5'")));
+    }
+
+    @Test
+    public void patternPropertiesTest() {
+        JsonSchema schema = JsonSchema.compile(json("{'patternProperties':{'^x-':{'type':'string'}}," +
+                "'additionalProperties':{'type':'number'},'minProperties':1}"));
+        assertTrue(schema.isValid(json("{'x-id':'abc','count':5}")));
+        assertEquals(schema.validate(json("{'x-id':5,'count':'5'}")).size(), 2);
+        assertFalse(schema.isValid(json("{}")));
+    }
+
+    @Test
+    public void combinedTest() {
+        JsonSchema schema = JsonSchema.compile(json("{'anyOf':[{'type':'string'},{'type':'number'}]}"));
+        assertTrue(schema.isValid(json("'a'")));
+        assertEquals(schema.validate(json("true")).get(0).getMessage(), "doesn't match any of the anyOf schemas");
+        schema = JsonSchema.compile(json("{'oneOf':[{'type':'integer'},{'minimum':5}]}"));
+        assertTrue(schema.isValid(json("1")));
+        assertTrue(schema.isValid(json("5.5")));
+        assertEquals(schema.validate(json("6")).get(0).getMessage(), "matches 2 of the oneOf schemas, instead of 1");
+        schema = JsonSchema.compile(json("{'allOf':[{'type':'string'},{'maxLength':2}],'not':{'const':'no'}}"));
+        assertTrue(schema.isValid(json("'ok'")));
+        assertFalse(schema.isValid(json("'no'")));
+        assertFalse(schema.isValid(json("'long'")));
+    }
+
+    @Test
+    public void booleanSchemaTest() {
+        assertTrue(JsonSchema.compile(json("true")).isValid(json("{'a':1}")));
+        assertFalse(JsonSchema.compile(json("false")).isValid(json("1")));
+        assertTrue(JsonSchema.compile(json("{}")).isValid(json("[1,'a',null]")));
+    }
+
+    @Test
+    public void refTest() {
+        JsonSchema schema = JsonSchema.compile(json("{'definitions':{'node':{'type':'object','required':['value']," +
+                "'properties':{'children':{'type':'array','items':{'$ref':'#/definitions/node'}}}}}," +
+                "'$ref':'#/definitions/node'}"));
+        assertTrue(schema.isValid(json("{'value':1,'children':[{'value':2,'children':[{'value':3}]}]}")));
+        List<Violation> violations = schema.validate(json("{'value':1,'children':[{'value':2,'children':[{}]}]}"));
+        assertEquals(violations.size(), 1);
+        assertEquals(violations.get(0).getPath(), "$['children'][0]['children'][0]['value']");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void badRefTest() {
+        JsonSchema.compile(json("{'$ref':'#/definitions/missing'}")).isValid(json("1"));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void badSchemaTest() {
+        JsonSchema.compile(json("5"));
+    }
+
+    @Test
+    public void loadCachedTest() throws IOException {
+        File file = File.createTempFile("schema", ".json");
+        try {
+            write(file, USER);
+            JsonSchema schema = JsonSchema.load(file);
+            assertSame(JsonSchema.load(file), schema);
+            assertSame(JsonSchema.load(new File(file.getParentFile(), file.getName())), schema);
+            write(file, "{'type':'string'}");
+            assertTrue(file.setLastModified(file.lastModified() + 2000));
+            JsonSchema changed = JsonSchema.load(file);
+            assertNotSame(changed, schema);
+            assertTrue(changed.isValid(json("'a'")));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void loadMissingTest() throws IOException {
+        JsonSchema.load(new File("missing-schema.json"));
+    }
+
+    private void write(File file, String content) throws IOException {
+        try (Writer writer = new FileWriter(file)) {
+            writer.write(content);
+        }
+    }
+
+    private JsonElement json(String json) {
+        return new JsonParser().parse(json);
+    }
+}
@@ -0,0 +1,135 @@
+package unit;
+
+import com.coveros.selenified.utilities.LatencyMetrics;
+import com.coveros.selenified.utilities.LatencyMetrics.Histogram;
+import com.coveros.selenified.utilities.LatencyMetrics.Phase;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+
+import static org.testng.Assert.*;
+
+public class LatencyMetricsTest {
+
+    @AfterMethod
+    public void reset() {
+        LatencyMetrics.reset();
+    }
+
+    @Test
+    public void getEndpointTest() throws MalformedURLException {
+        assertEquals(LatencyMetrics.getEndpoint("GET", new URL("http://localhost/users?id=5")), "GET /users");
+        assertEquals(LatencyMetrics.getEndpoint("GET", new URL("http://localhost")), "GET /");
+        assertEquals(LatencyMetrics.getEndpoint("POST", new URL("http://localhost/")), "POST /");
+    }
+
+    @Test
+    public void getEndpointIdsTest() throws MalformedURLException {
+        assertEquals(LatencyMetrics.getEndpoint("GET", new URL("http://localhost/users/123/posts/4")),
+                "GET /users/{id}/posts/{id}");
+        assertEquals(LatencyMetrics.getEndpoint("DELETE",
+                new URL("http://localhost/orders/123e4567-e89b-12d3-a456-426614174000")), "DELETE /orders/{id}");
+        assertEquals(LatencyMetrics.getEndpoint("GET", new URL("http://localhost/commits/5f2b3c4d5e6f7a8b9c0d")),
+                "GET /commits/{id}");
+        assertEquals(LatencyMetrics.getEndpoint("GET", new URL("http://localhost/v2/users/me")), "GET /v2/users/me");
+    }
+
+    @Test
+    public void histogramEmptyTest() {
+        Histogram histogram = new Histogram();
+        assertEquals(histogram.getCount(), 0);
+        assertEquals(histogram.getMean(), 0);
+        assertEquals(histogram.getMax(), 0);
+        assertEquals(histogram.getValueAtPercentile(99), 0);
+    }
+
+    @Test
+    public void histogramSmallValuesTest() {
+        Histogram histogram = new Histogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        assertEquals(histogram.getCount(), 100);
+        assertEquals(histogram.getMean(), 50);
+        assertEquals(histogram.getMax(), 100);
+        assertEquals(histogram.getValueAtPercentile(50), 50);
+        assertEquals(histogram.getValueAtPercentile(95), 95);
+        assertEquals(histogram.getValueAtPercentile(99), 99);
+        assertEquals(histogram.getValueAtPercentile(100), 100);
+        assertEquals(histogram.getValueAtPercentile(0), 1);
+    }
+
+    @Test
+    public void histogramLargeValuesTest() {
+        Histogram histogram = new Histogram();
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000000);
+        }
+        assertEquals(histogram.getMax(), 1000000000);
+        long p50 = histogram.getValueAtPercentile(50);
+        long p99 = histogram.getValueAtPercentile(99);
+        assertTrue(Math.abs(p50 - 500000000) <= 500000000 * 0.02, String.valueOf(p50));
+        assertTrue(Math.abs(p99 - 990000000) <= 990000000 * 0.02, String.valueOf(p99));
+        assertEquals(histogram.getValueAtPercentile(100), 1000000000);
+    }
+
+    @Test
+    public void histogramNegativeTest() {
+        Histogram histogram = new Histogram();
+        histogram.record(-5);
+        assertEquals(histogram.getCount(), 1);
+        assertEquals(histogram.getMax(), 0);
+    }
+
+    @Test
+    public void histogramMaxValueTest() {
+        Histogram histogram = new Histogram();
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(histogram.getValueAtPercentile(50), Long.MAX_VALUE);
+    }
+
+    @Test
+    public void recordTest() {
+        LatencyMetrics.record("GET /users", Phase.TOTAL, 5000000);
+        LatencyMetrics.record("GET /users", Phase.TOTAL, 7000000);
+        LatencyMetrics.record("DELETE /users/{id}", Phase.CONNECT, 1000000);
+        assertEquals(LatencyMetrics.getEndpoints().firstKey(), "DELETE /users/{id}");
+        assertEquals(LatencyMetrics.getEndpoints().get("GET /users").get(Phase.TOTAL).getCount(), 2);
+        assertEquals(LatencyMetrics.getEndpoints().get("GET /users").get(Phase.PARSE).getCount(), 0);
+    }
+
+    @Test
+    public void resetTest() {
+        LatencyMetrics.record("GET /users", Phase.TOTAL, 5000000);
+        LatencyMetrics.reset();
+        assertTrue(LatencyMetrics.getEndpoints().isEmpty());
+    }
+
+    @Test
+    public void toJsonTest() {
+        LatencyMetrics.record("GET /users", Phase.FIRST_BYTE, 2500000);
+        JsonObject json = new JsonParser().parse(LatencyMetrics.toJson()).getAsJsonObject();
+        JsonObject endpoint = json.getAsJsonObject("GET /users");
+        assertEquals(endpoint.keySet().size(), 1);
+        JsonObject firstByte = endpoint.getAsJsonObject("firstByte");
+        assertEquals(firstByte.get("count").getAsLong(), 1);
+        assertEquals(firstByte.get("max").getAsDouble(), 2.5);
+        assertEquals(firstByte.get("p99").getAsDouble(), 2.5);
+    }
+
+    @Test
+    public void toJsonEmptyTest() {
+        assertEquals(LatencyMetrics.toJson(), "{}");
+    }
+
+    @Test
+    public void formatMillisTest() {
+        assertEquals(LatencyMetrics.formatMillis(1250000), "1.25ms");
+        assertEquals(LatencyMetrics.formatMillis(0), "0.00ms");
+        assertEquals(LatencyMetrics.toMillis(1254999), 1.25);
+    }
+}
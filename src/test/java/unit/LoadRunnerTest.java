@@ -0,0 +1,187 @@
+package unit;
+
+import com.coveros.selenified.services.Call;
+import com.coveros.selenified.services.LoadRunner;
+import com.coveros.selenified.services.LoadSummary;
+import com.coveros.selenified.services.Transport;
+import com.coveros.selenified.utilities.LatencyMetrics;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.*;
+
+public class LoadRunnerTest {
+
+    @AfterMethod
+    public void reset() {
+        LatencyMetrics.reset();
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void concurrencyInvalidTest() {
+        new LoadRunner("http://localhost", call -> call.get("/")).setConcurrency(0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void rateInvalidTest() {
+        new LoadRunner("http://localhost", call -> call.get("/")).setRate(-1);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void durationInvalidTest() {
+        new LoadRunner("http://localhost", call -> call.get("/")).setDuration(-1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void usersTest() throws InterruptedException {
+        LoadSummary summary = new LoadRunner("http://localhost", call -> call.get("/users").verifyEquals().code(200))
+                .setConcurrency(4).setDuration(200, TimeUnit.MILLISECONDS).setTransport(new StubTransport(0)).run();
+        assertTrue(summary.getIterations() > 0);
+        assertEquals(summary.getFailed(), 0);
+        assertEquals(summary.getDropped(), 0);
+        assertEquals(summary.getErrorRate(), 0.0);
+        assertEquals(summary.getPassedSteps(), summary.getIterations() * 2);
+        assertEquals(summary.getFailedSteps(), 0);
+        assertEquals(summary.getLatency().getCount(), summary.getIterations());
+        assertTrue(summary.getElapsed() >= 200);
+        assertTrue(summary.getThroughput() > 0);
+        assertTrue(summary.getFailures().isEmpty());
+        // iterations are summarized on their own, and kept out of the suite's latency
+        assertTrue(LatencyMetrics.getEndpoints().isEmpty());
+    }
+
+    @Test
+    public void failedCheckTest() throws InterruptedException {
+        LoadSummary summary = new LoadRunner("http://localhost", call -> call.get("/users").verifyEquals().code(201))
+                .setDuration(50, TimeUnit.MILLISECONDS).setTransport(new StubTransport(0)).run();
+        assertTrue(summary.getIterations() > 0);
+        assertEquals(summary.getFailed(), summary.getIterations());
+        assertEquals(summary.getErrorRate(), 1.0);
+        assertEquals(summary.getFailedSteps(), summary.getIterations());
+        assertEquals(summary.getFailures().size(), 1);
+        assertEquals((long) summary.getFailures().values().iterator().next(), summary.getIterations());
+    }
+
+    @Test
+    public void thrownTest() throws InterruptedException {
+        LoadSummary summary = new LoadRunner("http://localhost", call -> {
+            throw new IllegalStateException("Broken flow");
+        }).setDuration(50, TimeUnit.MILLISECONDS).run();
+        assertEquals(summary.getFailed(), summary.getIterations());
+        assertEquals(summary.getFailures().keySet().iterator().next(), "IllegalStateException: Broken flow");
+        assertTrue(summary.toString().contains(" x IllegalStateException: Broken flow"));
+    }
+
+    @Test
+    public void rateTest() throws InterruptedException {
+        LoadSummary summary = new LoadRunner("http://localhost", call -> call.get("/users"))
+                .setRate(100).setConcurrency(4).setDuration(300, TimeUnit.MILLISECONDS)
+                .setTransport(new StubTransport(0)).run();
+        assertEquals(summary.getIterations() + summary.getDropped(), 30);
+        assertEquals(summary.getFailed(), 0);
+    }
+
+    @Test
+    public void rateDroppedTest() throws InterruptedException {
+        LoadSummary summary = new LoadRunner("http://localhost", call -> call.get("/users"))
+                .setRate(100).setDuration(200, TimeUnit.MILLISECONDS).setTransport(new StubTransport(100)).run();
+        assertEquals(summary.getIterations() + summary.getDropped(), 20);
+        assertTrue(summary.getDropped() > 0);
+        assertTrue(summary.toString().contains(" dropped"));
+    }
+
+    @Test
+    public void headersTest() throws InterruptedException {
+        StubTransport transport = new StubTransport(0);
+        Map<String, Object> headers = new HashMap<>();
+        headers.put("X-Load", "true");
+        new LoadRunner("http://localhost", call -> call.get("/users")).setHeaders(headers)
+                .setCredentials("User", "Pass").setDuration(20, TimeUnit.MILLISECONDS).setTransport(transport).run();
+        assertEquals(transport.headers.get("X-Load"), "true");
+        assertEquals(transport.headers.get("Authorization"), "Basic VXNlcjpQYXNz");
+    }
+
+    @Test
+    public void scenarioTest() throws Exception {
+        StubTransport transport = new StubTransport(0);
+        LoadSummary summary = new LoadRunner("http://localhost", LoadRunner.scenario(new Flows(), "getUser"))
+                .setDuration(20, TimeUnit.MILLISECONDS).setTransport(transport).run();
+        assertTrue(summary.getIterations() > 0);
+        assertEquals(summary.getFailed(), 0);
+        assertEquals(transport.url, new URL("http://localhost/users/1"));
+    }
+
+    @Test
+    public void scenarioFailureTest() throws Exception {
+        LoadSummary summary = new LoadRunner("http://localhost", LoadRunner.scenario(new Flows(), "broken"))
+                .setDuration(20, TimeUnit.MILLISECONDS).setTransport(new StubTransport(0)).run();
+        assertEquals(summary.getFailures().keySet().iterator().next(), "AssertionError: Bad user");
+    }
+
+    @Test(expectedExceptions = NoSuchMethodException.class)
+    public void scenarioMissingTest() throws NoSuchMethodException {
+        LoadRunner.scenario(new Flows(), "missing");
+    }
+
+    public static class Flows {
+        public void getUser(Call call) {
+            call.get("/users/1").assertEquals().code(200);
+        }
+
+        public void broken(Call call) {
+            throw new AssertionError("Bad user");
+        }
+    }
+
+    private static class StubTransport implements Transport {
+        private final long delay;
+        private volatile URL url;
+        private volatile Map<String, String> headers;
+
+        StubTransport(long delay) {
+            this.delay = delay;
+        }
+
+        @Override
+        public Exchange send(String method, URL url, Map<String, String> headers, Body body) throws IOException {
+            this.url = url;
+            this.headers = headers;
+            if (delay > 0) {
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return new Exchange() {
+                @Override
+                public int getCode() {
+                    return 200;
+                }
+
+                @Override
+                public Map<String, List<String>> getHeaders() {
+                    return new HashMap<>();
+                }
+
+                @Override
+                public InputStream getBody() {
+                    return new ByteArrayInputStream("{}".getBytes());
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package unit;
+
+import com.coveros.selenified.utilities.Patterns;
+import org.testng.annotations.Test;
+
+import java.util.regex.PatternSyntaxException;
+
+import static org.testng.Assert.*;
+
+public class PatternsTest {
+
+    @Test
+    public void cachedTest() {
+        assertSame(Patterns.get("user-\\d+"), Patterns.get("user-\\d+"));
+        assertNotSame(Patterns.get("user-\\d+"), Patterns.get("user-\\w+"));
+    }
+
+    @Test
+    public void matchesTest() {
+        assertTrue(Patterns.matches("user-123", "user-\\d+"));
+        assertFalse(Patterns.matches("user-abc", "user-\\d+"));
+        // the whole text needs to match, the same as String.matches
+        assertFalse(Patterns.matches("the user-123", "user-\\d+"));
+    }
+
+    @Test
+    public void nullTest() {
+        assertFalse(Patterns.matches(null, ".*"));
+    }
+
+    @Test(expectedExceptions = PatternSyntaxException.class)
+    public void badPatternTest() {
+        Patterns.matches("user", "user(");
+    }
+
+    @Test
+    public void noTimeoutTest() {
+        assertTrue(Patterns.matches("user-123", "user-\\d+", 0));
+    }
+
+    @Test
+    public void largeTextTest() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            text.append("line ").append(i).append('\n');
+        }
+        assertTrue(Patterns.matches(text.toString(), "(?s)line 0\n.*line 99999\n", 1000));
+    }
+
+    @Test
+    public void timeoutTest() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            text.append('a');
+        }
+        text.append('!');
+        long start = System.currentTimeMillis();
+        try {
+            Patterns.matches(text.toString(), "(.*a){20}", 100);
+            fail("Expected the match to time out");
+        } catch (Patterns.MatchTimeoutException e) {
+            assertEquals(e.getMessage(), "Gave up matching '(.*a){20}' against 51 characters after 100ms");
+        }
+        assertTrue(System.currentTimeMillis() - start < 5000);
+    }
+}
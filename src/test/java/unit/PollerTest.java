@@ -0,0 +1,170 @@
+package unit;
+
+import com.coveros.selenified.utilities.PollHistory;
+import com.coveros.selenified.utilities.Poller;
+import com.coveros.selenified.utilities.PollingStrategy;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.*;
+
+public class PollerTest {
+
+    @Test
+    public void fixedPollTest() {
+        assertEquals(PollingStrategy.FIXED.nextPoll(50, 1000, 1, 0, 0), 50);
+        assertEquals(PollingStrategy.FIXED.nextPoll(50, 1000, 20, 3000, 0), 50);
+    }
+
+    @Test
+    public void exponentialPollTest() {
+        assertEquals(PollingStrategy.EXPONENTIAL.nextPoll(50, 1000, 0, 0, 0), 50);
+        assertEquals(PollingStrategy.EXPONENTIAL.nextPoll(50, 1000, 1, 50, 0), 100);
+        assertEquals(PollingStrategy.EXPONENTIAL.nextPoll(50, 1000, 3, 350, 0), 400);
+    }
+
+    @Test
+    public void exponentialPollCapTest() {
+        assertEquals(PollingStrategy.EXPONENTIAL.nextPoll(50, 1000, 10, 5000, 0), 1000);
+        assertEquals(PollingStrategy.EXPONENTIAL.nextPoll(50, 1000, 100, 5000, 0), 1000);
+    }
+
+    @Test
+    public void exponentialPollBelowCapTest() {
+        assertEquals(PollingStrategy.EXPONENTIAL.nextPoll(500, 100, 3, 1000, 0), 500);
+    }
+
+    @Test
+    public void adaptivePollBoundsTest() {
+        for (int polls = 0; polls < 20; polls++) {
+            long poll = PollingStrategy.ADAPTIVE.nextPoll(50, 1000, polls, polls * 100L, 400);
+            assertTrue(poll >= 50, "Poll of " + poll + " is below the poll interval");
+            assertTrue(poll <= 1000, "Poll of " + poll + " is above the max poll");
+        }
+    }
+
+    @Test
+    public void adaptivePollExpectedTest() {
+        assertEquals(PollingStrategy.ADAPTIVE.nextPoll(50, 1000, 1, 100, 2000), 500);
+        assertEquals(PollingStrategy.ADAPTIVE.nextPoll(50, 1000, 1, 100, 400), 100);
+        assertEquals(PollingStrategy.ADAPTIVE.nextPoll(50, 1000, 1, 100, 0), 100);
+    }
+
+    @Test
+    public void pollHistoryTest() {
+        PollHistory history = new PollHistory();
+        assertEquals(history.getExpectedTime(), 0.0);
+        history.record(1000);
+        assertEquals(history.getExpectedTime(), 1000.0);
+        history.record(500);
+        assertEquals(history.getExpectedTime(), 900.0);
+    }
+
+    @Test
+    public void pollHistorySeparateTest() {
+        PollHistory history = new PollHistory();
+        PollHistory otherHistory = new PollHistory();
+        history.record(1000);
+        assertEquals(otherHistory.getExpectedTime(), 0.0);
+    }
+
+    @Test
+    public void lookupTest() {
+        assertEquals(PollingStrategy.lookup("fixed"), PollingStrategy.FIXED);
+        assertEquals(PollingStrategy.lookup("Exponential"), PollingStrategy.EXPONENTIAL);
+        assertEquals(PollingStrategy.lookup("ADAPTIVE"), PollingStrategy.ADAPTIVE);
+        assertNull(PollingStrategy.lookup("linear"));
+        assertNull(PollingStrategy.lookup(null));
+    }
+
+    @Test
+    public void untilMetTest() {
+        AtomicInteger checks = new AtomicInteger();
+        Boolean value = Poller.until(null, 1, 10, 1000, PollingStrategy.FIXED, null,
+                (ExpectedCondition<Boolean>) d -> checks.incrementAndGet() == 3);
+        assertTrue(value);
+        assertEquals(checks.get(), 3);
+    }
+
+    @Test
+    public void untilValueTest() {
+        String value = Poller.until(null, 1, 10, 1000, PollingStrategy.EXPONENTIAL, null, (ExpectedCondition<String>) d -> "done");
+        assertEquals(value, "done");
+    }
+
+    @Test
+    public void untilNotFoundTest() {
+        AtomicInteger checks = new AtomicInteger();
+        Boolean value = Poller.until(null, 1, 10, 1000, PollingStrategy.FIXED, null, (ExpectedCondition<Boolean>) d -> {
+            if (checks.incrementAndGet() < 2) {
+                throw new NoSuchElementException("not yet");
+            }
+            return true;
+        });
+        assertTrue(value);
+    }
+
+    @Test(expectedExceptions = TimeoutException.class)
+    public void untilTimeoutTest() {
+        Poller.until(null, 0.2, 10, 1000, PollingStrategy.FIXED, null, (ExpectedCondition<Boolean>) d -> false);
+    }
+
+    @Test
+    public void untilFractionalSecondsTest() {
+        long start = System.currentTimeMillis();
+        try {
+            Poller.until(null, 0.3, 10, 1000, PollingStrategy.FIXED, null, (ExpectedCondition<Boolean>) d -> false);
+            fail("Expected the wait to time out");
+        } catch (TimeoutException e) {
+            assertTrue(System.currentTimeMillis() - start >= 300);
+        }
+    }
+
+    @Test
+    public void untilRecordsHistoryTest() {
+        PollHistory history = new PollHistory();
+        Poller.until(null, 1, 10, 1000, PollingStrategy.ADAPTIVE, history, (ExpectedCondition<Boolean>) d -> true);
+        assertTrue(history.getExpectedTime() >= 0);
+        AtomicInteger checks = new AtomicInteger();
+        Poller.until(null, 1, 10, 1000, PollingStrategy.ADAPTIVE, history,
+                (ExpectedCondition<Boolean>) d -> checks.incrementAndGet() == 3);
+        assertTrue(history.getExpectedTime() > 0);
+    }
+
+    @Test
+    public void metricsTest() {
+        long waits = Poller.getWaits();
+        long polls = Poller.getPolls();
+        Poller.until(null, 1, 10, 1000, PollingStrategy.FIXED, null, (ExpectedCondition<Boolean>) d -> true);
+        assertTrue(Poller.getWaits() > waits);
+        assertTrue(Poller.getPolls() > polls);
+    }
+
+    @Test
+    public void recordTest() {
+        long waits = Poller.getWaits();
+        long timeouts = Poller.getTimeouts();
+        long polls = Poller.getPolls();
+        Poller.record(3, 100, true);
+        Poller.record(5, 200, false);
+        assertTrue(Poller.getWaits() >= waits + 2);
+        assertTrue(Poller.getTimeouts() >= timeouts + 1);
+        assertTrue(Poller.getPolls() >= polls + 8);
+    }
+
+    @Test
+    public void toJsonTest() {
+        JsonObject json = new JsonParser().parse(Poller.toJson()).getAsJsonObject();
+        assertTrue(json.has("waits"));
+        assertTrue(json.has("timeouts"));
+        assertTrue(json.has("polls"));
+        assertTrue(json.has("pollsPerWait"));
+        assertTrue(json.has("averageTimeToTrue"));
+    }
+}
@@ -1,6 +1,7 @@
 package unit;
 
 import com.coveros.selenified.exceptions.*;
+import com.coveros.selenified.utilities.PollingStrategy;
 import com.coveros.selenified.utilities.Property;
 import org.testng.ITestContext;
 import org.testng.annotations.Test;
@@ -1116,4 +1117,276 @@ public class PropertyTest extends SaveProperties {
         createPropertiesFile(BUILD_NAME + "=");
         assertEquals(Property.getBuildName(), "someoptions");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void defaultEventWaitsTest() {
+        assertFalse(Property.useEventWaits());
+    }
+
+    @Test
+    public void defaultEventWaitsSystemTrueTest() {
+        System.setProperty(EVENT_WAITS, "true");
+        assertTrue(Property.useEventWaits());
+    }
+
+    @Test
+    public void defaultEventWaitsSystemFalseTest() {
+        System.setProperty(EVENT_WAITS, "false");
+        assertFalse(Property.useEventWaits());
+    }
+
+    @Test
+    public void defaultEventWaitsSystemOtherTest() {
+        System.setProperty(EVENT_WAITS, "hello");
+        assertFalse(Property.useEventWaits());
+    }
+
+    @Test
+    public void defaultEventWaitsFilePartialTest() throws IOException {
+        createPropertiesFile(EVENT_WAITS);
+        assertTrue(Property.useEventWaits());
+    }
+
+    @Test
+    public void defaultEventWaitsFileTrueTest() throws IOException {
+        createPropertiesFile(EVENT_WAITS + "=true");
+        assertTrue(Property.useEventWaits());
+    }
+
+    @Test
+    public void defaultEventWaitsOverrideTest() throws IOException {
+        createPropertiesFile(EVENT_WAITS + "=true");
+        System.setProperty(EVENT_WAITS, "false");
+        assertFalse(Property.useEventWaits());
+    }
+
+    @Test
+    public void defaultGetPollingStrategyTest() {
+        assertEquals(Property.getPollingStrategy(), PollingStrategy.FIXED);
+    }
+
+    @Test
+    public void defaultGetPollingStrategyEmptyTest() {
+        System.setProperty(POLLING_STRATEGY, "");
+        assertEquals(Property.getPollingStrategy(), PollingStrategy.FIXED);
+    }
+
+    @Test
+    public void defaultGetPollingStrategyBadValTest() {
+        System.setProperty(POLLING_STRATEGY, "hello");
+        assertEquals(Property.getPollingStrategy(), PollingStrategy.FIXED);
+    }
+
+    @Test
+    public void defaultGetPollingStrategyExponentialTest() {
+        System.setProperty(POLLING_STRATEGY, "exponential");
+        assertEquals(Property.getPollingStrategy(), PollingStrategy.EXPONENTIAL);
+    }
+
+    @Test
+    public void defaultGetPollingStrategyAdaptiveFileTest() throws IOException {
+        createPropertiesFile(POLLING_STRATEGY + "=ADAPTIVE");
+        assertEquals(Property.getPollingStrategy(), PollingStrategy.ADAPTIVE);
+    }
+
+    @Test
+    public void defaultGetMaxPollTest() {
+        assertEquals(Property.getMaxPoll(), 1000);
+    }
+
+    @Test
+    public void defaultGetMaxPollBadValTest() {
+        System.setProperty(MAX_POLL, "hello");
+        assertEquals(Property.getMaxPoll(), 1000);
+    }
+
+    @Test
+    public void defaultGetMaxPollFiveTest() {
+        System.setProperty(MAX_POLL, "5");
+        assertEquals(Property.getMaxPoll(), 5);
+    }
+
+    @Test
+    public void defaultGetMaxPollFileTest() throws IOException {
+        createPropertiesFile(MAX_POLL + "=200");
+        assertEquals(Property.getMaxPoll(), 200);
+    }
+
+    @Test
+    public void defaultGetHttpTransportTest() {
+        assertEquals(Property.getHttpTransport(), "pooled");
+    }
+
+    @Test
+    public void defaultGetHttpTransportBadValTest() {
+        System.setProperty(HTTP_TRANSPORT, "hello");
+        assertEquals(Property.getHttpTransport(), "pooled");
+    }
+
+    @Test
+    public void defaultGetHttpTransportUrlConnectionTest() {
+        System.setProperty(HTTP_TRANSPORT, "URLConnection");
+        assertEquals(Property.getHttpTransport(), "urlconnection");
+    }
+
+    @Test
+    public void defaultGetHttpTransportFileTest() throws IOException {
+        createPropertiesFile(HTTP_TRANSPORT + "=urlconnection");
+        assertEquals(Property.getHttpTransport(), "urlconnection");
+    }
+
+    @Test
+    public void defaultGetHttpMaxPerRouteTest() {
+        assertEquals(Property.getHttpMaxPerRoute(), 20);
+    }
+
+    @Test
+    public void defaultGetHttpMaxPerRouteBadValTest() {
+        System.setProperty(HTTP_MAX_PER_ROUTE, "hello");
+        assertEquals(Property.getHttpMaxPerRoute(), 20);
+    }
+
+    @Test
+    public void defaultGetHttpMaxPerRouteNegativeTest() {
+        System.setProperty(HTTP_MAX_PER_ROUTE, "-5");
+        assertEquals(Property.getHttpMaxPerRoute(), 20);
+    }
+
+    @Test
+    public void defaultGetHttpMaxPerRouteFileTest() throws IOException {
+        createPropertiesFile(HTTP_MAX_PER_ROUTE + "=5");
+        assertEquals(Property.getHttpMaxPerRoute(), 5);
+    }
+
+    @Test
+    public void defaultGetAsyncThreadsTest() {
+        assertEquals(Property.getAsyncThreads(), 20);
+    }
+
+    @Test
+    public void defaultGetAsyncThreadsBadValTest() {
+        System.setProperty(ASYNC_THREADS, "hello");
+        assertEquals(Property.getAsyncThreads(), 20);
+    }
+
+    @Test
+    public void defaultGetAsyncThreadsNegativeTest() {
+        System.setProperty(ASYNC_THREADS, "0");
+        assertEquals(Property.getAsyncThreads(), 20);
+    }
+
+    @Test
+    public void defaultGetAsyncThreadsFileTest() throws IOException {
+        createPropertiesFile(ASYNC_THREADS + "=5");
+        assertEquals(Property.getAsyncThreads(), 5);
+    }
+
+    @Test
+    public void defaultGetReportBodyLimitTest() {
+        assertEquals(Property.getReportBodyLimit(), 100000);
+    }
+
+    @Test
+    public void defaultGetReportBodyLimitBadValTest() {
+        System.setProperty(REPORT_BODY_LIMIT, "hello");
+        assertEquals(Property.getReportBodyLimit(), 100000);
+    }
+
+    @Test
+    public void defaultGetReportBodyLimitNegativeTest() {
+        System.setProperty(REPORT_BODY_LIMIT, "-1");
+        assertEquals(Property.getReportBodyLimit(), 100000);
+    }
+
+    @Test
+    public void defaultGetReportBodyLimitFileTest() throws IOException {
+        createPropertiesFile(REPORT_BODY_LIMIT + "=500");
+        assertEquals(Property.getReportBodyLimit(), 500);
+    }
+
+    @Test
+    public void defaultGetHttpCacheSizeTest() {
+        assertEquals(Property.getHttpCacheSize(), 0);
+    }
+
+    @Test
+    public void defaultGetHttpCacheSizeBadValTest() {
+        System.setProperty(HTTP_CACHE_SIZE, "hello");
+        assertEquals(Property.getHttpCacheSize(), 0);
+    }
+
+    @Test
+    public void defaultGetHttpCacheSizeNegativeTest() {
+        System.setProperty(HTTP_CACHE_SIZE, "-1");
+        assertEquals(Property.getHttpCacheSize(), 0);
+    }
+
+    @Test
+    public void defaultGetHttpCacheSizeFileTest() throws IOException {
+        createPropertiesFile(HTTP_CACHE_SIZE + "=5");
+        assertEquals(Property.getHttpCacheSize(), 5);
+    }
+
+    @Test
+    public void defaultGetMatchTimeoutTest() {
+        assertEquals(Property.getMatchTimeout(), 0);
+    }
+
+    @Test
+    public void defaultGetMatchTimeoutBadValTest() {
+        System.setProperty(MATCH_TIMEOUT, "hello");
+        assertEquals(Property.getMatchTimeout(), 0);
+    }
+
+    @Test
+    public void defaultGetMatchTimeoutNegativeTest() {
+        System.setProperty(MATCH_TIMEOUT, "-1");
+        assertEquals(Property.getMatchTimeout(), 0);
+    }
+
+    @Test
+    public void defaultGetMatchTimeoutFileTest() throws IOException {
+        createPropertiesFile(MATCH_TIMEOUT + "=5000");
+        assertEquals(Property.getMatchTimeout(), 5000);
+    }
+
+    @Test
+    public void defaultGetHttpCassetteTest() {
+        assertNull(Property.getHttpCassette());
+    }
+
+    @Test
+    public void defaultGetHttpCassetteEmptyTest() {
+        System.setProperty(HTTP_CASSETTE, "");
+        assertNull(Property.getHttpCassette());
+    }
+
+    @Test
+    public void defaultGetHttpCassetteFileTest() throws IOException {
+        createPropertiesFile(HTTP_CASSETTE + "=src/test/resources/cassettes");
+        assertEquals(Property.getHttpCassette(), "src/test/resources/cassettes");
+    }
+
+    @Test
+    public void defaultGetHttpCassetteModeTest() {
+        assertEquals(Property.getHttpCassetteMode(), "replay");
+    }
+
+    @Test
+    public void defaultGetHttpCassetteModeBadValTest() {
+        System.setProperty(HTTP_CASSETTE_MODE, "hello");
+        assertEquals(Property.getHttpCassetteMode(), "replay");
+    }
+
+    @Test
+    public void defaultGetHttpCassetteModeCaseTest() {
+        System.setProperty(HTTP_CASSETTE_MODE, "RECORD");
+        assertEquals(Property.getHttpCassetteMode(), "record");
+    }
+
+    @Test
+    public void defaultGetHttpCassetteModeFileTest() throws IOException {
+        createPropertiesFile(HTTP_CASSETTE_MODE + "=record");
+        assertEquals(Property.getHttpCassetteMode(), "record");
+    }
+}
@@ -0,0 +1,167 @@
+package unit;
+
+import com.coveros.selenified.services.RefreshingTokenProvider;
+import com.coveros.selenified.services.RefreshingTokenProvider.Token;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.*;
+
+public class RefreshingTokenProviderTest {
+
+    @Test
+    public void tokenTest() {
+        Token token = new Token("abc", 1, TimeUnit.MINUTES);
+        assertEquals(token.getValue(), "abc");
+        assertFalse(token.isPermanent());
+        assertTrue(new Token("abc", 0, TimeUnit.MINUTES).isPermanent());
+    }
+
+    @Test
+    public void fetchedOnceTest() throws IOException {
+        AtomicInteger fetches = new AtomicInteger();
+        RefreshingTokenProvider provider = new RefreshingTokenProvider(() ->
+                new Token("token" + fetches.incrementAndGet(), 0, TimeUnit.SECONDS));
+        assertNull(provider.getToken());
+        assertEquals(provider.getAuthorization(), "Bearer token1");
+        assertEquals(provider.getAuthorization(), "Bearer token1");
+        assertEquals(fetches.get(), 1);
+        assertEquals(provider.getToken().getValue(), "token1");
+    }
+
+    @Test
+    public void schemeTest() throws IOException {
+        RefreshingTokenProvider provider = new RefreshingTokenProvider(() -> new Token("abc", 0, TimeUnit.SECONDS))
+                .setScheme("Token");
+        assertEquals(provider.getAuthorization(), "Token abc");
+    }
+
+    @Test
+    public void refreshTest() throws IOException {
+        AtomicInteger fetches = new AtomicInteger();
+        RefreshingTokenProvider provider = new RefreshingTokenProvider(() ->
+                new Token("token" + fetches.incrementAndGet(), 0, TimeUnit.SECONDS));
+        provider.getAuthorization();
+        assertEquals(provider.refresh().getValue(), "token2");
+        assertEquals(provider.getAuthorization(), "Bearer token2");
+    }
+
+    @Test
+    public void backgroundRefreshTest() throws IOException, InterruptedException {
+        AtomicInteger fetches = new AtomicInteger();
+        try (RefreshingTokenProvider provider = new RefreshingTokenProvider(() ->
+                new Token("token" + fetches.incrementAndGet(), 10, TimeUnit.SECONDS))
+                .setRefreshAhead(9900, TimeUnit.MILLISECONDS)) {
+            assertEquals(provider.getAuthorization(), "Bearer token1");
+            long end = System.currentTimeMillis() + 5000;
+            while (fetches.get() < 2 && System.currentTimeMillis() < end) {
+                Thread.sleep(10);
+            }
+            assertTrue(fetches.get() >= 2);
+            assertNotEquals(provider.getAuthorization(), "Bearer token1");
+        }
+    }
+
+    @Test
+    public void closeTest() throws IOException, InterruptedException {
+        AtomicInteger fetches = new AtomicInteger();
+        RefreshingTokenProvider provider = new RefreshingTokenProvider(() ->
+                new Token("token" + fetches.incrementAndGet(), 10, TimeUnit.SECONDS))
+                .setRefreshAhead(9900, TimeUnit.MILLISECONDS);
+        provider.getAuthorization();
+        provider.close();
+        Thread.sleep(300);
+        assertEquals(fetches.get(), 1);
+        assertEquals(provider.getAuthorization(), "Bearer token1");
+    }
+
+    @Test
+    public void expiredTest() throws IOException, InterruptedException {
+        AtomicInteger fetches = new AtomicInteger();
+        RefreshingTokenProvider provider = new RefreshingTokenProvider(() ->
+                new Token("token" + fetches.incrementAndGet(), 50, TimeUnit.MILLISECONDS));
+        provider.close();
+        assertEquals(provider.getAuthorization(), "Bearer token1");
+        Thread.sleep(100);
+        assertEquals(provider.getAuthorization(), "Bearer token2");
+    }
+
+    @Test
+    public void unusedNotRefreshedTest() throws IOException, InterruptedException {
+        AtomicInteger fetches = new AtomicInteger();
+        try (RefreshingTokenProvider provider = new RefreshingTokenProvider(() ->
+                new Token("token" + fetches.incrementAndGet(), 200, TimeUnit.MILLISECONDS))
+                .setRefreshAhead(150, TimeUnit.MILLISECONDS)) {
+            provider.refresh();
+            Thread.sleep(400);
+            // the token was never used, so the provider stopped refreshing it
+            assertEquals(fetches.get(), 1);
+            assertEquals(provider.getAuthorization(), "Bearer token2");
+        }
+    }
+
+    @Test
+    public void stopsRefreshingOnceUnusedTest() throws IOException, InterruptedException {
+        AtomicInteger fetches = new AtomicInteger();
+        try (RefreshingTokenProvider provider = new RefreshingTokenProvider(() ->
+                new Token("token" + fetches.incrementAndGet(), 200, TimeUnit.MILLISECONDS))
+                .setRefreshAhead(150, TimeUnit.MILLISECONDS)) {
+            provider.getAuthorization();
+            Thread.sleep(500);
+            // the first token was used, so it was refreshed, but its replacement never was
+            assertEquals(fetches.get(), 2);
+        }
+    }
+
+    @Test
+    public void slowSourceTest() throws IOException, InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger slowFetches = new AtomicInteger();
+        AtomicInteger fetches = new AtomicInteger();
+        try (RefreshingTokenProvider slow = new RefreshingTokenProvider(() -> {
+            if (slowFetches.incrementAndGet() > 1) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return new Token("slow", 10, TimeUnit.SECONDS);
+        }).setRefreshAhead(9950, TimeUnit.MILLISECONDS);
+             RefreshingTokenProvider provider = new RefreshingTokenProvider(() ->
+                     new Token("token" + fetches.incrementAndGet(), 10, TimeUnit.SECONDS))
+                     .setRefreshAhead(9900, TimeUnit.MILLISECONDS)) {
+            slow.getAuthorization();
+            provider.getAuthorization();
+            long end = System.currentTimeMillis() + 5000;
+            while (fetches.get() < 2 && System.currentTimeMillis() < end) {
+                Thread.sleep(10);
+            }
+            // the hung token source doesn't hold up the other provider's refresh
+            assertEquals(slowFetches.get(), 2);
+            assertEquals(fetches.get(), 2);
+            // nor closing the provider it belongs to
+            long start = System.currentTimeMillis();
+            slow.close();
+            assertTrue(System.currentTimeMillis() - start < 1000);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void fetchFailureTest() throws IOException {
+        new RefreshingTokenProvider(() -> {
+            throw new IOException("Unable to reach the authentication service");
+        }).getAuthorization();
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void noTokenTest() throws IOException {
+        new RefreshingTokenProvider(() -> null).getAuthorization();
+    }
+}
@@ -4,6 +4,7 @@ import com.coveros.selenified.Browser;
 import com.coveros.selenified.Capabilities;
 import com.coveros.selenified.exceptions.*;
 import com.coveros.selenified.services.Call;
+import com.coveros.selenified.services.Download;
 import com.coveros.selenified.services.HTTP;
 import com.coveros.selenified.services.Request;
 import com.coveros.selenified.services.Response;
@@ -19,12 +20,15 @@ import org.testng.annotations.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static com.coveros.selenified.utilities.Property.GENERATE_PDF;
 import static com.coveros.selenified.utilities.Property.PACKAGE_RESULTS;
+import static com.coveros.selenified.utilities.Property.REPORT_BODY_LIMIT;
 import static org.testng.Assert.*;
 
 public class ReporterTest {
@@ -795,6 +799,154 @@ public class ReporterTest {
         assertTrue(responseOutput.matches("<a href='javascript:void\\(0\\)' onclick='toggle\\(\"[0-9]{13}_[a-zA-Z0-9]{10}\"\\)'>Toggle Raw Response</a> <span id='[0-9]{13}_[a-zA-Z0-9]{10}' style='display:none;'><div>hello world</div></span>"));
     }
 
+    @Test
+    public void getResponseOutputDownloadTest() {
+        Response response = new Response(reporter, null, 200, new Download(null, 2048, "abc123", 12, 1024));
+        assertEquals(Reporter.getResponseOutput(response), "<div>Downloaded <i>2048 bytes</i> in <i>1024ms</i> " +
+                "(<i>2000 bytes/s</i>)</div><div>SHA-256: <i>abc123</i></div><div>Lines: <i>12</i></div>");
+    }
+
+    @Test
+    public void getBatchOutputTest() {
+        List<Response> responses = Arrays.asList(new Response(reporter, null, 201, null, null, null),
+                new Response(reporter, null, 409, null, null, null), new Response(reporter, null, 201, null, null, null));
+        assertEquals(Reporter.getBatchOutput(responses, new ArrayList<>(), 2500000),
+                "<div>Responses: <i>201</i> x 2 <i>409</i> x 1</div><div>Took <i>2.50ms</i></div>");
+    }
+
+    @Test
+    public void getBatchOutputFailuresTest() {
+        List<Throwable> failures = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            failures.add(new IOException("Connection refused " + i));
+        }
+        String batchOutput = Reporter.getBatchOutput(Arrays.asList(null, null), failures, 0);
+        assertTrue(batchOutput.startsWith("<div>Responses:</div><div>Failed: <i>7</i></div><div class='indent'>Connection&nbsp;refused&nbsp;0</div>"));
+        assertTrue(batchOutput.contains("Connection&nbsp;refused&nbsp;4"));
+        assertFalse(batchOutput.contains("Connection&nbsp;refused&nbsp;5"));
+    }
+
+    @Test
+    public void getBatchOutputFailureFormattedTest() {
+        List<Throwable> failures = Arrays.asList(new IOException("Unexpected response\nline 2"), new IOException());
+        assertTrue(Reporter.getBatchOutput(new ArrayList<>(), failures, 0).contains(
+                "<div class='indent'>Unexpected&nbsp;response<br/>line&nbsp;2</div><div class='indent'></div>"));
+    }
+
+    @Test
+    public void getTimingOutputNullTest() {
+        assertEquals(Reporter.getTimingOutput(null), "");
+    }
+
+    @Test
+    public void getTimingOutputUntimedTest() {
+        Response response = new Response(reporter, null, 200, null, null, "hello world");
+        assertEquals(Reporter.getTimingOutput(response), "");
+    }
+
+    @Test
+    public void getCompressionOutputNullTest() {
+        assertEquals(Reporter.getCompressionOutput(null), "");
+    }
+
+    @Test
+    public void getCacheOutputNullTest() {
+        assertEquals(Reporter.getCacheOutput(null), "");
+    }
+
+    @Test
+    public void getCacheOutputNotCachedTest() {
+        Response response = new Response(reporter, null, 200, null, null, "hello world");
+        assertEquals(Reporter.getCacheOutput(response), "");
+    }
+
+    @Test
+    public void getAttemptsOutputNullTest() {
+        assertEquals(Reporter.getAttemptsOutput(null), "");
+    }
+
+    @Test
+    public void getAttemptsOutputSingleCallTest() {
+        Response response = new Response(reporter, null, 200, null, null, "hello world");
+        assertEquals(Reporter.getAttemptsOutput(response), "");
+    }
+
+    @Test
+    public void getDownloadOutputFileTest() {
+        File download = new File("export.csv");
+        assertEquals(Reporter.getDownloadOutput(new Download(download, 10, "abc123", 1, 0)),
+                "<div>Downloaded <i>10 bytes</i> to <i>" + download.getAbsolutePath() + "</i> in <i>0ms</i> " +
+                        "(<i>10000 bytes/s</i>)</div><div>SHA-256: <i>abc123</i></div><div>Lines: <i>1</i></div>");
+    }
+
+    @Test
+    public void formatResponseMemoizedTest() {
+        JsonObject json = new JsonObject();
+        json.addProperty("hello", "world");
+        Response response = new Response(reporter, null, 0, json, null, null);
+        assertSame(Reporter.formatResponse(response), Reporter.formatResponse(response));
+    }
+
+    @Test
+    public void formatResponseTruncatedTest() throws IOException {
+        JsonArray json = new JsonArray();
+        json.add("hello");
+        json.add("world");
+        Response response = new Response(reporter, null, 0, null, json, null);
+        System.setProperty(REPORT_BODY_LIMIT, "10");
+        String output = Reporter.formatResponse(response);
+        System.clearProperty(REPORT_BODY_LIMIT);
+        assertTrue(output.matches("<div><i>\\[<br/>&nbsp;&nbsp;\"hello<div><b>Truncated after 10 of 24 characters.</b> " +
+                "<a href='file_response_[0-9]{13}_[a-zA-Z0-9]{10}.txt' target='_blank'>View full response</a></div></i></div>"), output);
+        File[] sideFiles = directory.listFiles((dir, name) -> name.startsWith("file_response_"));
+        assertNotNull(sideFiles);
+        assertEquals(sideFiles.length, 1);
+        assertEquals(Files.toString(sideFiles[0], Charsets.UTF_8), "[\n  \"hello\",\n  \"world\"\n]");
+        sideFiles[0].delete();
+    }
+
+    @Test
+    public void getResponseOutputTruncatedTest() {
+        Response response = new Response(null, null, 200, null, null, "hello world");
+        System.setProperty(REPORT_BODY_LIMIT, "5");
+        String responseOutput = Reporter.getResponseOutput(response);
+        System.clearProperty(REPORT_BODY_LIMIT);
+        assertTrue(responseOutput.matches("<a href='javascript:void\\(0\\)' onclick='toggle\\(\"[0-9]{13}_[a-zA-Z0-9]{10}\"\\)'>Toggle Raw Response</a> <span id='[0-9]{13}_[a-zA-Z0-9]{10}' style='display:none;'><div>hello<div><b>Truncated after 5 of 11 characters.</b></div></div></span>"), responseOutput);
+    }
+
+    @Test
+    public void getResponseOutputTruncatedOnceTest() throws IOException {
+        Response response = new Response(reporter, null, 200, null, null, "hello world");
+        System.setProperty(REPORT_BODY_LIMIT, "5");
+        String responseOutput = Reporter.getResponseOutput(response);
+        String otherResponseOutput = Reporter.getResponseOutput(response);
+        Reporter.getResponseOutput(response);
+        System.clearProperty(REPORT_BODY_LIMIT);
+        assertNotEquals(responseOutput, otherResponseOutput);
+        assertTrue(otherResponseOutput.contains("<div>hello<div><b>Truncated after 5 of 11 characters.</b> <a href='file_response_"), otherResponseOutput);
+        File[] sideFiles = directory.listFiles((dir, name) -> name.startsWith("file_response_"));
+        assertNotNull(sideFiles);
+        assertEquals(sideFiles.length, 1);
+        assertEquals(Files.toString(sideFiles[0], Charsets.UTF_8), "hello world");
+        sideFiles[0].delete();
+    }
+
+    @Test
+    public void getRequestPayloadOutputTruncatedTest() {
+        JsonObject json = new JsonObject();
+        json.addProperty("hello", "world");
+        Request request = new Request().setJsonPayload(json);
+        System.setProperty(REPORT_BODY_LIMIT, "5");
+        String requestPayloadOutput = Reporter.getRequestPayloadOutput(request, null, reporter);
+        System.clearProperty(REPORT_BODY_LIMIT);
+        assertTrue(requestPayloadOutput.contains("<div>{<br/>&nbsp;&nbsp;\"<div><b>Truncated after 5 of 22 characters.</b> <a href='file_payload_"), requestPayloadOutput);
+        File[] sideFiles = directory.listFiles((dir, name) -> name.startsWith("file_payload_"));
+        assertNotNull(sideFiles);
+        for (File sideFile : sideFiles) {
+            sideFile.delete();
+        }
+    }
+
     @Test
     public void capitalizeFirstLettersTest() {
         assertEquals(Reporter.capitalizeFirstLetters(null), null);
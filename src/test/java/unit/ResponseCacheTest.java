@@ -0,0 +1,291 @@
+package unit;
+
+import com.coveros.selenified.services.HTTP;
+import com.coveros.selenified.services.Response;
+import com.coveros.selenified.services.ResponseCache;
+import com.coveros.selenified.services.Transport;
+import com.coveros.selenified.utilities.Reporter;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class ResponseCacheTest {
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void badSizeTest() {
+        new ResponseCache(0);
+    }
+
+    @Test
+    public void sharedDisabledTest() {
+        assertNull(ResponseCache.getShared());
+        assertNull(new HTTP(null, "http://localhost").getResponseCache());
+    }
+
+    @Test
+    public void freshHitTest() throws IOException {
+        ServerTransport server = new ServerTransport().setHeader("Cache-Control", "max-age=60");
+        HTTP http = getHttp(server, new ResponseCache(1024));
+        Response first = http.get("/users", null);
+        Response second = http.get("/users", null);
+        assertEquals(server.calls, 1);
+        assertNull(first.getCacheStatus());
+        assertEquals(second.getCacheStatus(), ResponseCache.Status.HIT);
+        assertEquals(second.getCode(), 200);
+        assertEquals(second.getMessage(), "hello world");
+        assertEquals(Reporter.getCacheOutput(second), "<div>Served from the <i>response cache</i></div>");
+    }
+
+    @Test
+    public void paramsKeyedTest() throws IOException {
+        ServerTransport server = new ServerTransport().setHeader("Cache-Control", "max-age=60");
+        HTTP http = getHttp(server, new ResponseCache(1024));
+        http.get("/users?page=1", null);
+        http.get("/users?page=2", null);
+        http.get("/users?page=1", null);
+        assertEquals(server.calls, 2);
+    }
+
+    @Test
+    public void varyHeadersTest() throws IOException {
+        ServerTransport server = new ServerTransport().setHeader("Cache-Control", "max-age=60");
+        ResponseCache cache = new ResponseCache(1024);
+        HTTP http = getHttp(server, cache);
+        http.get("/users", null);
+        http.addHeaders(Collections.singletonMap("Accept", "text/plain"));
+        http.get("/users", null);
+        assertEquals(server.calls, 2);
+        cache.setVaryHeaders();
+        http.get("/users", null);
+        http.addHeaders(Collections.singletonMap("Accept", "application/json"));
+        http.get("/users", null);
+        assertEquals(server.calls, 3);
+    }
+
+    @Test
+    public void sharedBetweenHttpTest() throws IOException {
+        ServerTransport server = new ServerTransport().setHeader("Cache-Control", "max-age=60");
+        ResponseCache cache = new ResponseCache(1024);
+        getHttp(server, cache).get("/users", null);
+        assertEquals(getHttp(server, cache).get("/users", null).getCacheStatus(), ResponseCache.Status.HIT);
+        assertEquals(server.calls, 1);
+    }
+
+    @Test
+    public void revalidateETagTest() throws IOException {
+        ServerTransport server = new ServerTransport().setHeader("ETag", "\"v1\"");
+        HTTP http = getHttp(server, new ResponseCache(1024));
+        http.get("/users", null);
+        assertNull(server.lastHeaders.get("If-None-Match"));
+        server.code = 304;
+        Response response = http.get("/users", null);
+        assertEquals(server.calls, 2);
+        assertEquals(server.lastHeaders.get("If-None-Match"), "\"v1\"");
+        assertEquals(response.getCode(), 200);
+        assertEquals(response.getMessage(), "hello world");
+        assertEquals(response.getCacheStatus(), ResponseCache.Status.REVALIDATED);
+        assertEquals(Reporter.getCacheOutput(response),
+                "<div>Served from the <i>response cache</i>, after revalidating it with the server</div>");
+    }
+
+    @Test
+    public void revalidateLastModifiedTest() throws IOException {
+        ServerTransport server = new ServerTransport().setHeader("Last-Modified", "Mon, 19 Oct 2026 10:00:00 GMT");
+        HTTP http = getHttp(server, new ResponseCache(1024));
+        http.get("/users", null);
+        server.code = 304;
+        server.setHeader("Cache-Control", "max-age=60");
+        assertEquals(http.get("/users", null).getCacheStatus(), ResponseCache.Status.REVALIDATED);
+        assertEquals(server.lastHeaders.get("If-Modified-Since"), "Mon, 19 Oct 2026 10:00:00 GMT");
+        // the not modified response made the cached one fresh again
+        assertEquals(http.get("/users", null).getCacheStatus(), ResponseCache.Status.HIT);
+        assertEquals(server.calls, 2);
+    }
+
+    @Test
+    public void revalidateChangedTest() throws IOException {
+        ServerTransport server = new ServerTransport().setHeader("ETag", "\"v1\"");
+        HTTP http = getHttp(server, new ResponseCache(1024));
+        http.get("/users", null);
+        server.body = "goodbye world";
+        server.setHeader("ETag", "\"v2\"");
+        Response response = http.get("/users", null);
+        assertNull(response.getCacheStatus());
+        assertEquals(response.getMessage(), "goodbye world");
+        http.get("/users", null);
+        assertEquals(server.lastHeaders.get("If-None-Match"), "\"v2\"");
+    }
+
+    @Test
+    public void revalidateNoLongerCacheableTest() throws IOException {
+        ServerTransport server = new ServerTransport().setHeader("ETag", "\"v1\"");
+        ResponseCache cache = new ResponseCache(1024);
+        HTTP http = getHttp(server, cache);
+        http.get("/users", null);
+        server.body = "goodbye world";
+        server.setHeader("Cache-Control", "no-store");
+        assertEquals(http.get("/users", null).getMessage(), "goodbye world");
+        assertEquals(server.lastHeaders.get("If-None-Match"), "\"v1\"");
+        assertEquals(cache.getCount(), 0);
+        http.get("/users", null);
+        assertNull(server.lastHeaders.get("If-None-Match"));
+    }
+
+    @Test
+    public void headerOrderTest() throws IOException {
+        ServerTransport server = new ServerTransport().setHeader("Cache-Control", "max-age=60")
+                .setHeader("X-Zulu", "1").setHeader("X-Alpha", "2").setHeader("X-Mike", "3");
+        HTTP http = getHttp(server, new ResponseCache(1024));
+        List<String> sent = new ArrayList<>(http.get("/users", null).getHeaders().keySet());
+        Response cached = http.get("/users", null);
+        assertEquals(cached.getCacheStatus(), ResponseCache.Status.HIT);
+        assertEquals(new ArrayList<>(cached.getHeaders().keySet()), sent);
+    }
+
+    @Test
+    public void noStoreTest() throws IOException {
+        ServerTransport server = new ServerTransport().setHeader("Cache-Control", "no-store, max-age=60");
+        ResponseCache cache = new ResponseCache(1024);
+        HTTP http = getHttp(server, cache);
+        http.get("/users", null);
+        http.get("/users", null);
+        assertEquals(server.calls, 2);
+        assertEquals(cache.getCount(), 0);
+    }
+
+    @Test
+    public void noCacheTest() throws IOException {
+        ServerTransport server = new ServerTransport().setHeader("Cache-Control", "no-cache, max-age=60")
+                .setHeader("ETag", "\"v1\"");
+        HTTP http = getHttp(server, new ResponseCache(1024));
+        http.get("/users", null);
+        http.get("/users", null);
+        assertEquals(server.calls, 2);
+        assertEquals(server.lastHeaders.get("If-None-Match"), "\"v1\"");
+    }
+
+    @Test
+    public void ageTest() throws IOException {
+        ServerTransport server = new ServerTransport().setHeader("Cache-Control", "max-age=60").setHeader("Age", "60");
+        ResponseCache cache = new ResponseCache(1024);
+        HTTP http = getHttp(server, cache);
+        http.get("/users", null);
+        http.get("/users", null);
+        assertEquals(server.calls, 2);
+        assertEquals(cache.getCount(), 0);
+    }
+
+    @Test
+    public void notCachedTest() throws IOException {
+        ServerTransport server = new ServerTransport();
+        ResponseCache cache = new ResponseCache(1024);
+        HTTP http = getHttp(server, cache);
+        http.get("/users", null);
+        server.setHeader("Cache-Control", "max-age=60");
+        server.code = 404;
+        http.get("/users", null);
+        http.post("/users", null, null);
+        assertEquals(cache.getCount(), 0);
+        assertEquals(server.calls, 3);
+    }
+
+    @Test
+    public void evictionTest() throws IOException {
+        ServerTransport server = new ServerTransport().setHeader("Cache-Control", "max-age=60");
+        ResponseCache cache = new ResponseCache(25);
+        HTTP http = getHttp(server, cache);
+        http.get("/first", null);
+        http.get("/second", null);
+        assertEquals(cache.getCount(), 2);
+        assertEquals(cache.getSize(), 22);
+        // using the first response makes the second the least recently used
+        http.get("/first", null);
+        http.get("/third", null);
+        assertEquals(cache.getCount(), 2);
+        assertEquals(cache.getSize(), 22);
+        assertEquals(server.calls, 3);
+        http.get("/first", null);
+        assertEquals(server.calls, 3);
+        http.get("/second", null);
+        assertEquals(server.calls, 4);
+    }
+
+    @Test
+    public void tooLargeTest() throws IOException {
+        ServerTransport server = new ServerTransport().setHeader("Cache-Control", "max-age=60");
+        ResponseCache cache = new ResponseCache(5);
+        getHttp(server, cache).get("/users", null);
+        assertEquals(cache.getCount(), 0);
+        assertEquals(cache.getSize(), 0);
+    }
+
+    @Test
+    public void clearTest() throws IOException {
+        ServerTransport server = new ServerTransport().setHeader("Cache-Control", "max-age=60");
+        ResponseCache cache = new ResponseCache(1024);
+        HTTP http = getHttp(server, cache);
+        http.get("/users", null);
+        cache.clear();
+        assertEquals(cache.getCount(), 0);
+        assertEquals(cache.getSize(), 0);
+        http.get("/users", null);
+        assertEquals(server.calls, 2);
+    }
+
+    private HTTP getHttp(Transport transport, ResponseCache cache) {
+        HTTP http = new HTTP(null, "http://localhost");
+        http.setTransport(transport);
+        http.setResponseCache(cache);
+        return http;
+    }
+
+    private static class ServerTransport implements Transport {
+        private final Map<String, List<String>> responseHeaders = new LinkedHashMap<>();
+        private int code = 200;
+        private String body = "hello world";
+        private int calls = 0;
+        private Map<String, String> lastHeaders;
+
+        ServerTransport setHeader(String name, String value) {
+            responseHeaders.put(name, Collections.singletonList(value));
+            return this;
+        }
+
+        @Override
+        public Exchange send(String method, URL url, Map<String, String> headers, Body requestBody) {
+            calls++;
+            lastHeaders = headers;
+            int status = code;
+            Map<String, List<String>> sentHeaders = new LinkedHashMap<>(responseHeaders);
+            byte[] sent = status == 304 ? new byte[0] : body.getBytes(StandardCharsets.UTF_8);
+            return new Exchange() {
+                @Override
+                public int getCode() {
+                    return status;
+                }
+
+                @Override
+                public Map<String, List<String>> getHeaders() {
+                    return sentHeaders;
+                }
+
+                @Override
+                public InputStream getBody() {
+                    return new ByteArrayInputStream(sent);
+                }
+
+                @Override
+                public void close() {
+                    // nothing to release
+                }
+            };
+        }
+    }
+}
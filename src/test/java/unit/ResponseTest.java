@@ -3,10 +3,12 @@ package unit;
 import com.coveros.selenified.services.Response;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
 import org.testng.annotations.Test;
 
-import static org.testng.Assert.assertFalse;
-import static org.testng.Assert.assertTrue;
+import java.nio.charset.StandardCharsets;
+
+import static org.testng.Assert.*;
 
 public class ResponseTest {
 
@@ -33,4 +35,91 @@ public class ResponseTest {
         Response response = new Response(null, null, 0, new JsonObject(), new JsonArray(), null);
         assertTrue(response.isData());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void rawObjectTest() {
+        Response response = new Response(null, null, 0, "{\"name\":\"john\"}".getBytes(), StandardCharsets.UTF_8);
+        assertTrue(response.isData());
+        assertEquals(response.getObjectData().get("name").getAsString(), "john");
+        assertNull(response.getArrayData());
+        assertEquals(response.getMessage(), "{\"name\":\"john\"}");
+    }
+
+    @Test
+    public void rawArrayTest() {
+        Response response = new Response(null, null, 0, "[1, 2]".getBytes(), StandardCharsets.UTF_8);
+        assertTrue(response.isData());
+        assertNull(response.getObjectData());
+        assertEquals(response.getArrayData().size(), 2);
+    }
+
+    @Test
+    public void rawTextTest() {
+        Response response = new Response(null, null, 0, "hello world".getBytes(), StandardCharsets.UTF_8);
+        assertFalse(response.isData());
+        assertEquals(response.getMessage(), "hello world");
+    }
+
+    @Test
+    public void rawMessageOnlyTest() {
+        Response response = new Response(null, null, 0, "{\"name\":\"john\"}".getBytes(), null);
+        assertEquals(response.getMessage(), "{\"name\":\"john\"}");
+        assertEquals(response.getObjectData().get("name").getAsString(), "john");
+    }
+
+    @Test
+    public void rawNullTest() {
+        Response response = new Response(null, null, 0, null, StandardCharsets.UTF_8);
+        assertFalse(response.isData());
+        assertNull(response.getMessage());
+    }
+
+    @Test
+    public void rawCharsetTest() {
+        Response response = new Response(null, null, 0, "{\"name\":\"jos\u00e9\"}".getBytes(StandardCharsets.UTF_16),
+                StandardCharsets.UTF_16);
+        assertEquals(response.getObjectData().get("name").getAsString(), "jos\u00e9");
+    }
+
+    @Test
+    public void checksCreatedOnceTest() {
+        Response response = new Response(null, null, 0, null, null, null);
+        assertSame(response.assertContains(), response.assertContains());
+        assertSame(response.assertEquals(), response.assertEquals());
+        assertSame(response.assertExcludes(), response.assertExcludes());
+        assertSame(response.assertMatches(), response.assertMatches());
+        assertSame(response.verifyContains(), response.verifyContains());
+        assertSame(response.verifyEquals(), response.verifyEquals());
+        assertSame(response.verifyExcludes(), response.verifyExcludes());
+        assertSame(response.verifyMatches(), response.verifyMatches());
+    }
+
+    @Test
+    public void resolveObjectTest() {
+        Response response = new Response(null, null, 0, "{\"users\":[{\"name\":\"john\"}]}".getBytes(),
+                StandardCharsets.UTF_8);
+        assertEquals(response.resolve("$.users[0].name"), new JsonPrimitive("john"));
+        assertNull(response.resolve("$.users[1].name"));
+    }
+
+    @Test
+    public void resolveArrayTest() {
+        Response response = new Response(null, null, 0, "[{\"name\":\"john\"}]".getBytes(), StandardCharsets.UTF_8);
+        assertEquals(response.resolve("$[0].name"), new JsonPrimitive("john"));
+        assertNull(response.resolve("$"));
+    }
+
+    @Test
+    public void resolveNoDataTest() {
+        Response response = new Response(null, null, 0, null, null, null);
+        assertNull(response.resolve("$.name"));
+    }
+
+    @Test
+    public void resolveCachedTest() {
+        JsonObject json = new JsonObject();
+        json.add("child", new JsonObject());
+        Response response = new Response(null, null, 0, json, null, null);
+        assertSame(response.resolve("$.child"), response.resolve("child"));
+    }
+}
@@ -0,0 +1,263 @@
+package unit;
+
+import com.coveros.selenified.services.HTTP;
+import com.coveros.selenified.services.Request;
+import com.coveros.selenified.services.Response;
+import com.coveros.selenified.services.RetryPolicy;
+import com.coveros.selenified.services.Transport;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.*;
+
+public class RetryPolicyTest {
+
+    @Test
+    public void defaultsTest() {
+        RetryPolicy retryPolicy = new RetryPolicy();
+        assertEquals(retryPolicy.getMaxAttempts(), 3);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void maxAttemptsInvalidTest() {
+        new RetryPolicy().setMaxAttempts(0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void backoffNegativeTest() {
+        new RetryPolicy().setBackoff(-1, 10);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void backoffMaxTooSmallTest() {
+        new RetryPolicy().setBackoff(100, 10);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void hedgePercentileInvalidTest() {
+        new RetryPolicy().setHedgePercentile(101);
+    }
+
+    @Test
+    public void noPolicyTest() throws IOException {
+        ScriptedTransport transport = new ScriptedTransport(503, 200);
+        HTTP http = new HTTP(null, "http://localhost");
+        http.setTransport(transport);
+        assertNull(http.getRetryPolicy());
+        Response response = http.get("/", null);
+        assertEquals(response.getCode(), 503);
+        assertTrue(response.getAttempts().isEmpty());
+        assertEquals(transport.calls.get(), 1);
+    }
+
+    @Test
+    public void retryStatusTest() throws IOException {
+        ScriptedTransport transport = new ScriptedTransport(503, 502, 200);
+        HTTP http = new HTTP(null, "http://localhost");
+        http.setTransport(transport);
+        http.setRetryPolicy(new RetryPolicy().setBackoff(0, 0));
+        Response response = http.get("/", null);
+        assertEquals(response.getCode(), 200);
+        assertEquals(transport.calls.get(), 3);
+        List<RetryPolicy.Attempt> attempts = response.getAttempts();
+        assertEquals(attempts.size(), 3);
+        assertEquals(attempts.get(0).getNumber(), 1);
+        assertEquals(attempts.get(0).getCode(), 503);
+        assertEquals(attempts.get(1).getCode(), 502);
+        assertEquals(attempts.get(2).getCode(), 200);
+        assertNull(attempts.get(2).getFailure());
+        assertEquals(attempts.get(2).getHedgedAfter(), -1);
+    }
+
+    @Test
+    public void retryStatusExhaustedTest() throws IOException {
+        ScriptedTransport transport = new ScriptedTransport(503, 503, 503, 200);
+        HTTP http = new HTTP(null, "http://localhost");
+        http.setTransport(transport);
+        http.setRetryPolicy(new RetryPolicy().setBackoff(0, 0));
+        Response response = http.post("/", new Request(), null);
+        assertEquals(response.getCode(), 503);
+        assertEquals(transport.calls.get(), 3);
+        assertEquals(response.getAttempts().size(), 3);
+    }
+
+    @Test
+    public void retryCustomStatusTest() throws IOException {
+        ScriptedTransport transport = new ScriptedTransport(500, 200);
+        HTTP http = new HTTP(null, "http://localhost");
+        http.setTransport(transport);
+        http.setRetryPolicy(new RetryPolicy().setBackoff(0, 0).setRetryOnStatus(500));
+        assertEquals(http.get("/", null).getCode(), 200);
+        assertEquals(transport.calls.get(), 2);
+    }
+
+    @Test
+    public void noRetryStatusTest() throws IOException {
+        ScriptedTransport transport = new ScriptedTransport(404, 200);
+        HTTP http = new HTTP(null, "http://localhost");
+        http.setTransport(transport);
+        http.setRetryPolicy(new RetryPolicy().setBackoff(0, 0));
+        Response response = http.get("/", null);
+        assertEquals(response.getCode(), 404);
+        assertEquals(response.getAttempts().size(), 1);
+    }
+
+    @Test
+    public void retryExceptionTest() throws IOException {
+        ScriptedTransport transport = new ScriptedTransport(-1, 200);
+        HTTP http = new HTTP(null, "http://localhost");
+        http.setTransport(transport);
+        http.setRetryPolicy(new RetryPolicy().setBackoff(0, 0));
+        Response response = http.get("/", null);
+        assertEquals(response.getCode(), 200);
+        assertEquals(response.getAttempts().get(0).getCode(), -1);
+        assertEquals(response.getAttempts().get(0).getFailure(), "Connection reset");
+    }
+
+    @Test
+    public void retryExceptionExhaustedTest() {
+        ScriptedTransport transport = new ScriptedTransport(-1, -1, 200);
+        HTTP http = new HTTP(null, "http://localhost");
+        http.setTransport(transport);
+        http.setRetryPolicy(new RetryPolicy().setBackoff(0, 0).setMaxAttempts(2));
+        try {
+            http.get("/", null);
+            fail("Expected the call to fail");
+        } catch (IOException e) {
+            assertEquals(e.getMessage(), "Connection reset (after 2 attempts)");
+        }
+        assertEquals(transport.calls.get(), 2);
+    }
+
+    @Test
+    public void noRetryExceptionTest() {
+        ScriptedTransport transport = new ScriptedTransport(-1, 200);
+        HTTP http = new HTTP(null, "http://localhost");
+        http.setTransport(transport);
+        http.setRetryPolicy(new RetryPolicy().setBackoff(0, 0)
+                .setRetryOnException(e -> e instanceof SocketTimeoutException));
+        try {
+            http.get("/", null);
+            fail("Expected the call to fail");
+        } catch (IOException e) {
+            assertEquals(e.getMessage(), "Connection reset");
+        }
+        assertEquals(transport.calls.get(), 1);
+    }
+
+    @Test
+    public void backoffTest() throws IOException {
+        ScriptedTransport transport = new ScriptedTransport(503, 503, 200);
+        HTTP http = new HTTP(null, "http://localhost");
+        http.setTransport(transport);
+        http.setRetryPolicy(new RetryPolicy().setBackoff(20, 30).setJitter(false));
+        List<RetryPolicy.Attempt> attempts = http.get("/", null).getAttempts();
+        assertEquals(attempts.get(0).getBackoff(), 20);
+        assertEquals(attempts.get(1).getBackoff(), 30);
+        assertEquals(attempts.get(2).getBackoff(), 0);
+    }
+
+    @Test
+    public void backoffJitterTest() throws IOException {
+        ScriptedTransport transport = new ScriptedTransport(503, 200);
+        HTTP http = new HTTP(null, "http://localhost");
+        http.setTransport(transport);
+        http.setRetryPolicy(new RetryPolicy().setBackoff(20, 30));
+        long backoff = http.get("/", null).getAttempts().get(0).getBackoff();
+        assertTrue(backoff >= 0 && backoff <= 20, String.valueOf(backoff));
+    }
+
+    @Test
+    public void hedgeTest() throws IOException {
+        Integer[] codes = new Integer[22];
+        Arrays.fill(codes, 200);
+        ScriptedTransport transport = new ScriptedTransport(codes);
+        transport.slowCall = 21;
+        HTTP http = new HTTP(null, "http://localhost");
+        http.setTransport(transport);
+        http.setRetryPolicy(new RetryPolicy().setHedgePercentile(50));
+        for (int i = 0; i < 20; i++) {
+            assertEquals(http.get("/", null).getAttempts().get(0).getHedgedAfter(), -1);
+        }
+        Response response = http.get("/", null);
+        assertEquals(response.getCode(), 200);
+        assertEquals(response.getAttempts().size(), 1);
+        assertTrue(response.getAttempts().get(0).getHedgedAfter() >= 0);
+        assertTrue(response.getAttempts().get(0).getDuration() < 1000);
+        assertEquals(transport.calls.get(), 22);
+    }
+
+    @Test
+    public void hedgeNotIdempotentTest() throws IOException {
+        Integer[] codes = new Integer[21];
+        Arrays.fill(codes, 200);
+        ScriptedTransport transport = new ScriptedTransport(codes);
+        transport.slowCall = 21;
+        HTTP http = new HTTP(null, "http://localhost");
+        http.setTransport(transport);
+        http.setRetryPolicy(new RetryPolicy().setHedgePercentile(50));
+        for (int i = 0; i < 20; i++) {
+            http.put("/", new Request(), null);
+        }
+        Response response = http.put("/", new Request(), null);
+        assertEquals(response.getAttempts().get(0).getHedgedAfter(), -1);
+        assertEquals(transport.calls.get(), 21);
+    }
+
+    private static class ScriptedTransport implements Transport {
+        private final List<Integer> codes;
+        private final AtomicInteger calls = new AtomicInteger();
+        private int slowCall = -1;
+
+        ScriptedTransport(Integer... codes) {
+            this.codes = new ArrayList<>(Arrays.asList(codes));
+        }
+
+        @Override
+        public Exchange send(String method, URL url, Map<String, String> headers, Body body) throws IOException {
+            int call = calls.incrementAndGet();
+            if (call == slowCall) {
+                try {
+                    Thread.sleep(2000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            int code = codes.get(call - 1);
+            if (code < 0) {
+                throw new IOException("Connection reset");
+            }
+            return new Exchange() {
+                @Override
+                public int getCode() {
+                    return code;
+                }
+
+                @Override
+                public Map<String, List<String>> getHeaders() {
+                    return new HashMap<>();
+                }
+
+                @Override
+                public InputStream getBody() {
+                    return new ByteArrayInputStream(new byte[0]);
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+    }
+}
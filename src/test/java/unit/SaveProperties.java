@@ -24,6 +24,17 @@ public class SaveProperties {
     private String setHeadless = null;
     private String setOptions = null;
     private String setBuildName = null;
+    private String setEventWaits = null;
+    private String setPollingStrategy = null;
+    private String setMaxPoll = null;
+    private String setHttpTransport = null;
+    private String setHttpMaxPerRoute = null;
+    private String setAsyncThreads = null;
+    private String setReportBodyLimit = null;
+    private String setHttpCacheSize = null;
+    private String setMatchTimeout = null;
+    private String setHttpCassette = null;
+    private String setHttpCassetteMode = null;
 
     File propertiesFile = new File(SELENIFIED);
     File savePropertiesFile = new File(SELENIFIED + ".tmp");
@@ -63,6 +74,39 @@ public class SaveProperties {
         if (System.getProperty(BUILD_NAME) != null) {
             setBuildName = System.getProperty(BUILD_NAME);
         }
+        if (System.getProperty(EVENT_WAITS) != null) {
+            setEventWaits = System.getProperty(EVENT_WAITS);
+        }
+        if (System.getProperty(POLLING_STRATEGY) != null) {
+            setPollingStrategy = System.getProperty(POLLING_STRATEGY);
+        }
+        if (System.getProperty(MAX_POLL) != null) {
+            setMaxPoll = System.getProperty(MAX_POLL);
+        }
+        if (System.getProperty(HTTP_TRANSPORT) != null) {
+            setHttpTransport = System.getProperty(HTTP_TRANSPORT);
+        }
+        if (System.getProperty(HTTP_MAX_PER_ROUTE) != null) {
+            setHttpMaxPerRoute = System.getProperty(HTTP_MAX_PER_ROUTE);
+        }
+        if (System.getProperty(ASYNC_THREADS) != null) {
+            setAsyncThreads = System.getProperty(ASYNC_THREADS);
+        }
+        if (System.getProperty(REPORT_BODY_LIMIT) != null) {
+            setReportBodyLimit = System.getProperty(REPORT_BODY_LIMIT);
+        }
+        if (System.getProperty(HTTP_CACHE_SIZE) != null) {
+            setHttpCacheSize = System.getProperty(HTTP_CACHE_SIZE);
+        }
+        if (System.getProperty(MATCH_TIMEOUT) != null) {
+            setMatchTimeout = System.getProperty(MATCH_TIMEOUT);
+        }
+        if (System.getProperty(HTTP_CASSETTE) != null) {
+            setHttpCassette = System.getProperty(HTTP_CASSETTE);
+        }
+        if (System.getProperty(HTTP_CASSETTE_MODE) != null) {
+            setHttpCassetteMode = System.getProperty(HTTP_CASSETTE_MODE);
+        }
         propertiesFile.renameTo(savePropertiesFile);
     }
 
@@ -101,6 +145,39 @@ public class SaveProperties {
         if (setBuildName != null) {
             System.setProperty(BUILD_NAME, setBuildName);
         }
+        if (setEventWaits != null) {
+            System.setProperty(EVENT_WAITS, setEventWaits);
+        }
+        if (setPollingStrategy != null) {
+            System.setProperty(POLLING_STRATEGY, setPollingStrategy);
+        }
+        if (setMaxPoll != null) {
+            System.setProperty(MAX_POLL, setMaxPoll);
+        }
+        if (setHttpTransport != null) {
+            System.setProperty(HTTP_TRANSPORT, setHttpTransport);
+        }
+        if (setHttpMaxPerRoute != null) {
+            System.setProperty(HTTP_MAX_PER_ROUTE, setHttpMaxPerRoute);
+        }
+        if (setAsyncThreads != null) {
+            System.setProperty(ASYNC_THREADS, setAsyncThreads);
+        }
+        if (setReportBodyLimit != null) {
+            System.setProperty(REPORT_BODY_LIMIT, setReportBodyLimit);
+        }
+        if (setHttpCacheSize != null) {
+            System.setProperty(HTTP_CACHE_SIZE, setHttpCacheSize);
+        }
+        if (setMatchTimeout != null) {
+            System.setProperty(MATCH_TIMEOUT, setMatchTimeout);
+        }
+        if (setHttpCassette != null) {
+            System.setProperty(HTTP_CASSETTE, setHttpCassette);
+        }
+        if (setHttpCassetteMode != null) {
+            System.setProperty(HTTP_CASSETTE_MODE, setHttpCassetteMode);
+        }
         savePropertiesFile.renameTo(propertiesFile);
     }
 
@@ -119,6 +196,17 @@ public class SaveProperties {
         System.clearProperty(HEADLESS);
         System.clearProperty(OPTIONS);
         System.clearProperty(BUILD_NAME);
+        System.clearProperty(EVENT_WAITS);
+        System.clearProperty(POLLING_STRATEGY);
+        System.clearProperty(MAX_POLL);
+        System.clearProperty(HTTP_TRANSPORT);
+        System.clearProperty(HTTP_MAX_PER_ROUTE);
+        System.clearProperty(ASYNC_THREADS);
+        System.clearProperty(REPORT_BODY_LIMIT);
+        System.clearProperty(HTTP_CACHE_SIZE);
+        System.clearProperty(MATCH_TIMEOUT);
+        System.clearProperty(HTTP_CASSETTE);
+        System.clearProperty(HTTP_CASSETTE_MODE);
 
         if (new File(SELENIFIED).exists()) {
             new File(SELENIFIED).delete();
@@ -8,6 +8,7 @@ import com.coveros.selenified.services.Response;
 import com.coveros.selenified.utilities.Reporter;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -725,4 +726,84 @@ public class ServicesAssertContainsTest {
         crumbs.add("name");
         response.assertContains().nestedKeys(crumbs, Collections.singletonList("first"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void confirmContainsPathKeysMatch() {
+        JsonObject john = new JsonObject();
+        john.addProperty("first", "john");
+        john.addProperty("last", "smith");
+        JsonArray users = new JsonArray();
+        users.add(john);
+        JsonObject json = new JsonObject();
+        json.add("users", users);
+        Response response = new Response(reporter, null, 5, json, null, null);
+        response.assertContains().pathKeys("$.users[0]", Collections.singletonList("first"));
+    }
+
+    @Test(expectedExceptions = AssertionError.class)
+    public void confirmContainsPathKeysNotJsonObject() {
+        JsonObject john = new JsonObject();
+        john.addProperty("first", "john");
+        john.addProperty("last", "smith");
+        JsonArray users = new JsonArray();
+        users.add(john);
+        JsonObject json = new JsonObject();
+        json.add("users", users);
+        Response response = new Response(reporter, null, 5, json, null, null);
+        response.assertContains().pathKeys("$.users[0].first", Collections.singletonList("first"));
+    }
+
+    @Test
+    public void confirmContainsPathKeyValuesMatch() {
+        JsonObject john = new JsonObject();
+        john.addProperty("first", "john");
+        john.addProperty("last", "smith");
+        JsonArray users = new JsonArray();
+        users.add(john);
+        JsonObject json = new JsonObject();
+        json.add("users", users);
+        Response response = new Response(reporter, null, 5, json, null, null);
+        Map<String, Object> map = new HashMap<>();
+        map.put("last", "smith");
+        response.assertContains().pathKeyValues("users[-1]", map);
+    }
+
+    @Test
+    public void confirmContainsPathValueWildcard() {
+        JsonObject john = new JsonObject();
+        john.addProperty("first", "john");
+        john.addProperty("last", "smith");
+        JsonArray users = new JsonArray();
+        users.add(john);
+        JsonObject json = new JsonObject();
+        json.add("users", users);
+        Response response = new Response(reporter, null, 5, json, null, null);
+        response.assertContains().pathValue("$.users[*].first", new JsonPrimitive("john"));
+    }
+
+    @Test(expectedExceptions = AssertionError.class)
+    public void confirmContainsPathValueMissing() {
+        JsonObject john = new JsonObject();
+        john.addProperty("first", "john");
+        john.addProperty("last", "smith");
+        JsonArray users = new JsonArray();
+        users.add(john);
+        JsonObject json = new JsonObject();
+        json.add("users", users);
+        Response response = new Response(reporter, null, 5, json, null, null);
+        response.assertContains().pathValue("$.users[1].first", new JsonPrimitive("john"));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void confirmContainsPathInvalid() {
+        JsonObject john = new JsonObject();
+        john.addProperty("first", "john");
+        john.addProperty("last", "smith");
+        JsonArray users = new JsonArray();
+        users.add(john);
+        JsonObject json = new JsonObject();
+        json.add("users", users);
+        Response response = new Response(reporter, null, 5, json, null, null);
+        response.assertContains().pathValue("$.users[first", new JsonPrimitive("john"));
+    }
+}
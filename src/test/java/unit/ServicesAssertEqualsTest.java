@@ -4,6 +4,7 @@ import com.coveros.selenified.Browser;
 import com.coveros.selenified.Capabilities;
 import com.coveros.selenified.exceptions.InvalidBrowserException;
 import com.coveros.selenified.exceptions.InvalidProxyException;
+import com.coveros.selenified.services.Download;
 import com.coveros.selenified.services.Response;
 import com.coveros.selenified.utilities.Reporter;
 import com.google.gson.JsonArray;
@@ -100,6 +101,30 @@ public class ServicesAssertEqualsTest {
         response.assertEquals().arrayData(new JsonArray());
     }
 
+    @Test
+    public void confirmEqualsArrayIgnoreOrderPassTest() {
+        JsonArray json = new JsonArray();
+        json.add("name");
+        json.add("age");
+        JsonArray expected = new JsonArray();
+        expected.add("age");
+        expected.add("name");
+        Response response = new Response(reporter, null, 5, null, json, null);
+        response.assertEquals().arrayData(expected, true);
+    }
+
+    @Test(expectedExceptions = AssertionError.class)
+    public void confirmEqualsArrayIgnoreOrderFailTest() {
+        JsonArray json = new JsonArray();
+        json.add("name");
+        json.add("age");
+        JsonArray expected = new JsonArray();
+        expected.add("age");
+        expected.add("name");
+        Response response = new Response(reporter, null, 5, null, json, null);
+        response.assertEquals().arrayData(expected, false);
+    }
+
     @Test
     public void confirmEqualsMessagePassTest() {
         Response response = new Response(reporter, null, 5, new JsonObject(), null, "Some message");
@@ -286,4 +311,117 @@ public class ServicesAssertEqualsTest {
         Response response = new Response(reporter, null, 5, json, null, null);
         response.assertEquals().nestedArraySize(crumbs, 3);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void confirmEqualsPathMatch() {
+        JsonObject john = new JsonObject();
+        john.addProperty("first", "john");
+        john.addProperty("last", "smith");
+        JsonArray users = new JsonArray();
+        users.add(john);
+        JsonObject json = new JsonObject();
+        json.add("users", users);
+        Response response = new Response(reporter, null, 5, json, null, null);
+        response.assertEquals().pathValue("$.users[0].first", "john");
+    }
+
+    @Test(expectedExceptions = AssertionError.class)
+    public void confirmEqualsPathNoMatch() {
+        JsonObject john = new JsonObject();
+        john.addProperty("first", "john");
+        john.addProperty("last", "smith");
+        JsonArray users = new JsonArray();
+        users.add(john);
+        JsonObject json = new JsonObject();
+        json.add("users", users);
+        Response response = new Response(reporter, null, 5, json, null, null);
+        response.assertEquals().pathValue("$.users[0].first", "janice");
+    }
+
+    @Test
+    public void confirmEqualsPathArraySize() {
+        JsonObject john = new JsonObject();
+        john.addProperty("first", "john");
+        john.addProperty("last", "smith");
+        JsonArray users = new JsonArray();
+        users.add(john);
+        JsonObject json = new JsonObject();
+        json.add("users", users);
+        Response response = new Response(reporter, null, 5, json, null, null);
+        response.assertEquals().pathArraySize("$.users", 1);
+    }
+
+    @Test
+    public void confirmEqualsPathArraySizeWildcard() {
+        JsonObject john = new JsonObject();
+        john.addProperty("first", "john");
+        john.addProperty("last", "smith");
+        JsonArray users = new JsonArray();
+        users.add(john);
+        JsonObject json = new JsonObject();
+        json.add("users", users);
+        Response response = new Response(reporter, null, 5, json, null, null);
+        response.assertEquals().pathArraySize("$.users[*].last", 1);
+    }
+
+    @Test
+    public void confirmEqualsPathArraySizeNotArray() {
+        JsonObject john = new JsonObject();
+        john.addProperty("first", "john");
+        john.addProperty("last", "smith");
+        JsonArray users = new JsonArray();
+        users.add(john);
+        JsonObject json = new JsonObject();
+        json.add("users", users);
+        Response response = new Response(reporter, null, 5, json, null, null);
+        response.assertEquals().pathArraySize("$.users[0]", -1);
+    }
+
+    @Test
+    public void confirmEqualsPathArrayResponse() {
+        JsonObject john = new JsonObject();
+        john.addProperty("first", "john");
+        JsonArray json = new JsonArray();
+        json.add(john);
+        Response response = new Response(reporter, null, 5, null, json, null);
+        response.assertEquals().pathValue("$[0].first", "john");
+    }
+
+    @Test
+    public void confirmEqualsChecksumMatch() {
+        Download download = new Download(null, 5, "ea7fb08b7a2dc4619ffb7c7bb38d95a2047935fa165d71b12efd3852a2e6d0cc", 3, 10);
+        Response response = new Response(reporter, null, 200, download);
+        response.assertEquals().checksum("EA7FB08B7A2DC4619FFB7C7BB38D95A2047935FA165D71B12EFD3852A2E6D0CC");
+    }
+
+    @Test(expectedExceptions = AssertionError.class)
+    public void confirmEqualsChecksumMismatch() {
+        Download download = new Download(null, 5, "ea7fb08b7a2dc4619ffb7c7bb38d95a2047935fa165d71b12efd3852a2e6d0cc", 3, 10);
+        Response response = new Response(reporter, null, 200, download);
+        response.assertEquals().checksum("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855");
+    }
+
+    @Test(expectedExceptions = AssertionError.class)
+    public void confirmEqualsChecksumNotDownloaded() {
+        Response response = new Response(reporter, null, 200, new JsonObject(), null, null);
+        response.assertEquals().checksum("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855");
+    }
+
+    @Test
+    public void confirmEqualsLineCountMatch() {
+        Response response = new Response(reporter, null, 200, new Download(null, 5, "abc", 3, 10));
+        response.assertEquals().lineCount(3);
+    }
+
+    @Test(expectedExceptions = AssertionError.class)
+    public void confirmEqualsLineCountMismatch() {
+        Response response = new Response(reporter, null, 200, new Download(null, 5, "abc", 3, 10));
+        response.assertEquals().lineCount(4);
+    }
+
+    @Test(expectedExceptions = AssertionError.class)
+    public void confirmEqualsLineCountNotDownloaded() {
+        Response response = new Response(reporter, null, 200, new JsonObject(), null, null);
+        response.assertEquals().lineCount(0);
+    }
+}
@@ -8,6 +8,7 @@ import com.coveros.selenified.services.Response;
 import com.coveros.selenified.utilities.Reporter;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -709,4 +710,58 @@ public class ServicesAssertExcludesTest {
         crumbs.add("name");
         response.assertExcludes().nestedKeys(crumbs, Collections.singletonList("first"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void confirmExcludesPathKeysMatch() {
+        JsonObject john = new JsonObject();
+        john.addProperty("first", "john");
+        john.addProperty("last", "smith");
+        JsonArray users = new JsonArray();
+        users.add(john);
+        JsonObject json = new JsonObject();
+        json.add("users", users);
+        Response response = new Response(reporter, null, 5, json, null, null);
+        response.assertExcludes().pathKeys("$.users[0]", Collections.singletonList("middle"));
+    }
+
+    @Test(expectedExceptions = AssertionError.class)
+    public void confirmExcludesPathKeysMismatch() {
+        JsonObject john = new JsonObject();
+        john.addProperty("first", "john");
+        john.addProperty("last", "smith");
+        JsonArray users = new JsonArray();
+        users.add(john);
+        JsonObject json = new JsonObject();
+        json.add("users", users);
+        Response response = new Response(reporter, null, 5, json, null, null);
+        response.assertExcludes().pathKeys("$.users[0]", Collections.singletonList("first"));
+    }
+
+    @Test(expectedExceptions = AssertionError.class)
+    public void confirmExcludesPathKeyValuesMismatch() {
+        JsonObject john = new JsonObject();
+        john.addProperty("first", "john");
+        john.addProperty("last", "smith");
+        JsonArray users = new JsonArray();
+        users.add(john);
+        JsonObject json = new JsonObject();
+        json.add("users", users);
+        Response response = new Response(reporter, null, 5, json, null, null);
+        Map<String, Object> map = new HashMap<>();
+        map.put("first", "john");
+        response.assertExcludes().pathKeyValues("$.users[0]", map);
+    }
+
+    @Test
+    public void confirmExcludesPathValueMatch() {
+        JsonObject john = new JsonObject();
+        john.addProperty("first", "john");
+        john.addProperty("last", "smith");
+        JsonArray users = new JsonArray();
+        users.add(john);
+        JsonObject json = new JsonObject();
+        json.add("users", users);
+        Response response = new Response(reporter, null, 5, json, null, null);
+        response.assertExcludes().pathValue("$.users[*].first", new JsonPrimitive("jon"));
+    }
+}
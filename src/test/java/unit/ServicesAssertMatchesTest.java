@@ -13,6 +13,9 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -137,4 +140,71 @@ public class ServicesAssertMatchesTest {
         list.add("first");
         response.assertMatches().nestedValue(list, "janice");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void confirmMatchesPathMatch() {
+        JsonObject john = new JsonObject();
+        john.addProperty("first", "john");
+        john.addProperty("last", "smith");
+        JsonArray users = new JsonArray();
+        users.add(john);
+        JsonObject json = new JsonObject();
+        json.add("users", users);
+        Response response = new Response(reporter, null, 5, json, null, null);
+        response.assertMatches().pathValue("$.users[0].last", "sm.*");
+    }
+
+    @Test(expectedExceptions = AssertionError.class)
+    public void confirmMatchesPathNoMatch() {
+        JsonObject john = new JsonObject();
+        john.addProperty("first", "john");
+        john.addProperty("last", "smith");
+        JsonArray users = new JsonArray();
+        users.add(john);
+        JsonObject json = new JsonObject();
+        json.add("users", users);
+        Response response = new Response(reporter, null, 5, json, null, null);
+        response.assertMatches().pathValue("$.users[0].last", "jo.*");
+    }
+
+    @Test
+    public void confirmMatchesSchemaPassTest() throws IOException {
+        JsonObject json = new JsonObject();
+        json.addProperty("name", "john");
+        Response response = new Response(reporter, null, 5, json, null, null);
+        File schema = writeSchema("{\"type\":\"object\",\"required\":[\"name\"]}");
+        try {
+            response.assertMatches().schema(schema);
+        } finally {
+            schema.delete();
+        }
+    }
+
+    @Test(expectedExceptions = AssertionError.class)
+    public void confirmMatchesSchemaFailTest() throws IOException {
+        JsonArray json = new JsonArray();
+        json.add("name");
+        Response response = new Response(reporter, null, 5, null, json, null);
+        File schema = writeSchema("{\"type\":\"object\",\"required\":[\"name\"]}");
+        try {
+            response.assertMatches().schema(schema);
+        } finally {
+            schema.delete();
+        }
+    }
+
+    @Test(expectedExceptions = AssertionError.class)
+    public void confirmMatchesSchemaMissingTest() {
+        JsonObject json = new JsonObject();
+        Response response = new Response(reporter, null, 5, json, null, null);
+        response.assertMatches().schema(new File("missing-schema.json"));
+    }
+
+    private File writeSchema(String schema) throws IOException {
+        File schemaFile = File.createTempFile("schema", ".json");
+        try (Writer writer = new FileWriter(schemaFile)) {
+            writer.write(schema);
+        }
+        return schemaFile;
+    }
+}
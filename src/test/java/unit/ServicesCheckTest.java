@@ -530,4 +530,47 @@ public class ServicesCheckTest {
         Response response = new Response(reporter, null, 5, new JsonObject(), null, null);
         assertTrue(response.assertExcludes().doesJsonObjectExcludeKeys(Arrays.asList("smith", "john"), json));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void isEqualNullTest() {
+        Response response = new Response(reporter, null, 5, new JsonObject(), null, null);
+        assertFalse(response.assertContains().isEqual("Hi", null));
+    }
+
+    @Test
+    public void isEqualStringTest() {
+        Response response = new Response(reporter, null, 5, new JsonObject(), null, null);
+        assertTrue(response.assertContains().isEqual("World", new JsonPrimitive("World")));
+        assertTrue(response.assertContains().isEqual("5", new JsonPrimitive(5)));
+        assertFalse(response.assertContains().isEqual("Hello", new JsonPrimitive("World")));
+    }
+
+    @Test
+    public void isEqualNumberTest() {
+        Response response = new Response(reporter, null, 5, new JsonObject(), null, null);
+        assertTrue(response.assertContains().isEqual(5, new JsonPrimitive(5)));
+        assertFalse(response.assertContains().isEqual(6, new JsonPrimitive(5)));
+        assertTrue(response.assertContains().isEqual(5L, new JsonPrimitive(5)));
+        assertTrue(response.assertContains().isEqual(5.5, new JsonPrimitive(5.5)));
+        assertTrue(response.assertContains().isEqual(5.5f, new JsonPrimitive(5.5)));
+        assertTrue(response.assertContains().isEqual((byte) 5, new JsonPrimitive(5)));
+        assertFalse(response.assertContains().isEqual(5, new JsonPrimitive("five")));
+    }
+
+    @Test
+    public void isEqualBooleanTest() {
+        Response response = new Response(reporter, null, 5, new JsonObject(), null, null);
+        assertTrue(response.assertContains().isEqual(true, new JsonPrimitive(true)));
+        assertFalse(response.assertContains().isEqual(false, new JsonPrimitive(true)));
+    }
+
+    @Test
+    public void isEqualJsonTest() {
+        Response response = new Response(reporter, null, 5, new JsonObject(), null, null);
+        JsonObject json = new JsonObject();
+        json.addProperty("name", "john");
+        assertTrue(response.assertContains().isEqual(json, json.deepCopy()));
+        assertFalse(response.assertContains().isEqual(new JsonObject(), json));
+        assertFalse(response.assertContains().isEqual(5, json));
+    }
+}
@@ -1079,4 +1079,23 @@ public class ServicesVerifyContainsTest {
                         "<div><i>\\{<br/>&nbsp;&nbsp;\"first\":&nbsp;\"john\",<br/>&nbsp;&nbsp;\"last\":&nbsp;\"smith\"<br/>}" +
                         "</i></div></td>\n {4}<td>[0-9]+ms / [0-9]+ms</td>\n {4}<td class='pass'>PASS</td>\n {3}</tr>\n"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void confirmContainsPathKeyMatch() throws IOException {
+        JsonObject john = new JsonObject();
+        john.addProperty("first", "john");
+        john.addProperty("last", "smith");
+        JsonArray users = new JsonArray();
+        users.add(john);
+        JsonObject json = new JsonObject();
+        json.add("users", users);
+        Response response = new Response(reporter, null, 5, json, null, null);
+        response.verifyContains().pathKeys("$.users[0]", Collections.singletonList("first"));
+        String content = Files.toString(file, Charsets.UTF_8);
+        assertTrue(content.matches(
+                "[.\\s\\S]+ {3}<tr>\n {4}<td align='center'>1.</td>\n {4}<td></td>\n {4}<td>Expected to find a " +
+                        "response of: '<i>\\$.users\\[0]</i>' containing keys: '<i>first</i>'</td>\n {4}<td>Found a response of: " +
+                        "<div><i>\\{<br/>&nbsp;&nbsp;\"first\":&nbsp;\"john\",<br/>&nbsp;&nbsp;\"last\":&nbsp;\"smith\"<br/>}</i>" +
+                        "</div></td>\n {4}<td>[0-9]+ms / [0-9]+ms</td>\n {4}<td class='pass'>PASS</td>\n {3}</tr>\n"));
+    }
+}
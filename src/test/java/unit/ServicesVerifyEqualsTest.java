@@ -4,6 +4,7 @@ import com.coveros.selenified.Browser;
 import com.coveros.selenified.Capabilities;
 import com.coveros.selenified.exceptions.InvalidBrowserException;
 import com.coveros.selenified.exceptions.InvalidProxyException;
+import com.coveros.selenified.services.Download;
 import com.coveros.selenified.services.Response;
 import com.coveros.selenified.utilities.Reporter;
 import com.google.common.base.Charsets;
@@ -92,8 +93,9 @@ public class ServicesVerifyEqualsTest {
         assertTrue(content.matches(
                 "[.\\s\\S]+ {3}<tr>\n {4}<td align='center'>1.</td>\n {4}<td></td>\n {4}<td>Expected to find a " +
                         "response of: <div><i>\\{}</i></div></td>\n {4}<td>Found a response of: " +
-                        "<div><i>\\{<br/>&nbsp;&nbsp;\"name\":&nbsp;\"john\"<br/>}</i></div></td>\n {4}<td>[0-9]+ms / " +
-                        "[0-9]+ms</td>\n {4}<td class='fail'>FAIL</td>\n {3}</tr>\n"));
+                        "<div><i>\\{<br/>&nbsp;&nbsp;\"name\":&nbsp;\"john\"<br/>}</i></div><div>Found <i>1</i> " +
+                        "difference:</div><div class='indent'><i>\\$\\['name']</i> wasn't expected, found " +
+                        "<i>\"john\"</i></div></td>\n {4}<td>[0-9]+ms / [0-9]+ms</td>\n {4}<td class='fail'>FAIL</td>\n {3}</tr>\n"));
     }
 
     @Test
@@ -106,7 +108,9 @@ public class ServicesVerifyEqualsTest {
         assertTrue(content.matches(
                 "[.\\s\\S]+ {3}<tr>\n {4}<td align='center'>1.</td>\n {4}<td></td>\n {4}<td>Expected to find a " +
                         "response of: <div><i>\\{}</i></div></td>\n {4}<td>Found a response of: " +
-                        "<div><i>\\[<br/>&nbsp;&nbsp;\"name\"<br/>]</i></div></td>\n {4}<td>[0-9]+ms / [0-9]+ms</td>\n {4}<td class='fail'>FAIL</td>\n {3}</tr>\n"));
+                        "<div><i>\\[<br/>&nbsp;&nbsp;\"name\"<br/>]</i></div><div>Found <i>1</i> difference:</div>" +
+                        "<div class='indent'><i>\\$</i> is missing, expected <i>\\{}</i></div></td>\n {4}<td>[0-9]+ms / " +
+                        "[0-9]+ms</td>\n {4}<td class='fail'>FAIL</td>\n {3}</tr>\n"));
     }
 
     @Test
@@ -132,7 +136,8 @@ public class ServicesVerifyEqualsTest {
         assertTrue(content.matches(
                 "[.\\s\\S]+ {3}<tr>\n {4}<td align='center'>1.</td>\n {4}<td></td>\n {4}<td>Expected to find a " +
                         "response of: <div><i>\\[]</i></div></td>\n {4}<td>Found a response of: " +
-                        "<div><i>\\[<br/>&nbsp;&nbsp;\"name\"<br/>]</i></div></td>\n {4}<td>[0-9]+ms / [0-9]+ms</td>\n {4}<td class='fail'>FAIL</td>\n {3}</tr>\n"));
+                        "<div><i>\\[<br/>&nbsp;&nbsp;\"name\"<br/>]</i></div><div>Found <i>1</i> difference:</div>" +
+                        "<div class='indent'><i>\\$\\[0]</i> wasn't expected, found <i>\"name\"</i></div></td>\n {4}<td>[0-9]+ms / [0-9]+ms</td>\n {4}<td class='fail'>FAIL</td>\n {3}</tr>\n"));
     }
 
     @Test
@@ -145,7 +150,9 @@ public class ServicesVerifyEqualsTest {
         assertTrue(content.matches(
                 "[.\\s\\S]+ {3}<tr>\n {4}<td align='center'>1.</td>\n {4}<td></td>\n {4}<td>Expected to find a " +
                         "response of: <div><i>\\[]</i></div></td>\n {4}<td>Found a response of: " +
-                        "<div><i>\\{<br/>&nbsp;&nbsp;\"name\":&nbsp;\"john\"<br/>}</i></div></td>\n {4}<td>[0-9]+ms / [0-9]+ms</td>\n {4}<td class='fail'>FAIL</td>\n {3}</tr>\n"));
+                        "<div><i>\\{<br/>&nbsp;&nbsp;\"name\":&nbsp;\"john\"<br/>}</i></div><div>Found <i>1</i> difference:</div>" +
+                        "<div class='indent'><i>\\$</i> is missing, expected <i>\\[]</i></div></td>\n {4}<td>[0-9]+ms / " +
+                        "[0-9]+ms</td>\n {4}<td class='fail'>FAIL</td>\n {3}</tr>\n"));
     }
 
     @Test
@@ -432,4 +439,33 @@ public class ServicesVerifyEqualsTest {
                         "</i></div> which has a size of '<i>2</i>'</td>\n {4}<td>[0-9]+ms / [0-9]+ms</td>\n {4}<td " +
                         "class='fail'>FAIL</td>\n {3}</tr>\n"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void confirmEqualsPathMismatch() throws IOException {
+        JsonObject john = new JsonObject();
+        john.addProperty("first", "john");
+        john.addProperty("last", "smith");
+        JsonArray users = new JsonArray();
+        users.add(john);
+        JsonObject json = new JsonObject();
+        json.add("users", users);
+        Response response = new Response(reporter, null, 5, json, null, null);
+        response.verifyEquals().pathValue("$.users[0].first", "janice");
+        String content = Files.toString(file, Charsets.UTF_8);
+        assertTrue(content.matches(
+                "[.\\s\\S]+ {3}<tr>\n {4}<td align='center'>1.</td>\n {4}<td></td>\n {4}<td>Expected to find a " +
+                        "response of: '<i>\\$.users\\[0].first</i>' with value of: <div><i>\"janice\"</i></div></td>\n {4}<td>Found a response of: " +
+                        "<div><i>\"john\"</i></div></td>\n {4}<td>[0-9]+ms / [0-9]+ms</td>\n {4}<td class='fail'>FAIL</td>\n {3}</tr>\n"));
+    }
+
+    @Test
+    public void confirmEqualsLineCountMismatch() throws IOException {
+        Response response = new Response(reporter, null, 200, new Download(null, 5, "abc", 3, 10));
+        response.verifyEquals().lineCount(4);
+        String content = Files.toString(file, Charsets.UTF_8);
+        assertTrue(content.matches(
+                "[.\\s\\S]+ {3}<tr>\n {4}<td align='center'>1.</td>\n {4}<td></td>\n {4}<td>Expected to find a " +
+                        "download with '<i>4</i>' lines</td>\n {4}<td>Found a download with '<i>3</i>' lines</td>\n {4}" +
+                        "<td>[0-9]+ms / [0-9]+ms</td>\n {4}<td class='fail'>FAIL</td>\n {3}</tr>\n"));
+    }
+}
@@ -15,7 +15,9 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.io.File;
+import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -189,4 +191,103 @@ public class ServicesVerifyMatchesTest {
                         "<div><i>\"john\"</i></div></td>\n {4}<td>[0-9]+ms / [0-9]+ms</td>\n {4}<td " +
                         "class='fail'>FAIL</td>\n {3}</tr>\n"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void confirmMatchesSchemaPassTest() throws IOException {
+        JsonObject json = new JsonObject();
+        json.addProperty("name", "john");
+        Response response = new Response(reporter, null, 5, json, null, null);
+        File schema = writeSchema("{\"type\":\"object\",\"required\":[\"name\"]}");
+        try {
+            response.verifyMatches().schema(schema);
+        } finally {
+            schema.delete();
+        }
+        String content = Files.toString(file, Charsets.UTF_8);
+        assertTrue(content.matches(
+                "[.\\s\\S]+ {3}<tr>\n {4}<td align='center'>1.</td>\n {4}<td></td>\n {4}<td>Expected to find a " +
+                        "response matching the schema: '<i>.*schema.*\\.json</i>'</td>\n {4}<td>Found a response of: " +
+                        "<div><i>\\{<br/>&nbsp;&nbsp;\"name\":&nbsp;\"john\"<br/>}</i></div></td>\n {4}<td>[0-9]+ms / " +
+                        "[0-9]+ms</td>\n {4}<td class='pass'>PASS</td>\n {3}</tr>\n"));
+    }
+
+    @Test
+    public void confirmMatchesSchemaFailTest() throws IOException {
+        JsonObject json = new JsonObject();
+        json.addProperty("name", 5);
+        Response response = new Response(reporter, null, 5, json, null, null);
+        File schema = writeSchema("{\"required\":[\"id\"],\"properties\":{\"name\":{\"type\":\"string\"}}}");
+        try {
+            response.verifyMatches().schema(schema);
+        } finally {
+            schema.delete();
+        }
+        String content = Files.toString(file, Charsets.UTF_8);
+        assertTrue(content.matches(
+                "[.\\s\\S]+ {3}<tr>\n {4}<td align='center'>1.</td>\n {4}<td></td>\n {4}<td>Expected to find a " +
+                        "response matching the schema: '<i>.*schema.*\\.json</i>'</td>\n {4}<td>Found a response of: " +
+                        "<div><i>\\{<br/>&nbsp;&nbsp;\"name\":&nbsp;5<br/>}</i></div><div>Found <i>2</i> schema " +
+                        "violations:</div><div class='indent'><i>\\$\\['id']</i>: is&nbsp;required,&nbsp;but&nbsp;missing</div>" +
+                        "<div class='indent'><i>\\$\\['name']</i>: expected&nbsp;string,&nbsp;found&nbsp;integer</div></td>\n {4}<td>" +
+                        "[0-9]+ms / [0-9]+ms</td>\n {4}<td class='fail'>FAIL</td>\n {3}</tr>\n"));
+    }
+
+    @Test
+    public void confirmMatchesSchemaMissingTest() throws IOException {
+        JsonObject json = new JsonObject();
+        Response response = new Response(reporter, null, 5, json, null, null);
+        response.verifyMatches().schema(new File("missing-schema.json"));
+        String content = Files.toString(file, Charsets.UTF_8);
+        assertTrue(content.matches(
+                "[.\\s\\S]+ {3}<tr>\n {4}<td align='center'>1.</td>\n {4}<td></td>\n {4}<td>Expected to find a " +
+                        "response matching the schema: '<i>missing-schema.json</i>'</td>\n {4}<td>Unable to read the " +
+                        "schema: '<i>.*missing-schema.json</i>'</td>\n {4}<td>[0-9]+ms / [0-9]+ms</td>\n {4}<td " +
+                        "class='fail'>FAIL</td>\n {3}</tr>\n"));
+    }
+
+    @Test
+    public void confirmMatchesSchemaInvalidTest() throws IOException {
+        JsonObject json = new JsonObject();
+        json.addProperty("name", "john");
+        Response response = new Response(reporter, null, 5, json, null, null);
+        File schema = writeSchema("{\"properties\":{\"name\":{\"minLength\":\"five\"}}}");
+        try {
+            response.verifyMatches().schema(schema);
+        } finally {
+            schema.delete();
+        }
+        String content = Files.toString(file, Charsets.UTF_8);
+        assertTrue(content.matches(
+                "[.\\s\\S]+ {3}<tr>\n {4}<td align='center'>1.</td>\n {4}<td></td>\n {4}<td>Expected to find a " +
+                        "response matching the schema: '<i>.*schema.*\\.json</i>'</td>\n {4}<td>Unable to read the " +
+                        "schema: '<i>.*</i>'</td>\n {4}<td>[0-9]+ms / [0-9]+ms</td>\n {4}<td " +
+                        "class='fail'>FAIL</td>\n {3}</tr>\n"));
+    }
+
+    @Test
+    public void confirmMatchesSchemaBadReferenceTest() throws IOException {
+        JsonObject json = new JsonObject();
+        json.addProperty("name", "john");
+        Response response = new Response(reporter, null, 5, json, null, null);
+        File schema = writeSchema("{\"properties\":{\"name\":{\"$ref\":\"#/definitions/missing\"}}}");
+        try {
+            response.verifyMatches().schema(schema);
+        } finally {
+            schema.delete();
+        }
+        String content = Files.toString(file, Charsets.UTF_8);
+        assertTrue(content.matches(
+                "[.\\s\\S]+ {3}<tr>\n {4}<td align='center'>1.</td>\n {4}<td></td>\n {4}<td>Expected to find a " +
+                        "response matching the schema: '<i>.*schema.*\\.json</i>'</td>\n {4}<td>Unable to validate " +
+                        "against the schema: '<i>.*#/definitions/missing.*</i>'</td>\n {4}<td>[0-9]+ms / [0-9]+ms</td>\n " +
+                        "{4}<td class='fail'>FAIL</td>\n {3}</tr>\n"));
+    }
+
+    private File writeSchema(String schema) throws IOException {
+        File schemaFile = File.createTempFile("schema", ".json");
+        try (Writer writer = new FileWriter(schemaFile)) {
+            writer.write(schema);
+        }
+        return schemaFile;
+    }
+}
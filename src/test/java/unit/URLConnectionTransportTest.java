@@ -0,0 +1,135 @@
+package unit;
+
+import com.coveros.selenified.services.Transport;
+import com.coveros.selenified.services.URLConnectionTransport;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ProtocolException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.*;
+
+public class URLConnectionTransportTest {
+
+    private ServerSocket server;
+    private CompletableFuture<String> received;
+
+    @BeforeMethod
+    public void startServer() throws IOException {
+        server = new ServerSocket(0);
+        server.setSoTimeout(2000);
+        received = CompletableFuture.supplyAsync(this::receive);
+    }
+
+    @AfterMethod
+    public void stopServer() throws IOException {
+        server.close();
+    }
+
+    /**
+     * Accepts a single request, records everything sent up to the end of the
+     * headers, plus the body, and responds with a simple 200
+     *
+     * @return String: the raw request, as sent over the wire, or null if nothing was sent
+     */
+    private String receive() {
+        try (Socket socket = server.accept()) {
+            InputStream in = socket.getInputStream();
+            ByteArrayOutputStream request = new ByteArrayOutputStream();
+            int contentLength = 0;
+            StringBuilder line = new StringBuilder();
+            int read;
+            while ((read = in.read()) != -1) {
+                request.write(read);
+                if (read == '\n') {
+                    String header = line.toString().trim();
+                    if (header.isEmpty()) {
+                        break;
+                    }
+                    if (header.toLowerCase().startsWith("content-length:")) {
+                        contentLength = Integer.parseInt(header.substring(15).trim());
+                    }
+                    line.setLength(0);
+                } else {
+                    line.append((char) read);
+                }
+            }
+            for (int i = 0; i < contentLength && (read = in.read()) != -1; i++) {
+                request.write(read);
+            }
+            OutputStream out = socket.getOutputStream();
+            out.write("HTTP/1.1 200 OK\r\nContent-Length: 2\r\nConnection: close\r\n\r\nok".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            return new String(request.toByteArray(), StandardCharsets.UTF_8);
+        } catch (SocketTimeoutException e) {
+            return null;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private URL url(String path) throws IOException {
+        return new URL("http://localhost:" + server.getLocalPort() + path);
+    }
+
+    @Test
+    public void sendGetTest() throws Exception {
+        try (Transport.Exchange exchange = new URLConnectionTransport().send("GET", url("/users"),
+                Collections.singletonMap("Accept", "application/json"), null)) {
+            assertEquals(exchange.getCode(), 200);
+        }
+        String request = received.get(5, TimeUnit.SECONDS);
+        assertTrue(request.startsWith("GET /users HTTP/1.1\r\n"), request);
+        assertTrue(request.contains("Accept: application/json\r\n"), request);
+    }
+
+    @Test
+    public void sendPutTest() throws Exception {
+        byte[] json = "{\"name\":\"john\"}".getBytes(StandardCharsets.UTF_8);
+        Transport.Body body = new Transport.Body() {
+            @Override
+            public long length() {
+                return json.length;
+            }
+
+            @Override
+            public void writeTo(OutputStream out) throws IOException {
+                out.write(json);
+            }
+        };
+        try (Transport.Exchange exchange = new URLConnectionTransport().send("PUT", url("/users/5"),
+                Collections.singletonMap("Content-Type", "application/json"), body)) {
+            assertEquals(exchange.getCode(), 200);
+        }
+        String request = received.get(5, TimeUnit.SECONDS);
+        assertTrue(request.startsWith("PUT /users/5 HTTP/1.1\r\n"), request);
+        assertFalse(request.contains("X-HTTP-Method-Override"), request);
+        assertTrue(request.endsWith("\r\n\r\n{\"name\":\"john\"}"), request);
+    }
+
+    @Test
+    public void sendPatchTest() throws Exception {
+        try {
+            new URLConnectionTransport().send("PATCH", url("/users/5"), Collections.emptyMap(), null);
+            fail("Expected PATCH to be refused");
+        } catch (ProtocolException e) {
+            assertEquals(e.getMessage(), "The PATCH method isn't supported by HttpURLConnection. Use the pooled " +
+                    "httpTransport to make PATCH calls");
+        }
+        // nothing, not even a POST, should have gone out
+        assertNull(received.get(5, TimeUnit.SECONDS));
+    }
+}
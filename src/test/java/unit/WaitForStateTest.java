@@ -0,0 +1,245 @@
+package unit;
+
+import com.coveros.selenified.Browser;
+import com.coveros.selenified.Capabilities;
+import com.coveros.selenified.Locator;
+import com.coveros.selenified.element.Element;
+import com.coveros.selenified.element.check.WaitForState.Precondition;
+import com.coveros.selenified.exceptions.InvalidBrowserException;
+import com.coveros.selenified.exceptions.InvalidProxyException;
+import com.coveros.selenified.utilities.Reporter;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.*;
+
+public class WaitForStateTest {
+
+    private Reporter reporter;
+
+    @AfterMethod
+    public void cleanup() {
+        if (reporter != null) {
+            new File(reporter.getFileName() + ".html").delete();
+            reporter = null;
+        }
+    }
+
+    private WebElement webElement(boolean displayed, boolean enabled, String disabled) {
+        return (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{WebElement.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "isDisplayed":
+                            return displayed;
+                        case "isEnabled":
+                            return enabled;
+                        case "getAttribute":
+                            return "disabled".equals(args[0]) ? disabled : null;
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    private WebDriver driver(WebElement webElement, int missingLookups, AtomicInteger lookups) {
+        return (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{WebDriver.class},
+                (proxy, method, args) -> {
+                    if ("findElements".equals(method.getName())) {
+                        if (lookups.incrementAndGet() <= missingLookups || webElement == null) {
+                            return Collections.emptyList();
+                        }
+                        return Collections.singletonList(webElement);
+                    }
+                    return null;
+                });
+    }
+
+    private Element element(WebElement webElement, int missingLookups, AtomicInteger lookups) {
+        Element element = new Element(driver(webElement, missingLookups, lookups), reporter, Locator.ID, "myId");
+        element.waitForState().changeDefaultWait(0.2);
+        element.waitForState().changeDefaultPoll(10);
+        return element;
+    }
+
+    @Test
+    public void preconditionsMetTest() {
+        AtomicInteger lookups = new AtomicInteger();
+        Element element = element(webElement(true, true, null), 0, lookups);
+        assertNull(element.waitForState().preconditions(Precondition.PRESENT, Precondition.DISPLAYED,
+                Precondition.ENABLED));
+        assertEquals(lookups.get(), 1);
+    }
+
+    @Test
+    public void preconditionsNoneTest() {
+        AtomicInteger lookups = new AtomicInteger();
+        Element element = element(null, 0, lookups);
+        assertNull(element.waitForState().preconditions());
+        assertEquals(lookups.get(), 0);
+    }
+
+    @Test
+    public void preconditionsNotPresentTest() {
+        Element element = element(null, 0, new AtomicInteger());
+        assertEquals(element.waitForState().preconditions(Precondition.PRESENT), Precondition.PRESENT);
+    }
+
+    @Test
+    public void preconditionsNotPresentDisplayedTest() {
+        Element element = element(null, 0, new AtomicInteger());
+        assertEquals(element.waitForState().preconditions(Precondition.DISPLAYED), Precondition.DISPLAYED);
+    }
+
+    @Test
+    public void preconditionsNotDisplayedTest() {
+        Element element = element(webElement(false, true, null), 0, new AtomicInteger());
+        assertEquals(element.waitForState().preconditions(Precondition.PRESENT, Precondition.DISPLAYED,
+                Precondition.ENABLED), Precondition.DISPLAYED);
+    }
+
+    @Test
+    public void preconditionsNotEnabledTest() {
+        Element element = element(webElement(true, false, null), 0, new AtomicInteger());
+        assertEquals(element.waitForState().preconditions(Precondition.PRESENT, Precondition.DISPLAYED,
+                Precondition.ENABLED), Precondition.ENABLED);
+    }
+
+    @Test
+    public void preconditionsDisabledAttributeTest() {
+        Element element = element(webElement(true, true, "true"), 0, new AtomicInteger());
+        assertEquals(element.waitForState().preconditions(Precondition.PRESENT, Precondition.ENABLED),
+                Precondition.ENABLED);
+    }
+
+    @Test
+    public void preconditionsOrderTest() {
+        Element element = element(webElement(false, false, null), 0, new AtomicInteger());
+        assertEquals(element.waitForState().preconditions(Precondition.ENABLED, Precondition.DISPLAYED),
+                Precondition.ENABLED);
+    }
+
+    @Test
+    public void preconditionsEventuallyMetTest() {
+        AtomicInteger lookups = new AtomicInteger();
+        Element element = element(webElement(true, true, null), 3, lookups);
+        assertNull(element.waitForState().preconditions(Precondition.PRESENT, Precondition.DISPLAYED,
+                Precondition.ENABLED));
+        assertEquals(lookups.get(), 4);
+    }
+
+    @Test
+    public void preconditionsSharedDeadlineTest() {
+        Element element = element(null, 0, new AtomicInteger());
+        long start = System.currentTimeMillis();
+        assertEquals(element.waitForState().preconditions(0.3, Precondition.PRESENT, Precondition.DISPLAYED,
+                Precondition.ENABLED), Precondition.PRESENT);
+        long elapsed = System.currentTimeMillis() - start;
+        assertTrue(elapsed >= 300, "Waited " + elapsed + "ms");
+        assertTrue(elapsed < 600, "Waited " + elapsed + "ms, which is more than the one shared wait");
+    }
+
+    @Test
+    public void preconditionsSharedDeadlineNotDisplayedTest() {
+        Element element = element(webElement(false, false, null), 0, new AtomicInteger());
+        long start = System.currentTimeMillis();
+        assertEquals(element.waitForState().preconditions(0.3, Precondition.PRESENT, Precondition.DISPLAYED,
+                Precondition.ENABLED), Precondition.DISPLAYED);
+        long elapsed = System.currentTimeMillis() - start;
+        assertTrue(elapsed < 600, "Waited " + elapsed + "ms, which is more than the one shared wait");
+    }
+
+    @Test
+    public void enabledTest() throws InvalidBrowserException, InvalidProxyException {
+        reporter = new Reporter(null, "waitForStateEnabledTest", new Capabilities(new Browser("None")), null, null,
+                null, null, null, null);
+        element(webElement(true, true, null), 0, new AtomicInteger()).waitForState().enabled();
+        assertEquals(reporter.getFails(), 0);
+    }
+
+    @Test
+    public void enabledNotDisplayedTest() throws InvalidBrowserException, InvalidProxyException {
+        reporter = new Reporter(null, "waitForStateEnabledNotDisplayedTest", new Capabilities(new Browser("None")),
+                null, null, null, null, null, null);
+        long start = System.currentTimeMillis();
+        element(webElement(false, true, null), 0, new AtomicInteger()).waitForState().enabled();
+        long elapsed = System.currentTimeMillis() - start;
+        // like selenium's clickable check, the wait holds out for the element to be displayed too
+        assertTrue(elapsed >= 200, "Waited " + elapsed + "ms");
+        assertEquals(reporter.getFails(), 0);
+    }
+
+    @Test
+    public void enabledNotEnabledTest() throws InvalidBrowserException, InvalidProxyException {
+        reporter = new Reporter(null, "waitForStateEnabledNotEnabledTest", new Capabilities(new Browser("None")),
+                null, null, null, null, null, null);
+        element(webElement(true, false, null), 0, new AtomicInteger()).waitForState().enabled();
+        assertEquals(reporter.getFails(), 1);
+    }
+
+    @Test
+    public void enabledDisabledAttributeTest() throws InvalidBrowserException, InvalidProxyException {
+        reporter = new Reporter(null, "waitForStateEnabledDisabledAttributeTest", new Capabilities(new Browser("None")),
+                null, null, null, null, null, null);
+        element(webElement(true, true, "true"), 0, new AtomicInteger()).waitForState().enabled();
+        assertEquals(reporter.getFails(), 1);
+    }
+
+    @Test
+    public void clickNotPresentTest() throws InvalidBrowserException, InvalidProxyException, IOException {
+        reporter = new Reporter(null, "waitForStateClickNotPresentTest", new Capabilities(new Browser("None")), null,
+                null, null, null, null, null);
+        element(null, 0, new AtomicInteger()).click();
+        assertEquals(reporter.getFails(), 1);
+        String content = new String(Files.readAllBytes(new File(reporter.getFileName() + ".html").toPath()));
+        assertTrue(content.contains("Unable to click  1st element with <i>ID</i> of <i>myId</i>  as it is not present"));
+    }
+
+    @Test
+    public void clickNotDisplayedTest() throws InvalidBrowserException, InvalidProxyException, IOException {
+        reporter = new Reporter(null, "waitForStateClickNotDisplayedTest", new Capabilities(new Browser("None")),
+                null, null, null, null, null, null);
+        element(webElement(false, true, null), 0, new AtomicInteger()).click();
+        assertEquals(reporter.getFails(), 1);
+        String content = new String(Files.readAllBytes(new File(reporter.getFileName() + ".html").toPath()));
+        assertTrue(content.contains("Unable to click  1st element with <i>ID</i> of <i>myId</i>  as it is not displayed"));
+    }
+
+    @Test
+    public void clickNotEnabledTest() throws InvalidBrowserException, InvalidProxyException, IOException {
+        reporter = new Reporter(null, "waitForStateClickNotEnabledTest", new Capabilities(new Browser("None")), null,
+                null, null, null, null, null);
+        element(webElement(true, false, null), 0, new AtomicInteger()).click();
+        assertEquals(reporter.getFails(), 1);
+        String content = new String(Files.readAllBytes(new File(reporter.getFileName() + ".html").toPath()));
+        assertTrue(content.contains("Unable to click  1st element with <i>ID</i> of <i>myId</i>  as it is not enabled"));
+    }
+
+    @Test
+    public void hoverNotDisplayedTest() throws InvalidBrowserException, InvalidProxyException, IOException {
+        reporter = new Reporter(null, "waitForStateHoverNotDisplayedTest", new Capabilities(new Browser("None")),
+                null, null, null, null, null, null);
+        element(webElement(false, false, null), 0, new AtomicInteger()).hover();
+        assertEquals(reporter.getFails(), 1);
+        String content = new String(Files.readAllBytes(new File(reporter.getFileName() + ".html").toPath()));
+        assertTrue(content.contains("as it is not displayed"));
+    }
+
+    @Test
+    public void typeNotEnabledTest() throws InvalidBrowserException, InvalidProxyException, IOException {
+        reporter = new Reporter(null, "waitForStateTypeNotEnabledTest", new Capabilities(new Browser("None")), null,
+                null, null, null, null, null);
+        element(webElement(false, false, null), 0, new AtomicInteger()).type("text");
+        assertEquals(reporter.getFails(), 1);
+        String content = new String(Files.readAllBytes(new File(reporter.getFileName() + ".html").toPath()));
+        assertTrue(content.contains("as it is not enabled"));
+    }
+}